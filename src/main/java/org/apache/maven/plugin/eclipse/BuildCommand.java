@@ -21,6 +21,7 @@ package org.apache.maven.plugin.eclipse;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.XMLWriter;
@@ -223,4 +224,11 @@ public class BuildCommand
         return name.hashCode() + ( triggers == null ? 0 : 13 * triggers.hashCode() )
             + ( arguments == null ? 0 : 17 * arguments.hashCode() );
     }
+
+    @Override
+    public String toString()
+    {
+        return name + ( triggers == null ? "" : " triggers=" + triggers )
+            + ( arguments == null || arguments.isEmpty() ? "" : " arguments=" + new TreeMap<>( arguments ) );
+    }
 }
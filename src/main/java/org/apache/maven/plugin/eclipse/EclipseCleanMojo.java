@@ -19,19 +19,47 @@ package org.apache.maven.plugin.eclipse;
  * under the License.
  */
 
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.eclipse.writers.EclipseClasspathWriter;
+import org.apache.maven.plugin.eclipse.writers.EclipseLaunchConfigurationWriter;
 import org.apache.maven.plugin.eclipse.writers.workspace.EclipseWorkspaceWriter;
 import org.apache.maven.plugin.ide.IdeUtils;
+import org.apache.maven.plugin.ide.ProjectFacts;
+import org.apache.maven.plugin.ide.SessionScope;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.StringUtils;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Deletes the .project, .classpath, .wtpmodules files and .settings folder used by Eclipse.
+ * <p>
+ * Projects generated by a version of <code>eclipse:eclipse</code> that writes a {@link GeneratedFilesManifest} are
+ * cleaned based on the manifest instead: exactly the generated files are deleted, files modified since they were
+ * generated are kept. The manifests of all reactor projects are processed in one parallel batch by the first
+ * execution in the reactor, except for the projects that may skip the goal.
  */
-@Mojo( name = "clean" )
+@Mojo( name = "clean", threadSafe = true )
 public class EclipseCleanMojo
     extends AbstractMojo
 {
@@ -51,6 +79,23 @@ public class EclipseCleanMojo
      */
     private static final String FILE_DOT_PROJECT = ".project"; //$NON-NLS-1$
 
+    /**
+     * Key of the {@link ReactorBatch} in the {@link SessionScope}.
+     */
+    private static final String REACTOR_BATCH = "EclipseCleanMojo.reactorBatch"; //$NON-NLS-1$
+
+    /**
+     * The group id and artifact id of this plugin.
+     */
+    private static final String PLUGIN_KEY = "com.github.marschall:eclipse-maven-plugin"; //$NON-NLS-1$
+
+    /**
+     * The parameter and property skipping the goal.
+     */
+    private static final String PARAMETER_SKIP = "skip"; //$NON-NLS-1$
+
+    private static final String PROPERTY_SKIP = "eclipse.skip"; //$NON-NLS-1$
+
     /**
      * Packaging for the current project.
      */
@@ -75,6 +120,30 @@ public class EclipseCleanMojo
     @Parameter
     private EclipseConfigFile[] additionalConfig;
 
+    /**
+     * The projects in the reactor.
+     */
+    @Parameter( defaultValue = "${reactorProjects}", readonly = true )
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * The current build session.
+     */
+    @Parameter( defaultValue = "${session}", readonly = true )
+    private MavenSession session;
+
+    /**
+     * The reactor projects cleaned by the first execution of a build.
+     */
+    private static final class ReactorBatch
+    {
+        /**
+         * Base directories of the projects cleaned by the batch, mapped to <code>true</code> if the project was
+         * cleaned based on its manifest, <code>null</code> until the batch ran.
+         */
+        private Map<File, Boolean> cleaned;
+    }
+
     /**
      * @see org.apache.maven.plugin.AbstractMojo#execute()
      */
@@ -86,14 +155,231 @@ public class EclipseCleanMojo
             return;
         }
 
+        Boolean cleanedByManifest = null;
+        if ( reactorProjects != null && reactorProjects.size() > 1 )
+        {
+            ReactorBatch batch = SessionScope.get( session, REACTOR_BATCH, ReactorBatch::new );
+            // with a parallel build only the first module to get here cleans the reactor
+            synchronized ( batch )
+            {
+                if ( batch.cleaned == null )
+                {
+                    batch.cleaned = cleanReactor();
+                }
+                cleanedByManifest = batch.cleaned.get( basedir );
+            }
+        }
+
         if ( Constants.PROJECT_PACKAGING_POM.equals( this.packaging ) )
         {
             return;
         }
 
+        if ( cleanedByManifest == null )
+        {
+            GeneratedFilesManifest manifest = readManifest( basedir );
+            if ( manifest != null )
+            {
+                deleteGeneratedFiles( Collections.singletonList( manifest ) );
+            }
+            else
+            {
+                deleteDefaultFiles();
+            }
+        }
+        else if ( !cleanedByManifest )
+        {
+            deleteDefaultFiles();
+        }
+
+        cleanExtras();
+    }
+
+    /**
+     * Deletes the generated files of all reactor projects that have a manifest in one batch. Projects without a
+     * manifest and projects that may skip the goal are left to their own execution.
+     *
+     * @return the base directories of the projects in the batch, mapped to <code>true</code> if the project was
+     *         cleaned based on its manifest
+     */
+    private Map<File, Boolean> cleanReactor()
+        throws MojoExecutionException
+    {
+        Properties properties = session != null ? session.getExecutionProperties() : System.getProperties();
+        List<GeneratedFilesManifest> manifests = new ArrayList<>();
+        Map<File, Boolean> projectDirectories = new HashMap<>();
+        for ( MavenProject reactorProject : reactorProjects )
+        {
+            if ( isSkipped( reactorProject, properties ) )
+            {
+                continue;
+            }
+            File projectDirectory = reactorProject.getBasedir();
+            GeneratedFilesManifest manifest = readManifest( projectDirectory );
+            if ( manifest != null )
+            {
+                manifests.add( manifest );
+            }
+            projectDirectories.put( projectDirectory, manifest != null );
+        }
+        deleteGeneratedFiles( manifests );
+        return projectDirectories;
+    }
+
+    /**
+     * Whether the execution for a reactor project may skip it, judged from the configuration of this plugin in its pom
+     * and the <code>eclipse.skip</code> property. A configured expression is not evaluated, the project counts as
+     * skipped and its own execution cleans it if it is not.
+     *
+     * @param reactorProject a project of the reactor
+     * @param properties the properties of the execution, they take precedence over the properties of the project
+     * @return <code>false</code> if the project is certainly cleaned by its own execution
+     */
+    static boolean isSkipped( MavenProject reactorProject, Properties properties )
+    {
+        Plugin plugin = ProjectFacts.of( reactorProject ).getPlugin( PLUGIN_KEY );
+        if ( plugin != null )
+        {
+            List<Xpp3Dom> configurations = new ArrayList<>();
+            configurations.add( (Xpp3Dom) plugin.getConfiguration() );
+            for ( PluginExecution execution : plugin.getExecutions() )
+            {
+                configurations.add( (Xpp3Dom) execution.getConfiguration() );
+            }
+            boolean configured = false;
+            for ( Xpp3Dom configuration : configurations )
+            {
+                Xpp3Dom skipNode = configuration != null ? configuration.getChild( PARAMETER_SKIP ) : null;
+                if ( skipNode != null )
+                {
+                    if ( !"false".equals( StringUtils.trim( skipNode.getValue() ) ) )
+                    {
+                        return true;
+                    }
+                    configured = true;
+                }
+            }
+            if ( configured )
+            {
+                // a configured value takes precedence over the property
+                return false;
+            }
+        }
+        String property = properties.getProperty( PROPERTY_SKIP );
+        if ( property == null )
+        {
+            property = reactorProject.getProperties().getProperty( PROPERTY_SKIP );
+        }
+        return Boolean.parseBoolean( property );
+    }
+
+    private GeneratedFilesManifest readManifest( File projectDirectory )
+        throws MojoExecutionException
+    {
+        try
+        {
+            return GeneratedFilesManifest.read( projectDirectory );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantreadfile",
+                                                                  new File( projectDirectory,
+                                                                            GeneratedFilesManifest.FILE_MANIFEST ) ),
+                                              e );
+        }
+    }
+
+    /**
+     * Deletes the unmodified files listed in the given manifests in one parallel batch, then the manifests themselves
+     * and the directories left empty.
+     */
+    private void deleteGeneratedFiles( List<GeneratedFilesManifest> manifests )
+        throws MojoExecutionException
+    {
+        // one stream over the files of all manifests, so small projects don't each pay for a parallel batch
+        List<Map.Entry<GeneratedFilesManifest, File>> generatedFiles = new ArrayList<>();
+        for ( GeneratedFilesManifest manifest : manifests )
+        {
+            for ( File file : manifest.getFiles() )
+            {
+                generatedFiles.add( new AbstractMap.SimpleImmutableEntry<>( manifest, file ) );
+            }
+        }
+
+        final Queue<Map.Entry<File, IOException>> failures = new ConcurrentLinkedQueue<>();
+        final Set<File> parents = ConcurrentHashMap.newKeySet();
+        generatedFiles.parallelStream().forEach( generatedFile -> {
+            File file = generatedFile.getValue();
+            try
+            {
+                if ( generatedFile.getKey().isUnmodified( file ) )
+                {
+                    Files.delete( file.toPath() );
+                    parents.add( file.getParentFile() );
+                }
+                else if ( file.exists() )
+                {
+                    getLog().warn( Messages.getString( "EclipseCleanMojo.modified", file.getAbsolutePath() ) );
+                }
+            }
+            catch ( IOException e )
+            {
+                failures.add( new AbstractMap.SimpleImmutableEntry<>( file, e ) );
+            }
+        } );
+        for ( GeneratedFilesManifest manifest : manifests )
+        {
+            File manifestFile = manifest.getManifestFile();
+            if ( manifestFile.delete() )
+            {
+                parents.add( manifestFile.getParentFile() );
+            }
+        }
+
+        // only removes empty directories such as .settings or .externalToolBuilders
+        for ( File parent : parents )
+        {
+            String[] children = parent.list();
+            if ( children != null && children.length == 0 )
+            {
+                parent.delete();
+            }
+        }
+
+        if ( !failures.isEmpty() )
+        {
+            MojoExecutionException failure = null;
+            for ( Map.Entry<File, IOException> entry : failures )
+            {
+                File file = entry.getKey();
+                if ( failure == null )
+                {
+                    failure = new MojoExecutionException( Messages.getString( "EclipseCleanMojo.failedtodelete",
+                                                                              new Object[] { file.getName(),
+                                                                                  file.getAbsolutePath() } ),
+                                                          entry.getValue() );
+                }
+                else
+                {
+                    failure.addSuppressed( entry.getValue() );
+                }
+            }
+            throw failure;
+        }
+    }
+
+    /**
+     * Deletes the files written by <code>eclipse:eclipse</code> for projects without a manifest.
+     */
+    private void deleteDefaultFiles()
+        throws MojoExecutionException
+    {
         delete( new File( basedir, FILE_DOT_PROJECT ) );
         delete( new File( basedir, FILE_DOT_CLASSPATH ) );
         delete( new File( basedir, FILE_DOT_WTPMODULES ) );
+        delete( new File( basedir, EclipseClasspathWriter.FILE_MAVEN_ECLIPSE_XML ) );
+        delete( new File( basedir, EclipseLaunchConfigurationWriter.FILE_DOT_EXTERNAL_TOOL_BUILDERS
+            + EclipseClasspathWriter.FILE_MAVEN_ANT_BUILDER_LAUNCH ) );
 
         delete( new File( basedir, EclipseWorkspaceWriter.DIR_DOT_SETTINGS ) );
 
@@ -104,8 +390,6 @@ public class EclipseCleanMojo
                 delete( new File( basedir, anAdditionalConfig.getName() ) );
             }
         }
-
-        cleanExtras();
     }
 
     protected void cleanExtras()
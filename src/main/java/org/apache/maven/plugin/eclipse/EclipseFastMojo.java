@@ -0,0 +1,270 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * Generates the Eclipse configuration like <code>eclipse:eclipse</code>, without forking the
+ * <code>generate-resources</code> phase. Code generators, annotation processor setups and resource plugins are not
+ * run; the source and resource roots they would add are taken from the manifest of the previous
+ * <code>eclipse:eclipse</code> run and from the <code>generated-*</code> directories of the build directory.
+ * <p>
+ * Projects without plugin executions bound to a <code>generate-*</code> phase have no generated roots beyond the
+ * existing directories and are always written. Projects with such executions whose generated roots are unknown,
+ * because they have neither a manifest with roots nor generated directories, or because a recorded root is gone
+ * after a clean, are left alone and listed at the end of the build: <code>eclipse:eclipse</code> has to run the
+ * forked phase for them once.
+ *
+ * @since 2.13
+ */
+@Mojo( name = "fast", threadSafe = true )
+public class EclipseFastMojo
+    extends EclipsePlugin
+{
+    /**
+     * Directories of the build directory holding one generated root per plugin, by kind of root.
+     */
+    private static final Map<String, String> GENERATED_DIRECTORIES = new LinkedHashMap<>();
+
+    /**
+     * Roots written by the compiler plugin during <code>compile</code>, not by the forked phase.
+     */
+    private static final List<String> COMPILER_ROOTS =
+        Arrays.asList( "generated-sources/annotations", //$NON-NLS-1$
+                       "generated-test-sources/test-annotations" ); //$NON-NLS-1$
+
+    static
+    {
+        GENERATED_DIRECTORIES.put( GeneratedFilesManifest.COMPILE_ROOT, "generated-sources" ); //$NON-NLS-1$
+        GENERATED_DIRECTORIES.put( GeneratedFilesManifest.TEST_ROOT, "generated-test-sources" ); //$NON-NLS-1$
+        GENERATED_DIRECTORIES.put( GeneratedFilesManifest.RESOURCE_ROOT, "generated-resources" ); //$NON-NLS-1$
+        GENERATED_DIRECTORIES.put( GeneratedFilesManifest.TEST_RESOURCE_ROOT,
+                                   "generated-test-resources" ); //$NON-NLS-1$
+    }
+
+    /**
+     * Projects of the reactor left alone since their generated roots are unknown.
+     */
+    private static final List<String> UNKNOWN_PROJECTS = new ArrayList<>();
+
+    /**
+     * Prefix of the phases the forked <code>generate-resources</code> phase runs.
+     */
+    private static final String GENERATE_PHASE_PREFIX = "generate-"; //$NON-NLS-1$
+
+    @Override
+    protected boolean addGeneratedRoots()
+        throws MojoExecutionException
+    {
+        Map<String, Set<File>> roots = findGeneratedRoots( getEclipseProjectDir(),
+                                                           new File( executedProject.getBuild().getDirectory() ),
+                                                           hasGenerators( executedProject.getBuildPlugins() ) );
+        if ( roots == null )
+        {
+            synchronized ( UNKNOWN_PROJECTS )
+            {
+                UNKNOWN_PROJECTS.add( executedProject.getId() );
+            }
+            return false;
+        }
+
+        for ( File root : roots.get( GeneratedFilesManifest.COMPILE_ROOT ) )
+        {
+            if ( !executedProject.getCompileSourceRoots().contains( root.getPath() ) )
+            {
+                executedProject.addCompileSourceRoot( root.getPath() );
+            }
+        }
+        for ( File root : roots.get( GeneratedFilesManifest.TEST_ROOT ) )
+        {
+            if ( !executedProject.getTestCompileSourceRoots().contains( root.getPath() ) )
+            {
+                executedProject.addTestCompileSourceRoot( root.getPath() );
+            }
+        }
+        for ( File root : roots.get( GeneratedFilesManifest.RESOURCE_ROOT ) )
+        {
+            if ( !containsDirectory( executedProject.getBuild().getResources(), root ) )
+            {
+                executedProject.addResource( createResource( root ) );
+            }
+        }
+        for ( File root : roots.get( GeneratedFilesManifest.TEST_RESOURCE_ROOT ) )
+        {
+            if ( !containsDirectory( executedProject.getBuild().getTestResources(), root ) )
+            {
+                executedProject.addTestResource( createResource( root ) );
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the forked phase would run anything for the plugins. An execution without a phase is bound to the
+     * default phase of its goal, which is only known to the plugin, so it may be a generator as well.
+     *
+     * @param plugins the build plugins of the project
+     * @return <code>true</code> if an execution is or may be bound to a <code>generate-*</code> phase
+     */
+    static boolean hasGenerators( List<?> plugins )
+    {
+        for ( Object plugin : plugins )
+        {
+            for ( PluginExecution execution : ( (Plugin) plugin ).getExecutions() )
+            {
+                String phase = execution.getPhase();
+                if ( phase == null || phase.startsWith( GENERATE_PHASE_PREFIX ) )
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the generated roots of a project: the roots recorded by the previous run and the children of the
+     * <code>generated-*</code> directories.
+     *
+     * @param projectDirectory the eclipse project directory holding the manifest
+     * @param buildDirectory the build directory
+     * @param generators whether the project has generators, see {@link #hasGenerators(List)}
+     * @return the existing generated roots by kind, <code>null</code> if they are unknown, never without generators
+     * @throws MojoExecutionException if the manifest can't be read
+     */
+    static Map<String, Set<File>> findGeneratedRoots( File projectDirectory, File buildDirectory, boolean generators )
+        throws MojoExecutionException
+    {
+        GeneratedFilesManifest manifest;
+        try
+        {
+            manifest = GeneratedFilesManifest.read( projectDirectory );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantreadfile",
+                                                                  new File( projectDirectory,
+                                                                            GeneratedFilesManifest.FILE_MANIFEST ) ),
+                                              e );
+        }
+        boolean recorded = manifest != null && manifest.isRootsRecorded();
+        boolean known = recorded || !generators;
+
+        Map<String, Set<File>> roots = new LinkedHashMap<>();
+        for ( Map.Entry<String, String> kind : GENERATED_DIRECTORIES.entrySet() )
+        {
+            Set<File> kindRoots = new LinkedHashSet<>();
+            if ( recorded )
+            {
+                for ( File root : manifest.getRoots( kind.getKey() ) )
+                {
+                    if ( root.isDirectory() )
+                    {
+                        kindRoots.add( root );
+                    }
+                    else if ( generators )
+                    {
+                        // cleaned since, the generators have to run again
+                        return null;
+                    }
+                }
+            }
+
+            File[] children = new File( buildDirectory, kind.getValue() ).listFiles();
+            if ( children != null )
+            {
+                Arrays.sort( children );
+                for ( File child : children )
+                {
+                    String name = kind.getValue() + '/' + child.getName();
+                    if ( child.isDirectory() && !COMPILER_ROOTS.contains( name ) )
+                    {
+                        kindRoots.add( child );
+                        known = true;
+                    }
+                }
+            }
+            roots.put( kind.getKey(), kindRoots );
+        }
+        return known ? roots : null;
+    }
+
+    private static boolean containsDirectory( List<Resource> resources, File directory )
+    {
+        for ( Resource resource : resources )
+        {
+            if ( directory.equals( new File( resource.getDirectory() ) ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Resource createResource( File directory )
+    {
+        Resource resource = new Resource();
+        resource.setDirectory( directory.getPath() );
+        return resource;
+    }
+
+    /**
+     * Lists the projects that have been left alone once the last project of the reactor is done.
+     */
+    @Override
+    protected void afterExecute()
+        throws MojoExecutionException
+    {
+        if ( isLastReactorProject() )
+        {
+            List<String> unknown;
+            synchronized ( UNKNOWN_PROJECTS )
+            {
+                unknown = new ArrayList<>( UNKNOWN_PROJECTS );
+                UNKNOWN_PROJECTS.clear();
+            }
+            if ( !unknown.isEmpty() )
+            {
+                StringBuilder projects = new StringBuilder();
+                for ( String id : unknown )
+                {
+                    projects.append( Messages.getString( "EclipseFastMojo.unknownrootsitem", id ) );
+                }
+                getLog().warn( Messages.getString( "EclipseFastMojo.unknownroots", projects ) );
+            }
+        }
+        super.afterExecute();
+    }
+}
@@ -0,0 +1,157 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.ide.FileLocks;
+import org.apache.maven.plugin.ide.IdeDependency;
+import org.apache.maven.plugins.annotations.Execute;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Generates the Eclipse configuration like <code>eclipse:eclipse</code> with <code>jdtIndexes</code> enabled, after
+ * generating the missing JDT indexes of the dependency jars in parallel. The indexes are written to
+ * <code>jdtIndexDirectory</code> if it is set, so they can be shared by a team, otherwise next to the jars in the local
+ * repository. Indexes older than their jar are generated again.
+ * <p>
+ * JDT is not a dependency of the plugin, <code>org.eclipse.jdt.core</code> has to be added to the dependencies of the
+ * plugin to use this goal.
+ *
+ * @since 2.13
+ */
+@Mojo( name = "index", threadSafe = true )
+@Execute( phase = LifecyclePhase.GENERATE_RESOURCES )
+public class EclipseIndexMojo
+    extends EclipsePlugin
+{
+    /**
+     * Number of indexes generated at the same time, by default the number of processors.
+     *
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.indexThreads" )
+    private Integer indexThreads;
+
+    @Override
+    protected String getIndexClassifier()
+    {
+        return JdtIndexes.CLASSIFIER;
+    }
+
+    @Override
+    protected void attachIndexes( IdeDependency[] deps )
+        throws MojoExecutionException
+    {
+        File directory = getJdtIndexDirectory();
+
+        // the same jar may be a dependency in several scopes
+        Map<File, File> missing = new LinkedHashMap<>();
+        for ( IdeDependency dep : deps )
+        {
+            if ( JdtIndexes.isIndexable( dep ) )
+            {
+                File found = JdtIndexes.find( directory, dep );
+                if ( found == null || !JdtIndexes.isUpToDate( found, dep.getFile() ) )
+                {
+                    missing.put( dep.getFile(), JdtIndexes.getIndexFile( directory, dep ) );
+                }
+            }
+        }
+
+        if ( !missing.isEmpty() )
+        {
+            generateIndexes( missing );
+        }
+
+        JdtIndexes.attach( directory, deps );
+    }
+
+    private void generateIndexes( Map<File, File> indexes )
+        throws MojoExecutionException
+    {
+        int threads = Math.min( indexes.size(), indexThreads != null && indexThreads > 0 ? indexThreads
+                        : Runtime.getRuntime().availableProcessors() );
+        getLog().info( Messages.getString( "EclipseIndexMojo.generating", new Object[] { indexes.size(),
+            threads } ) );
+
+        long start = System.currentTimeMillis();
+        File lockDirectory = FileLocks.getLockDirectory( getLocalRepository() );
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for ( Map.Entry<File, File> index : indexes.entrySet() )
+            {
+                final File jar = index.getKey();
+                final File indexFile = index.getValue();
+                futures.add( executor.submit( () -> {
+                    JdtIndexes.generate( jar, indexFile, lockDirectory );
+                    return null;
+                } ) );
+            }
+
+            int generated = 0;
+            List<File> jars = new ArrayList<>( indexes.keySet() );
+            for ( int i = 0; i < futures.size(); i++ )
+            {
+                try
+                {
+                    futures.get( i ).get();
+                    generated++;
+                }
+                catch ( ExecutionException e )
+                {
+                    if ( e.getCause() instanceof MojoExecutionException && e.getCause().getCause() instanceof
+                        ClassNotFoundException )
+                    {
+                        // JDT is missing, every other index fails the same way
+                        throw (MojoExecutionException) e.getCause();
+                    }
+                    getLog().warn( Messages.getString( "EclipseIndexMojo.failed", new Object[] { jars.get( i ),
+                        e.getCause().getMessage() } ) );
+                }
+            }
+
+            getLog().info( Messages.getString( "EclipseIndexMojo.generated", new Object[] { generated,
+                System.currentTimeMillis() - start } ) );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( e.getMessage(), e );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -20,63 +20,66 @@ package org.apache.maven.plugin.eclipse;
  */
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.handler.ArtifactHandler;
 import org.apache.maven.artifact.manager.WagonManager;
 import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.model.Profile;
 import org.apache.maven.model.Resource;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.reader.ReadWorkspaceLocations;
 import org.apache.maven.plugin.eclipse.writers.EclipseClasspathWriter;
-import org.apache.maven.plugin.eclipse.writers.EclipseProjectWriter;
 import org.apache.maven.plugin.eclipse.writers.EclipseWriterConfig;
-import org.apache.maven.plugin.eclipse.writers.workspace.EclipseSettingsWriter;
-import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpApplicationXMLWriter;
-import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpComponent15Writer;
-import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpComponentWriter;
-import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpFacetsWriter;
-import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpmodulesWriter;
+import org.apache.maven.plugin.eclipse.writers.workspace.EclipseWorkspaceWriter;
 import org.apache.maven.plugin.ide.AbstractIdeSupportMojo;
+import org.apache.maven.plugin.ide.FileLocks;
 import org.apache.maven.plugin.ide.IdeDependency;
 import org.apache.maven.plugin.ide.IdeUtils;
 import org.apache.maven.plugin.ide.JeeUtils;
+import org.apache.maven.plugin.ide.ProjectFacts;
+import org.apache.maven.plugin.ide.SessionScope;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Execute;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.profiles.DefaultProfileManager;
+import org.apache.maven.profiles.ProfileManager;
+import org.apache.maven.project.DefaultProjectBuilderConfiguration;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.MavenProjectBuilder;
+import org.apache.maven.project.ProjectBuilderConfiguration;
+import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.settings.MavenSettingsBuilder;
-import org.apache.maven.settings.Proxy;
-import org.apache.maven.settings.Settings;
-import org.apache.maven.wagon.Wagon;
-import org.apache.maven.wagon.WagonException;
-import org.apache.maven.wagon.observers.Debug;
-import org.apache.maven.wagon.proxy.ProxyInfo;
-import org.apache.maven.wagon.repository.Repository;
 import org.codehaus.plexus.resource.ResourceManager;
 import org.codehaus.plexus.resource.loader.FileResourceLoader;
 import org.codehaus.plexus.resource.loader.ResourceNotFoundException;
-import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
-import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 /**
  * Generates the following eclipse configuration files:
@@ -93,7 +96,7 @@ import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
  * @author <a href="mailto:fgiust@apache.org">Fabrizio Giustina</a>
  * @version $Id$
  */
-@Mojo( name = "eclipse" )
+@Mojo( name = "eclipse", threadSafe = true )
 @Execute( phase = LifecyclePhase.GENERATE_RESOURCES )
 public class EclipsePlugin
     extends AbstractIdeSupportMojo
@@ -136,6 +139,22 @@ public class EclipsePlugin
      */
     private static final String POM_ELT_GROUP_ID = "groupId";
 
+    /**
+     * Directory in the local repository caching the remote <code>additionalConfig</code> files between builds.
+     */
+    private static final String ADDITIONAL_CONFIG_CACHE_DIR = ".cache/eclipse-maven-plugin/additional-config";
+
+    /**
+     * Maximum number of remote <code>additionalConfig</code> files downloaded at the same time.
+     */
+    private static final int MAX_PARALLEL_DOWNLOADS = 4;
+
+    /**
+     * Maven metadata of this plugin, used to include the plugin version in the {@link InputFingerprint}.
+     */
+    private static final String POM_PROPERTIES =
+        "/META-INF/maven/com.github.marschall/eclipse-maven-plugin/pom.properties";
+
     /**
      * List of eclipse project natures. By default the <code>org.eclipse.jdt.core.javanature</code> nature plus the
      * needed WTP natures are added. Natures added using this property <strong>replace</strong> the default list.
@@ -331,6 +350,17 @@ public class EclipsePlugin
     @Parameter( property = "eclipse.useProjectReferences", defaultValue = "true", required = true )
     private boolean useProjectReferences;
 
+    /**
+     * When set to true, the other projects of the reactor are added as class folders: their output directories, like
+     * <code>target/classes</code>, with their source directory attached. Neither are the other projects installed in
+     * the local repository nor built by eclipse, they have to be compiled by maven. Takes precedence over
+     * <code>useProjectReferences</code> and <code>limitProjectReferencesToWorkspace</code> for the reactor projects.
+     *
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.useClassFolders", defaultValue = "false" )
+    private boolean useClassFolders;
+
     /**
      * The default output directory
      */
@@ -462,6 +492,11 @@ public class EclipsePlugin
      */
     private boolean isJavaProject;
 
+    /**
+     * Not a plugin parameter. The parameters completed by {@link #setup()}, as they were configured.
+     */
+    private ConfiguredParameters configuredParameters;
+
     /**
      * Must the application files be written for ear projects in a separate directory.
      */
@@ -504,6 +539,12 @@ public class EclipsePlugin
     @Component
     private MavenSettingsBuilder mavenSettingsBuilder;
 
+    /**
+     * Reads the pom again when the generator daemon regenerates a project.
+     */
+    @Component
+    private MavenProjectBuilder projectBuilder;
+
     /**
      * This eclipse workspace is read and all artifacts detected there will be connected as eclipse projects and will
      * not be linked to the jars in the local repository. Requirement is that it was created with the similar wtp
@@ -581,6 +622,114 @@ public class EclipsePlugin
     @Parameter
     private List<LinkedResource> linkedResources;
 
+    /**
+     * A list of resource filters added to the .project file, filtered resources are not tracked, indexed or searched
+     * by eclipse. Filters already present in the .project file are kept. A configuration like this one in the pom :
+     * 
+     * <pre>
+     * &lt;resourceFilters&gt;
+     *   &lt;resourceFilter&gt;
+     *     &lt;name&gt;src/main/webapp&lt;/name&gt;
+     *     &lt;type&gt;26&lt;/type&gt;
+     *     &lt;arguments&gt;1.0-name-matches-false-false-bower_components&lt;/arguments&gt;
+     *   &lt;/resourceFilter&gt;
+     * &lt;/resourceFilters&gt;
+     * </pre>
+     * 
+     * hides all folders named <code>bower_components</code> below <code>src/main/webapp</code>. The name is the
+     * project relative path of the filtered folder, empty for the project itself. The type is the sum of 1 (include
+     * only) or 2 (exclude all), 4 (files), 8 (folders) and 16 (all descendants). The matcher defaults to
+     * <code>org.eclipse.ui.ide.multiFilter</code>.
+     * 
+     * @since 2.13
+     */
+    @Parameter
+    private List<ResourceFilter> resourceFilters;
+
+    /**
+     * Add resource filters hiding everything in the build directory except for the folders containing the output
+     * directories and generated sources, and hiding the folders named in <code>filteredFolderNames</code>.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.addDefaultResourceFilters", defaultValue = "false" )
+    private boolean addDefaultResourceFilters;
+
+    /**
+     * Names of the folders hidden everywhere in the project by the default resource filters, see
+     * <code>addDefaultResourceFilters</code>.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.filteredFolderNames", defaultValue = "node_modules,.git" )
+    private List<String> filteredFolderNames;
+
+    /**
+     * Reference pre-built JDT indexes of the dependency jars with the <code>index_location</code> classpath attribute,
+     * so eclipse doesn't have to index the jars itself. The index of a jar is looked up in
+     * <code>jdtIndexDirectory</code>, then next to the jar as <code>&lt;jar name&gt;.index</code> and then as
+     * artifact with the classifier and type <code>index</code>. Use <code>eclipse:index</code> to generate missing
+     * indexes.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.jdtIndexes", defaultValue = "false" )
+    private boolean jdtIndexes;
+
+    /**
+     * Download the index artifacts of the dependencies from remote repositories, see <code>jdtIndexes</code>.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.downloadJdtIndexes", defaultValue = "false" )
+    private boolean downloadJdtIndexes;
+
+    /**
+     * Directory shared by a team with the pre-built JDT indexes of the dependency jars, the index of a jar is
+     * <code>&lt;groupId&gt;/&lt;jar name&gt;.index</code>. See <code>jdtIndexes</code>.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.jdtIndexDirectory" )
+    private File jdtIndexDirectory;
+
+    /**
+     * Define the sets of dependency jars shared by several projects of the reactor once as user libraries in the
+     * workspace, the .classpath files reference the libraries with a classpath container entry and only list the jars
+     * of the project not in any library. Requires a workspace, see <code>workspace</code>. The libraries are named
+     * after their content, the projects are written again at the end of the reactor if the libraries changed.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.userLibraries", defaultValue = "false" )
+    private boolean userLibraries;
+
+    /**
+     * Prefix of the names of the user libraries, by default the artifact id of the first project of the reactor. The
+     * user libraries in the workspace with this prefix are replaced, see <code>userLibraries</code>.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.userLibraryPrefix" )
+    private String userLibraryPrefix;
+
+    /**
+     * How many projects have to share a set of jars for a user library, see <code>userLibraries</code>.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.userLibraryMinProjects", defaultValue = "2" )
+    private int userLibraryMinProjects;
+
+    /**
+     * How many jars a user library needs at least, smaller sets are listed in the .classpath files. See
+     * <code>userLibraries</code>.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.userLibraryMinSize", defaultValue = "10" )
+    private int userLibraryMinSize;
+
     /**
      * Put classpath container entries last in eclipse classpath configuration. Note that this behaviour, although
      * useful in situations were you want to override resources found in classpath containers, will made JRE classes
@@ -591,6 +740,29 @@ public class EclipsePlugin
     @Parameter( property = "eclipse.classpathContainersLast", defaultValue = "false" )
     protected boolean classpathContainersLast;
 
+    /**
+     * Copy the resources whose output folder is nested in the default output folder, like a resource with a
+     * <code>targetPath</code>, with the JDT builder instead of an Ant builder running <code>maven-eclipse.xml</code>.
+     * Such a resource directory is linked below the virtual folder <code>.maven-resources</code> at the path of its
+     * output relative to the default output, and the virtual folder above the link becomes a source folder using the
+     * default output. Needs eclipse 3.6 or later; the resources are not filtered.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.linkNestedResources", defaultValue = "false" )
+    private boolean linkNestedResources;
+
+    /**
+     * Also write the resolved model of the project to <code>maven-project.json</code>: the coordinates, the source
+     * folders with their outputs and patterns and the classpath with its attachments, so that other tools don't have
+     * to resolve the project again. More writers can be added to the dependencies of the plugin, see
+     * {@link org.apache.maven.plugin.eclipse.writers.EclipseWriter}.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.projectModel", defaultValue = "false" )
+    private boolean projectModel;
+
     /**
      * Whether to place test resources after main resources. Note that the default behavior of Maven version 2.0.8 or
      * later is to have test dirs before main dirs in classpath so this is discouraged if you need to reproduce the
@@ -667,6 +839,111 @@ public class EclipsePlugin
     @Parameter( property = "eclipse.jeeversion" )
     protected String jeeversion;
 
+    /**
+     * Skip writing the configuration of a project if none of the inputs of the writers changed since the last run and
+     * none of the generated files has been modified. The inputs are the resolved dependencies, source directories,
+     * natures, build commands, classpath containers, WTP settings, the workspace configuration and the plugin
+     * configuration of the project. Set to <code>false</code> to always regenerate.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.skipUnchanged", defaultValue = "true" )
+    private boolean skipUnchanged;
+
+    /**
+     * Log at info level why a project is regenerated, that is which input changed or which generated file has been
+     * modified. Otherwise this is only logged at debug level.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.explainRegeneration", defaultValue = "false" )
+    private boolean explainRegeneration;
+
+    /**
+     * Keep the reactor in memory after the last project has been written and listen on this port of the loopback
+     * interface for requests to regenerate single projects, see {@link GeneratorDaemon} for the protocol. Since the
+     * resolver and workspace caches stay warm, regenerating a project after a pom change is much faster than a new
+     * build. Use <code>0</code> to pick any free port, the port is logged.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.daemonPort" )
+    private Integer daemonPort;
+
+    /**
+     * Only write the projects affected by changes to these poms, that is the projects of the poms and the projects of
+     * the reactor depending on them, directly or transitively. All other projects are left untouched. Comma separated
+     * list of pom files, relative paths are resolved against the directory maven was started in.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.changedPoms" )
+    private List<String> changedPoms;
+
+    /**
+     * Only write the projects affected by the poms changed according to <code>git diff</code> for this revision or
+     * revision range, see <code>changedPoms</code>. A single revision like <code>HEAD~1</code> is compared with the
+     * working tree, a range like <code>main..HEAD</code> compares two revisions.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.changedSince" )
+    private String changedSince;
+
+    /**
+     * Only write the projects matching these patterns and the projects on the dependency paths between them, the
+     * other projects of the reactor are left untouched. The projects in focus reference each other as eclipse
+     * projects, the other projects of the reactor are referenced as installed jars, or as class folders with
+     * <code>useClassFolders</code>. Comma separated list of <code>artifactId</code> or
+     * <code>groupId:artifactId</code> patterns, <code>*</code> matches any number of characters.
+     * 
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.focus" )
+    private List<String> focus;
+
+    /**
+     * Key of the affected poms in the {@link SessionScope}, computed once per build for each value of
+     * {@link #changedPoms} and {@link #changedSince}.
+     */
+    private static final String AFFECTED_POMS = "EclipsePlugin.affectedPoms"; //$NON-NLS-1$
+
+    /**
+     * Key of the poms in focus in the {@link SessionScope}, computed once per build for each value of
+     * {@link #focus}.
+     */
+    private static final String FOCUS_POMS = "EclipsePlugin.focusPoms"; //$NON-NLS-1$
+
+    /**
+     * The daemon shared by the projects of the reactor, see {@link #daemonPort}.
+     */
+    private static GeneratorDaemon daemon;
+
+    /**
+     * The projects of the reactor taking part in the user libraries, see {@link #userLibraries}.
+     */
+    private static final Map<String, EclipsePlugin> USER_LIBRARY_PROJECTS = new LinkedHashMap<>();
+
+    /**
+     * The user libraries defined in the workspace, read when the first project is written.
+     */
+    private static List<UserLibrary> definedUserLibraries;
+
+    /**
+     * The configuration the project was written with if it takes part in the user libraries.
+     */
+    private EclipseWriterConfig userLibraryConfig;
+
+    /**
+     * The build commands of {@link #userLibraryConfig} before the writers added theirs.
+     */
+    private List<BuildCommand> userLibraryBuildCommands;
+
+    /**
+     * Files generated for the project by the last run of {@link #writeConfiguration(IdeDependency[])}.
+     */
+    private Set<File> generatedFiles = Collections.emptySet();
+
     protected final boolean isJavaProject()
     {
         return isJavaProject;
@@ -793,6 +1070,26 @@ public class EclipsePlugin
         this.useProjectReferences = useProjectReferences;
     }
 
+    /**
+     * Getter for <code>useClassFolders</code>.
+     * 
+     * @return Returns the useClassFolders.
+     */
+    public final boolean getUseClassFolders()
+    {
+        return useClassFolders;
+    }
+
+    /**
+     * Setter for <code>useClassFolders</code>.
+     * 
+     * @param useClassFolders The useClassFolders to set.
+     */
+    public final void setUseClassFolders( boolean useClassFolders )
+    {
+        this.useClassFolders = useClassFolders;
+    }
+
     /**
      * Getter for <code>wtpversion</code>.
      * 
@@ -993,6 +1290,22 @@ public class EclipsePlugin
         this.projectNameTemplate = projectNameTemplate;
     }
 
+    /**
+     * @return the resourceFilters
+     */
+    public List<ResourceFilter> getResourceFilters()
+    {
+        return resourceFilters;
+    }
+
+    /**
+     * @param resourceFilters the resourceFilters to set
+     */
+    public void setResourceFilters( List<ResourceFilter> resourceFilters )
+    {
+        this.resourceFilters = resourceFilters;
+    }
+
     /**
      * @return the linkedResources
      */
@@ -1018,6 +1331,24 @@ public class EclipsePlugin
     {
         boolean ready;
 
+        if ( !isAffectedByChanges() )
+        {
+            getLog().info( Messages.getString( "EclipsePlugin.notaffected", project.getId() ) );
+            return false;
+        }
+
+        if ( !isInFocus( project ) )
+        {
+            getLog().info( Messages.getString( "EclipsePlugin.notinfocus", project.getId() ) );
+            return false;
+        }
+
+        if ( configuredParameters == null )
+        {
+            // set the project up again from them when the generator daemon reads a changed pom
+            configuredParameters = new ConfiguredParameters( this );
+        }
+
         checkDeprecations();
         setProjectNameTemplate( IdeUtils.calculateProjectNameTemplate( getProjectNameTemplate(),
                                                                        isAddVersionToProjectName(),
@@ -1092,7 +1423,22 @@ public class EclipsePlugin
         locator.setOutputDirectory( new File( project.getBuild().getDirectory() ) );
 
         // ready to start
-        return ready;
+        return ready && addGeneratedRoots();
+    }
+
+    /**
+     * Extension point for subclasses.
+     * <p>
+     * Called once the project has been validated, before its dependencies are resolved. Adds the source and resource
+     * roots that the plugins of the forked <code>generate-resources</code> phase would have added.
+     * 
+     * @return <code>false</code> to leave the project alone
+     * @throws MojoExecutionException mojo failures.
+     */
+    protected boolean addGeneratedRoots()
+        throws MojoExecutionException
+    {
+        return true;
     }
 
     /**
@@ -1265,172 +1611,897 @@ public class EclipsePlugin
     public final void writeConfiguration( IdeDependency[] deps )
         throws MojoExecutionException
     {
-        EclipseWriterConfig config = createEclipseWriterConfig( deps );
-
-        // CHECKSTYLE_OFF: MagicNumber
-        if ( wtpVersionFloat == 0.7f )
-        {
-            new EclipseWtpmodulesWriter().init( getLog(), config ).write();
-        }
+        attachIndexes( deps );
 
-        if ( wtpVersionFloat >= 1.0f )
-        {
-            new EclipseWtpFacetsWriter().init( getLog(), config ).write();
-        }
-        if ( wtpVersionFloat == 1.0f )
-        {
-            new EclipseWtpComponentWriter().init( getLog(), config ).write();
-        }
-        if ( wtpVersionFloat >= 1.5 )
+        EclipseWriterConfig config = createEclipseWriterConfig( deps );
+        generatedFiles = config.getGeneratedFiles();
+        if ( isUserLibraryProject() )
         {
-            new EclipseWtpComponent15Writer().init( getLog(), config ).write();
+            config.setUserLibraries( UserLibraries.getApplicable( deps, getDefinedUserLibraries() ) );
+            userLibraryConfig = config;
+            userLibraryBuildCommands = new ArrayList<>( config.getBuildCommands() );
+            synchronized ( USER_LIBRARY_PROJECTS )
+            {
+                USER_LIBRARY_PROJECTS.put( config.getEclipseProjectName(), this );
+            }
         }
-        // CHECKSTYLE_ON: MagicNumber
+        registerModule( config.getEclipseProjectName(), this::regenerate );
 
-        new EclipseSettingsWriter().init( getLog(), config ).write();
-
-        if ( isJavaProject )
+        InputFingerprint fingerprint = createInputFingerprint( config );
+        if ( skipUnchanged && isUpToDate( fingerprint, config ) )
         {
-            new EclipseClasspathWriter().init( getLog(), config ).write();
+            writeAdditionalConfig( config );
+            writeGeneratedFilesManifest( config, fingerprint );
+            getLog().info( Messages.getString( "EclipsePlugin.uptodate", new Object[] {
+                                               config.getEclipseProjectName(), eclipseProjectDir.getAbsolutePath() } ) );
+            return;
         }
 
-        if ( wtpapplicationxml )
-        {
-            new EclipseWtpApplicationXMLWriter().init( getLog(), config ).write();
-        }
+        new EclipseProjectGenerator( getLog() ).write( config, isJavaProject );
 
-        // NOTE: This one MUST be after EclipseClasspathwriter, and possibly others,
-        // since currently EclipseClasspathWriter does some magic to detect nested
-        // output folders and modifies the configuration by adding new (Ant) builders.
-        // So the .project file must be written AFTER those have run!
-        new EclipseProjectWriter().init( getLog(), config ).write();
+        writeAdditionalConfig( config );
 
-        writeAdditionalConfig();
+        writeGeneratedFilesManifest( config, fingerprint );
 
         getLog().info( Messages.getString( "EclipsePlugin.wrote", new Object[] {
                                            config.getEclipseProjectName(), eclipseProjectDir.getAbsolutePath() } ) );
     }
 
-    private void writeAdditionalConfig()
+    /**
+     * Extension point for subclasses.
+     * <p>
+     * Called with the resolved dependencies before the configuration is written. Sets the index location of the
+     * dependencies with a pre-built JDT index if <code>jdtIndexes</code> is enabled.
+     * 
+     * @param deps resolved dependencies
+     * @throws MojoExecutionException mojo failures.
+     */
+    protected void attachIndexes( IdeDependency[] deps )
         throws MojoExecutionException
     {
-        if ( additionalConfig != null )
+        if ( jdtIndexes )
         {
-            for ( EclipseConfigFile file : additionalConfig )
-            {
-                File projectRelativeFile = new File( eclipseProjectDir, file.getName() );
-                if ( projectRelativeFile.isDirectory() )
-                {
-                    // just ignore?
-                    getLog().warn( Messages.getString( "EclipsePlugin.foundadir",
-                                                       projectRelativeFile.getAbsolutePath() ) );
-                }
+            JdtIndexes.attach( jdtIndexDirectory, deps );
+        }
+    }
 
-                try
-                {
-                    projectRelativeFile.getParentFile().mkdirs();
-                    if ( file.getContent() == null )
-                    {
-                        if ( file.getLocation() != null )
-                        {
-                            InputStream inStream = locator.getResourceAsInputStream( file.getLocation() );
-                            OutputStream outStream = new FileOutputStream( projectRelativeFile );
-                            try
-                            {
-                                IOUtil.copy( inStream, outStream );
-                            }
-                            finally
-                            {
-                                IOUtil.close( inStream );
-                                IOUtil.close( outStream );
-                            }
-                        }
-                        else
-                        {
-                            URL url = file.getURL();
-                            String endPointUrl = url.getProtocol() + "://" + url.getAuthority();
-                            // Repository Id should be ignored by Wagon ...
-                            Repository repository = new Repository( "additonal-configs", endPointUrl );
-                            Wagon wagon = wagonManager.getWagon( repository );
-                            if ( logger.isDebugEnabled() )
-                            {
-                                Debug debug = new Debug();
-                                wagon.addSessionListener( debug );
-                                wagon.addTransferListener( debug );
-                            }
-                            wagon.setTimeout( 1000 );
-                            Settings settings = mavenSettingsBuilder.buildSettings();
-                            ProxyInfo proxyInfo = null;
-                            if ( settings != null && settings.getActiveProxy() != null )
-                            {
-                                Proxy settingsProxy = settings.getActiveProxy();
-
-                                proxyInfo = new ProxyInfo();
-                                proxyInfo.setHost( settingsProxy.getHost() );
-                                proxyInfo.setType( settingsProxy.getProtocol() );
-                                proxyInfo.setPort( settingsProxy.getPort() );
-                                proxyInfo.setNonProxyHosts( settingsProxy.getNonProxyHosts() );
-                                proxyInfo.setUserName( settingsProxy.getUsername() );
-                                proxyInfo.setPassword( settingsProxy.getPassword() );
-                            }
+    @Override
+    protected String getIndexClassifier()
+    {
+        return jdtIndexes ? JdtIndexes.CLASSIFIER : null;
+    }
 
-                            if ( proxyInfo != null )
-                            {
-                                wagon.connect( repository, wagonManager.getAuthenticationInfo( repository.getId() ),
-                                               proxyInfo );
-                            }
-                            else
-                            {
-                                wagon.connect( repository, wagonManager.getAuthenticationInfo( repository.getId() ) );
-                            }
+    @Override
+    protected boolean getDownloadIndexes()
+    {
+        return downloadJdtIndexes;
+    }
 
-                            wagon.get( url.getPath(), projectRelativeFile );
-                        }
-                    }
-                    else
-                    {
-                        FileUtils.fileWrite( projectRelativeFile.getAbsolutePath(), file.getContent() );
-                    }
-                }
-                catch ( WagonException e )
-                {
-                    throw new MojoExecutionException( Messages.getString( "EclipsePlugin.remoteexception",
-                                                               new Object[] { file.getURL(), e.getMessage() } ) );
-                }
-                catch ( IOException e )
-                {
-                    throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
-                                                                          projectRelativeFile.getAbsolutePath() ) );
-                }
-                catch ( ResourceNotFoundException e )
-                {
-                    throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantfindresource",
-                                                                          file.getLocation() ) );
-                }
-                catch ( XmlPullParserException e )
-                {
-                    throw new MojoExecutionException( Messages.getString( "EclipsePlugin.settingsxmlfailure",
-                                                                          e.getMessage() ) );
-                }
-            }
-        }
+    /**
+     * @return the directory with the shared JDT indexes, <code>null</code> if there is none
+     */
+    protected final File getJdtIndexDirectory()
+    {
+        return jdtIndexDirectory;
     }
 
     /**
-     * Create the <code>EclipseWriterConfig</code> for the specified dependencies.
+     * Extension point for subclasses.
+     * <p>
+     * Called for every project that is written, with a callback that reads the pom of the project again and
+     * regenerates it. Registers the project with the generator daemon if it is enabled.
      * 
-     * @param deps the project dependencies
-     * @return a configured <code>EclipseWriterConfig</code>
+     * @param eclipseProjectName the name of the eclipse project
+     * @param module regenerates the project
      * @throws MojoExecutionException mojo failures.
      */
-    protected final EclipseWriterConfig createEclipseWriterConfig( IdeDependency[] deps )
+    protected void registerModule( String eclipseProjectName, GeneratorDaemon.Module module )
         throws MojoExecutionException
     {
-        File projectBaseDir = executedProject.getFile().getParentFile();
-
-        // build a list of UNIQUE source dirs (both src and resources) to be
-        // used in classpath and wtpmodules
-        EclipseSourceDir[] sourceDirs = buildDirectoryList( executedProject, eclipseProjectDir, buildOutputDirectory );
+        if ( daemonPort != null )
+        {
+            getDaemon().register( eclipseProjectName, module );
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the jars of the project may be replaced by user libraries, that is it has a
+     *         .classpath file and no jars need the WTP deployment attribute
+     */
+    private boolean isUserLibraryProject()
+    {
+        return userLibraries && isJavaProject
+            && !( Constants.PROJECT_PACKAGING_WAR.equals( packaging ) && wtpapplicationxml );
+    }
+
+    private String getUserLibraryPrefix()
+    {
+        if ( userLibraryPrefix != null )
+        {
+            return userLibraryPrefix;
+        }
+        return reactorProjects == null || reactorProjects.isEmpty() ? project.getArtifactId()
+                        : reactorProjects.get( 0 ).getArtifactId();
+    }
+
+    private List<UserLibrary> getDefinedUserLibraries()
+        throws MojoExecutionException
+    {
+        synchronized ( USER_LIBRARY_PROJECTS )
+        {
+            if ( definedUserLibraries == null )
+            {
+                File workspaceDirectory = getWorkspaceConfiguration().getWorkspaceDirectory();
+                if ( workspaceDirectory == null )
+                {
+                    throw new MojoExecutionException( Messages.getString( "EclipsePlugin.userlibrariesnoworkspace" ) );
+                }
+                definedUserLibraries =
+                    EclipseWorkspaceWriter.readUserLibraries( workspaceDirectory, getUserLibraryPrefix(),
+                                                              FileLocks.getLockDirectory( getLocalRepository() ) );
+            }
+            return definedUserLibraries;
+        }
+    }
+
+    /**
+     * Computes the user libraries shared by the projects written in this reactor, defines them in the workspace if
+     * they changed and writes the .classpath files referencing different libraries again.
+     */
+    private void writeUserLibraries()
+        throws MojoExecutionException
+    {
+        Map<String, EclipsePlugin> projects;
+        List<UserLibrary> defined;
+        synchronized ( USER_LIBRARY_PROJECTS )
+        {
+            projects = new LinkedHashMap<>( USER_LIBRARY_PROJECTS );
+            defined = definedUserLibraries;
+            USER_LIBRARY_PROJECTS.clear();
+            // read again by projects regenerated later, for example by the daemon
+            definedUserLibraries = null;
+        }
+        if ( projects.isEmpty() )
+        {
+            return;
+        }
+
+        Map<String, IdeDependency[]> dependencies = new LinkedHashMap<>();
+        for ( Map.Entry<String, EclipsePlugin> project : projects.entrySet() )
+        {
+            dependencies.put( project.getKey(), project.getValue().userLibraryConfig.getDeps() );
+        }
+        List<UserLibrary> libraries =
+            UserLibraries.compute( dependencies, getUserLibraryPrefix(), userLibraryMinProjects, userLibraryMinSize );
+
+        if ( !new HashSet<>( libraries ).equals( new HashSet<>( defined ) ) )
+        {
+            WorkspaceConfiguration workspaceConfiguration = getWorkspaceConfiguration();
+            workspaceConfiguration.setLocalRepository( localRepository );
+            workspaceConfiguration.setUserLibraryPrefix( getUserLibraryPrefix() );
+            workspaceConfiguration.setUserLibraries( libraries );
+            new EclipseWorkspaceWriter().init( getLog(), workspaceConfiguration ).write();
+        }
+
+        int rewritten = 0;
+        for ( EclipsePlugin project : projects.values() )
+        {
+            if ( project.rewriteClasspath( libraries ) )
+            {
+                rewritten++;
+            }
+        }
+        getLog().info( Messages.getString( "EclipsePlugin.userlibraries", new Object[] { libraries.size(),
+            projects.size(), rewritten } ) );
+    }
+
+    /**
+     * Writes the .classpath file again if the project references different user libraries now.
+     * 
+     * @param libraries the user libraries of the reactor
+     * @return <code>true</code> if the file was written
+     */
+    private boolean rewriteClasspath( List<UserLibrary> libraries )
+        throws MojoExecutionException
+    {
+        EclipseWriterConfig config = userLibraryConfig;
+        userLibraryConfig = null;
+
+        List<UserLibrary> applicable = UserLibraries.getApplicable( config.getDeps(), libraries );
+        if ( applicable.equals( config.getUserLibraries() ) )
+        {
+            return false;
+        }
+        config.setUserLibraries( applicable );
+        // the fingerprint has to match the one of the next run, before the writers add their build commands and links
+        config.setBuildCommands( userLibraryBuildCommands );
+        config.setLinkedResources( linkedResources );
+        InputFingerprint fingerprint = createInputFingerprint( config );
+        new EclipseClasspathWriter().init( getLog(), config ).write();
+        writeGeneratedFilesManifest( config, fingerprint );
+        return true;
+    }
+
+    /**
+     * Defines the user libraries and starts the generator daemon once the last project of the reactor has been
+     * written.
+     */
+    @Override
+    protected void afterExecute()
+        throws MojoExecutionException
+    {
+        if ( userLibraries && isLastReactorProject() )
+        {
+            writeUserLibraries();
+        }
+        if ( daemonPort == null || !isLastReactorProject() )
+        {
+            return;
+        }
+        try
+        {
+            getDaemon().serve();
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.daemonfailed", e.getMessage() ), e );
+        }
+        finally
+        {
+            closeDaemon();
+        }
+    }
+
+    private boolean isAffectedByChanges()
+        throws MojoExecutionException
+    {
+        if ( changedPoms == null && changedSince == null )
+        {
+            return true;
+        }
+        Map<String, Set<File>> affectedPoms = SessionScope.get( session, AFFECTED_POMS, HashMap::new );
+        Set<File> affected;
+        synchronized ( affectedPoms )
+        {
+            String key = changedPoms + "|" + changedSince;
+            affected = affectedPoms.get( key );
+            if ( affected == null )
+            {
+                List<MavenProject> projects =
+                    reactorProjects == null || reactorProjects.isEmpty() ? Collections.singletonList( project )
+                                    : reactorProjects;
+                affected = computeAffectedPoms( projects, getExecutionRoot( projects ), changedPoms, changedSince );
+                getLog().info( Messages.getString( "EclipsePlugin.affected", new Object[] { affected.size(),
+                    projects.size() } ) );
+                affectedPoms.put( key, affected );
+            }
+        }
+        return affected.contains( ReactorGraph.normalize( project.getFile() ) );
+    }
+
+    /**
+     * @param projects the projects of the reactor
+     * @return the directory maven was started in, the directory of the first project without a session
+     */
+    private File getExecutionRoot( List<MavenProject> projects )
+    {
+        String root = session == null ? null : session.getExecutionRootDirectory();
+        return root == null ? projects.get( 0 ).getBasedir() : new File( root );
+    }
+
+    /**
+     * @param projects the projects of the reactor
+     * @param root the directory maven was started in, relative poms and the changes of git are resolved against it
+     * @param changedPoms the changed poms, may be <code>null</code>
+     * @param changedSince the revision or revision range to ask git for changes, may be <code>null</code>
+     * @return the poms of the projects affected by the changes
+     * @throws MojoExecutionException if git fails
+     */
+    static Set<File> computeAffectedPoms( List<MavenProject> projects, File root, List<String> changedPoms,
+                                          String changedSince )
+        throws MojoExecutionException
+    {
+        List<File> changed = new ArrayList<>();
+        if ( changedPoms != null )
+        {
+            for ( String path : changedPoms )
+            {
+                File pom = new File( path.trim() );
+                changed.add( pom.isAbsolute() ? pom : new File( root, path.trim() ) );
+            }
+        }
+        if ( changedSince != null )
+        {
+            changed.addAll( GitDiff.getChangedFiles( root, changedSince ) );
+        }
+
+        return new ReactorGraph( projects ).getAffected( changed );
+    }
+
+    /**
+     * @param reactorProject a project of the reactor
+     * @return <code>true</code> if the project is in focus, always if there is no {@link #focus}
+     */
+    private boolean isInFocus( MavenProject reactorProject )
+    {
+        if ( focus == null || focus.isEmpty() )
+        {
+            return true;
+        }
+        Map<String, Set<File>> focusPoms = SessionScope.get( session, FOCUS_POMS, HashMap::new );
+        Set<File> poms;
+        synchronized ( focusPoms )
+        {
+            String key = focus.toString();
+            poms = focusPoms.get( key );
+            if ( poms == null )
+            {
+                List<MavenProject> projects =
+                    reactorProjects == null || reactorProjects.isEmpty() ? Collections.singletonList( project )
+                                    : reactorProjects;
+                poms = new ReactorGraph( projects ).getFocus( focus );
+                getLog().info( Messages.getString( "EclipsePlugin.focus", new Object[] { poms.size(),
+                    projects.size() } ) );
+                focusPoms.put( key, poms );
+            }
+        }
+        return poms.contains( ReactorGraph.normalize( reactorProject.getFile() ) );
+    }
+
+    /**
+     * Finds the local files the <code>additionalConfig</code> files are copied from. Inline content, classpath
+     * resources and remote URLs are not included.
+     * 
+     * @return the existing local source files of the additional configuration
+     */
+    protected final List<File> getAdditionalConfigSources()
+    {
+        List<File> sources = new ArrayList<>();
+        if ( additionalConfig != null )
+        {
+            for ( EclipseConfigFile file : additionalConfig )
+            {
+                File source = null;
+                if ( file.getContent() != null )
+                {
+                    continue;
+                }
+                if ( file.getLocation() != null )
+                {
+                    source = new File( file.getLocation() );
+                    if ( !source.isAbsolute() )
+                    {
+                        source = new File( project.getBasedir(), file.getLocation() );
+                    }
+                }
+                else if ( file.getURL() != null && "file".equals( file.getURL().getProtocol() ) ) //$NON-NLS-1$
+                {
+                    try
+                    {
+                        source = new File( file.getURL().toURI() );
+                    }
+                    catch ( URISyntaxException e )
+                    {
+                        getLog().debug( e.getMessage(), e );
+                    }
+                }
+                if ( source != null && source.isFile() )
+                {
+                    sources.add( source );
+                }
+            }
+        }
+        return sources;
+    }
+
+    private GeneratorDaemon getDaemon()
+        throws MojoExecutionException
+    {
+        synchronized ( EclipsePlugin.class )
+        {
+            if ( daemon == null )
+            {
+                try
+                {
+                    daemon = new GeneratorDaemon( daemonPort, getLog() );
+                }
+                catch ( IOException e )
+                {
+                    throw new MojoExecutionException( Messages.getString( "EclipsePlugin.daemonfailed",
+                                                                          e.getMessage() ), e );
+                }
+            }
+            return daemon;
+        }
+    }
+
+    private static void closeDaemon()
+    {
+        synchronized ( EclipsePlugin.class )
+        {
+            if ( daemon != null )
+            {
+                try
+                {
+                    daemon.close();
+                }
+                catch ( IOException e )
+                {
+                    // ignore, nothing left to release
+                }
+                daemon = null;
+            }
+        }
+    }
+
+    /**
+     * Reads the pom of the project again and regenerates it, called by the generator daemon. The resolver and the
+     * workspace configuration of this execution are reused, the pom is read with the profiles and properties of the
+     * build that started the daemon. The project is set up again from the configured parameters, so that a changed
+     * packaging or output directory is taken into account.
+     */
+    private Map<File, byte[]> regenerate()
+        throws MojoExecutionException
+    {
+        MavenProject rebuilt;
+        try
+        {
+            if ( session != null )
+            {
+                rebuilt = projectBuilder.build( project.getFile(), getProjectBuilderConfiguration() );
+            }
+            else
+            {
+                rebuilt = projectBuilder.build( project.getFile(), localRepository, null );
+            }
+        }
+        catch ( ProjectBuildingException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantreadpom",
+                                                                  project.getFile().getAbsolutePath() ), e );
+        }
+        // keep the source roots added by the generate-resources phase of the original build
+        for ( Object root : executedProject.getCompileSourceRoots() )
+        {
+            if ( !rebuilt.getCompileSourceRoots().contains( root ) )
+            {
+                rebuilt.addCompileSourceRoot( (String) root );
+            }
+        }
+        for ( Object root : executedProject.getTestCompileSourceRoots() )
+        {
+            if ( !rebuilt.getTestCompileSourceRoots().contains( root ) )
+            {
+                rebuilt.addTestCompileSourceRoot( (String) root );
+            }
+        }
+        if ( buildOutputDirectory.equals( new File( project.getBuild().getOutputDirectory() ) ) )
+        {
+            buildOutputDirectory = new File( rebuilt.getBuild().getOutputDirectory() );
+        }
+        if ( reactorProjects != null )
+        {
+            // the other projects of the reactor see the new version of this one
+            int index = reactorProjects.indexOf( project );
+            if ( index >= 0 )
+            {
+                reactorProjects.set( index, rebuilt );
+            }
+        }
+        refresh( rebuilt );
+
+        // the packaging may have changed, and with it the natures, builders, containers and output directories
+        packaging = rebuilt.getPackaging();
+        configuredParameters.restore( this );
+        if ( !setup() )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.daemonnotgenerated",
+                                                                  rebuilt.getId() ) );
+        }
+        generate();
+        return EclipseProjectGenerator.getContents( generatedFiles );
+    }
+
+    /**
+     * The parameters {@link #setup()} completes with the defaults of the packaging or the project, copied before the
+     * first setup.
+     */
+    static final class ConfiguredParameters
+    {
+        private final List<String> projectnatures;
+
+        private final List buildcommands;
+
+        private final List<String> classpathContainers;
+
+        private final List<String> sourceIncludes;
+
+        private final List<String> sourceExcludes;
+
+        private final List<LinkedResource> linkedResources;
+
+        private final File eclipseProjectDir;
+
+        ConfiguredParameters( EclipsePlugin plugin )
+        {
+            projectnatures = copy( plugin.projectnatures );
+            buildcommands = copy( plugin.buildcommands );
+            classpathContainers = copy( plugin.classpathContainers );
+            sourceIncludes = copy( plugin.sourceIncludes );
+            sourceExcludes = copy( plugin.sourceExcludes );
+            linkedResources = copy( plugin.linkedResources );
+            eclipseProjectDir = plugin.eclipseProjectDir;
+        }
+
+        /**
+         * Resets the parameters of the plugin, so that the next setup completes them again.
+         */
+        void restore( EclipsePlugin plugin )
+        {
+            plugin.projectnatures = copy( projectnatures );
+            plugin.buildcommands = copy( buildcommands );
+            plugin.classpathContainers = copy( classpathContainers );
+            plugin.sourceIncludes = copy( sourceIncludes );
+            plugin.sourceExcludes = copy( sourceExcludes );
+            plugin.linkedResources = copy( linkedResources );
+            plugin.eclipseProjectDir = eclipseProjectDir;
+        }
+
+        private static <T> List<T> copy( List<T> list )
+        {
+            return list == null ? null : new ArrayList<>( list );
+        }
+    }
+
+    /**
+     * Assembles the configuration the pom was read with from the parts of the session maven 2 and 3 have in common,
+     * <code>MavenSession.getProjectBuilderConfiguration()</code> is gone in maven 3. The profiles are activated and
+     * deactivated explicitly as they were for the project, wherever their activation came from.
+     */
+    private ProjectBuilderConfiguration getProjectBuilderConfiguration()
+    {
+        Properties executionProperties = session.getExecutionProperties();
+        ProfileManager profileManager = new DefaultProfileManager( session.getContainer(), executionProperties );
+        List<String> active = new ArrayList<>();
+        for ( Object profile : project.getActiveProfiles() )
+        {
+            active.add( ( (Profile) profile ).getId() );
+        }
+        List<String> inactive = new ArrayList<>();
+        for ( Profile profile : project.getModel().getProfiles() )
+        {
+            if ( !active.contains( profile.getId() ) )
+            {
+                inactive.add( profile.getId() );
+            }
+        }
+        profileManager.explicitlyActivate( active );
+        profileManager.explicitlyDeactivate( inactive );
+        return new DefaultProjectBuilderConfiguration().setLocalRepository( localRepository )
+            .setGlobalProfileManager( profileManager ).setUserProperties( session.getUserProperties() )
+            .setExecutionProperties( executionProperties ).setBuildStartTime( session.getStartTime() );
+    }
+
+    private void writeAdditionalConfig( EclipseWriterConfig config )
+        throws MojoExecutionException
+    {
+        if ( additionalConfig != null )
+        {
+            RemoteConfigCache cache =
+                new RemoteConfigCache( new File( localRepository.getBasedir(), ADDITIONAL_CONFIG_CACHE_DIR ),
+                                       wagonManager, mavenSettingsBuilder, getLog(), logger.isDebugEnabled() );
+            ExecutorService executor = Executors.newFixedThreadPool( MAX_PARALLEL_DOWNLOADS );
+            try
+            {
+                // start all downloads first so independent files are transferred concurrently
+                for ( EclipseConfigFile file : additionalConfig )
+                {
+                    if ( file.getContent() == null && file.getLocation() == null && file.getURL() != null )
+                    {
+                        cache.fetch( file.getURL(), executor );
+                    }
+                }
+
+                for ( EclipseConfigFile file : additionalConfig )
+                {
+                    config.addGeneratedFile( writeAdditionalConfig( file, cache, executor ) );
+                }
+            }
+            finally
+            {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private File writeAdditionalConfig( EclipseConfigFile file, RemoteConfigCache cache, ExecutorService executor )
+        throws MojoExecutionException
+    {
+        File projectRelativeFile = new File( eclipseProjectDir, file.getName() );
+        if ( projectRelativeFile.isDirectory() )
+        {
+            // just ignore?
+            getLog().warn( Messages.getString( "EclipsePlugin.foundadir", projectRelativeFile.getAbsolutePath() ) );
+        }
+
+        try
+        {
+            byte[] content;
+            if ( file.getContent() == null )
+            {
+                if ( file.getLocation() != null )
+                {
+                    InputStream inStream = locator.getResourceAsInputStream( file.getLocation() );
+                    try
+                    {
+                        content = IOUtil.toByteArray( inStream );
+                    }
+                    finally
+                    {
+                        IOUtil.close( inStream );
+                    }
+                }
+                else
+                {
+                    content = cache.get( file.getURL(), executor );
+                }
+            }
+            else
+            {
+                content = file.getContent().getBytes();
+            }
+
+            if ( !IdeUtils.writeIfChanged( projectRelativeFile, content ) )
+            {
+                getLog().debug( Messages.getString( "EclipsePlugin.unchangedconfig",
+                                                    projectRelativeFile.getAbsolutePath() ) );
+            }
+            return projectRelativeFile;
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  projectRelativeFile.getAbsolutePath() ) );
+        }
+        catch ( ResourceNotFoundException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantfindresource",
+                                                                  file.getLocation() ) );
+        }
+    }
+
+    /**
+     * Calculates the fingerprint of the inputs of the writers. Besides the writer configuration this covers the plugin
+     * configuration of the project, which the writers read directly (compiler settings, WAR, EAR and EJB plugins), the
+     * additional configuration files and the version of this plugin.
+     * 
+     * @param config the writer configuration, before any writer ran
+     * @return the fingerprint
+     */
+    protected InputFingerprint createInputFingerprint( EclipseWriterConfig config )
+    {
+        InputFingerprint fingerprint = InputFingerprint.create( config );
+
+        List<Object> plugins = new ArrayList<>();
+        addPluginConfigurations( plugins, executedProject.getBuildPlugins() );
+        if ( executedProject.getPluginManagement() != null )
+        {
+            addPluginConfigurations( plugins, executedProject.getPluginManagement().getPlugins() );
+        }
+        fingerprint.add( "pluginConfiguration", plugins.toArray() );
+
+        List<Object> dependencies = new ArrayList<>();
+        for ( Object dependency : executedProject.getDependencies() )
+        {
+            Dependency dep = (Dependency) dependency;
+            dependencies.add( dep.getManagementKey() + ':' + dep.getVersion() + ':' + dep.getScope() );
+        }
+        fingerprint.add( "declaredDependencies", dependencies.toArray() );
+
+        List<Object> configFiles = new ArrayList<>();
+        if ( additionalConfig != null )
+        {
+            for ( EclipseConfigFile file : additionalConfig )
+            {
+                configFiles.add( file.getName() );
+                configFiles.add( file.getContent() );
+                configFiles.add( file.getLocation() );
+                configFiles.add( file.getURL() );
+            }
+        }
+        fingerprint.add( "additionalConfig", configFiles.toArray() );
+
+        fingerprint.add( "plugin", getPluginVersion() );
+
+        return fingerprint;
+    }
+
+    private static void addPluginConfigurations( List<Object> target, List<?> plugins )
+    {
+        for ( Object object : plugins )
+        {
+            Plugin plugin = (Plugin) object;
+            target.add( plugin.getKey() + ':' + plugin.getVersion() );
+            target.add( plugin.getConfiguration() );
+            for ( Object execution : plugin.getExecutions() )
+            {
+                target.add( ( (PluginExecution) execution ).getId() );
+                target.add( ( (PluginExecution) execution ).getConfiguration() );
+            }
+        }
+    }
+
+    private String getPluginVersion()
+    {
+        InputStream in = EclipsePlugin.class.getResourceAsStream( POM_PROPERTIES );
+        if ( in == null )
+        {
+            return null;
+        }
+        try
+        {
+            Properties properties = new Properties();
+            properties.load( in );
+            return properties.getProperty( "version" );
+        }
+        catch ( IOException e )
+        {
+            return null;
+        }
+        finally
+        {
+            IOUtil.close( in );
+        }
+    }
+
+    /**
+     * Checks whether the files of the last run were generated from the same inputs and are still unmodified.
+     * 
+     * @param fingerprint the fingerprint of the current inputs
+     * @param config the writer configuration, the files of the last run are added to its generated files if they are
+     *            up to date
+     * @return <code>true</code> if the writers don't need to run
+     * @throws MojoExecutionException if the manifest of the last run can't be read
+     */
+    private boolean isUpToDate( InputFingerprint fingerprint, EclipseWriterConfig config )
+        throws MojoExecutionException
+    {
+        GeneratedFilesManifest previous;
+        try
+        {
+            previous = GeneratedFilesManifest.read( eclipseProjectDir );
+            if ( previous == null )
+            {
+                explainRegeneration( Messages.getString( "EclipsePlugin.regeneratenomanifest",
+                                                         config.getEclipseProjectName() ) );
+                return false;
+            }
+
+            List<String> changed = fingerprint.getChangedInputs( previous.getInputs() );
+            if ( !changed.isEmpty() )
+            {
+                explainRegeneration( Messages.getString( "EclipsePlugin.regenerateinputs", new Object[] {
+                                                         config.getEclipseProjectName(), changed } ) );
+                return false;
+            }
+
+            for ( File file : previous.getFiles() )
+            {
+                if ( !previous.isUnmodified( file ) )
+                {
+                    explainRegeneration( Messages.getString( "EclipsePlugin.regenerateoutput", new Object[] {
+                                                             config.getEclipseProjectName(),
+                                                             file.getAbsolutePath() } ) );
+                    return false;
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantreadfile",
+                                                                  GeneratedFilesManifest.FILE_MANIFEST ), e );
+        }
+
+        for ( File file : previous.getFiles() )
+        {
+            config.addGeneratedFile( file );
+        }
+        return true;
+    }
+
+    private void explainRegeneration( String message )
+    {
+        if ( explainRegeneration )
+        {
+            getLog().info( message );
+        }
+        else
+        {
+            getLog().debug( message );
+        }
+    }
+
+    /**
+     * Records all files written for this project, with their content hash, so <code>eclipse:clean</code> can remove
+     * exactly these files later.
+     */
+    private void writeGeneratedFilesManifest( EclipseWriterConfig config, InputFingerprint fingerprint )
+        throws MojoExecutionException
+    {
+        GeneratedFilesManifest manifest = new GeneratedFilesManifest( eclipseProjectDir );
+        manifest.setInputs( fingerprint.getInputs() );
+        recordGeneratedRoots( manifest );
+        try
+        {
+            for ( File file : config.getGeneratedFiles() )
+            {
+                manifest.add( file );
+            }
+            manifest.store();
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  manifest.getManifestFile().getAbsolutePath() ), e );
+        }
+    }
+
+    /**
+     * Records the source and resource roots in the build directory, the ones added by the plugins of the
+     * <code>generate-resources</code> phase, for <code>eclipse:fast</code>.
+     */
+    private void recordGeneratedRoots( GeneratedFilesManifest manifest )
+        throws MojoExecutionException
+    {
+        String buildDirectory = IdeUtils.getCanonicalPath( new File( executedProject.getBuild().getDirectory() ) );
+        manifest.setRootsRecorded();
+        for ( Object root : executedProject.getCompileSourceRoots() )
+        {
+            recordGeneratedRoot( manifest, GeneratedFilesManifest.COMPILE_ROOT, new File( (String) root ),
+                                 buildDirectory );
+        }
+        for ( Object root : executedProject.getTestCompileSourceRoots() )
+        {
+            recordGeneratedRoot( manifest, GeneratedFilesManifest.TEST_ROOT, new File( (String) root ),
+                                 buildDirectory );
+        }
+        for ( Resource resource : executedProject.getBuild().getResources() )
+        {
+            recordGeneratedRoot( manifest, GeneratedFilesManifest.RESOURCE_ROOT, new File( resource.getDirectory() ),
+                                 buildDirectory );
+        }
+        for ( Resource resource : executedProject.getBuild().getTestResources() )
+        {
+            recordGeneratedRoot( manifest, GeneratedFilesManifest.TEST_RESOURCE_ROOT,
+                                 new File( resource.getDirectory() ), buildDirectory );
+        }
+    }
+
+    private static void recordGeneratedRoot( GeneratedFilesManifest manifest, String kind, File root,
+                                             String buildDirectory )
+        throws MojoExecutionException
+    {
+        if ( IdeUtils.getCanonicalPath( root ).startsWith( buildDirectory + File.separator ) )
+        {
+            manifest.addRoot( kind, root );
+        }
+    }
+
+    /**
+     * Create the <code>EclipseWriterConfig</code> for the specified dependencies.
+     * 
+     * @param deps the project dependencies
+     * @return a configured <code>EclipseWriterConfig</code>
+     * @throws MojoExecutionException mojo failures.
+     */
+    protected final EclipseWriterConfig createEclipseWriterConfig( IdeDependency[] deps )
+        throws MojoExecutionException
+    {
+        File projectBaseDir = executedProject.getFile().getParentFile();
+
+        // build a list of UNIQUE source dirs (both src and resources) to be
+        // used in classpath and wtpmodules
+        EclipseSourceDir[] sourceDirs = buildDirectoryList( executedProject, eclipseProjectDir, buildOutputDirectory );
 
         EclipseWriterConfig config = new EclipseWriterConfig();
 
@@ -1478,7 +2549,10 @@ public class EclipsePlugin
         config.setSourceDirs( sourceDirs );
         config.setPackaging( packaging );
         config.setLinkedResources( linkedResources );
+        config.setResourceFilters( buildResourceFilters( sourceDirs ) );
         config.setClasspathContainersLast( classpathContainersLast );
+        config.setLinkNestedResources( linkNestedResources );
+        config.setProjectModel( projectModel );
         config.setJeeVersion( jeeversion );
 
         collectWarContextRootsFromReactorEarConfiguration( config );
@@ -1486,6 +2560,42 @@ public class EclipsePlugin
         return config;
     }
 
+    /**
+     * Combines the configured resource filters with the default ones, see {@link #addDefaultResourceFilters}.
+     * 
+     * @param sourceDirs the source directories of the project, they and their output directories stay visible
+     * @return the resource filters to add to the .project file
+     * @throws MojoExecutionException if a path can not be resolved
+     */
+    private List<ResourceFilter> buildResourceFilters( EclipseSourceDir[] sourceDirs )
+        throws MojoExecutionException
+    {
+        List<ResourceFilter> filters = new ArrayList<>();
+        if ( addDefaultResourceFilters )
+        {
+            List<File> visibleDirectories = new ArrayList<>();
+            visibleDirectories.add( buildOutputDirectory );
+            for ( EclipseSourceDir sourceDir : sourceDirs )
+            {
+                visibleDirectories.add( new File( eclipseProjectDir, sourceDir.getPath() ) );
+                if ( sourceDir.getOutput() != null )
+                {
+                    visibleDirectories.add( new File( eclipseProjectDir, sourceDir.getOutput() ) );
+                }
+            }
+            List<String> folderNames =
+                filteredFolderNames == null ? Collections.<String>emptyList() : filteredFolderNames;
+            filters.addAll( ResourceFilter.createDefaults( eclipseProjectDir,
+                                                           new File( project.getBuild().getDirectory() ),
+                                                           visibleDirectories, folderNames ) );
+        }
+        if ( resourceFilters != null )
+        {
+            filters.addAll( resourceFilters );
+        }
+        return filters;
+    }
+
     /**
      * If this is a war module peek into the reactor an search for an ear module that defines the context root of this
      * module.
@@ -1680,7 +2790,7 @@ public class EclipsePlugin
             getLog().debug( "testOutput after toRelative : " + testOutput );
         }
 
-        Set<EclipseSourceDir> mainDirectories = new LinkedHashSet<>();
+        EclipseSourceDirs mainDirectories = new EclipseSourceDirs();
 
         String sourceDirectory = project.getBuild().getSourceDirectory();
         extractSourceDirs( mainDirectories, project.getCompileSourceRoots(), basedir, projectBaseDir, false, false,
@@ -1696,7 +2806,7 @@ public class EclipsePlugin
         extractResourceDirs( mainDirectories, project.getBuild().getResources(), basedir, projectBaseDir, false,
                              mainOutput );
 
-        Set<EclipseSourceDir> testDirectories = new LinkedHashSet<>();
+        EclipseSourceDirs testDirectories = new EclipseSourceDirs();
 
         String testSourceDirectory = project.getBuild().getTestSourceDirectory();
         extractSourceDirs( testDirectories, project.getTestCompileSourceRoots(), basedir, projectBaseDir, true, false,
@@ -1712,7 +2822,7 @@ public class EclipsePlugin
                              testOutput );
 
         // avoid duplicated entries
-        Set<EclipseSourceDir> directories = new LinkedHashSet<>();
+        EclipseSourceDirs directories = new EclipseSourceDirs();
 
         // NOTE: Since MNG-3118, test classes come before main classes
         boolean testBeforeMain = isMavenVersion( "[2.0.8,)" );
@@ -1725,8 +2835,14 @@ public class EclipsePlugin
 
         if ( testBeforeMain )
         {
-            directories.addAll( testDirectories );
-            directories.removeAll( mainDirectories );
+            // a directory of both keeps the position and the settings of the main directory
+            for ( EclipseSourceDir dir : testDirectories )
+            {
+                if ( !mainDirectories.contains( dir.getPath() ) )
+                {
+                    directories.putIfAbsent( dir );
+                }
+            }
             directories.addAll( mainDirectories );
         }
         else
@@ -1734,10 +2850,10 @@ public class EclipsePlugin
             directories.addAll( mainDirectories );
             directories.addAll( testDirectories );
         }
-        return directories.toArray( new EclipseSourceDir[directories.size()] );
+        return directories.toArray();
     }
 
-    private void extractSourceDirs( Set<EclipseSourceDir> directories, List<String> sourceRoots, File basedir,
+    private void extractSourceDirs( EclipseSourceDirs directories, List<String> sourceRoots, File basedir,
                                     File projectBaseDir, boolean test, boolean optional, String output,
                                     String defaultSourceRoot )
         throws MojoExecutionException
@@ -1758,13 +2874,14 @@ public class EclipsePlugin
                     IdeUtils.toRelativeAndFixSeparator( projectBaseDir, sourceRootFile,
                                                         !projectBaseDir.equals( basedir ) );
 
-                directories.add( new EclipseSourceDir( sourceRoot, output, false, test, optional, sourceIncludes, sourceExcludes,
-                                                       false, !defaultSourceRoot.equals( sourceRoot1 ) ) );
+                directories.putIfAbsent( new EclipseSourceDir( sourceRoot, output, false, test, optional,
+                                                               sourceIncludes, sourceExcludes, false,
+                                                               !defaultSourceRoot.equals( sourceRoot1 ) ) );
             }
         }
     }
     
-    private void extractAdditionalSourceDirs( Set<EclipseSourceDir> directories, List<String> sourceRoots, File basedir,
+    private void extractAdditionalSourceDirs( EclipseSourceDirs directories, List<String> sourceRoots, File basedir,
                                               File projectBaseDir, boolean test, boolean optional, String output,
                                               String defaultSourceRoot )
                                                               throws MojoExecutionException
@@ -1783,12 +2900,13 @@ public class EclipsePlugin
                             IdeUtils.toRelativeAndFixSeparator( projectBaseDir, sourceRootFile,
                                                                 !projectBaseDir.equals( basedir ) );
 
-            directories.add( new EclipseSourceDir( sourceRoot, output, false, test, optional, sourceIncludes, sourceExcludes,
-                                                   false, !defaultSourceRoot.equals( sourceRoot1 ) ) );
+            directories.putIfAbsent( new EclipseSourceDir( sourceRoot, output, false, test, optional, sourceIncludes,
+                                                           sourceExcludes, false,
+                                                           !defaultSourceRoot.equals( sourceRoot1 ) ) );
         }
     }
 
-    final void extractResourceDirs( Set<EclipseSourceDir> directories, List<Resource> resources, File basedir,
+    final void extractResourceDirs( EclipseSourceDirs directories, List<Resource> resources, File basedir,
                                     File workspaceProjectBaseDir, boolean test, final String output )
         throws MojoExecutionException
     {
@@ -1843,10 +2961,9 @@ public class EclipsePlugin
                 new EclipseSourceDir( resourcePath, thisOutput, true, test, false, resource.getIncludes(), excludes,
                                       resource.isFiltering(), false );
 
-            if ( !directories.add( resourceDir ) )
+            EclipseSourceDir originalDir = directories.putIfAbsent( resourceDir );
+            if ( originalDir != null )
             {
-                EclipseSourceDir originalDir = get( directories, resourceDir );
-
                 boolean merged = originalDir.merge( resourceDir );
                 if ( merged )
                 {
@@ -1865,26 +2982,6 @@ public class EclipsePlugin
         }
     }
 
-    /**
-     * java.util.Set doesn't have a get() method that returns the matching object. Since we use objects that are
-     * different by conceptually "equal" based on the path we need to locate the original object out of the Set.
-     * 
-     * @param set the set to iterate over looking for the specified object
-     * @param o the object to locate in the set
-     * @return the object from the set, or null if not found in the set
-     */
-    private static <T> T get( Set<T> set, Object o )
-    {
-        for ( T item : set )
-        {
-            if ( o.equals( item ) )
-            {
-                return item;
-            }
-        }
-        return null;
-    }
-
     /**
      * {@inheritDoc}
      */
@@ -1927,10 +3024,11 @@ public class EclipsePlugin
         if ( build != null )
         {
             String eclipsePlugin = "com.github.marschall:eclipse-maven-plugin";
-            Plugin plugin = (Plugin) build.getPluginsAsMap().get( eclipsePlugin );
-            if ( plugin == null && build.getPluginManagement() != null )
+            ProjectFacts facts = ProjectFacts.of( mavenProject );
+            Plugin plugin = facts.getPlugin( eclipsePlugin );
+            if ( plugin == null )
             {
-                plugin = (Plugin) build.getPluginManagement().getPluginsAsMap().get( eclipsePlugin );
+                plugin = facts.getManagedPlugin( eclipsePlugin );
             }
             if ( plugin != null )
             {
@@ -2016,7 +3114,7 @@ public class EclipsePlugin
     protected boolean isAvailableAsAReactorProject( Artifact artifact )
     {
         MavenProject project = getReactorProject( artifact );
-        return ( project != null && new File( project.getBasedir(), ".project" ).exists() );
+        return ( project != null && isInFocus( project ) && new File( project.getBasedir(), ".project" ).exists() );
     }
 
     /**
@@ -2053,6 +3151,25 @@ public class EclipsePlugin
         return false;
     }
 
+    /**
+     * Checks if the output directory of a reactor project has to be used for the given artifact. Unlike project
+     * references, the reactor project does not need to be an eclipse project. With a {@link #focus} the projects in
+     * focus stay project references.
+     * 
+     * @param art the artifact to check
+     * @return true if a class folder has to be used.
+     */
+    @Override
+    protected final boolean useClassFolder( Artifact art )
+    {
+        if ( !useClassFolders )
+        {
+            return false;
+        }
+        MavenProject reactorProject = getReactorProject( art );
+        return reactorProject != null && ( focus == null || focus.isEmpty() || !isInFocus( reactorProject ) );
+    }
+
     /**
      * Checks if jar has to be resolved for the given artifact
      * 
@@ -2062,6 +3179,10 @@ public class EclipsePlugin
     @Override
     protected final boolean hasToResolveJar( Artifact art )
     {
+        if ( useClassFolder( art ) )
+        {
+            return false;
+        }
         return !( getUseProjectReferences() && isAvailableAsAReactorProject( art ) )
             || ( limitProjectReferencesToWorkspace 
                             && !( getUseProjectReferences() && isAvailableAsAWorkspaceProject( art ) ) );
@@ -2076,6 +3197,10 @@ public class EclipsePlugin
     @Override
     protected final boolean useProjectReference( Artifact art )
     {
+        if ( useClassFolder( art ) )
+        {
+            return false;
+        }
         boolean isReactorProject = getUseProjectReferences() && isAvailableAsAReactorProject( art );
         boolean isWorkspaceProject = getUseProjectReferences() && isAvailableAsAWorkspaceProject( art );
         return ( isReactorProject && !limitProjectReferencesToWorkspace ) || // default
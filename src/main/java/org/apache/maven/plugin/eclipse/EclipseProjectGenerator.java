@@ -0,0 +1,293 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.eclipse.writers.EclipseClasspathWriter;
+import org.apache.maven.plugin.eclipse.writers.EclipseProjectWriter;
+import org.apache.maven.plugin.eclipse.writers.EclipseWriter;
+import org.apache.maven.plugin.eclipse.writers.EclipseWriterConfig;
+import org.apache.maven.plugin.eclipse.writers.ProjectModelWriter;
+import org.apache.maven.plugin.eclipse.writers.workspace.EclipseSettingsWriter;
+import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpApplicationXMLWriter;
+import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpComponent15Writer;
+import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpComponentWriter;
+import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpFacetsWriter;
+import org.apache.maven.plugin.eclipse.writers.wtp.EclipseWtpmodulesWriter;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.ide.JfrEvents;
+import org.apache.maven.plugin.ide.Trace;
+
+/**
+ * Writes the Eclipse metadata of one project from a fully populated {@link EclipseWriterConfig}. Unlike
+ * {@link EclipsePlugin} it has no dependency on the Maven execution, so it can be embedded and called repeatedly,
+ * for example by the generator daemon.
+ */
+public class EclipseProjectGenerator
+{
+    /**
+     * The file listing the additional writers, see {@link EclipseWriter}.
+     */
+    private static final String WRITER_SERVICES = "META-INF/services/" + EclipseWriter.class.getName(); //$NON-NLS-1$
+
+    private final Log log;
+
+    /**
+     * The class loader of the additional writers.
+     */
+    private final ClassLoader writerClassLoader;
+
+    /**
+     * @param log the logger passed to the writers
+     */
+    public EclipseProjectGenerator( Log log )
+    {
+        this( log, EclipseWriter.class.getClassLoader() );
+    }
+
+    /**
+     * @param log the logger passed to the writers
+     * @param writerClassLoader the class loader listing the additional writers
+     */
+    EclipseProjectGenerator( Log log, ClassLoader writerClassLoader )
+    {
+        this.log = log;
+        this.writerClassLoader = writerClassLoader;
+    }
+
+    /**
+     * Runs the writers and returns what they wrote.
+     *
+     * @param config the writer configuration
+     * @param javaProject <code>true</code> to write a <code>.classpath</code>
+     * @return the generated files and their content, in the order they were written
+     * @throws MojoExecutionException if a file can't be written or read back
+     */
+    public Map<File, byte[]> generate( EclipseWriterConfig config, boolean javaProject )
+        throws MojoExecutionException
+    {
+        write( config, javaProject );
+        return getContents( config.getGeneratedFiles() );
+    }
+
+    /**
+     * Runs the writers. The generated files are recorded in {@link EclipseWriterConfig#getGeneratedFiles()}.
+     *
+     * @param config the writer configuration
+     * @param javaProject <code>true</code> to write a <code>.classpath</code>
+     * @throws MojoExecutionException if a file can't be written
+     */
+    public void write( EclipseWriterConfig config, boolean javaProject )
+        throws MojoExecutionException
+    {
+        float wtpVersion = config.getWtpVersion();
+
+        // CHECKSTYLE_OFF: MagicNumber
+        if ( wtpVersion == 0.7f )
+        {
+            run( new EclipseWtpmodulesWriter(), config );
+        }
+
+        if ( wtpVersion >= 1.0f )
+        {
+            run( new EclipseWtpFacetsWriter(), config );
+        }
+        if ( wtpVersion == 1.0f )
+        {
+            run( new EclipseWtpComponentWriter(), config );
+        }
+        if ( wtpVersion >= 1.5 )
+        {
+            run( new EclipseWtpComponent15Writer(), config );
+        }
+        // CHECKSTYLE_ON: MagicNumber
+
+        run( new EclipseSettingsWriter(), config );
+
+        if ( javaProject )
+        {
+            run( new EclipseClasspathWriter(), config );
+        }
+
+        if ( config.getWtpapplicationxml() )
+        {
+            run( new EclipseWtpApplicationXMLWriter(), config );
+        }
+
+        if ( config.isProjectModel() )
+        {
+            run( new ProjectModelWriter(), config );
+        }
+
+        for ( EclipseWriter writer : loadWriters( writerClassLoader ) )
+        {
+            run( writer, config );
+        }
+
+        // NOTE: This one MUST be after EclipseClasspathwriter, and possibly others,
+        // since currently EclipseClasspathWriter does some magic to detect nested
+        // output folders and modifies the configuration by adding new (Ant) builders.
+        // So the .project file must be written AFTER those have run!
+        run( new EclipseProjectWriter(), config );
+    }
+
+    /**
+     * Creates the writers listed as services of {@link EclipseWriter} by the jars of a class loader.
+     *
+     * @param classLoader the class loader, the plugin class loader holds the dependencies of the plugin
+     * @return new instances of the additional writers, in the order they are listed
+     */
+    static List<EclipseWriter> loadWriters( ClassLoader classLoader )
+    {
+        List<EclipseWriter> writers = new ArrayList<>();
+        for ( EclipseWriter writer : ServiceLoader.load( EclipseWriter.class, classLoader ) )
+        {
+            writers.add( writer );
+        }
+        return writers;
+    }
+
+    /**
+     * Reads the class names of the writers listed as services of {@link EclipseWriter} by the jars of the plugin class
+     * loader, without loading the classes.
+     *
+     * @return the class names of the additional writers, in the order they are run
+     */
+    public static List<String> getWriterClassNames()
+    {
+        return getWriterClassNames( EclipseWriter.class.getClassLoader() );
+    }
+
+    /**
+     * Reads the provider configuration files like {@link ServiceLoader} does: one class name per line, <code>#</code>
+     * starts a comment, the first occurrence of a name counts.
+     *
+     * @param classLoader the class loader listing the writers
+     * @return the class names of the additional writers, in the order they are run
+     */
+    static List<String> getWriterClassNames( ClassLoader classLoader )
+    {
+        Set<String> names = new LinkedHashSet<>();
+        try
+        {
+            Enumeration<URL> services = classLoader.getResources( WRITER_SERVICES );
+            while ( services.hasMoreElements() )
+            {
+                try ( BufferedReader reader =
+                    new BufferedReader( new InputStreamReader( services.nextElement().openStream(),
+                                                               StandardCharsets.UTF_8 ) ) )
+                {
+                    String line;
+                    while ( ( line = reader.readLine() ) != null )
+                    {
+                        int comment = line.indexOf( '#' );
+                        String name = ( comment < 0 ? line : line.substring( 0, comment ) ).trim();
+                        if ( !name.isEmpty() )
+                        {
+                            names.add( name );
+                        }
+                    }
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            // what ServiceLoader throws when it can't read the files
+            throw new ServiceConfigurationError( WRITER_SERVICES + ": " + e.getMessage(), e ); //$NON-NLS-1$
+        }
+        return new ArrayList<>( names );
+    }
+
+    private void run( EclipseWriter writer, EclipseWriterConfig config )
+        throws MojoExecutionException
+    {
+        try ( Trace.Span span = Trace.begin( Trace.WRITER, writer.getClass().getSimpleName() );
+              JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.WRITER_WRITE, writer.getClass().getName() ) )
+        {
+            int before = config.getGeneratedFiles().size();
+            writer.init( log, config ).write();
+            event.setBytes( getWrittenBytes( config, before ) );
+        }
+    }
+
+    /**
+     * @return the size of the files generated after the first <code>before</code> ones
+     */
+    private static long getWrittenBytes( EclipseWriterConfig config, int before )
+    {
+        long bytes = 0;
+        int index = 0;
+        for ( File file : config.getGeneratedFiles() )
+        {
+            if ( index++ >= before )
+            {
+                bytes += file.length();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Reads back generated files.
+     *
+     * @param files the generated files
+     * @return the files that exist and their content
+     * @throws MojoExecutionException if a file can't be read
+     */
+    public static Map<File, byte[]> getContents( Collection<File> files )
+        throws MojoExecutionException
+    {
+        Map<File, byte[]> contents = new LinkedHashMap<>();
+        for ( File file : files )
+        {
+            if ( file.isFile() )
+            {
+                try
+                {
+                    contents.put( file, Files.readAllBytes( file.toPath() ) );
+                }
+                catch ( IOException e )
+                {
+                    throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantreadfile",
+                                                                          file.getAbsolutePath() ), e );
+                }
+            }
+        }
+        return contents;
+    }
+}
@@ -0,0 +1,177 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.channels.FileLock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.eclipse.writers.workspace.EclipseProjectLocationWriter;
+import org.apache.maven.plugin.eclipse.writers.workspace.EclipseWorkspaceWriter;
+import org.apache.maven.plugins.annotations.Execute;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Generates the Eclipse configuration like <code>eclipse:eclipse</code> and then registers all projects of the reactor
+ * in the eclipse workspace, together with the workspace preferences: the <code>M2_REPO</code> classpath variable and
+ * optionally the code style. Eclipse must not be running on the workspace.
+ * <p>
+ * The goal writes the <code>.location</code> file eclipse keeps for every project outside of the workspace directory
+ * in <code>.metadata/.plugins/org.eclipse.core.resources/.projects/&lt;name&gt;</code>. Eclipse only lists the
+ * projects of the resource tree it saves in <code>.metadata/.plugins/org.eclipse.core.resources/.root</code>, which
+ * this goal does not write: a project that is not in the tree yet still has to be imported once with <i>File &gt;
+ * Import &gt; Existing Projects into Workspace</i>, later runs keep its location and settings up to date.
+ *
+ * @since 2.13
+ */
+@Mojo( name = "register-projects", threadSafe = true )
+@Execute( phase = LifecyclePhase.GENERATE_RESOURCES )
+public class EclipseRegisterProjectsMojo
+    extends EclipsePlugin
+{
+    /**
+     * Eclipse project name to project directory, filled while the reactor is processed.
+     */
+    private static final Map<String, File> PROJECTS = new LinkedHashMap<>();
+
+    /**
+     * Eclipse holds a lock on this file while the workspace is open.
+     */
+    private static final String WORKSPACE_LOCK = ".metadata/.lock";
+
+    /**
+     * Location of the code style formatter file to make the active profile of the workspace.
+     *
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.workspaceCodeStylesURL" )
+    private String workspaceCodeStylesURL;
+
+    /**
+     * Name of the profile in <code>workspaceCodeStylesURL</code> to activate, by default the first one.
+     *
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.workspaceActiveCodeStyleProfileName" )
+    private String workspaceActiveCodeStyleProfileName;
+
+    @Override
+    protected void registerModule( String eclipseProjectName, GeneratorDaemon.Module module )
+        throws MojoExecutionException
+    {
+        super.registerModule( eclipseProjectName, module );
+        synchronized ( PROJECTS )
+        {
+            PROJECTS.put( eclipseProjectName, getEclipseProjectDir() );
+        }
+    }
+
+    /**
+     * Registers the projects once the last project of the reactor has been written.
+     */
+    @Override
+    protected void afterExecute()
+        throws MojoExecutionException
+    {
+        if ( isLastReactorProject() )
+        {
+            try
+            {
+                registerProjects();
+            }
+            finally
+            {
+                synchronized ( PROJECTS )
+                {
+                    PROJECTS.clear();
+                }
+            }
+        }
+        super.afterExecute();
+    }
+
+    private void registerProjects()
+        throws MojoExecutionException
+    {
+        WorkspaceConfiguration workspaceConfiguration = getWorkspaceConfiguration();
+        File workspaceDirectory = workspaceConfiguration.getWorkspaceDirectory();
+        if ( workspaceDirectory == null )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipseRegisterProjectsMojo.noworkspace" ) );
+        }
+
+        File lockFile = new File( workspaceDirectory, WORKSPACE_LOCK );
+        lockFile.getParentFile().mkdirs();
+        try ( RandomAccessFile lock = new RandomAccessFile( lockFile, "rw" );
+              FileLock fileLock = lock.getChannel().tryLock() )
+        {
+            if ( fileLock == null )
+            {
+                throw new MojoExecutionException( Messages.getString( "EclipseRegisterProjectsMojo.workspaceinuse",
+                                                                      workspaceDirectory ) );
+            }
+
+            workspaceConfiguration.setLocalRepository( localRepository );
+            workspaceConfiguration.setCodeStylesURL( getCodeStylesURL() );
+            workspaceConfiguration.setActiveStyleProfileName( workspaceActiveCodeStyleProfileName );
+            synchronized ( PROJECTS )
+            {
+                workspaceConfiguration.setProjectLocations( new LinkedHashMap<>( PROJECTS ) );
+            }
+
+            new EclipseWorkspaceWriter().init( getLog(), workspaceConfiguration ).write();
+            new EclipseProjectLocationWriter().init( getLog(), workspaceConfiguration ).write();
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  lockFile.getAbsolutePath() ), e );
+        }
+
+        getLog().info( Messages.getString( "EclipseRegisterProjectsMojo.registered", new Object[] {
+            workspaceConfiguration.getProjectLocations().size(), workspaceDirectory } ) );
+    }
+
+    private URL getCodeStylesURL()
+        throws MojoExecutionException
+    {
+        if ( workspaceCodeStylesURL == null )
+        {
+            return null;
+        }
+        try
+        {
+            return new URL( workspaceCodeStylesURL );
+        }
+        catch ( MalformedURLException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipseRegisterProjectsMojo.invalidurl",
+                                                                  workspaceCodeStylesURL ), e );
+        }
+    }
+}
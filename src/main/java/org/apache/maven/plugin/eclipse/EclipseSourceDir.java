@@ -155,6 +155,24 @@ public class EclipseSourceDir
         return StringUtils.join( include.iterator(), PATTERN_SEPARATOR );
     }
 
+    /**
+     * @return Returns the compacted exclude as a string pattern suitable for eclipse
+     * @see PathPatterns#compact(List)
+     */
+    public String getCompactExcludeAsString()
+    {
+        return StringUtils.join( PathPatterns.compact( exclude ).iterator(), PATTERN_SEPARATOR );
+    }
+
+    /**
+     * @return Returns the compacted include as a string pattern suitable for eclipse
+     * @see PathPatterns#compact(List)
+     */
+    public String getCompactIncludeAsString()
+    {
+        return StringUtils.join( PathPatterns.compact( include ).iterator(), PATTERN_SEPARATOR );
+    }
+
     /**
      * Getter for <code>output</code>.
      * <p>
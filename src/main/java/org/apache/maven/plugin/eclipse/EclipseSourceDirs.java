@@ -0,0 +1,204 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The source directories of a project in the order they were added, indexed by a trie of their path segments. Like
+ * {@link EclipseSourceDir#equals(Object)} two directories with the same path are the same directory, the first one
+ * added is kept.
+ * <p>
+ * Looking up a directory or an output only walks the segments of its path, so merging the directories and finding the
+ * nested outputs stay linear in the number of directories.
+ */
+public class EclipseSourceDirs
+    implements Iterable<EclipseSourceDir>
+{
+    private static final String SEPARATOR = "/"; //$NON-NLS-1$
+
+    /**
+     * A path segment, with the directory whose path ends here.
+     */
+    private static final class Node
+    {
+        private Map<String, Node> children;
+
+        private EclipseSourceDir dir;
+
+        private boolean output;
+
+        Node child( String segment, boolean create )
+        {
+            Node child = children != null ? children.get( segment ) : null;
+            if ( child == null && create )
+            {
+                if ( children == null )
+                {
+                    children = new HashMap<>();
+                }
+                child = new Node();
+                children.put( segment, child );
+            }
+            return child;
+        }
+    }
+
+    private final Node root = new Node();
+
+    private final List<EclipseSourceDir> dirs = new ArrayList<>();
+
+    private static Node find( Node root, String path, boolean create )
+    {
+        Node node = root;
+        for ( String segment : path.split( SEPARATOR, -1 ) )
+        {
+            node = node.child( segment, create );
+            if ( node == null )
+            {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Adds a directory unless there is one with the same path already.
+     *
+     * @param dir the directory to add
+     * @return the directory with the same path, <code>null</code> if <code>dir</code> has been added
+     */
+    public EclipseSourceDir putIfAbsent( EclipseSourceDir dir )
+    {
+        Node node = find( root, dir.getPath(), true );
+        if ( node.dir != null )
+        {
+            return node.dir;
+        }
+        node.dir = dir;
+        dirs.add( dir );
+        return null;
+    }
+
+    /**
+     * Adds the directories of <code>other</code> that have no directory with the same path yet.
+     *
+     * @param other the directories to add
+     */
+    public void addAll( EclipseSourceDirs other )
+    {
+        for ( EclipseSourceDir dir : other )
+        {
+            putIfAbsent( dir );
+        }
+    }
+
+    /**
+     * @param path the path of a directory
+     * @return the directory with this path, <code>null</code> if there is none
+     */
+    public EclipseSourceDir get( String path )
+    {
+        Node node = find( root, path, false );
+        return node != null ? node.dir : null;
+    }
+
+    /**
+     * @param path the path of a directory
+     * @return <code>true</code> if there is a directory with this path
+     */
+    public boolean contains( String path )
+    {
+        return get( path ) != null;
+    }
+
+    public int size()
+    {
+        return dirs.size();
+    }
+
+    @Override
+    public Iterator<EclipseSourceDir> iterator()
+    {
+        return Collections.unmodifiableList( dirs ).iterator();
+    }
+
+    public EclipseSourceDir[] toArray()
+    {
+        return dirs.toArray( new EclipseSourceDir[dirs.size()] );
+    }
+
+    /**
+     * Finds the resource directories whose output is nested in the default output. Eclipse does not allow nested
+     * outputs, so they have to be copied by other means, unless no directory uses the default output at all. An
+     * output is nested if it is below the default output segment by segment, <code>target/classes-extra</code> is not
+     * nested in <code>target/classes</code>.
+     *
+     * @param dirs the directories, a <code>null</code> output being the default output
+     * @param defaultOutput the default output
+     * @return the resource directories with a nested output, in the order of <code>dirs</code>
+     */
+    public static List<EclipseSourceDir> findNestedOutputs( EclipseSourceDir[] dirs, String defaultOutput )
+    {
+        Node outputs = new Node();
+        find( outputs, defaultOutput, true ).output = true;
+
+        boolean defaultUsed = false;
+        List<EclipseSourceDir> nested = new ArrayList<>();
+        for ( EclipseSourceDir dir : dirs )
+        {
+            if ( dir.getOutput() == null || dir.getOutput().equals( defaultOutput ) )
+            {
+                defaultUsed = true;
+            }
+            else if ( dir.isResource() && isBelowOutput( outputs, dir.getOutput() ) )
+            {
+                nested.add( dir );
+            }
+        }
+        return defaultUsed ? nested : Collections.<EclipseSourceDir>emptyList();
+    }
+
+    /**
+     * @return <code>true</code> if a proper ancestor of the path is an output
+     */
+    private static boolean isBelowOutput( Node outputs, String path )
+    {
+        Node node = outputs;
+        for ( String segment : path.split( SEPARATOR, -1 ) )
+        {
+            if ( node.output )
+            {
+                return true;
+            }
+            node = node.child( segment, false );
+            if ( node == null )
+            {
+                return false;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,159 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Execute;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Generates the Eclipse configuration like <code>eclipse:eclipse</code> and then keeps watching the poms of the
+ * reactor and the local <code>additionalConfig</code> files. When one of them changes, the changed projects and the
+ * projects of the reactor depending on them are regenerated. Projects whose inputs did not change are not written, see
+ * <code>skipUnchanged</code>, and of the regenerated projects only the files whose content changed are written, so
+ * Eclipse does not refresh the others. Stop the goal with Ctrl+C.
+ *
+ * @since 2.13
+ */
+@Mojo( name = "watch", threadSafe = true )
+@Execute( phase = LifecyclePhase.GENERATE_RESOURCES )
+public class EclipseWatchMojo
+    extends EclipsePlugin
+{
+    /**
+     * Pom of a written project to the callback regenerating it, filled while the reactor is processed.
+     */
+    private static final Map<File, GeneratorDaemon.Module> MODULES = new ConcurrentHashMap<>();
+
+    /**
+     * Local <code>additionalConfig</code> source to the poms of the projects using it.
+     */
+    private static final Map<File, Set<File>> CONFIG_SOURCES = new ConcurrentHashMap<>();
+
+    /**
+     * Milliseconds without further changes to wait for before regenerating, so that a burst of changes, for example
+     * a checkout touching many poms, causes a single regeneration.
+     *
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.watchQuietPeriod", defaultValue = "500" )
+    private long watchQuietPeriod;
+
+    @Override
+    protected void registerModule( String eclipseProjectName, GeneratorDaemon.Module module )
+        throws MojoExecutionException
+    {
+        File pom = ReactorGraph.normalize( project.getFile() );
+        MODULES.put( pom, module );
+        for ( File source : getAdditionalConfigSources() )
+        {
+            // modules of a parallel build register concurrently
+            CONFIG_SOURCES.computeIfAbsent( ReactorGraph.normalize( source ),
+                                            key -> ConcurrentHashMap.newKeySet() ).add( pom );
+        }
+    }
+
+    /**
+     * Starts watching once the last project of the reactor has been written.
+     */
+    @Override
+    protected void afterExecute()
+        throws MojoExecutionException
+    {
+        if ( !isLastReactorProject() )
+        {
+            return;
+        }
+
+        List<File> watched = new ArrayList<>( new ReactorGraph( getReactorProjects() ).getPoms() );
+        watched.addAll( CONFIG_SOURCES.keySet() );
+        try ( FileChangeWatcher watcher = new FileChangeWatcher( watched ) )
+        {
+            getLog().info( Messages.getString( "EclipseWatchMojo.watching", watcher.getFiles().size() ) );
+            while ( true )
+            {
+                regenerate( watcher.awaitChanges( watchQuietPeriod ) );
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipseWatchMojo.cantwatch", e.getMessage() ), e );
+        }
+        finally
+        {
+            MODULES.clear();
+            CONFIG_SOURCES.clear();
+        }
+    }
+
+    private void regenerate( Set<File> changed )
+    {
+        Set<File> changedPoms = new LinkedHashSet<>();
+        for ( File file : changed )
+        {
+            getLog().info( Messages.getString( "EclipseWatchMojo.changed", file.getAbsolutePath() ) );
+            Set<File> users = CONFIG_SOURCES.get( file );
+            if ( users != null )
+            {
+                changedPoms.addAll( users );
+            }
+            else
+            {
+                changedPoms.add( file );
+            }
+        }
+
+        // the graph is built again since the dependencies between the projects may just have changed
+        for ( File pom : new ReactorGraph( getReactorProjects() ).getAffected( changedPoms ) )
+        {
+            GeneratorDaemon.Module module = MODULES.get( pom );
+            if ( module == null )
+            {
+                // a project that is not written, for example a parent pom
+                continue;
+            }
+            try
+            {
+                module.regenerate();
+            }
+            catch ( MojoExecutionException | RuntimeException e )
+            {
+                // keep watching, the pom may be fixed with the next change
+                getLog().error( Messages.getString( "EclipseWatchMojo.failed", new Object[] { pom.getAbsolutePath(),
+                    e.getMessage() } ), e );
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a set of files with a {@link WatchService} on their directories. Editors and version control tools often
+ * touch a file several times in a row, so changes are only reported once no further change happened for a while.
+ */
+public class FileChangeWatcher
+    implements Closeable
+{
+    private final WatchService watchService;
+
+    private final Set<File> files = new LinkedHashSet<>();
+
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    /**
+     * @param files the files to watch, they don't need to exist yet but their directory must
+     * @throws IOException if a directory can't be watched
+     */
+    public FileChangeWatcher( Collection<File> files )
+        throws IOException
+    {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> registered = new LinkedHashSet<>();
+        for ( File file : files )
+        {
+            File normalized = ReactorGraph.normalize( file );
+            this.files.add( normalized );
+            Path directory = normalized.getParentFile().toPath();
+            if ( registered.add( directory ) )
+            {
+                directories.put( directory.register( watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE ),
+                                 directory );
+            }
+        }
+    }
+
+    /**
+     * @return the watched files
+     */
+    public Set<File> getFiles()
+    {
+        return files;
+    }
+
+    /**
+     * Blocks until at least one watched file changed and no further change happened during <code>quietMillis</code>.
+     *
+     * @param quietMillis how long to wait for further changes
+     * @return the changed files
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public Set<File> awaitChanges( long quietMillis )
+        throws InterruptedException
+    {
+        Set<File> changed = new LinkedHashSet<>();
+        while ( changed.isEmpty() )
+        {
+            collect( watchService.take(), changed );
+        }
+        WatchKey key;
+        while ( ( key = watchService.poll( quietMillis, TimeUnit.MILLISECONDS ) ) != null )
+        {
+            collect( key, changed );
+        }
+        return changed;
+    }
+
+    private void collect( WatchKey key, Set<File> changed )
+    {
+        Path directory = directories.get( key );
+        for ( WatchEvent<?> event : key.pollEvents() )
+        {
+            if ( event.kind() == OVERFLOW )
+            {
+                // events were lost, assume everything in the directory changed
+                for ( File file : files )
+                {
+                    if ( file.getParentFile().toPath().equals( directory ) )
+                    {
+                        changed.add( file );
+                    }
+                }
+                continue;
+            }
+            File file = directory.resolve( (Path) event.context() ).toFile();
+            if ( files.contains( file ) )
+            {
+                changed.add( file );
+            }
+        }
+        key.reset();
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        watchService.close();
+    }
+}
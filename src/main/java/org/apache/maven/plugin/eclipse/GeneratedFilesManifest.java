@@ -0,0 +1,357 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.maven.plugin.ide.IdeUtils;
+
+/**
+ * The list of files written by <code>eclipse:eclipse</code> for one project together with a hash of the content
+ * that was written. <code>eclipse:clean</code> uses it to delete exactly the generated files and to leave alone the
+ * ones that have been modified since.
+ * <p>
+ * The manifest is a plain text file with one <code>&lt;sha-1&gt; &lt;relative path&gt;</code> line per file, sorted
+ * by path, preceded by one <code>@&lt;input&gt; &lt;sha-1&gt;</code> line per {@link InputFingerprint} input.
+ * <p>
+ * It also records the generated source and resource roots the project had, the ones in the build directory added by
+ * the plugins of the <code>generate-resources</code> phase, with one <code>+&lt;kind&gt; &lt;relative path&gt;</code>
+ * line per root and a <code>+roots &lt;count&gt;</code> line. <code>eclipse:fast</code> adds them again instead of
+ * running that phase.
+ */
+public class GeneratedFilesManifest
+{
+    /**
+     * Location of the manifest, relative to the eclipse project directory.
+     */
+    public static final String FILE_MANIFEST = ".settings/eclipse-maven-plugin.manifest"; //$NON-NLS-1$
+
+    private static final String HEADER = "# files generated by eclipse:eclipse, used by eclipse:clean"; //$NON-NLS-1$
+
+    private static final String INPUT_PREFIX = "@"; //$NON-NLS-1$
+
+    private static final String ROOT_PREFIX = "+"; //$NON-NLS-1$
+
+    private static final String ROOTS = "roots"; //$NON-NLS-1$
+
+    /**
+     * Kind of the generated compile source roots.
+     */
+    public static final String COMPILE_ROOT = "compile"; //$NON-NLS-1$
+
+    /**
+     * Kind of the generated test compile source roots.
+     */
+    public static final String TEST_ROOT = "test"; //$NON-NLS-1$
+
+    /**
+     * Kind of the generated resource directories.
+     */
+    public static final String RESOURCE_ROOT = "resource"; //$NON-NLS-1$
+
+    /**
+     * Kind of the generated test resource directories.
+     */
+    public static final String TEST_RESOURCE_ROOT = "testResource"; //$NON-NLS-1$
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final File projectDirectory;
+
+    /**
+     * Relative path to hash.
+     */
+    private final Map<String, String> entries = new TreeMap<>();
+
+    /**
+     * Input name to hash, see {@link InputFingerprint}.
+     */
+    private final Map<String, String> inputs = new TreeMap<>();
+
+    /**
+     * Kind to the relative paths of the generated roots.
+     */
+    private final Map<String, Set<String>> roots = new TreeMap<>();
+
+    /**
+     * Have the generated roots been recorded? Manifests of older versions don't have them.
+     */
+    private boolean rootsRecorded;
+
+    public GeneratedFilesManifest( File projectDirectory )
+    {
+        this.projectDirectory = projectDirectory;
+    }
+
+    /**
+     * Reads the manifest of the given project.
+     *
+     * @param projectDirectory the eclipse project directory
+     * @return the manifest or <code>null</code> if the project has no manifest
+     * @throws IOException if the manifest can't be read
+     */
+    public static GeneratedFilesManifest read( File projectDirectory )
+        throws IOException
+    {
+        File file = new File( projectDirectory, FILE_MANIFEST );
+        if ( !file.isFile() )
+        {
+            return null;
+        }
+        GeneratedFilesManifest manifest = new GeneratedFilesManifest( projectDirectory );
+        try ( BufferedReader reader = Files.newBufferedReader( file.toPath(), StandardCharsets.UTF_8 ) )
+        {
+            String line;
+            while ( ( line = reader.readLine() ) != null )
+            {
+                int separator = line.indexOf( ' ' );
+                if ( line.startsWith( "#" ) || separator < 0 )
+                {
+                    continue;
+                }
+                if ( line.startsWith( INPUT_PREFIX ) )
+                {
+                    manifest.inputs.put( line.substring( INPUT_PREFIX.length(), separator ),
+                                         line.substring( separator + 1 ) );
+                    continue;
+                }
+                if ( line.startsWith( ROOT_PREFIX ) )
+                {
+                    String kind = line.substring( ROOT_PREFIX.length(), separator );
+                    if ( ROOTS.equals( kind ) )
+                    {
+                        manifest.rootsRecorded = true;
+                    }
+                    else
+                    {
+                        manifest.getRootPaths( kind ).add( line.substring( separator + 1 ) );
+                    }
+                    continue;
+                }
+                manifest.entries.put( line.substring( separator + 1 ), line.substring( 0, separator ) );
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Records the current content of a generated file.
+     *
+     * @param file the generated file, must be inside the project directory
+     * @throws IOException if the file can't be read
+     */
+    public void add( File file )
+        throws IOException
+    {
+        if ( file.isFile() )
+        {
+            entries.put( relativize( file ), hash( file ) );
+        }
+    }
+
+    /**
+     * Writes the manifest, unless it is unchanged.
+     *
+     * @throws IOException if the manifest can't be written
+     */
+    public void store()
+        throws IOException
+    {
+        StringBuilder content = new StringBuilder( HEADER ).append( '\n' );
+        for ( Map.Entry<String, String> input : inputs.entrySet() )
+        {
+            content.append( INPUT_PREFIX ).append( input.getKey() ).append( ' ' ).append( input.getValue() );
+            content.append( '\n' );
+        }
+        if ( rootsRecorded )
+        {
+            int count = 0;
+            for ( Map.Entry<String, Set<String>> kind : roots.entrySet() )
+            {
+                for ( String path : kind.getValue() )
+                {
+                    content.append( ROOT_PREFIX ).append( kind.getKey() ).append( ' ' ).append( path ).append( '\n' );
+                    count++;
+                }
+            }
+            content.append( ROOT_PREFIX ).append( ROOTS ).append( ' ' ).append( count ).append( '\n' );
+        }
+        for ( Map.Entry<String, String> entry : entries.entrySet() )
+        {
+            content.append( entry.getValue() ).append( ' ' ).append( entry.getKey() ).append( '\n' );
+        }
+        IdeUtils.writeIfChanged( getManifestFile(), content.toString().getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    /**
+     * @return the fingerprint of the inputs the files were generated from, input name to hash
+     */
+    public Map<String, String> getInputs()
+    {
+        return inputs;
+    }
+
+    /**
+     * @param inputs the fingerprint of the inputs the files were generated from, input name to hash
+     */
+    public void setInputs( Map<String, String> inputs )
+    {
+        this.inputs.clear();
+        this.inputs.putAll( inputs );
+    }
+
+    /**
+     * Records a generated root of the project, also marks the roots as recorded.
+     *
+     * @param kind the kind of root, one of the <code>*_ROOT</code> constants
+     * @param directory the root
+     */
+    public void addRoot( String kind, File directory )
+    {
+        rootsRecorded = true;
+        getRootPaths( kind ).add( relativize( directory ) );
+    }
+
+    /**
+     * Marks the roots as recorded, also if the project has none.
+     */
+    public void setRootsRecorded()
+    {
+        rootsRecorded = true;
+    }
+
+    /**
+     * @return <code>true</code> if the generated roots have been recorded, also if there are none
+     */
+    public boolean isRootsRecorded()
+    {
+        return rootsRecorded;
+    }
+
+    /**
+     * @param kind the kind of root, one of the <code>*_ROOT</code> constants
+     * @return the recorded roots of that kind
+     */
+    public List<File> getRoots( String kind )
+    {
+        List<File> files = new ArrayList<>();
+        for ( String path : getRootPaths( kind ) )
+        {
+            files.add( new File( projectDirectory, path ).toPath().normalize().toFile() );
+        }
+        return files;
+    }
+
+    private Set<String> getRootPaths( String kind )
+    {
+        Set<String> paths = roots.get( kind );
+        if ( paths == null )
+        {
+            paths = new TreeSet<>();
+            roots.put( kind, paths );
+        }
+        return paths;
+    }
+
+    /**
+     * @return the recorded files
+     */
+    public List<File> getFiles()
+    {
+        List<File> files = new ArrayList<>( entries.size() );
+        for ( String path : entries.keySet() )
+        {
+            files.add( new File( projectDirectory, path ) );
+        }
+        return files;
+    }
+
+    /**
+     * Checks whether a file still has the content that was recorded.
+     *
+     * @param file a file returned by {@link #getFiles()}
+     * @return <code>true</code> if the file exists and is unchanged
+     * @throws IOException if the file can't be read
+     */
+    public boolean isUnmodified( File file )
+        throws IOException
+    {
+        String expected = entries.get( relativize( file ) );
+        return expected != null && file.isFile() && expected.equals( hash( file ) );
+    }
+
+    /**
+     * @return the file the manifest is stored in
+     */
+    public File getManifestFile()
+    {
+        return new File( projectDirectory, FILE_MANIFEST );
+    }
+
+    private String relativize( File file )
+    {
+        Path base = projectDirectory.toPath().toAbsolutePath().normalize();
+        return IdeUtils.fixSeparator( base.relativize( file.toPath().toAbsolutePath().normalize() ).toString() );
+    }
+
+    private static String hash( File file )
+        throws IOException
+    {
+        return sha1( Files.readAllBytes( file.toPath() ) );
+    }
+
+    /**
+     * @param content the bytes to hash
+     * @return the hex encoded SHA-1 of the content
+     */
+    static String sha1( byte[] content )
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "SHA-1" );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "SHA-1 not supported", e );
+        }
+        byte[] bytes = digest.digest( content );
+        char[] hex = new char[bytes.length * 2];
+        for ( int i = 0; i < bytes.length; i++ )
+        {
+            hex[i * 2] = HEX[( bytes[i] >> 4 ) & 0xF];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String( hex );
+    }
+}
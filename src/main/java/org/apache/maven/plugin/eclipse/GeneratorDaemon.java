@@ -0,0 +1,218 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Keeps the projects of a reactor in memory after <code>eclipse:eclipse</code> ran and regenerates single projects on
+ * request, so the Maven startup and the dependency resolution and workspace caches are paid only once.
+ * <p>
+ * The daemon listens on the loopback interface only and speaks a line based protocol, one command per line:
+ * <ul>
+ * <li><code>list</code> lists the registered projects</li>
+ * <li><code>regenerate &lt;project&gt;</code> regenerates a project and lists the generated files</li>
+ * <li><code>stop</code> stops the daemon</li>
+ * </ul>
+ * Each response ends with a line starting with <code>OK</code> or <code>ERROR</code>. Commands are executed one at a
+ * time.
+ */
+public class GeneratorDaemon
+    implements Closeable
+{
+    /**
+     * A project that can be regenerated.
+     */
+    public interface Module
+    {
+        /**
+         * Writes the Eclipse metadata of the project again.
+         *
+         * @return the generated files and their content
+         * @throws MojoExecutionException if the project can't be generated
+         */
+        Map<File, byte[]> regenerate()
+            throws MojoExecutionException;
+    }
+
+    private final Map<String, Module> modules = new ConcurrentSkipListMap<>();
+
+    private final ServerSocket serverSocket;
+
+    private final Log log;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param port the port to listen on, <code>0</code> for any free port
+     * @param log the logger
+     * @throws IOException if the port can't be bound
+     */
+    public GeneratorDaemon( int port, Log log )
+        throws IOException
+    {
+        this.serverSocket = new ServerSocket( port, 0, InetAddress.getLoopbackAddress() );
+        this.log = log;
+    }
+
+    /**
+     * @return the port the daemon listens on
+     */
+    public int getPort()
+    {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Registers a project, replacing an earlier registration with the same name.
+     *
+     * @param name the eclipse project name
+     * @param module regenerates the project
+     */
+    public void register( String name, Module module )
+    {
+        modules.put( name, module );
+    }
+
+    /**
+     * Accepts connections until a <code>stop</code> command is received or the daemon is closed.
+     *
+     * @throws IOException if accepting a connection fails
+     */
+    public void serve()
+        throws IOException
+    {
+        log.info( Messages.getString( "EclipsePlugin.daemonlistening", Integer.toString( getPort() ) ) );
+        while ( running )
+        {
+            try ( Socket socket = serverSocket.accept() )
+            {
+                handle( socket );
+            }
+            catch ( SocketException e )
+            {
+                if ( running )
+                {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void handle( Socket socket )
+        throws IOException
+    {
+        BufferedReader in =
+            new BufferedReader( new InputStreamReader( socket.getInputStream(), StandardCharsets.UTF_8 ) );
+        PrintWriter out =
+            new PrintWriter( new OutputStreamWriter( socket.getOutputStream(), StandardCharsets.UTF_8 ), true );
+        String line;
+        while ( running && ( line = in.readLine() ) != null )
+        {
+            for ( String response : execute( line.trim() ) )
+            {
+                out.println( response );
+            }
+        }
+    }
+
+    /**
+     * Executes a single command.
+     *
+     * @param command the command line
+     * @return the response lines, the last one starts with <code>OK</code> or <code>ERROR</code>
+     */
+    List<String> execute( String command )
+    {
+        List<String> response = new ArrayList<>();
+        if ( "list".equals( command ) ) //$NON-NLS-1$
+        {
+            response.addAll( modules.keySet() );
+            response.add( "OK " + modules.size() ); //$NON-NLS-1$
+        }
+        else if ( command.startsWith( "regenerate " ) ) //$NON-NLS-1$
+        {
+            String name = command.substring( "regenerate ".length() ).trim(); //$NON-NLS-1$
+            Module module = modules.get( name );
+            if ( module == null )
+            {
+                response.add( "ERROR unknown project " + name ); //$NON-NLS-1$
+                return response;
+            }
+            long start = System.nanoTime();
+            try
+            {
+                Map<File, byte[]> files = module.regenerate();
+                for ( File file : files.keySet() )
+                {
+                    response.add( file.getAbsolutePath() );
+                }
+                long millis = TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start );
+                log.info( Messages.getString( "EclipsePlugin.daemonregenerated", new Object[] { name, millis } ) );
+                response.add( "OK " + files.size() + " files in " + millis + " ms" ); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            catch ( MojoExecutionException | RuntimeException e )
+            {
+                log.error( e.getMessage(), e );
+                response.add( "ERROR " + e.getMessage() ); //$NON-NLS-1$
+            }
+        }
+        else if ( "stop".equals( command ) ) //$NON-NLS-1$
+        {
+            running = false;
+            response.add( "OK" ); //$NON-NLS-1$
+        }
+        else
+        {
+            response.add( "ERROR unknown command " + command ); //$NON-NLS-1$
+        }
+        return response;
+    }
+
+    /**
+     * Stops accepting connections.
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        running = false;
+        serverSocket.close();
+    }
+}
@@ -0,0 +1,120 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Lists the files changed in a git working copy by running the <code>git</code> executable.
+ */
+public class GitDiff
+{
+    private GitDiff()
+    {
+        // don't instantiate
+    }
+
+    /**
+     * Runs <code>git diff --name-only --relative -z &lt;range&gt;</code>. A single revision compares it with the
+     * working tree, so uncommitted changes are included; a range like <code>main..HEAD</code> compares two revisions.
+     *
+     * @param directory the directory to run git in, the returned files are resolved against it
+     * @param range a revision or a revision range
+     * @return the changed files below the directory
+     * @throws MojoExecutionException if git can't be run or fails
+     */
+    public static List<File> getChangedFiles( File directory, String range )
+        throws MojoExecutionException
+    {
+        ProcessBuilder builder = new ProcessBuilder( "git", "diff", "--name-only", "--relative", "-z", range );
+        builder.directory( directory );
+        builder.redirectError( ProcessBuilder.Redirect.INHERIT );
+        try
+        {
+            Process process = builder.start();
+            List<File> changed;
+            try ( InputStream in = new BufferedInputStream( process.getInputStream() ) )
+            {
+                changed = parse( directory, in );
+            }
+            int exitCode = process.waitFor();
+            if ( exitCode != 0 )
+            {
+                throw new MojoExecutionException( Messages.getString( "EclipsePlugin.gitdifffailed", new Object[] {
+                    range, "exit code " + exitCode } ) ); //$NON-NLS-1$
+            }
+            return changed;
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.gitdifffailed", new Object[] {
+                range, e.getMessage() } ), e );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.gitdifffailed", new Object[] {
+                range, e.getMessage() } ), e );
+        }
+    }
+
+    /**
+     * Parses the output of <code>git diff --name-only -z</code>: the paths are separated by NUL bytes and are not
+     * quoted, whatever characters they contain.
+     *
+     * @param directory the paths are resolved against it
+     * @param in the output of git
+     * @return the changed files
+     * @throws IOException if the output can't be read
+     */
+    static List<File> parse( File directory, InputStream in )
+        throws IOException
+    {
+        List<File> changed = new ArrayList<>();
+        ByteArrayOutputStream path = new ByteArrayOutputStream();
+        int b;
+        while ( ( b = in.read() ) != -1 )
+        {
+            if ( b != 0 )
+            {
+                path.write( b );
+            }
+            else if ( path.size() > 0 )
+            {
+                changed.add( new File( directory, new String( path.toByteArray(), StandardCharsets.UTF_8 ) ) );
+                path.reset();
+            }
+        }
+        if ( path.size() > 0 )
+        {
+            changed.add( new File( directory, new String( path.toByteArray(), StandardCharsets.UTF_8 ) ) );
+        }
+        return changed;
+    }
+}
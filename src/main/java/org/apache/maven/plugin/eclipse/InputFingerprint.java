@@ -0,0 +1,174 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.maven.plugin.eclipse.writers.EclipseWriterConfig;
+import org.apache.maven.plugin.ide.IdeDependency;
+
+/**
+ * A hash per input of the writers. Two runs with the same fingerprint produce the same files, so a project whose
+ * fingerprint and generated files are unchanged does not need to be written again. Keeping one hash per input, rather
+ * than a single one, allows to tell which input caused a regeneration.
+ */
+public class InputFingerprint
+{
+    private final Map<String, String> inputs = new TreeMap<>();
+
+    /**
+     * Creates a fingerprint of everything the writers read from the given configuration. Must be called before the
+     * writers run, since some of them modify the configuration.
+     *
+     * @param config the writer configuration
+     * @return the fingerprint
+     */
+    public static InputFingerprint create( EclipseWriterConfig config )
+    {
+        InputFingerprint fingerprint = new InputFingerprint();
+
+        fingerprint.add( "project", config.getEclipseProjectName(), config.getPackaging(),
+                         config.getEclipseProjectDirectory(), config.getProjectBaseDir(),
+                         config.getBuildOutputDirectory(), config.getOSGIManifestFile(),
+                         config.getProjectNameTemplate() );
+
+        List<Object> deps = new ArrayList<>();
+        for ( IdeDependency dep : config.getDeps() )
+        {
+            deps.add( dep.getGroupId() + ':' + dep.getArtifactId() + ':' + dep.getVersion() + ':'
+                + dep.getClassifier() + ':' + dep.getType() + ':' + dep.getEclipseProjectName() );
+            deps.add( dep.isReferencedProject() + "," + dep.isTestDependency() + "," + dep.isSystemScoped() + ","
+                + dep.isProvided() + "," + dep.isAddedToClasspath() + "," + dep.isClassFolder() );
+            deps.add( dep.getFile() );
+            deps.add( dep.getSourceAttachment() );
+            deps.add( dep.getJavadocAttachment() );
+            deps.add( dep.getIndexLocation() );
+        }
+        fingerprint.add( "dependencies", deps.toArray() );
+
+        fingerprint.add( "sourceDirs", (Object[]) config.getSourceDirs() );
+        fingerprint.add( "linkNestedResources", config.isLinkNestedResources() );
+        fingerprint.add( "natures", config.getProjectnatures() );
+        fingerprint.add( "facets", config.getProjectFacets() == null ? null
+                        : new TreeMap<>( config.getProjectFacets() ) );
+        fingerprint.add( "buildCommands", config.getBuildCommands() );
+        fingerprint.add( "classpathContainers", config.getClasspathContainers(),
+                         config.isClasspathContainersLast() );
+
+        List<Object> links = new ArrayList<>();
+        if ( config.getLinkedResources() != null )
+        {
+            for ( LinkedResource link : config.getLinkedResources() )
+            {
+                links.add( link.getName() + ',' + link.getType() + ',' + link.getLocation() + ','
+                    + link.getLocationURI() );
+            }
+        }
+        fingerprint.add( "linkedResources", links.toArray() );
+
+        List<Object> filters = new ArrayList<>();
+        if ( config.getResourceFilters() != null )
+        {
+            for ( ResourceFilter filter : config.getResourceFilters() )
+            {
+                filters.add( filter.getName() + ',' + filter.getType() + ',' + filter.getMatcher() + ','
+                    + filter.getArguments() );
+            }
+        }
+        fingerprint.add( "resourceFilters", filters.toArray() );
+
+        fingerprint.add( "userLibraries", config.getUserLibraries() );
+
+        // the additional writers may come and go with the dependencies of the plugin
+        List<Object> writers = new ArrayList<>();
+        writers.add( config.isProjectModel() );
+        writers.addAll( EclipseProjectGenerator.getWriterClassNames() );
+        fingerprint.add( "writers", writers.toArray() );
+
+        fingerprint.add( "wtp", config.getWtpVersion(), config.getWtpapplicationxml(), config.getContextName(),
+                         config.getJeeVersion() );
+
+        WorkspaceConfiguration workspace = config.getWorkspaceConfiguration();
+        if ( workspace != null )
+        {
+            fingerprint.add( "workspace", workspace.getDefaultClasspathContainer(),
+                             workspace.getDefaultDeployServerId(), workspace.getDefaultDeployServerName() );
+        }
+
+        return fingerprint;
+    }
+
+    /**
+     * Adds or replaces an input.
+     *
+     * @param name the name of the input, reported when it changes
+     * @param values the values making up the input, <code>null</code> values are allowed
+     */
+    public void add( String name, Object... values )
+    {
+        StringBuilder buffer = new StringBuilder();
+        if ( values != null )
+        {
+            for ( Object value : values )
+            {
+                buffer.append( value ).append( '\n' );
+            }
+        }
+        inputs.put( name, GeneratedFilesManifest.sha1( buffer.toString().getBytes( StandardCharsets.UTF_8 ) ) );
+    }
+
+    /**
+     * @return input name to hash
+     */
+    public Map<String, String> getInputs()
+    {
+        return inputs;
+    }
+
+    /**
+     * Compares this fingerprint with a previous one.
+     *
+     * @param previous input name to hash of an earlier run
+     * @return the names of the inputs that were added, removed or changed, empty if the fingerprints are identical
+     */
+    public List<String> getChangedInputs( Map<String, String> previous )
+    {
+        List<String> changed = new ArrayList<>();
+        for ( Map.Entry<String, String> input : inputs.entrySet() )
+        {
+            if ( !input.getValue().equals( previous.get( input.getKey() ) ) )
+            {
+                changed.add( input.getKey() );
+            }
+        }
+        for ( String name : previous.keySet() )
+        {
+            if ( !inputs.containsKey( name ) )
+            {
+                changed.add( name );
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,228 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.ide.FileLocks;
+import org.apache.maven.plugin.ide.IdeDependency;
+
+/**
+ * Locates and generates pre-built JDT indexes of dependency jars. Eclipse uses the index referenced by the
+ * <code>index_location</code> classpath attribute instead of indexing the jar itself. The index of a jar is looked up
+ * in this order:
+ * <ol>
+ * <li>in the shared index directory, as <code>&lt;groupId&gt;/&lt;jar name&gt;.index</code></li>
+ * <li>next to the jar, as <code>&lt;jar name&gt;.index</code></li>
+ * <li>as artifact with the classifier and type <code>index</code>, resolved like the sources</li>
+ * </ol>
+ */
+public final class JdtIndexes
+{
+    /**
+     * Classifier and type of the index artifacts.
+     */
+    public static final String CLASSIFIER = "index"; //$NON-NLS-1$
+
+    /**
+     * Extension of the index files.
+     */
+    public static final String EXTENSION = ".index"; //$NON-NLS-1$
+
+    /**
+     * Public API of JDT to write the index of a jar, only available if the plugin has JDT on its class path.
+     */
+    private static final String JAVA_INDEXER = "org.eclipse.jdt.core.index.JavaIndexer"; //$NON-NLS-1$
+
+    private JdtIndexes()
+    {
+        // no instances
+    }
+
+    /**
+     * @param dependency a dependency
+     * @return <code>true</code> if the dependency is a jar that can be indexed
+     */
+    public static boolean isIndexable( IdeDependency dependency )
+    {
+        return !dependency.isReferencedProject() && dependency.getFile() != null && dependency.getFile().isFile();
+    }
+
+    /**
+     * @param directory the shared index directory
+     * @param dependency an indexable dependency
+     * @return the index file of the dependency in the shared index directory
+     */
+    public static File getSharedIndexFile( File directory, IdeDependency dependency )
+    {
+        return new File( new File( directory, dependency.getGroupId() ), dependency.getFile().getName() + EXTENSION );
+    }
+
+    /**
+     * @param jar a jar
+     * @return the index file next to the jar
+     */
+    public static File getSiblingIndexFile( File jar )
+    {
+        return new File( jar.getParentFile(), jar.getName() + EXTENSION );
+    }
+
+    /**
+     * Where a new index of a dependency is written: in the shared index directory if there is one, otherwise next to
+     * the jar.
+     *
+     * @param directory the shared index directory, may be <code>null</code>
+     * @param dependency an indexable dependency
+     * @return the index file
+     */
+    public static File getIndexFile( File directory, IdeDependency dependency )
+    {
+        return directory != null ? getSharedIndexFile( directory, dependency )
+                        : getSiblingIndexFile( dependency.getFile() );
+    }
+
+    /**
+     * Looks up the index of a dependency.
+     *
+     * @param directory the shared index directory, may be <code>null</code>
+     * @param dependency a dependency, its index location is the index resolved by classifier if any
+     * @return the index or <code>null</code> if there is none
+     */
+    public static File find( File directory, IdeDependency dependency )
+    {
+        if ( !isIndexable( dependency ) )
+        {
+            return null;
+        }
+        if ( directory != null )
+        {
+            File shared = getSharedIndexFile( directory, dependency );
+            if ( shared.isFile() )
+            {
+                return shared;
+            }
+        }
+        File sibling = getSiblingIndexFile( dependency.getFile() );
+        if ( sibling.isFile() )
+        {
+            return sibling;
+        }
+        File resolved = dependency.getIndexLocation();
+        return resolved != null && resolved.isFile() ? resolved : null;
+    }
+
+    /**
+     * Sets the index location of the dependencies to their index, if they have one.
+     *
+     * @param directory the shared index directory, may be <code>null</code>
+     * @param dependencies the dependencies
+     */
+    public static void attach( File directory, IdeDependency[] dependencies )
+    {
+        for ( IdeDependency dependency : dependencies )
+        {
+            dependency.setIndexLocation( find( directory, dependency ) );
+        }
+    }
+
+    /**
+     * @param index an index file
+     * @param jar the indexed jar
+     * @return <code>true</code> if the index exists and is not older than the jar
+     */
+    public static boolean isUpToDate( File index, File jar )
+    {
+        return index.isFile() && index.lastModified() >= jar.lastModified();
+    }
+
+    /**
+     * Writes the index of a jar with JDT. The index is written to a temporary file first so concurrent builds never see
+     * a partial index, and under the lock of the index so modules sharing a dependency index it only once.
+     *
+     * @param jar the jar to index
+     * @param index the index file
+     * @param lockDirectory the directory of the lock files, see {@link FileLocks#getLockDirectory}
+     * @throws MojoExecutionException if JDT is not available or the index can not be written
+     */
+    public static void generate( File jar, File index, File lockDirectory )
+        throws MojoExecutionException
+    {
+        Method generateIndexForJar;
+        try
+        {
+            Class<?> indexer = Class.forName( JAVA_INDEXER, true, JdtIndexes.class.getClassLoader() );
+            generateIndexForJar = indexer.getMethod( "generateIndexForJar", String.class, String.class );
+        }
+        catch ( ClassNotFoundException | NoSuchMethodException | LinkageError e )
+        {
+            throw new MojoExecutionException( Messages.getString( "JdtIndexes.nojdt", JAVA_INDEXER ), e );
+        }
+
+        File directory = index.getParentFile();
+        if ( !directory.isDirectory() && !directory.mkdirs() )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantcreatedir", directory ) );
+        }
+        File temporary = null;
+        try ( FileLocks.Lock lock = FileLocks.lock( index, lockDirectory ) )
+        {
+            if ( isUpToDate( index, jar ) )
+            {
+                // written by another module meanwhile
+                return;
+            }
+            temporary = File.createTempFile( index.getName(), ".tmp", directory );
+            generateIndexForJar.invoke( null, jar.getAbsolutePath(), temporary.getAbsolutePath() );
+            try
+            {
+                Files.move( temporary.toPath(), index.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                            StandardCopyOption.REPLACE_EXISTING );
+            }
+            catch ( AtomicMoveNotSupportedException e )
+            {
+                Files.move( temporary.toPath(), index.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            }
+        }
+        catch ( IOException | IllegalAccessException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "JdtIndexes.cantindex", new Object[] { jar,
+                e.getMessage() } ), e );
+        }
+        catch ( InvocationTargetException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "JdtIndexes.cantindex", new Object[] { jar,
+                e.getCause().getMessage() } ), e.getCause() );
+        }
+        finally
+        {
+            if ( temporary != null && temporary.exists() )
+            {
+                temporary.delete();
+            }
+        }
+    }
+}
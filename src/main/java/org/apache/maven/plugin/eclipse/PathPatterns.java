@@ -0,0 +1,249 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inclusion and exclusion patterns of eclipse source folders: <code>*</code> and <code>?</code> match within a
+ * segment, a <code>**</code> segment matches any number of segments and a trailing <code>/</code> stands for
+ * <code>/**</code>.
+ * <p>
+ * JDT evaluates every pattern of a source folder for every resource it builds, so the patterns are compacted before
+ * they are written: duplicates and patterns matching nothing more than another pattern are dropped, and the rest is
+ * sorted. Compacting never changes the set of paths matched. The syntax has no alternatives, so a pattern can only
+ * replace siblings that it covers exactly, like <code>dir/**</code> replaces <code>dir/a.xml</code> and
+ * <code>dir/b.xml</code>, but <code>dir/a.xml</code> and <code>dir/b.xml</code> are never guessed to be all of
+ * <code>dir</code>.
+ */
+public final class PathPatterns
+{
+    private static final String SEPARATOR = "/"; //$NON-NLS-1$
+
+    private static final String ANY_SEGMENTS = "**"; //$NON-NLS-1$
+
+    private PathPatterns()
+    {
+        // no instances
+    }
+
+    /**
+     * @param patterns the patterns, may contain duplicates
+     * @return the patterns matching the same paths, without the ones covered by others, sorted
+     */
+    public static List<String> compact( List<String> patterns )
+    {
+        // the same pattern may be spelled differently, keep the shortest spelling
+        Map<String, String> byNormalized = new TreeMap<>();
+        for ( String pattern : patterns )
+        {
+            String normalized = normalize( pattern );
+            String spelling = byNormalized.get( normalized );
+            if ( spelling == null || pattern.length() < spelling.length()
+                || pattern.length() == spelling.length() && pattern.compareTo( spelling ) < 0 )
+            {
+                byNormalized.put( normalized, pattern );
+            }
+        }
+
+        // only patterns with wildcards match more than one path, so only they can cover other patterns
+        List<String[]> wildcards = new ArrayList<>();
+        for ( String normalized : byNormalized.keySet() )
+        {
+            if ( hasWildcard( normalized ) )
+            {
+                wildcards.add( split( normalized ) );
+            }
+        }
+
+        List<String> compacted = new ArrayList<>();
+        for ( Map.Entry<String, String> pattern : byNormalized.entrySet() )
+        {
+            if ( !isCovered( pattern.getKey(), wildcards ) )
+            {
+                compacted.add( pattern.getValue() );
+            }
+        }
+        compacted.sort( null );
+        return compacted;
+    }
+
+    /**
+     * @param pattern a pattern
+     * @param path a path relative to the source folder
+     * @return <code>true</code> if the pattern matches the path
+     */
+    public static boolean matches( String pattern, String path )
+    {
+        return matchSegments( split( normalize( pattern ) ), 0, split( path ), 0 );
+    }
+
+    /**
+     * @return <code>true</code> if another pattern matches every path matched by <code>normalized</code>. Of two
+     *         patterns matching the same paths, the one first in sort order is kept.
+     */
+    private static boolean isCovered( String normalized, List<String[]> wildcards )
+    {
+        String[] segments = split( normalized );
+        for ( String[] other : wildcards )
+        {
+            if ( !Arrays.equals( segments, other ) && covers( other, 0, segments, 0 )
+                && !( covers( segments, 0, other, 0 ) && normalized.compareTo( join( other ) ) < 0 ) )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return <code>true</code> if every path matched by <code>pattern</code> from segment <code>p</code> on is
+     *         matched by <code>cover</code> from segment <code>c</code> on. May answer <code>false</code> for exotic
+     *         patterns that do cover, which only means less compaction.
+     */
+    private static boolean covers( String[] cover, int c, String[] pattern, int p )
+    {
+        if ( c == cover.length )
+        {
+            return p == pattern.length;
+        }
+        if ( ANY_SEGMENTS.equals( cover[c] ) )
+        {
+            // zero segments, or one more segment of whatever kind
+            return covers( cover, c + 1, pattern, p ) || ( p < pattern.length && covers( cover, c, pattern, p + 1 ) );
+        }
+        if ( p == pattern.length || ANY_SEGMENTS.equals( pattern[p] ) )
+        {
+            return false;
+        }
+        return coversSegment( cover[c], pattern[p] ) && covers( cover, c + 1, pattern, p + 1 );
+    }
+
+    /**
+     * @return <code>true</code> if every name matched by the segment <code>pattern</code> is matched by
+     *         <code>cover</code>
+     */
+    private static boolean coversSegment( String cover, String pattern )
+    {
+        if ( !hasWildcard( pattern ) )
+        {
+            return matchSegment( cover, 0, pattern, 0 );
+        }
+        if ( cover.equals( pattern ) )
+        {
+            return true;
+        }
+        // a cover with one star, the literal parts of the pattern have to start and end the same way
+        int star = cover.indexOf( '*' );
+        if ( star < 0 || cover.indexOf( '*', star + 1 ) >= 0 || cover.indexOf( '?' ) >= 0 )
+        {
+            return false;
+        }
+        String prefix = pattern.substring( 0, firstWildcard( pattern ) );
+        String suffix = pattern.substring( lastWildcard( pattern ) + 1 );
+        return prefix.startsWith( cover.substring( 0, star ) ) && suffix.endsWith( cover.substring( star + 1 ) );
+    }
+
+    private static boolean matchSegments( String[] pattern, int p, String[] path, int s )
+    {
+        if ( p == pattern.length )
+        {
+            return s == path.length;
+        }
+        if ( ANY_SEGMENTS.equals( pattern[p] ) )
+        {
+            return matchSegments( pattern, p + 1, path, s ) || ( s < path.length
+                && matchSegments( pattern, p, path, s + 1 ) );
+        }
+        return s < path.length && matchSegment( pattern[p], 0, path[s], 0 )
+            && matchSegments( pattern, p + 1, path, s + 1 );
+    }
+
+    private static boolean matchSegment( String pattern, int p, String name, int n )
+    {
+        if ( p == pattern.length() )
+        {
+            return n == name.length();
+        }
+        char c = pattern.charAt( p );
+        if ( c == '*' )
+        {
+            return matchSegment( pattern, p + 1, name, n ) || ( n < name.length()
+                && matchSegment( pattern, p, name, n + 1 ) );
+        }
+        return n < name.length() && ( c == '?' || c == name.charAt( n ) )
+            && matchSegment( pattern, p + 1, name, n + 1 );
+    }
+
+    /**
+     * @return the pattern with the trailing <code>/</code> spelled out and repeated <code>**</code> segments merged
+     */
+    private static String normalize( String pattern )
+    {
+        String spelledOut = pattern.endsWith( SEPARATOR ) ? pattern + ANY_SEGMENTS : pattern;
+        List<String> segments = new ArrayList<>();
+        for ( String segment : split( spelledOut ) )
+        {
+            if ( !ANY_SEGMENTS.equals( segment ) || segments.isEmpty()
+                || !ANY_SEGMENTS.equals( segments.get( segments.size() - 1 ) ) )
+            {
+                segments.add( segment );
+            }
+        }
+        return String.join( SEPARATOR, segments );
+    }
+
+    private static String[] split( String pattern )
+    {
+        return pattern.split( SEPARATOR, -1 );
+    }
+
+    private static String join( String[] segments )
+    {
+        return String.join( SEPARATOR, segments );
+    }
+
+    private static boolean hasWildcard( String pattern )
+    {
+        return firstWildcard( pattern ) < pattern.length();
+    }
+
+    private static int firstWildcard( String pattern )
+    {
+        for ( int i = 0; i < pattern.length(); i++ )
+        {
+            char c = pattern.charAt( i );
+            if ( c == '*' || c == '?' )
+            {
+                return i;
+            }
+        }
+        return pattern.length();
+    }
+
+    private static int lastWildcard( String pattern )
+    {
+        return Math.max( pattern.lastIndexOf( '*' ), pattern.lastIndexOf( '?' ) );
+    }
+}
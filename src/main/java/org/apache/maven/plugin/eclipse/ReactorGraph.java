@@ -0,0 +1,228 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * The dependencies between the projects of a reactor, with the projects identified by their pom file. A project
+ * depends on another one if it declares a dependency on it or if it is its parent. Versions are ignored, so a project
+ * still depends on a sibling whose version has just been changed.
+ */
+public class ReactorGraph
+{
+    /**
+     * The poms in reactor order.
+     */
+    private final List<File> poms = new ArrayList<>();
+
+    /**
+     * Pom to the poms of the projects depending directly on it.
+     */
+    private final Map<File, Set<File>> dependents = new HashMap<>();
+
+    /**
+     * Pom to the poms of the projects it depends on directly.
+     */
+    private final Map<File, Set<File>> dependencies = new HashMap<>();
+
+    /**
+     * Pom to the <code>groupId:artifactId</code> of its project.
+     */
+    private final Map<File, String> keys = new HashMap<>();
+
+    /**
+     * @param reactorProjects the projects of the reactor
+     */
+    public ReactorGraph( List<MavenProject> reactorProjects )
+    {
+        Map<String, File> byKey = new HashMap<>();
+        for ( MavenProject project : reactorProjects )
+        {
+            File pom = normalize( project.getFile() );
+            String key = project.getGroupId() + ':' + project.getArtifactId();
+            poms.add( pom );
+            byKey.put( key, pom );
+            keys.put( pom, key );
+        }
+
+        for ( MavenProject project : reactorProjects )
+        {
+            File pom = normalize( project.getFile() );
+            Parent parent = project.getModel().getParent();
+            if ( parent != null )
+            {
+                addEdge( byKey.get( parent.getGroupId() + ':' + parent.getArtifactId() ), pom );
+            }
+            for ( Object o : project.getDependencies() )
+            {
+                Dependency dependency = (Dependency) o;
+                addEdge( byKey.get( dependency.getGroupId() + ':' + dependency.getArtifactId() ), pom );
+            }
+        }
+    }
+
+    private void addEdge( File dependency, File dependent )
+    {
+        if ( dependency != null && !dependency.equals( dependent ) )
+        {
+            dependents.computeIfAbsent( dependency, key -> new HashSet<>() ).add( dependent );
+            dependencies.computeIfAbsent( dependent, key -> new HashSet<>() ).add( dependency );
+        }
+    }
+
+    /**
+     * @return the poms of the reactor, in reactor order
+     */
+    public List<File> getPoms()
+    {
+        return poms;
+    }
+
+    /**
+     * Computes the projects whose Eclipse configuration may change when the given poms change: the changed projects
+     * and, transitively, every project depending on them.
+     *
+     * @param changedPoms the changed poms, poms outside of the reactor are ignored
+     * @return the affected poms, in reactor order
+     */
+    public Set<File> getAffected( Collection<File> changedPoms )
+    {
+        Set<File> changed = new HashSet<>();
+        for ( File pom : changedPoms )
+        {
+            changed.add( normalize( pom ) );
+        }
+        changed.retainAll( poms );
+        return inReactorOrder( closure( changed, dependents ) );
+    }
+
+    /**
+     * Computes the projects in focus: the projects matching one of the patterns and the projects on the dependency
+     * paths between them, that is the projects depending on one of the matching projects and being a dependency of
+     * another one. A pattern is an <code>artifactId</code> or a <code>groupId:artifactId</code>, <code>*</code>
+     * matches any number of characters.
+     *
+     * @param patterns the patterns of the projects to focus on
+     * @return the poms of the projects in focus, in reactor order
+     */
+    public Set<File> getFocus( Collection<String> patterns )
+    {
+        List<Pattern> regexes = new ArrayList<>();
+        for ( String pattern : patterns )
+        {
+            regexes.add( toRegex( pattern.trim() ) );
+        }
+
+        Set<File> matching = new HashSet<>();
+        for ( File pom : poms )
+        {
+            String key = keys.get( pom );
+            String artifactId = key.substring( key.indexOf( ':' ) + 1 );
+            for ( Pattern regex : regexes )
+            {
+                if ( regex.matcher( key ).matches() || regex.matcher( artifactId ).matches() )
+                {
+                    matching.add( pom );
+                    break;
+                }
+            }
+        }
+
+        Set<File> focus = closure( matching, dependents );
+        focus.retainAll( closure( matching, dependencies ) );
+        return inReactorOrder( focus );
+    }
+
+    private static Pattern toRegex( String pattern )
+    {
+        StringBuilder regex = new StringBuilder();
+        for ( String literal : pattern.split( "\\*", -1 ) ) //$NON-NLS-1$
+        {
+            if ( regex.length() > 0 )
+            {
+                regex.append( ".*" ); //$NON-NLS-1$
+            }
+            regex.append( Pattern.quote( literal ) );
+        }
+        return Pattern.compile( regex.toString() );
+    }
+
+    /**
+     * @return the poms and the poms reachable from them over the edges
+     */
+    private static Set<File> closure( Set<File> start, Map<File, Set<File>> edges )
+    {
+        Set<File> reached = new HashSet<>( start );
+        Deque<File> queue = new ArrayDeque<>( start );
+        while ( !queue.isEmpty() )
+        {
+            Set<File> direct = edges.get( queue.remove() );
+            if ( direct != null )
+            {
+                for ( File next : direct )
+                {
+                    if ( reached.add( next ) )
+                    {
+                        queue.add( next );
+                    }
+                }
+            }
+        }
+        return reached;
+    }
+
+    private Set<File> inReactorOrder( Set<File> selected )
+    {
+        Set<File> ordered = new LinkedHashSet<>();
+        for ( File pom : poms )
+        {
+            if ( selected.contains( pom ) )
+            {
+                ordered.add( pom );
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * @param file a file
+     * @return the absolute, normalized form of the file, used to compare poms
+     */
+    public static File normalize( File file )
+    {
+        return file.toPath().toAbsolutePath().normalize().toFile();
+    }
+}
@@ -0,0 +1,253 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.maven.artifact.manager.WagonManager;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.ide.IdeUtils;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.settings.MavenSettingsBuilder;
+import org.apache.maven.settings.Proxy;
+import org.apache.maven.settings.Settings;
+import org.apache.maven.wagon.Wagon;
+import org.apache.maven.wagon.WagonException;
+import org.apache.maven.wagon.observers.Debug;
+import org.apache.maven.wagon.proxy.ProxyInfo;
+import org.apache.maven.wagon.repository.Repository;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * Downloads the <code>url</code> based {@link EclipseConfigFile}s into a user level cache directory.
+ * <p>
+ * Modules asking for the same URL while its download is running share the same {@link Future}. Once the download is
+ * complete it is forgotten, so a future never outlives the executor of the module that started it and nothing is
+ * kept for the lifetime of the plugin class loader; later modules revalidate the cached copy instead.
+ * A cached copy from an earlier build is revalidated with {@link Wagon#getIfNewer(String, File, long)}, so an
+ * unchanged file is not transferred again. If the server can't be reached an existing cached copy is used.
+ */
+public class RemoteConfigCache
+{
+    /**
+     * Downloads in progress, shared by all executions in this class loader.
+     */
+    private static final Map<String, Future<File>> DOWNLOADS = new ConcurrentHashMap<>();
+
+    private static final int TIMEOUT = 1000;
+
+    private final File cacheDirectory;
+
+    private final WagonManager wagonManager;
+
+    private final MavenSettingsBuilder mavenSettingsBuilder;
+
+    private final Log log;
+
+    private final boolean debug;
+
+    /**
+     * @param cacheDirectory directory holding the downloaded files between builds
+     * @param wagonManager used to look up the wagon for the URL protocol
+     * @param mavenSettingsBuilder used to look up the active proxy
+     * @param log the mojo logger
+     * @param debug <code>true</code> to attach a {@link Debug} listener to the wagons
+     */
+    public RemoteConfigCache( File cacheDirectory, WagonManager wagonManager, MavenSettingsBuilder mavenSettingsBuilder,
+                              Log log, boolean debug )
+    {
+        this.cacheDirectory = cacheDirectory;
+        this.wagonManager = wagonManager;
+        this.mavenSettingsBuilder = mavenSettingsBuilder;
+        this.log = log;
+        this.debug = debug;
+    }
+
+    /**
+     * Starts the download of the given URL unless it is already running.
+     *
+     * @param url the remote file
+     * @param executor runs the download
+     * @return the cached file once the download is complete
+     */
+    public Future<File> fetch( final URL url, final ExecutorService executor )
+    {
+        return DOWNLOADS.computeIfAbsent( url.toExternalForm(), key -> executor.submit( new Callable<File>()
+        {
+            @Override
+            public File call()
+                throws Exception
+            {
+                return download( url );
+            }
+        } ) );
+    }
+
+    /**
+     * Waits for the download of the given URL.
+     *
+     * @param url the remote file
+     * @param executor runs the download if it is not running yet
+     * @return the content of the remote file
+     * @throws MojoExecutionException if the file can't be downloaded
+     */
+    public byte[] get( URL url, ExecutorService executor )
+        throws MojoExecutionException
+    {
+        Future<File> download = fetch( url, executor );
+        try
+        {
+            return Files.readAllBytes( download.get().toPath() );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.remoteexception", new Object[] {
+                url, e.getMessage() } ), e );
+        }
+        catch ( ExecutionException e )
+        {
+            Throwable cause = e.getCause();
+            if ( cause instanceof XmlPullParserException )
+            {
+                throw new MojoExecutionException( Messages.getString( "EclipsePlugin.settingsxmlfailure",
+                                                                      cause.getMessage() ), cause );
+            }
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.remoteexception", new Object[] {
+                url, cause.getMessage() } ), cause );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.remoteexception", new Object[] {
+                url, e.getMessage() } ), e );
+        }
+        finally
+        {
+            if ( download.isDone() )
+            {
+                // the next module revalidates the cached copy, or tries again after a failure
+                DOWNLOADS.remove( url.toExternalForm(), download );
+            }
+        }
+    }
+
+    private File download( URL url )
+        throws WagonException, IOException, XmlPullParserException
+    {
+        File cached = getCacheFile( url );
+        cacheDirectory.mkdirs();
+        File downloaded = File.createTempFile( cached.getName(), ".tmp", cacheDirectory );
+        try
+        {
+            boolean transferred;
+            try
+            {
+                transferred = getIfNewer( url, downloaded, cached.isFile() ? cached.lastModified() : 0L );
+            }
+            catch ( WagonException e )
+            {
+                if ( !cached.isFile() )
+                {
+                    throw e;
+                }
+                log.warn( Messages.getString( "EclipsePlugin.usingcachedconfig", new Object[] { url,
+                    e.getMessage() } ) );
+                return cached;
+            }
+            if ( transferred )
+            {
+                Files.move( downloaded.toPath(), cached.toPath(), StandardCopyOption.REPLACE_EXISTING );
+            }
+            else
+            {
+                log.debug( Messages.getString( "EclipsePlugin.remoteunchanged", url ) );
+            }
+            return cached;
+        }
+        finally
+        {
+            downloaded.delete();
+        }
+    }
+
+    private boolean getIfNewer( URL url, File destination, long timestamp )
+        throws WagonException, XmlPullParserException, IOException
+    {
+        String endPointUrl = url.getProtocol() + "://" + url.getAuthority();
+        // Repository Id should be ignored by Wagon ...
+        Repository repository = new Repository( "additonal-configs", endPointUrl );
+        Wagon wagon = wagonManager.getWagon( repository );
+        if ( debug )
+        {
+            Debug debugListener = new Debug();
+            wagon.addSessionListener( debugListener );
+            wagon.addTransferListener( debugListener );
+        }
+        wagon.setTimeout( TIMEOUT );
+        Settings settings = mavenSettingsBuilder.buildSettings();
+        ProxyInfo proxyInfo = null;
+        if ( settings != null && settings.getActiveProxy() != null )
+        {
+            Proxy settingsProxy = settings.getActiveProxy();
+
+            proxyInfo = new ProxyInfo();
+            proxyInfo.setHost( settingsProxy.getHost() );
+            proxyInfo.setType( settingsProxy.getProtocol() );
+            proxyInfo.setPort( settingsProxy.getPort() );
+            proxyInfo.setNonProxyHosts( settingsProxy.getNonProxyHosts() );
+            proxyInfo.setUserName( settingsProxy.getUsername() );
+            proxyInfo.setPassword( settingsProxy.getPassword() );
+        }
+
+        if ( proxyInfo != null )
+        {
+            wagon.connect( repository, wagonManager.getAuthenticationInfo( repository.getId() ), proxyInfo );
+        }
+        else
+        {
+            wagon.connect( repository, wagonManager.getAuthenticationInfo( repository.getId() ) );
+        }
+        try
+        {
+            return wagon.getIfNewer( url.getPath(), destination, timestamp );
+        }
+        finally
+        {
+            wagon.disconnect();
+        }
+    }
+
+    private File getCacheFile( URL url )
+    {
+        String path = url.getPath();
+        String name = path.substring( path.lastIndexOf( '/' ) + 1 );
+        return new File( cacheDirectory, IdeUtils.getStableId( url.toExternalForm() ) + "-" + name );
+    }
+}
@@ -0,0 +1,365 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.ide.IdeUtils;
+import org.codehaus.plexus.util.xml.XMLWriter;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Represents a filter of the filteredResources section in the <code>.project</code> file. Filtered resources are not
+ * tracked, indexed or searched by eclipse.
+ */
+public class ResourceFilter
+{
+    /**
+     * Only the children matching one of the include only filters of a folder are visible.
+     */
+    public static final int INCLUDE_ONLY = 1;
+
+    /**
+     * The children matching the filter are hidden.
+     */
+    public static final int EXCLUDE_ALL = 2;
+
+    /**
+     * The filter applies to files.
+     */
+    public static final int FILES = 4;
+
+    /**
+     * The filter applies to folders.
+     */
+    public static final int FOLDERS = 8;
+
+    /**
+     * The filter applies to all descendants, not only to the children.
+     */
+    public static final int INHERITABLE = 16;
+
+    /**
+     * Matcher of the eclipse IDE matching names, paths and other attributes against patterns.
+     */
+    public static final String MULTI_FILTER = "org.eclipse.ui.ide.multiFilter"; //$NON-NLS-1$
+
+    /**
+     * Arguments of {@link #MULTI_FILTER} matching the name case insensitive against a wildcard pattern.
+     */
+    private static final String NAME_MATCHES = "1.0-name-matches-false-false-"; //$NON-NLS-1$
+
+    /** Project relative path of the folder, empty for the project itself */
+    private String name = "";
+
+    /** Type, a combination of the type constants */
+    private String type;
+
+    /** Id of the matcher */
+    private String matcher = MULTI_FILTER;
+
+    /** Arguments of the matcher */
+    private String arguments;
+
+    /** Matcher read from an existing file, written back as is to keep compound matchers */
+    private Xpp3Dom matcherNode;
+
+    /** Id read from an existing file */
+    private String id;
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public void setName( String name )
+    {
+        this.name = name;
+    }
+
+    public String getType()
+    {
+        return type;
+    }
+
+    public void setType( String type )
+    {
+        this.type = type;
+    }
+
+    public String getMatcher()
+    {
+        return matcher;
+    }
+
+    public void setMatcher( String matcher )
+    {
+        this.matcher = matcher;
+    }
+
+    public String getArguments()
+    {
+        return arguments;
+    }
+
+    public void setArguments( String arguments )
+    {
+        this.arguments = arguments;
+    }
+
+    /**
+     * @return the id read from an existing <code>.project</code> file, <code>null</code> for new filters
+     */
+    public String getId()
+    {
+        return id;
+    }
+
+    /**
+     * Default constructor
+     */
+    public ResourceFilter()
+    {
+        super();
+    }
+
+    /**
+     * Creates a filter matching the names of resources against a wildcard pattern.
+     *
+     * @param name project relative path of the folder, empty for the project itself
+     * @param type combination of the type constants
+     * @param pattern wildcard pattern
+     */
+    public ResourceFilter( String name, int type, String pattern )
+    {
+        this.name = name;
+        this.type = Integer.toString( type );
+        this.arguments = NAME_MATCHES + pattern;
+    }
+
+    /**
+     * Creates a ResourceFilter from a DOM subtree
+     * <p>
+     * The subtree must represent a &lt;filter&gt; of the &lt;filteredResources&gt; section from an Eclipse .project
+     * file
+     *
+     * @param node DOM node
+     */
+    public ResourceFilter( Xpp3Dom node )
+    {
+        Xpp3Dom idNode = node.getChild( "id" );
+        if ( idNode != null )
+        {
+            id = idNode.getValue();
+        }
+
+        Xpp3Dom nameNode = node.getChild( "name" );
+        if ( nameNode != null && nameNode.getValue() != null )
+        {
+            name = nameNode.getValue();
+        }
+
+        Xpp3Dom typeNode = node.getChild( "type" );
+        if ( typeNode == null )
+        {
+            throw new IllegalArgumentException( "No type node." );
+        }
+        type = typeNode.getValue();
+
+        matcherNode = node.getChild( "matcher" );
+        if ( matcherNode == null )
+        {
+            throw new IllegalArgumentException( "No matcher node." );
+        }
+        Xpp3Dom matcherIdNode = matcherNode.getChild( "id" );
+        matcher = matcherIdNode == null ? null : matcherIdNode.getValue();
+        Xpp3Dom argumentsNode = matcherNode.getChild( "arguments" );
+        if ( argumentsNode == null )
+        {
+            arguments = null;
+        }
+        else if ( argumentsNode.getChildCount() == 0 )
+        {
+            arguments = argumentsNode.getValue();
+        }
+        else
+        {
+            // compound matcher, only used for comparison
+            arguments = argumentsNode.toString();
+        }
+    }
+
+    /**
+     * Creates the default filters of a project: the children of the build directory are hidden, except for the ones
+     * containing one of the visible directories like the output folders, and folders with one of the given names are
+     * hidden everywhere in the project.
+     *
+     * @param projectDirectory the eclipse project directory
+     * @param buildDirectory the build directory, usually <code>target</code>
+     * @param visibleDirectories directories that have to stay visible, like the output and generated source folders
+     * @param folderNames names of folders to hide everywhere, like <code>node_modules</code>
+     * @return the filters
+     * @throws MojoExecutionException if a path can not be resolved
+     */
+    public static List<ResourceFilter> createDefaults( File projectDirectory, File buildDirectory,
+                                                       Collection<File> visibleDirectories,
+                                                       Collection<String> folderNames )
+        throws MojoExecutionException
+    {
+        List<ResourceFilter> filters = new ArrayList<>();
+
+        String buildPath = IdeUtils.getCanonicalPath( buildDirectory );
+        String projectPath = IdeUtils.getCanonicalPath( projectDirectory );
+        if ( buildPath.startsWith( projectPath + File.separator ) )
+        {
+            String buildName = IdeUtils.toRelativeAndFixSeparator( projectDirectory, buildDirectory, false );
+
+            // names of the children of the build directory containing a visible directory, sorted for stable output
+            Set<String> visibleChildren = new TreeSet<>();
+            boolean buildDirectoryVisible = false;
+            for ( File visibleDirectory : visibleDirectories )
+            {
+                String visiblePath = IdeUtils.getCanonicalPath( visibleDirectory );
+                if ( visiblePath.startsWith( buildPath + File.separator ) )
+                {
+                    String child = visiblePath.substring( buildPath.length() + 1 );
+                    int separator = child.indexOf( File.separatorChar );
+                    visibleChildren.add( separator < 0 ? child : child.substring( 0, separator ) );
+                }
+                else if ( visiblePath.equals( buildPath ) )
+                {
+                    buildDirectoryVisible = true;
+                }
+            }
+
+            if ( !buildDirectoryVisible && visibleChildren.isEmpty() )
+            {
+                filters.add( new ResourceFilter( buildName, EXCLUDE_ALL | FILES | FOLDERS, "*" ) );
+            }
+            else if ( !buildDirectoryVisible )
+            {
+                for ( String visibleChild : visibleChildren )
+                {
+                    filters.add( new ResourceFilter( buildName, INCLUDE_ONLY | FILES | FOLDERS, visibleChild ) );
+                }
+            }
+        }
+
+        for ( String folderName : folderNames )
+        {
+            filters.add( new ResourceFilter( "", EXCLUDE_ALL | FOLDERS | INHERITABLE, folderName ) );
+        }
+        return filters;
+    }
+
+    public void print( XMLWriter writer, String filterId )
+    {
+        writer.startElement( "filter" );
+
+        writer.startElement( "id" );
+        writer.writeText( filterId );
+        writer.endElement(); // id
+
+        writer.startElement( "name" );
+        writer.writeText( name == null ? "" : name );
+        writer.endElement(); // name
+
+        writer.startElement( "type" );
+        writer.writeText( type );
+        writer.endElement(); // type
+
+        if ( matcherNode != null )
+        {
+            print( writer, matcherNode );
+        }
+        else
+        {
+            writer.startElement( "matcher" );
+
+            writer.startElement( "id" );
+            writer.writeText( matcher );
+            writer.endElement(); // id
+
+            if ( arguments != null )
+            {
+                writer.startElement( "arguments" );
+                writer.writeText( arguments );
+                writer.endElement(); // arguments
+            }
+
+            writer.endElement(); // matcher
+        }
+
+        writer.endElement(); // filter
+    }
+
+    private static void print( XMLWriter writer, Xpp3Dom node )
+    {
+        writer.startElement( node.getName() );
+        for ( String attribute : node.getAttributeNames() )
+        {
+            writer.addAttribute( attribute, node.getAttribute( attribute ) );
+        }
+        if ( node.getChildCount() > 0 )
+        {
+            for ( Xpp3Dom child : node.getChildren() )
+            {
+                print( writer, child );
+            }
+        }
+        else if ( node.getValue() != null )
+        {
+            writer.writeText( node.getValue() );
+        }
+        writer.endElement();
+    }
+
+    public boolean equals( Object obj )
+    {
+        if ( obj instanceof ResourceFilter )
+        {
+            ResourceFilter b = (ResourceFilter) obj;
+
+            return ( name == null ? "" : name ).equals( b.name == null ? "" : b.name )
+                && ( type == null ? b.type == null : type.equals( b.type ) )
+                && ( matcher == null ? b.matcher == null : matcher.equals( b.matcher ) )
+                && ( arguments == null ? b.arguments == null : arguments.equals( b.arguments ) );
+        }
+        else
+        {
+            return false;
+        }
+    }
+
+    public int hashCode()
+    {
+        // CHECKSTYLE_OFF: MagicNumber
+        return ( name == null ? 0 : name.hashCode() ) + ( type == null ? 0 : 13 * type.hashCode() )
+            + ( matcher == null ? 0 : 17 * matcher.hashCode() )
+            + ( arguments == null ? 0 : 19 * arguments.hashCode() );
+        // CHECKSTYLE_ON: MagicNumber
+    }
+}
@@ -0,0 +1,236 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.ide.IdeDependency;
+
+/**
+ * Finds the dependency sets shared by the projects of a reactor and turns them into user libraries.
+ * <p>
+ * The jars are grouped by the set of projects using them, every group used by enough projects and with enough jars
+ * becomes a library. A project references every library of a group it belongs to, so its classpath contains exactly
+ * the same jars as before. Test dependencies are grouped separately since the whole library is marked as test
+ * dependency. Libraries are named after their content, so a library only changes its name if its content changes.
+ */
+public final class UserLibraries
+{
+    private UserLibraries()
+    {
+        // no instances
+    }
+
+    /**
+     * @param dependency a dependency
+     * @return <code>true</code> if the dependency may be part of a user library
+     */
+    public static boolean isEligible( IdeDependency dependency )
+    {
+        return dependency.isAddedToClasspath() && !dependency.isReferencedProject() && !dependency.isClassFolder()
+            && !dependency.isSystemScoped() && !dependency.isJavaApi() && dependency.getFile() != null;
+    }
+
+    /**
+     * @param dependency an eligible dependency
+     * @return what identifies the dependency in a library
+     * @throws MojoExecutionException if the path can not be resolved
+     */
+    public static String getKey( IdeDependency dependency )
+        throws MojoExecutionException
+    {
+        return getKey( UserLibrary.getPath( dependency ), dependency.isTestDependency() );
+    }
+
+    private static String getKey( String path, boolean test )
+    {
+        return ( test ? "test:" : "compile:" ) + path; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    /**
+     * Computes the libraries shared by the projects.
+     *
+     * @param projects the eclipse project names and their dependencies, in reactor order
+     * @param prefix prefix of the library names
+     * @param minProjects how many projects have to share a library
+     * @param minSize how many jars a library needs at least
+     * @return the libraries
+     * @throws MojoExecutionException if a path can not be resolved
+     */
+    public static List<UserLibrary> compute( Map<String, IdeDependency[]> projects, String prefix, int minProjects,
+                                             int minSize )
+        throws MojoExecutionException
+    {
+        // the first dependency seen for every jar and the projects using it
+        Map<String, IdeDependency> dependencies = new LinkedHashMap<>();
+        Map<String, Set<String>> users = new LinkedHashMap<>();
+        for ( Map.Entry<String, IdeDependency[]> project : projects.entrySet() )
+        {
+            for ( IdeDependency dependency : project.getValue() )
+            {
+                if ( isEligible( dependency ) )
+                {
+                    String key = getKey( dependency );
+                    if ( !dependencies.containsKey( key ) )
+                    {
+                        dependencies.put( key, dependency );
+                        users.put( key, new TreeSet<String>() );
+                    }
+                    users.get( key ).add( project.getKey() );
+                }
+            }
+        }
+
+        // group the jars by the projects using them, keeping the order in which they were seen
+        Map<String, List<IdeDependency>> groups = new LinkedHashMap<>();
+        for ( Map.Entry<String, Set<String>> user : users.entrySet() )
+        {
+            if ( user.getValue().size() >= minProjects )
+            {
+                IdeDependency dependency = dependencies.get( user.getKey() );
+                String group = dependency.isTestDependency() + ":" + user.getValue(); //$NON-NLS-1$
+                List<IdeDependency> members = groups.get( group );
+                if ( members == null )
+                {
+                    members = new ArrayList<>();
+                    groups.put( group, members );
+                }
+                members.add( dependency );
+            }
+        }
+
+        List<UserLibrary> libraries = new ArrayList<>();
+        for ( List<IdeDependency> members : groups.values() )
+        {
+            if ( members.size() >= minSize )
+            {
+                boolean test = members.get( 0 ).isTestDependency();
+                // the name only depends on the content, the hash of a throw-away library is good enough
+                UserLibrary content = UserLibrary.create( "", test, members ); //$NON-NLS-1$
+                libraries.add( UserLibrary.create( getName( prefix, test, content.toXml() ), test, members ) );
+            }
+        }
+        return libraries;
+    }
+
+    /**
+     * @param prefix prefix of the library names
+     * @param test <code>true</code> for test libraries
+     * @param xml definition of the library
+     * @return the name of the library
+     */
+    static String getName( String prefix, boolean test, String xml )
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "SHA-1" ); //$NON-NLS-1$
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( e );
+        }
+        byte[] hash = digest.digest( xml.getBytes( StandardCharsets.UTF_8 ) );
+        StringBuilder name = new StringBuilder( prefix ).append( test ? "-test-" : "-" ); //$NON-NLS-1$ //$NON-NLS-2$
+        // CHECKSTYLE_OFF: MagicNumber
+        for ( int i = 0; i < 4; i++ )
+        {
+            name.append( String.format( "%02x", hash[i] ) ); //$NON-NLS-1$
+        }
+        // CHECKSTYLE_ON: MagicNumber
+        return name.toString();
+    }
+
+    /**
+     * @param prefix prefix of the library names
+     * @param name name of a library with the prefix
+     * @return <code>true</code> if the library is a test library
+     */
+    public static boolean isTestLibrary( String prefix, String name )
+    {
+        return name.startsWith( prefix + "-test-" ); //$NON-NLS-1$
+    }
+
+    /**
+     * Finds the libraries a project can reference, the ones whose jars all are dependencies of the project.
+     *
+     * @param dependencies the dependencies of the project
+     * @param libraries the libraries
+     * @return the libraries the project references
+     * @throws MojoExecutionException if a path can not be resolved
+     */
+    public static List<UserLibrary> getApplicable( IdeDependency[] dependencies, Collection<UserLibrary> libraries )
+        throws MojoExecutionException
+    {
+        Set<String> keys = new HashSet<>();
+        for ( IdeDependency dependency : dependencies )
+        {
+            if ( isEligible( dependency ) )
+            {
+                keys.add( getKey( dependency ) );
+            }
+        }
+
+        List<UserLibrary> applicable = new ArrayList<>();
+        for ( UserLibrary library : libraries )
+        {
+            boolean complete = !library.getPaths().isEmpty();
+            for ( String path : library.getPaths() )
+            {
+                complete &= keys.contains( getKey( path, library.isTest() ) );
+            }
+            if ( complete )
+            {
+                applicable.add( library );
+            }
+        }
+        return applicable;
+    }
+
+    /**
+     * Maps the keys of the jars to the libraries containing them.
+     *
+     * @param libraries the libraries
+     * @return the library of every jar
+     */
+    public static Map<String, UserLibrary> getLibrariesByKey( Collection<UserLibrary> libraries )
+    {
+        Map<String, UserLibrary> byKey = new LinkedHashMap<>();
+        for ( UserLibrary library : libraries )
+        {
+            for ( String path : library.getPaths() )
+            {
+                byKey.put( getKey( path, library.isTest() ), library );
+            }
+        }
+        return byKey;
+    }
+}
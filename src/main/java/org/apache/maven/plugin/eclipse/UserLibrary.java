@@ -0,0 +1,221 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.ide.IdeDependency;
+import org.apache.maven.plugin.ide.IdeUtils;
+import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
+import org.codehaus.plexus.util.xml.XMLWriter;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * An eclipse user library, a named list of jars defined once in the workspace and referenced by the projects with a
+ * classpath container entry.
+ */
+public class UserLibrary
+{
+    /**
+     * Classpath container of the user libraries.
+     */
+    public static final String CONTAINER = "org.eclipse.jdt.USER_LIBRARY"; //$NON-NLS-1$
+
+    /** Name of the library */
+    private final String name;
+
+    /** Do the projects use the jars for their tests only? */
+    private final boolean test;
+
+    /** Canonical paths of the jars */
+    private final List<String> paths;
+
+    /** Definition of the library in the format of the JDT preferences */
+    private final String xml;
+
+    private UserLibrary( String name, boolean test, List<String> paths, String xml )
+    {
+        this.name = name;
+        this.test = test;
+        this.paths = Collections.unmodifiableList( paths );
+        this.xml = xml;
+    }
+
+    /**
+     * Creates a library of dependencies, with their source, javadoc and index attachments.
+     *
+     * @param name name of the library
+     * @param test <code>true</code> if the projects use the jars for their tests only
+     * @param dependencies the dependencies
+     * @return the library
+     * @throws MojoExecutionException if a path can not be resolved
+     */
+    public static UserLibrary create( String name, boolean test, List<IdeDependency> dependencies )
+        throws MojoExecutionException
+    {
+        List<String> paths = new ArrayList<>();
+        StringWriter w = new StringWriter();
+        w.write( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" ); //$NON-NLS-1$
+        XMLWriter writer = new PrettyPrintXMLWriter( w, "\t" ); //$NON-NLS-1$
+        writer.startElement( "userlibrary" ); //$NON-NLS-1$
+        writer.addAttribute( "systemlibrary", "false" ); //$NON-NLS-1$ //$NON-NLS-2$
+        writer.addAttribute( "version", "2" ); //$NON-NLS-1$ //$NON-NLS-2$
+        for ( IdeDependency dependency : dependencies )
+        {
+            String path = getPath( dependency );
+            paths.add( path );
+
+            writer.startElement( "archive" ); //$NON-NLS-1$
+            writer.addAttribute( "path", path ); //$NON-NLS-1$
+            if ( dependency.getSourceAttachment() != null )
+            {
+                String sourcePath = IdeUtils.getCanonicalPath( dependency.getSourceAttachment() );
+                writer.addAttribute( "sourceattachment", IdeUtils.fixSeparator( sourcePath ) ); //$NON-NLS-1$
+            }
+            if ( dependency.getJavadocAttachment() != null || dependency.getIndexLocation() != null )
+            {
+                writer.startElement( "attributes" ); //$NON-NLS-1$
+                if ( dependency.getJavadocAttachment() != null )
+                {
+                    writer.startElement( "attribute" ); //$NON-NLS-1$
+                    writer.addAttribute( "name", "javadoc_location" ); //$NON-NLS-1$ //$NON-NLS-2$
+                    writer.addAttribute( "value", "jar:" //$NON-NLS-1$ //$NON-NLS-2$
+                        + toURI( dependency.getJavadocAttachment() ) + "!/" ); //$NON-NLS-1$
+                    writer.endElement(); // attribute
+                }
+                if ( dependency.getIndexLocation() != null )
+                {
+                    writer.startElement( "attribute" ); //$NON-NLS-1$
+                    writer.addAttribute( "name", "index_location" ); //$NON-NLS-1$ //$NON-NLS-2$
+                    writer.addAttribute( "value", toURI( dependency.getIndexLocation() ) ); //$NON-NLS-1$
+                    writer.endElement(); // attribute
+                }
+                writer.endElement(); // attributes
+            }
+            writer.endElement(); // archive
+        }
+        writer.endElement(); // userlibrary
+        return new UserLibrary( name, test, paths, w.toString() );
+    }
+
+    /**
+     * Reads a library from the JDT preferences.
+     *
+     * @param name name of the library
+     * @param test <code>true</code> if the projects use the jars for their tests only
+     * @param xml definition of the library in the JDT preferences
+     * @return the library
+     * @throws IOException if the definition can not be parsed
+     */
+    public static UserLibrary parse( String name, boolean test, String xml )
+        throws IOException
+    {
+        Xpp3Dom dom;
+        try
+        {
+            dom = Xpp3DomBuilder.build( new StringReader( xml ) );
+        }
+        catch ( XmlPullParserException e )
+        {
+            throw new IOException( e.getMessage(), e );
+        }
+        List<String> paths = new ArrayList<>();
+        for ( Xpp3Dom archive : dom.getChildren( "archive" ) ) //$NON-NLS-1$
+        {
+            paths.add( archive.getAttribute( "path" ) ); //$NON-NLS-1$
+        }
+        return new UserLibrary( name, test, paths, xml );
+    }
+
+    /**
+     * @param dependency a dependency with a file
+     * @return the path of the dependency in user libraries
+     * @throws MojoExecutionException if the path can not be resolved
+     */
+    public static String getPath( IdeDependency dependency )
+        throws MojoExecutionException
+    {
+        return IdeUtils.fixSeparator( IdeUtils.getCanonicalPath( dependency.getFile() ) );
+    }
+
+    private static String toURI( File file )
+        throws MojoExecutionException
+    {
+        return new File( IdeUtils.getCanonicalPath( file ) ).toURI().toString();
+    }
+
+    public String getName()
+    {
+        return name;
+    }
+
+    public boolean isTest()
+    {
+        return test;
+    }
+
+    public List<String> getPaths()
+    {
+        return paths;
+    }
+
+    /**
+     * @return the path of the classpath container entry referencing this library
+     */
+    public String getContainerPath()
+    {
+        return CONTAINER + "/" + name; //$NON-NLS-1$
+    }
+
+    /**
+     * @return the definition of the library in the format of the JDT preferences
+     */
+    public String toXml()
+    {
+        return xml;
+    }
+
+    /**
+     * Libraries are named after their content, two libraries with the same name are the same.
+     */
+    public boolean equals( Object obj )
+    {
+        return obj instanceof UserLibrary && name.equals( ( (UserLibrary) obj ).name );
+    }
+
+    public int hashCode()
+    {
+        return name.hashCode();
+    }
+
+    public String toString()
+    {
+        return name;
+    }
+}
@@ -21,6 +21,9 @@ package org.apache.maven.plugin.eclipse;
 
 import java.io.File;
 import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.plugin.ide.IdeDependency;
@@ -46,6 +49,12 @@ public class WorkspaceConfiguration
 
     private String defaultDeployServerName;
 
+    private Map<String, File> projectLocations = Collections.emptyMap();
+
+    private String userLibraryPrefix;
+
+    private List<UserLibrary> userLibraries;
+
     public File getWorkspaceDirectory()
     {
         return this.workspaceDirectory;
@@ -126,6 +135,46 @@ public class WorkspaceConfiguration
         this.defaultDeployServerName = defaultDeployServerName;
     }
 
+    /**
+     * @return the eclipse project names and directories of the projects to register in the workspace
+     */
+    public Map<String, File> getProjectLocations()
+    {
+        return projectLocations;
+    }
+
+    public void setProjectLocations( Map<String, File> projectLocations )
+    {
+        this.projectLocations = projectLocations;
+    }
+
+    /**
+     * @return the prefix of the names of the user libraries generated for the reactor
+     */
+    public String getUserLibraryPrefix()
+    {
+        return userLibraryPrefix;
+    }
+
+    public void setUserLibraryPrefix( String userLibraryPrefix )
+    {
+        this.userLibraryPrefix = userLibraryPrefix;
+    }
+
+    /**
+     * @return the user libraries to define in the workspace, replacing the ones with the same prefix, or
+     *         <code>null</code> to leave the user libraries alone
+     */
+    public List<UserLibrary> getUserLibraries()
+    {
+        return userLibraries;
+    }
+
+    public void setUserLibraries( List<UserLibrary> userLibraries )
+    {
+        this.userLibraries = userLibraries;
+    }
+
     /**
      * @return the defined websphere server version and null if the target is no websphere.
      */
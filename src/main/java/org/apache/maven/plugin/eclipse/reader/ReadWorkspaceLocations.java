@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -41,6 +42,8 @@ import org.apache.maven.plugin.eclipse.Messages;
 import org.apache.maven.plugin.eclipse.WorkspaceConfiguration;
 import org.apache.maven.plugin.ide.IdeDependency;
 import org.apache.maven.plugin.ide.IdeUtils;
+import org.apache.maven.plugin.ide.JfrEvents;
+import org.apache.maven.plugin.ide.Trace;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.util.IOUtil;
@@ -96,13 +99,22 @@ public class ReadWorkspaceLocations
     public void init( Log log, WorkspaceConfiguration workspaceConfiguration, MavenProject project,
                       String wtpDefaultServer, boolean preferStandardClasspathContainer )
     {
-        workspaceConfiguration.setDefaultClasspathContainer( 
+        try ( Trace.Span span = Trace.begin( Trace.WORKSPACE, "detect JRE container" ) )
+        {
+            workspaceConfiguration.setDefaultClasspathContainer( 
                                                  detectDefaultJREContainer( workspaceConfiguration,
                                                                             project,
                                                                             preferStandardClasspathContainer,
                                                                             log ) );
-        readWorkspace( workspaceConfiguration, log );
-        detectWTPDefaultServer( workspaceConfiguration, wtpDefaultServer, log );
+        }
+        try ( Trace.Span span = Trace.begin( Trace.WORKSPACE, "read workspace" ) )
+        {
+            readWorkspace( workspaceConfiguration, log );
+        }
+        try ( Trace.Span span = Trace.begin( Trace.WORKSPACE, "detect WTP server" ) )
+        {
+            detectWTPDefaultServer( workspaceConfiguration, wtpDefaultServer, log );
+        }
     }
 
     /**
@@ -374,17 +386,28 @@ public class ReadWorkspaceLocations
     private IdeDependency readArtefact( File projectLocation, Log logger )
         throws XmlPullParserException, IOException
     {
-        File projectFile = new File( projectLocation, ".project" );
+        try ( JfrEvents.Event event =
+            JfrEvents.begin( JfrEvents.Type.WORKSPACE_PROJECT_READ, projectLocation.getPath() ) )
+        {
+            File projectFile = new File( projectLocation, ".project" );
+            File pomFile = new File( projectLocation, "pom.xml" );
+            event.setBytes( projectFile.length() + pomFile.length() );
+            return readArtefact( projectLocation, projectFile, pomFile, logger );
+        }
+    }
+
+    private IdeDependency readArtefact( File projectLocation, File projectFile, File pomFile, Log logger )
+        throws XmlPullParserException, IOException
+    {
         String eclipseProjectName = projectLocation.getName();
         if ( projectFile.exists() )
         {
-            Xpp3Dom project = Xpp3DomBuilder.build( new FileReader( projectFile ) );
+            Xpp3Dom project = parse( projectFile );
             eclipseProjectName = getValue( project, new String[] { "name" }, eclipseProjectName );
         }
-        File pomFile = new File( projectLocation, "pom.xml" );
         if ( pomFile.exists() )
         {
-            Xpp3Dom pom = Xpp3DomBuilder.build( new FileReader( pomFile ) );
+            Xpp3Dom pom = parse( pomFile );
 
             String artifact = getValue( pom, ReadWorkspaceLocations.ARTEFACT_ID, null );
             String group =
@@ -407,6 +430,27 @@ public class ReadWorkspaceLocations
         }
     }
 
+    private static Xpp3Dom parse( File file )
+        throws XmlPullParserException, IOException
+    {
+        try ( JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.XML_PARSING, file.getPath() );
+              Reader reader = new FileReader( file ) )
+        {
+            event.setBytes( file.length() );
+            return Xpp3DomBuilder.build( reader );
+        }
+    }
+
+    private static Xpp3Dom parse( String source, String xml )
+        throws XmlPullParserException, IOException
+    {
+        try ( JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.XML_PARSING, source ) )
+        {
+            event.setBytes( xml.length() );
+            return Xpp3DomBuilder.build( new StringReader( xml ) );
+        }
+    }
+
     /* package */Map<String, String> readDefinedServers( WorkspaceConfiguration workspaceConfiguration, Log logger )
     {
         Map<String, String> detectedRuntimes = new HashMap<>();
@@ -426,7 +470,7 @@ public class ReadWorkspaceLocations
                               ReadWorkspaceLocations.METADATA_PLUGINS_ORG_ECLIPSE_CORE_RUNTIME_PREFS_RUNTIMES_KEY );
                     if ( runtimes != null )
                     {
-                        runtimesElement = Xpp3DomBuilder.build( new StringReader( runtimes ) );
+                        runtimesElement = parse( prefs.getPath(), runtimes );
                     }
                 }
             }
@@ -500,8 +544,8 @@ public class ReadWorkspaceLocations
             Properties properties = new Properties();
             properties.load( new FileInputStream( prefs ) );
             vms =
-                Xpp3DomBuilder.build( new StringReader( properties.getProperty( 
-                                ReadWorkspaceLocations.METADATA_PLUGINS_ORG_ECLIPSE_CORE_RUNTIME_PREFS_VM_KEY ) ) );
+                parse( prefs.getPath(), properties.getProperty( 
+                                ReadWorkspaceLocations.METADATA_PLUGINS_ORG_ECLIPSE_CORE_RUNTIME_PREFS_VM_KEY ) );
         }
         catch ( Exception e )
         {
@@ -531,7 +575,10 @@ public class ReadWorkspaceLocations
                         continue;
                     }
                     String version;
-                    try (JarFile rtJar = new JarFile( rtJarFile )) {
+                    try ( JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.JRE_PROBE, jrePath );
+                          JarFile rtJar = new JarFile( rtJarFile ) )
+                    {
+                        event.setBytes( rtJarFile.length() );
                         version = rtJar.getManifest().getMainAttributes().getValue( "Specification-Version" );
                     }
                     if ( defaultJRE.endsWith( "," + vmId ) )
@@ -615,7 +662,7 @@ public class ReadWorkspaceLocations
         {
             for ( File projectLocation : readProjectLocations( workspaceDirectory, logger ) )
             {
-                try
+                try ( Trace.Span span = Trace.begin( Trace.WORKSPACE, projectLocation.getName() ) )
                 {
                     logger.debug( "read workpsace project " + projectLocation );
                     IdeDependency ideDependency = readArtefact( projectLocation, logger );
@@ -19,8 +19,10 @@ package org.apache.maven.plugin.eclipse.writers;
  * under the License.
  */
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.maven.plugin.eclipse.EclipseSourceDir;
 import org.apache.maven.plugin.logging.Log;
 import org.codehaus.plexus.util.xml.XMLWriter;
 
@@ -34,6 +36,8 @@ public class EclipseAntExternalLaunchConfigurationWriter
 {
     private String buildfilePath;
 
+    private List<EclipseSourceDir> sourceDirs;
+
     /**
      * 
      * @param log the mojo logger
@@ -43,8 +47,25 @@ public class EclipseAntExternalLaunchConfigurationWriter
      * @return this
      */
     public EclipseWriter init( Log log, EclipseWriterConfig config, String launcherName, String buildfilePath )
+    {
+        return init( log, config, launcherName, buildfilePath, null );
+    }
+
+    /**
+     * 
+     * @param log the mojo logger
+     * @param config writer configuration
+     * @param launcherName Name of the launch file, for instance 'AntBuilder.launch'
+     * @param buildfilePath Project relative path to the ant build file, for instance 'eclipse-build.xml'
+     * @param sourceDirs the directories copied by the ant build file, the builder only runs when they or the build
+     *            file change. <code>null</code> to run it on every change of the project.
+     * @return this
+     */
+    public EclipseWriter init( Log log, EclipseWriterConfig config, String launcherName, String buildfilePath,
+                               List<EclipseSourceDir> sourceDirs )
     {
         this.buildfilePath = buildfilePath;
+        this.sourceDirs = sourceDirs;
         return super.init( log, config, launcherName );
     }
 
@@ -81,12 +102,25 @@ public class EclipseAntExternalLaunchConfigurationWriter
         return "${build_project}/" + buildfilePath;
     }
 
+    /**
+     * The copied directories and the build file. Includes and excludes aren't supported by the build scope, a change
+     * to an excluded file of a directory runs the builder too.
+     */
     @Override
     protected List<MonitoredResource> getMonitoredResources()
     {
-        // TODO: return a list of MonitoredResources that encapsulate
-        // the resource locations - includes/excludes aren't supported
-        // so we need to just add the directories.
-        return super.getMonitoredResources();
+        if ( sourceDirs == null )
+        {
+            return super.getMonitoredResources();
+        }
+        List<MonitoredResource> resources = new ArrayList<>();
+        for ( EclipseSourceDir dir : sourceDirs )
+        {
+            resources.add( new MonitoredResource( config.getEclipseProjectName() + "/" + dir.getPath(),
+                                                  MonitoredResource.DIRECTORY ) );
+        }
+        resources.add( new MonitoredResource( config.getEclipseProjectName() + "/" + buildfilePath,
+                                              MonitoredResource.FILE ) );
+        return resources;
     }
 }
@@ -20,13 +20,13 @@ package org.apache.maven.plugin.eclipse.writers;
  */
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -35,10 +35,15 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.BuildCommand;
 import org.apache.maven.plugin.eclipse.Constants;
 import org.apache.maven.plugin.eclipse.EclipseSourceDir;
+import org.apache.maven.plugin.eclipse.EclipseSourceDirs;
+import org.apache.maven.plugin.eclipse.LinkedResource;
 import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.eclipse.PathPatterns;
+import org.apache.maven.plugin.eclipse.UserLibraries;
+import org.apache.maven.plugin.eclipse.UserLibrary;
+import org.apache.maven.plugin.ide.ChangedFileOutputStream;
 import org.apache.maven.plugin.ide.IdeDependency;
 import org.apache.maven.plugin.ide.IdeUtils;
-import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
 import org.codehaus.plexus.util.xml.XMLWriter;
@@ -140,6 +145,31 @@ public class EclipseClasspathWriter
      */
     private static final String FILE_DOT_CLASSPATH = ".classpath"; //$NON-NLS-1$
 
+    /**
+     * Ant file copying resources with a nested output folder.
+     */
+    public static final String FILE_MAVEN_ECLIPSE_XML = "maven-eclipse.xml"; //$NON-NLS-1$
+
+    /**
+     * External tool builder running {@link #FILE_MAVEN_ECLIPSE_XML}.
+     */
+    public static final String FILE_MAVEN_ANT_BUILDER_LAUNCH = "Maven_Ant_Builder.launch"; //$NON-NLS-1$
+
+    /**
+     * Virtual folder holding the source folders of the linked resources with a nested output folder.
+     */
+    public static final String DIR_LINKED_RESOURCES = ".maven-resources"; //$NON-NLS-1$
+
+    /**
+     * Link type of folders.
+     */
+    private static final String LINK_TYPE_DIRECTORY = "2"; //$NON-NLS-1$
+
+    /**
+     * Location of virtual folders, which exist in the workspace only.
+     */
+    private static final String LOCATION_VIRTUAL = "virtual:/virtual"; //$NON-NLS-1$
+
     /**
      * @see org.apache.maven.plugin.eclipse.writers.EclipseWriter#write()
      */
@@ -150,17 +180,18 @@ public class EclipseClasspathWriter
 
         Writer w;
 
+        File dotClasspath = new File( config.getEclipseProjectDirectory(), FILE_DOT_CLASSPATH );
         try
         {
-            w =
-                new OutputStreamWriter( new FileOutputStream( new File( config.getEclipseProjectDirectory(),
-                                                                        FILE_DOT_CLASSPATH ) ), "UTF-8" );
+            w = new OutputStreamWriter( new ChangedFileOutputStream( dotClasspath ), "UTF-8" );
         }
         catch ( IOException ex )
         {
             throw new MojoExecutionException( Messages.getString( "EclipsePlugin.erroropeningfile" ), ex );
         }
 
+        config.addGeneratedFile( dotClasspath );
+
         XMLWriter writer = new PrettyPrintXMLWriter( w, "UTF-8", null );
 
         writer.startElement( ELT_CLASSPATH );
@@ -172,22 +203,10 @@ public class EclipseClasspathWriter
         // Source roots and resources
         // ----------------------------------------------------------------------
 
-        List<EclipseSourceDir> specialSources = new ArrayList<>();
-
-        Map<String, List<EclipseSourceDir>> byOutputDir = new HashMap<>();
-
-        for ( int j = 0; j < config.getSourceDirs().length; j++ )
-        {
-            EclipseSourceDir dir = config.getSourceDirs()[j];
-
-            List<EclipseSourceDir> byOutputDirs = byOutputDir.get( dir.getOutput() );
-            if ( byOutputDirs == null )
-            {
-                byOutputDirs = new ArrayList<>();
-                byOutputDir.put( dir.getOutput() == null ? defaultOutput : dir.getOutput(), byOutputDirs );
-            }
-            byOutputDirs.add( dir );
-        }
+        // resources copied to a folder nested in the default output, handled with a custom build.xml file later
+        List<EclipseSourceDir> specialSources =
+            EclipseSourceDirs.findNestedOutputs( config.getSourceDirs(), defaultOutput );
+        Set<EclipseSourceDir> special = new HashSet<>( specialSources );
 
         for ( int j = 0; j < config.getSourceDirs().length; j++ )
         {
@@ -195,41 +214,33 @@ public class EclipseClasspathWriter
 
             log.debug( "Processing classpath for: " + dir.toString() + "; default output=" + defaultOutput );
 
-            boolean isSpecial = false;
-
-            // handle resource with nested output folders
-            if ( dir.isResource() )
+            // do not specify as source since the output will be nested
+            boolean isSpecial = special.contains( dir );
+            if ( isSpecial )
             {
-                // Check if the output is a subdirectory of the default output,
-                // and if the default output has any sources that copy there.
-
-                if ( dir.getOutput() != null // resource output dir is set
-                    && !dir.getOutput().equals( defaultOutput ) // output dir is not default target/classes
-                    && dir.getOutput().startsWith( defaultOutput ) // ... but is nested
-                    && byOutputDir.get( defaultOutput ) != null // ???
-                    && !( byOutputDir.get( defaultOutput ) ).isEmpty() // ???
-                )
-                {
-                    // do not specify as source since the output will be nested. Instead, mark
-                    // it as a todo, and handle it with a custom build.xml file later.
+                log.debug( "Marking as special to prevent output folder nesting: " + dir.getPath() + " (output="
+                    + dir.getOutput() + ")" );
+            }
 
-                    log.debug( "Marking as special to prevent output folder nesting: " + dir.getPath() + " (output="
-                        + dir.getOutput() + ")" );
+            writer.startElement( ELT_CLASSPATHENTRY );
 
-                    isSpecial = true;
-                    specialSources.add( dir );
-                }
+            String path = dir.getPath();
+            String excludes = dir.getCompactExcludeAsString();
+            String includes = dir.getCompactIncludeAsString();
+            if ( isSpecial && config.isLinkNestedResources() )
+            {
+                // the linked folder is at the relative path of the output, the patterns have to follow it
+                String relocation = getRelocation( dir, defaultOutput );
+                path = getLinkedSourceFolder( dir );
+                excludes = relocatePatterns( dir.getExclude(), relocation );
+                includes = relocatePatterns( dir.getInclude(), relocation );
             }
 
-            writer.startElement( ELT_CLASSPATHENTRY );
-            
-            String excludes = dir.getExcludeAsString();
             if ( StringUtils.isNotEmpty( excludes ) )
             {
                 writer.addAttribute( ATTR_EXCLUDING, excludes );
             }
-            
-            String includes = dir.getIncludeAsString();
+
             if ( StringUtils.isNotEmpty( includes ) )
             {
                 writer.addAttribute( ATTR_INCLUDING, includes );
@@ -242,7 +253,7 @@ public class EclipseClasspathWriter
                 writer.addAttribute( ATTR_OUTPUT, dir.getOutput() );
             }
 
-            writer.addAttribute( ATTR_PATH, dir.getPath() );
+            writer.addAttribute( ATTR_PATH, path );
             
             boolean attributeElemOpen = false;
 
@@ -300,15 +311,20 @@ public class EclipseClasspathWriter
         }
 
         // handle the special sources.
-        if ( !specialSources.isEmpty() )
+        if ( !specialSources.isEmpty() && config.isLinkNestedResources() )
+        {
+            log.info( "Linking resources with a nested output folder" );
+            linkNestedResources( specialSources, defaultOutput );
+        }
+        else if ( !specialSources.isEmpty() )
         {
             log.info( "Creating maven-eclipse.xml Ant file to handle resources" );
 
             try
             {
-                Writer buildXmlWriter =
-                    new OutputStreamWriter( new FileOutputStream( new File( config.getEclipseProjectDirectory(),
-                                                                            "maven-eclipse.xml" ) ), "UTF-8" );
+                File buildXml = new File( config.getEclipseProjectDirectory(), FILE_MAVEN_ECLIPSE_XML );
+                Writer buildXmlWriter = new OutputStreamWriter( new ChangedFileOutputStream( buildXml ), "UTF-8" );
+                config.addGeneratedFile( buildXml );
                 PrettyPrintXMLWriter buildXmlPrinter = new PrettyPrintXMLWriter( buildXmlWriter );
 
                 buildXmlPrinter.startElement( "project" );
@@ -323,26 +339,41 @@ public class EclipseClasspathWriter
                 buildXmlPrinter.addAttribute( NAME, "copy-resources" );
                 buildXmlPrinter.addAttribute( "depends", "init" );
 
-                for ( Object specialSource : specialSources )
+                // one copy per output and filtering, files are only copied if they are newer than the copies
+                Map<String, List<EclipseSourceDir>> copies = new LinkedHashMap<>();
+                for ( EclipseSourceDir dir : specialSources )
+                {
+                    String key = dir.isFiltering() + ":" + dir.getOutput(); //$NON-NLS-1$
+                    copies.computeIfAbsent( key, k -> new ArrayList<>() ).add( dir );
+                }
+
+                for ( List<EclipseSourceDir> dirs : copies.values() )
                 {
-                    // TODO: merge source dirs on output path+filtering to reduce
-                    // <copy> tags for speed.
-                    EclipseSourceDir dir = (EclipseSourceDir) specialSource;
                     buildXmlPrinter.startElement( "copy" );
-                    buildXmlPrinter.addAttribute( "todir", dir.getOutput() );
-                    buildXmlPrinter.addAttribute( "filtering", "" + dir.isFiltering() );
+                    buildXmlPrinter.addAttribute( "todir", dirs.get( 0 ).getOutput() );
+                    buildXmlPrinter.addAttribute( "filtering", "" + dirs.get( 0 ).isFiltering() );
+                    buildXmlPrinter.addAttribute( "overwrite", "false" );
+                    buildXmlPrinter.addAttribute( "preservelastmodified", "true" );
 
-                    buildXmlPrinter.startElement( "fileset" );
-                    buildXmlPrinter.addAttribute( "dir", dir.getPath() );
-                    if ( dir.getIncludeAsString() != null )
-                    {
-                        buildXmlPrinter.addAttribute( "includes", dir.getIncludeAsString() );
-                    }
-                    if ( dir.getExcludeAsString() != null )
+                    for ( EclipseSourceDir dir : dirs )
                     {
-                        buildXmlPrinter.addAttribute( "excludes", dir.getExcludeAsString() );
+                        buildXmlPrinter.startElement( "fileset" );
+                        buildXmlPrinter.addAttribute( "dir", dir.getPath() );
+                        // ant does not know the eclipse separator, one element per pattern
+                        for ( String include : PathPatterns.compact( dir.getInclude() ) )
+                        {
+                            buildXmlPrinter.startElement( "include" );
+                            buildXmlPrinter.addAttribute( NAME, include );
+                            buildXmlPrinter.endElement();
+                        }
+                        for ( String exclude : PathPatterns.compact( dir.getExclude() ) )
+                        {
+                            buildXmlPrinter.startElement( "exclude" );
+                            buildXmlPrinter.addAttribute( NAME, exclude );
+                            buildXmlPrinter.endElement();
+                        }
+                        buildXmlPrinter.endElement();
                     }
-                    buildXmlPrinter.endElement();
 
                     buildXmlPrinter.endElement();
                 }
@@ -351,18 +382,18 @@ public class EclipseClasspathWriter
 
                 buildXmlPrinter.endElement();
 
-                IOUtil.close( buildXmlWriter );
+                buildXmlWriter.close();
             }
             catch ( IOException e )
             {
                 throw new MojoExecutionException( "Cannot create " + config.getEclipseProjectDirectory()
-                    + "/maven-eclipse.xml", e );
+                    + "/" + FILE_MAVEN_ECLIPSE_XML, e );
             }
 
             log.info( "Creating external launcher file" );
             // now create the launcher
-            new EclipseAntExternalLaunchConfigurationWriter().init( log, config, "Maven_Ant_Builder.launch",
-                                                                    "maven-eclipse.xml" ).write();
+            new EclipseAntExternalLaunchConfigurationWriter().init( log, config, FILE_MAVEN_ANT_BUILDER_LAUNCH,
+                                                                    FILE_MAVEN_ECLIPSE_XML, specialSources ).write();
 
             // finally add it to the project writer.
 
@@ -371,7 +402,7 @@ public class EclipseClasspathWriter
                                                  "LaunchConfigHandle",
                                                  "<project>/"
                                                      + EclipseLaunchConfigurationWriter.FILE_DOT_EXTERNAL_TOOL_BUILDERS
-                                                     + "Maven_Ant_Builder.launch" ) );
+                                                     + FILE_MAVEN_ANT_BUILDER_LAUNCH ) );
         }
 
         Set<String> addedDependencies = new HashSet<>();
@@ -400,15 +431,28 @@ public class EclipseClasspathWriter
         }
 
         // ----------------------------------------------------------------------
-        // The project's dependencies
+        // The project's dependencies, the ones in user libraries are replaced
+        // by the library where the first of them would be
         // ----------------------------------------------------------------------
+        Map<String, UserLibrary> userLibraries = UserLibraries.getLibrariesByKey( config.getUserLibraries() );
+        Set<UserLibrary> addedUserLibraries = new HashSet<>();
         for ( IdeDependency dep : depsToWrite )
         {
             if ( dep.isAddedToClasspath() )
             {
                 String depId = getDependencyId( dep );
+                UserLibrary userLibrary =
+                    UserLibraries.isEligible( dep ) ? userLibraries.get( UserLibraries.getKey( dep ) ) : null;
+                if ( userLibrary != null )
+                {
+                    if ( addedUserLibraries.add( userLibrary ) )
+                    {
+                        addUserLibrary( writer, userLibrary );
+                    }
+                    addedDependencies.add( depId );
+                }
                 /* avoid duplicates in the classpath for artifacts with different types (like ejbs or test-jars) */
-                if ( !addedDependencies.contains( depId ) )
+                else if ( !addedDependencies.contains( depId ) )
                 {
                     addDependency( writer, dep );
                     addedDependencies.add( depId );
@@ -432,7 +476,15 @@ public class EclipseClasspathWriter
 
         writer.endElement();
 
-        IOUtil.close( w );
+        try
+        {
+            w.close();
+        }
+        catch ( IOException ex )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  dotClasspath.getAbsolutePath() ), ex );
+        }
 
     }
 
@@ -454,6 +506,102 @@ public class EclipseClasspathWriter
         }
     }
 
+    /**
+     * Links every resource directory at the path of its output relative to the default output, below a virtual source
+     * folder using the default output. The JDT builder copies the resources to the nested output that way, no Ant
+     * builder is needed. The folders leading to the link are virtual too.
+     */
+    private void linkNestedResources( List<EclipseSourceDir> specialSources, String defaultOutput )
+        throws MojoExecutionException
+    {
+        Set<String> virtualFolders = new LinkedHashSet<>();
+        List<LinkedResource> links = new ArrayList<>();
+        for ( EclipseSourceDir dir : specialSources )
+        {
+            String folder = getLinkedSourceFolder( dir );
+            String[] segments = getRelocation( dir, defaultOutput ).split( "/" ); //$NON-NLS-1$
+            for ( String segment : segments )
+            {
+                virtualFolders.add( folder );
+                folder += "/" + segment; //$NON-NLS-1$
+            }
+
+            LinkedResource link = new LinkedResource();
+            link.setName( folder );
+            link.setType( LINK_TYPE_DIRECTORY );
+            link.setLocation( IdeUtils.fixSeparator( IdeUtils.getCanonicalPath( new File( config.getProjectBaseDir(),
+                                                                                       dir.getPath() ) ) ) );
+            links.add( link );
+        }
+
+        // the parents first, the configured links are not changed
+        List<LinkedResource> linkedResources = new ArrayList<>();
+        if ( config.getLinkedResources() != null )
+        {
+            linkedResources.addAll( config.getLinkedResources() );
+        }
+        virtualFolders.add( DIR_LINKED_RESOURCES );
+        List<String> sortedFolders = new ArrayList<>( virtualFolders );
+        sortedFolders.sort( null );
+        for ( String folder : sortedFolders )
+        {
+            LinkedResource virtualFolder = new LinkedResource();
+            virtualFolder.setName( folder );
+            virtualFolder.setType( LINK_TYPE_DIRECTORY );
+            virtualFolder.setLocationURI( LOCATION_VIRTUAL );
+            linkedResources.add( virtualFolder );
+        }
+        linkedResources.addAll( links );
+        config.setLinkedResources( linkedResources );
+    }
+
+    /**
+     * @return the virtual source folder of a resource directory with a nested output
+     */
+    private static String getLinkedSourceFolder( EclipseSourceDir dir )
+    {
+        return DIR_LINKED_RESOURCES + "/" + dir.getPath().replace( '/', '_' ); //$NON-NLS-1$
+    }
+
+    /**
+     * @return the output of a resource directory relative to the default output
+     */
+    private static String getRelocation( EclipseSourceDir dir, String defaultOutput )
+    {
+        String relocation = dir.getOutput().substring( defaultOutput.length() );
+        return relocation.startsWith( "/" ) ? relocation.substring( 1 ) : relocation; //$NON-NLS-1$
+    }
+
+    /**
+     * @return the compacted patterns, relative to the virtual source folder instead of the resource directory
+     */
+    private static String relocatePatterns( List<String> patterns, String relocation )
+    {
+        List<String> relocated = new ArrayList<>();
+        for ( String pattern : PathPatterns.compact( patterns ) )
+        {
+            relocated.add( relocation + "/" + pattern ); //$NON-NLS-1$
+        }
+        return StringUtils.join( relocated.iterator(), "|" ); //$NON-NLS-1$
+    }
+
+    private void addUserLibrary( XMLWriter writer, UserLibrary userLibrary )
+    {
+        writer.startElement( ELT_CLASSPATHENTRY );
+        writer.addAttribute( ATTR_KIND, "con" ); //$NON-NLS-1$
+        writer.addAttribute( ATTR_PATH, userLibrary.getContainerPath() );
+        if ( userLibrary.isTest() )
+        {
+            writer.startElement( ATTRIBUTES );
+            writer.startElement( ATTRIBUTE );
+            writer.addAttribute( NAME, "test" );
+            writer.addAttribute( VALUE, "true" );
+            writer.endElement();
+            writer.endElement();
+        }
+        writer.endElement();
+    }
+
     private String getDependencyId( IdeDependency dep )
     {
         String depId =
@@ -475,6 +623,7 @@ public class EclipseClasspathWriter
         String kind;
         String sourcepath = null;
         String javadocpath = null;
+        String indexpath = null;
 
         if ( dep.isReferencedProject() )
         {
@@ -491,7 +640,18 @@ public class EclipseClasspathWriter
                 return;
             }
 
-            if ( dep.isSystemScoped() )
+            if ( dep.isClassFolder() )
+            {
+                // the output directory of a reactor project, built by maven
+                path = IdeUtils.fixSeparator( IdeUtils.getCanonicalPath( artifactPath ) );
+                kind = ATTR_LIB;
+
+                if ( dep.getSourceAttachment() != null )
+                {
+                    sourcepath = IdeUtils.fixSeparator( IdeUtils.getCanonicalPath( dep.getSourceAttachment() ) );
+                }
+            }
+            else if ( dep.isSystemScoped() )
             {
                 path = IdeUtils.toRelativeAndFixSeparator( config.getEclipseProjectDirectory(), artifactPath, false );
 
@@ -549,6 +709,12 @@ public class EclipseClasspathWriter
 
             }
 
+            if ( dep.getIndexLocation() != null )
+            {
+                // pre-built index, eclipse does not index the jar itself
+                indexpath = new File( IdeUtils.getCanonicalPath( dep.getIndexLocation() ) ).toURI().toString();
+            }
+
         }
 
         writer.startElement( ELT_CLASSPATHENTRY );
@@ -592,6 +758,21 @@ public class EclipseClasspathWriter
 
         }
 
+        if ( indexpath != null )
+        {
+            if ( !attributeElemOpen )
+            {
+                writer.startElement( ATTRIBUTES );
+                attributeElemOpen = true;
+            }
+
+            writer.startElement( ATTRIBUTE );
+            writer.addAttribute( VALUE, indexpath );
+            writer.addAttribute( NAME, "index_location" );
+            writer.endElement();
+
+        }
+
         if ( Constants.PROJECT_PACKAGING_WAR.equals( this.config.getPackaging() ) && config.getWtpapplicationxml()
             && kind.equals( ATTR_VAR ) && !dep.isTestDependency() && !dep.isProvided()
             && !dep.isSystemScopedOutsideProject( this.config.getProject() ) )
@@ -20,7 +20,6 @@ package org.apache.maven.plugin.eclipse.writers;
  */
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
@@ -29,8 +28,8 @@ import java.util.List;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.ide.ChangedFileOutputStream;
 import org.apache.maven.plugin.logging.Log;
-import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
 import org.codehaus.plexus.util.xml.XMLWriter;
@@ -74,6 +73,7 @@ public abstract class EclipseLaunchConfigurationWriter
         }
 
         Writer w;
+        File launchFile;
 
         try
         {
@@ -82,7 +82,9 @@ public abstract class EclipseLaunchConfigurationWriter
             {
                 throw new MojoExecutionException( "Error creating directory " + extToolsDir );
             }
-            w = new OutputStreamWriter( new FileOutputStream( new File( extToolsDir, filename ) ), "UTF-8" );
+            launchFile = new File( extToolsDir, filename );
+            w = new OutputStreamWriter( new ChangedFileOutputStream( launchFile ), "UTF-8" );
+            config.addGeneratedFile( launchFile );
         }
         catch ( IOException ex )
         {
@@ -141,7 +143,15 @@ public abstract class EclipseLaunchConfigurationWriter
 
         writer.endElement();
 
-        IOUtil.close( w );
+        try
+        {
+            w.close();
+        }
+        catch ( IOException ex )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  launchFile.getAbsolutePath() ), ex );
+        }
     }
 
     protected List<MonitoredResource> getMonitoredResources()
@@ -21,7 +21,6 @@ package org.apache.maven.plugin.eclipse.writers;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
@@ -37,8 +36,12 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.BuildCommand;
 import org.apache.maven.plugin.eclipse.LinkedResource;
 import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.eclipse.ResourceFilter;
+import org.apache.maven.plugin.ide.ChangedFileOutputStream;
+import org.apache.maven.plugin.ide.FileLocks;
 import org.apache.maven.plugin.ide.IdeDependency;
 import org.apache.maven.plugin.ide.IdeUtils;
+import org.apache.maven.plugin.ide.JfrEvents;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
 import org.codehaus.plexus.util.xml.XMLWriter;
@@ -71,6 +74,10 @@ public class EclipseProjectWriter
 
     private static final String ELT_NATURE = "nature"; //$NON-NLS-1$
 
+    private static final String ELT_FILTER = "filter"; //$NON-NLS-1$
+
+    private static final String ELT_FILTERED_RESOURCES = "filteredResources"; //$NON-NLS-1$
+
     private static final String ELT_NATURES = "natures"; //$NON-NLS-1$
 
     private static final String FILE_DOT_PROJECT = ".project"; //$NON-NLS-1$
@@ -97,12 +104,26 @@ public class EclipseProjectWriter
     public void write()
         throws MojoExecutionException
     {
+        File dotProject = new File( config.getEclipseProjectDirectory(), FILE_DOT_PROJECT );
+
+        // the existing file is merged, no other build may write it between reading and writing it
+        try ( FileLocks.Lock lock =
+            FileLocks.lock( dotProject, FileLocks.getLockDirectory( config.getLocalRepository() ) ) )
+        {
+            write( dotProject );
+        }
+    }
 
+    /**
+     * Merges the existing file with the configuration, the caller holds the lock of the file.
+     */
+    private void write( File dotProject )
+        throws MojoExecutionException
+    {
         Set<String> projectnatures = new LinkedHashSet<>();
         Set<BuildCommand> buildCommands = new LinkedHashSet<>();
         Set<LinkedResource> linkedResources = new LinkedHashSet<>();
-
-        File dotProject = new File( config.getEclipseProjectDirectory(), FILE_DOT_PROJECT );
+        Set<ResourceFilter> resourceFilters = new LinkedHashSet<>();
 
         if ( dotProject.exists() )
         {
@@ -114,7 +135,12 @@ public class EclipseProjectWriter
             try
             {
                 reader = new InputStreamReader( new FileInputStream( dotProject ), "UTF-8" );
-                Xpp3Dom dom = Xpp3DomBuilder.build( reader );
+                Xpp3Dom dom;
+                try ( JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.XML_PARSING, dotProject.getPath() ) )
+                {
+                    event.setBytes( dotProject.length() );
+                    dom = Xpp3DomBuilder.build( reader );
+                }
 
                 Xpp3Dom naturesElement = dom.getChild( ELT_NATURES );
                 if ( naturesElement != null )
@@ -157,6 +183,24 @@ public class EclipseProjectWriter
                     }
                 }
 
+                // preserve the existing resource filters
+                Xpp3Dom filteredResourcesElement = dom.getChild( ELT_FILTERED_RESOURCES );
+                if ( filteredResourcesElement != null )
+                {
+                    for ( Xpp3Dom existingFilter : filteredResourcesElement.getChildren( ELT_FILTER ) )
+                    {
+                        try
+                        {
+                            resourceFilters.add( new ResourceFilter( existingFilter ) );
+                        }
+                        catch ( IllegalArgumentException e )
+                        {
+                            log.warn( Messages.getString( "EclipseProjectWriter.invalidfilter", new Object[] {
+                                dotProject.getAbsolutePath(), e.getMessage() } ) );
+                        }
+                    }
+                }
+
             }
             catch ( XmlPullParserException e )
             {
@@ -179,16 +223,22 @@ public class EclipseProjectWriter
 
         linkedResources.addAll( config.getLinkedResources() );
 
+        if ( config.getResourceFilters() != null )
+        {
+            resourceFilters.addAll( config.getResourceFilters() );
+        }
+
         Writer w;
 
         try
         {
-            w = new OutputStreamWriter( new FileOutputStream( dotProject ), "UTF-8" );
+            w = new OutputStreamWriter( new ChangedFileOutputStream( dotProject ), "UTF-8" );
         }
         catch ( IOException ex )
         {
             throw new MojoExecutionException( Messages.getString( "EclipsePlugin.erroropeningfile" ), ex );
         }
+        config.addGeneratedFile( dotProject );
 
         XMLWriter writer = new PrettyPrintXMLWriter( w, "UTF-8", null );
 
@@ -275,9 +325,57 @@ public class EclipseProjectWriter
             writer.endElement(); // linkedResources
         }
 
+        if ( resourceFilters.size() > 0 )
+        {
+            writeResourceFilters( writer, resourceFilters );
+        }
+
         writer.endElement(); // projectDescription
 
-        IOUtil.close( w );
+        try
+        {
+            w.close();
+        }
+        catch ( IOException ex )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  dotProject.getAbsolutePath() ), ex );
+        }
+    }
+
+    /**
+     * Writes the resource filters. Existing filters keep their id, new filters are numbered after the highest existing
+     * id so the output is stable between runs.
+     */
+    private void writeResourceFilters( XMLWriter writer, Set<ResourceFilter> resourceFilters )
+    {
+        long nextId = 1;
+        for ( ResourceFilter resourceFilter : resourceFilters )
+        {
+            if ( resourceFilter.getId() != null )
+            {
+                try
+                {
+                    nextId = Math.max( nextId, Long.parseLong( resourceFilter.getId().trim() ) + 1 );
+                }
+                catch ( NumberFormatException e )
+                {
+                    // not generated by eclipse, keep it as is
+                }
+            }
+        }
+
+        writer.startElement( ELT_FILTERED_RESOURCES );
+        for ( ResourceFilter resourceFilter : resourceFilters )
+        {
+            String id = resourceFilter.getId();
+            if ( id == null )
+            {
+                id = Long.toString( nextId++ );
+            }
+            resourceFilter.print( writer, id );
+        }
+        writer.endElement(); // filteredResources
     }
 
     private void addFileLink( XMLWriter writer, File projectBaseDir, File basedir, File file )
@@ -23,6 +23,15 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 
 /**
+ * Writes some of the files of a project from an {@link EclipseWriterConfig}.
+ * <p>
+ * Writers besides the ones of the plugin are discovered with {@link java.util.ServiceLoader}: an implementation with a
+ * public no-argument constructor, listed in
+ * <code>META-INF/services/org.apache.maven.plugin.eclipse.writers.EclipseWriter</code> of a jar added to the
+ * dependencies of the plugin, is run for every project against the same configuration as the writers of the plugin,
+ * after <code>.classpath</code> and before <code>.project</code>. The dependencies are resolved once for all of them.
+ * A new instance is created for each project.
+ *
  * @author Fabrizio Giustina
  * @version $Id$
  */
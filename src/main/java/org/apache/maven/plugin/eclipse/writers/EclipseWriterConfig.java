@@ -20,13 +20,18 @@ package org.apache.maven.plugin.eclipse.writers;
  */
 
 import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.plugin.eclipse.BuildCommand;
 import org.apache.maven.plugin.eclipse.EclipseSourceDir;
 import org.apache.maven.plugin.eclipse.LinkedResource;
+import org.apache.maven.plugin.eclipse.ResourceFilter;
+import org.apache.maven.plugin.eclipse.UserLibrary;
 import org.apache.maven.plugin.eclipse.WorkspaceConfiguration;
 import org.apache.maven.plugin.ide.IdeDependency;
 import org.apache.maven.project.MavenProject;
@@ -132,16 +137,35 @@ public class EclipseWriterConfig
 
     private List<LinkedResource> linkedResources;
 
+    private List<ResourceFilter> resourceFilters;
+
+    private List<UserLibrary> userLibraries = Collections.emptyList();
+
     /**
      * @See {@link org.apache.maven.plugin.eclipse.EclipsePlugin#classpathContainersLast}
      */
     private boolean classpathContainersLast;
 
+    /**
+     * @see {@link org.apache.maven.plugin.eclipse.EclipsePlugin#linkNestedResources}
+     */
+    private boolean linkNestedResources;
+
+    /**
+     * @see {@link org.apache.maven.plugin.eclipse.EclipsePlugin#projectModel}
+     */
+    private boolean projectModel;
+
     /**
      * @see {@link org.apache.maven.plugin.eclipse.EclipsePlugin#jeeversion}
      */
     private String jeeVersion;
 
+    /**
+     * Files written by the writers, in the order they were written.
+     */
+    private final Set<File> generatedFiles = new LinkedHashSet<>();
+
     public WorkspaceConfiguration getWorkspaceConfiguration()
     {
         return workspaceConfiguration;
@@ -504,6 +528,38 @@ public class EclipseWriterConfig
         this.linkedResources = linkedResources;
     }
 
+    /**
+     * @return the resourceFilters
+     */
+    public List<ResourceFilter> getResourceFilters()
+    {
+        return resourceFilters;
+    }
+
+    /**
+     * @param resourceFilters the resourceFilters to set
+     */
+    public void setResourceFilters( List<ResourceFilter> resourceFilters )
+    {
+        this.resourceFilters = resourceFilters;
+    }
+
+    /**
+     * @return the user libraries referenced instead of their jars
+     */
+    public List<UserLibrary> getUserLibraries()
+    {
+        return userLibraries;
+    }
+
+    /**
+     * @param userLibraries the user libraries referenced instead of their jars
+     */
+    public void setUserLibraries( List<UserLibrary> userLibraries )
+    {
+        this.userLibraries = userLibraries;
+    }
+
     /**
      * Returns the classpathContainersLast.
      * 
@@ -524,6 +580,46 @@ public class EclipseWriterConfig
         this.classpathContainersLast = classpathContainersLast;
     }
 
+    /**
+     * Returns the linkNestedResources.
+     * 
+     * @return the linkNestedResources
+     */
+    public boolean isLinkNestedResources()
+    {
+        return linkNestedResources;
+    }
+
+    /**
+     * Sets the linkNestedResources.
+     * 
+     * @param linkNestedResources the linkNestedResources to set
+     */
+    public void setLinkNestedResources( boolean linkNestedResources )
+    {
+        this.linkNestedResources = linkNestedResources;
+    }
+
+    /**
+     * Returns the projectModel.
+     * 
+     * @return the projectModel
+     */
+    public boolean isProjectModel()
+    {
+        return projectModel;
+    }
+
+    /**
+     * Sets the projectModel.
+     * 
+     * @param projectModel the projectModel to set
+     */
+    public void setProjectModel( boolean projectModel )
+    {
+        this.projectModel = projectModel;
+    }
+
     /**
      * Returns the jeeversion.
      * 
@@ -544,4 +640,24 @@ public class EclipseWriterConfig
         this.jeeVersion = jeeVersion;
     }
 
+    /**
+     * Records a file written by a writer so it can be listed in the generated files manifest.
+     * 
+     * @param file the generated file
+     */
+    public void addGeneratedFile( File file )
+    {
+        this.generatedFiles.add( file );
+    }
+
+    /**
+     * Returns the files written by the writers so far.
+     * 
+     * @return the generated files
+     */
+    public Set<File> getGeneratedFiles()
+    {
+        return generatedFiles;
+    }
+
 }
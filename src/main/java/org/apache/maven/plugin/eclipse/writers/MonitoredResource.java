@@ -24,6 +24,8 @@ package org.apache.maven.plugin.eclipse.writers;
  */
 public class MonitoredResource
 {
+    public static final int FILE = 1;
+
     public static final int PROJECT = 4;
 
     public static final int DIRECTORY = 2;
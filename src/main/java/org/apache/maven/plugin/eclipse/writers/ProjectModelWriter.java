@@ -0,0 +1,191 @@
+package org.apache.maven.plugin.eclipse.writers;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.eclipse.EclipseSourceDir;
+import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.eclipse.PathPatterns;
+import org.apache.maven.plugin.ide.IdeDependency;
+import org.apache.maven.plugin.ide.IdeUtils;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Writes the resolved model of the project as JSON, for tools other than eclipse that would resolve the project
+ * again otherwise: the coordinates, the default output, the source folders with their outputs and patterns, and the
+ * classpath with its attachments. The paths of the project are relative to the project directory like in
+ * <code>.classpath</code>, the paths of the dependencies are absolute.
+ */
+public class ProjectModelWriter
+    extends AbstractEclipseWriter
+{
+    /**
+     * File holding the project model.
+     */
+    public static final String FILE_PROJECT_MODEL = "maven-project.json"; //$NON-NLS-1$
+
+    private static final String INDENT = "  "; //$NON-NLS-1$
+
+    @Override
+    public void write()
+        throws MojoExecutionException
+    {
+        String defaultOutput =
+            IdeUtils.toRelativeAndFixSeparator( config.getProjectBaseDir(), config.getBuildOutputDirectory(), false );
+
+        List<String> members = new ArrayList<>();
+        members.add( member( "name", string( config.getEclipseProjectName() ) ) );
+        MavenProject project = config.getProject();
+        if ( project != null )
+        {
+            members.add( member( "groupId", string( project.getGroupId() ) ) );
+            members.add( member( "artifactId", string( project.getArtifactId() ) ) );
+            members.add( member( "version", string( project.getVersion() ) ) );
+        }
+        members.add( member( "output", string( defaultOutput ) ) );
+
+        List<String> sourceFolders = new ArrayList<>();
+        for ( EclipseSourceDir dir : config.getSourceDirs() )
+        {
+            sourceFolders.add( object( member( "path", string( dir.getPath() ) ),
+                                       member( "output", string( dir.getOutput() != null ? dir.getOutput()
+                                                       : defaultOutput ) ),
+                                       member( "resource", dir.isResource() ), member( "test", dir.isTest() ),
+                                       member( "includes", strings( PathPatterns.compact( dir.getInclude() ) ) ),
+                                       member( "excludes", strings( PathPatterns.compact( dir.getExclude() ) ) ) ) );
+        }
+        members.add( member( "sourceFolders", array( sourceFolders ) ) );
+
+        List<String> classpath = new ArrayList<>();
+        for ( IdeDependency dep : config.getDeps() )
+        {
+            if ( dep.isAddedToClasspath() )
+            {
+                classpath.add( object( member( "groupId", string( dep.getGroupId() ) ),
+                                       member( "artifactId", string( dep.getArtifactId() ) ),
+                                       member( "version", string( dep.getVersion() ) ),
+                                       member( "classifier", string( dep.getClassifier() ) ),
+                                       member( "type", string( dep.getType() ) ),
+                                       member( "test", dep.isTestDependency() ),
+                                       member( "provided", dep.isProvided() ),
+                                       member( "project", string( dep.isReferencedProject()
+                                                       ? dep.getEclipseProjectName() : null ) ),
+                                       member( "file", path( dep.getFile() ) ),
+                                       member( "sources", path( dep.getSourceAttachment() ) ),
+                                       member( "javadoc", path( dep.getJavadocAttachment() ) ) ) );
+            }
+        }
+        members.add( member( "classpath", array( classpath ) ) );
+
+        StringBuilder json = new StringBuilder( "{\n" ); //$NON-NLS-1$
+        for ( int i = 0; i < members.size(); i++ )
+        {
+            json.append( INDENT ).append( members.get( i ) ).append( i < members.size() - 1 ? ",\n" : "\n" );
+        }
+        json.append( "}\n" ); //$NON-NLS-1$
+
+        File file = new File( config.getEclipseProjectDirectory(), FILE_PROJECT_MODEL );
+        try
+        {
+            IdeUtils.writeIfChanged( file, json.toString().getBytes( StandardCharsets.UTF_8 ) );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  file.getAbsolutePath() ), e );
+        }
+        config.addGeneratedFile( file );
+    }
+
+    private static String member( String name, Object value )
+    {
+        return string( name ) + ": " + value; //$NON-NLS-1$
+    }
+
+    private static String object( String... members )
+    {
+        return "{ " + String.join( ", ", members ) + " }"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    /**
+     * @return the elements, one per line
+     */
+    private static String array( List<String> elements )
+    {
+        if ( elements.isEmpty() )
+        {
+            return "[]"; //$NON-NLS-1$
+        }
+        String separator = ",\n" + INDENT + INDENT; //$NON-NLS-1$
+        return "[\n" + INDENT + INDENT + String.join( separator, elements ) + "\n" + INDENT + "]"; //$NON-NLS-1$
+    }
+
+    private static String strings( List<String> values )
+    {
+        List<String> elements = new ArrayList<>();
+        for ( String value : values )
+        {
+            elements.add( string( value ) );
+        }
+        return "[" + String.join( ", ", elements ) + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+    }
+
+    private static String path( File file )
+        throws MojoExecutionException
+    {
+        return string( file != null ? IdeUtils.fixSeparator( IdeUtils.getCanonicalPath( file ) ) : null );
+    }
+
+    /**
+     * @return the value as a JSON string, <code>null</code> as <code>null</code>
+     */
+    static String string( String value )
+    {
+        if ( value == null )
+        {
+            return "null"; //$NON-NLS-1$
+        }
+        StringBuilder quoted = new StringBuilder( value.length() + 2 );
+        quoted.append( '"' );
+        for ( int i = 0; i < value.length(); i++ )
+        {
+            char c = value.charAt( i );
+            if ( c == '"' || c == '\\' )
+            {
+                quoted.append( '\\' ).append( c );
+            }
+            else if ( c < ' ' )
+            {
+                quoted.append( String.format( "\\u%04x", (int) c ) ); //$NON-NLS-1$
+            }
+            else
+            {
+                quoted.append( c );
+            }
+        }
+        return quoted.append( '"' ).toString();
+    }
+}
@@ -19,15 +19,16 @@ package org.apache.maven.plugin.eclipse.writers.workspace;
  * under the License.
  */
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URL;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.ide.JfrEvents;
+import org.apache.maven.plugin.ide.UrlContentCache;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
 import org.codehaus.plexus.util.xml.Xpp3DomBuilder;
@@ -53,27 +54,55 @@ public class EclipseCodeFormatterProfile
     public EclipseCodeFormatterProfile init( URL url, String profileName )
         throws MojoExecutionException
     {
+        return init( url, profileName, UrlContentCache.getShared() );
+    }
+
+    /**
+     * @param url the code style file
+     * @param profileName the active profile, <code>null</code> for the first profile of the file
+     * @param cache the cache to read the file through
+     * @return this
+     * @throws MojoExecutionException if the file can't be read or parsed
+     */
+    public EclipseCodeFormatterProfile init( URL url, String profileName, UrlContentCache cache )
+        throws MojoExecutionException
+    {
 
         this.profileName = profileName;
 
+        byte[] bytes;
+        try
+        {
+            bytes = cache.getContent( url );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantreadfile", url.toString() ), e );
+        }
+
         if ( this.profileName == null )
         {
-            loadDefaultProfileName( url );
+            loadDefaultProfileName( url, bytes );
         }
 
-        this.convertFormatterToString( url );
+        content = new String( bytes );
 
         return this;
     }
 
-    private void loadDefaultProfileName( URL url )
+    private void loadDefaultProfileName( URL url, byte[] bytes )
         throws MojoExecutionException
     {
         Reader reader = null;
         try
         {
-            reader = new InputStreamReader( url.openStream() );
-            Xpp3Dom dom = Xpp3DomBuilder.build( reader );
+            reader = new InputStreamReader( new ByteArrayInputStream( bytes ) );
+            Xpp3Dom dom;
+            try ( JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.XML_PARSING, url.toString() ) )
+            {
+                event.setBytes( bytes.length );
+                dom = Xpp3DomBuilder.build( reader );
+            }
 
             Xpp3Dom[] existingProfiles = dom.getChildren( ELT_PROFILE );
             if ( existingProfiles.length != 0 )
@@ -96,32 +125,6 @@ public class EclipseCodeFormatterProfile
         }
     }
 
-    private void convertFormatterToString( URL url )
-        throws MojoExecutionException
-    {
-        InputStream is = null;
-
-        ByteArrayOutputStream os = new ByteArrayOutputStream();
-
-        try
-        {
-            is = url.openStream();
-
-            IOUtil.copy( is, os );
-        }
-        catch ( IOException e )
-        {
-            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantreadfile", url.toString() ), e );
-        }
-        finally
-        {
-            IOUtil.close( is );
-        }
-
-        content = os.toString();
-
-    }
-
     public String getContent()
     {
         return this.content;
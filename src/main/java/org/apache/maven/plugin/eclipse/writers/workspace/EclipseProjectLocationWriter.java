@@ -0,0 +1,137 @@
+package org.apache.maven.plugin.eclipse.writers.workspace;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.eclipse.WorkspaceConfiguration;
+import org.apache.maven.plugin.eclipse.reader.ReadWorkspaceLocations;
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.core.internal.localstore.ILocalStoreConstants;
+
+/**
+ * Registers projects in the eclipse workspace by writing the
+ * <code>.metadata/.plugins/org.eclipse.core.resources/.projects/&lt;name&gt;/.location</code> files eclipse itself
+ * keeps for every project outside of the workspace directory. The files are written like
+ * <code>LocalMetaArea.writePrivateDescription</code> of eclipse 3.7 and later writes them for a project without
+ * dynamic references and build configurations, in the chunked format read by {@link ReadWorkspaceLocations}. Eclipse
+ * must not be running on the workspace.
+ * <p>
+ * Eclipse only knows the projects listed in the resource tree it saves in
+ * <code>.metadata/.plugins/org.eclipse.core.resources/.root</code>, which is not written here.
+ */
+public class EclipseProjectLocationWriter
+    implements WorkspaceWriter
+{
+    /**
+     * Prefix eclipse puts in front of the location URI.
+     */
+    private static final String URI_PREFIX = "URI//";
+
+    private WorkspaceConfiguration config;
+
+    private Log logger;
+
+    @Override
+    public WorkspaceWriter init( Log logger, WorkspaceConfiguration config )
+    {
+        this.logger = logger;
+        this.config = config;
+        return this;
+    }
+
+    @Override
+    public void write()
+        throws MojoExecutionException
+    {
+        File projectsDirectory =
+            new File( config.getWorkspaceDirectory(),
+                      ReadWorkspaceLocations.METADATA_PLUGINS_ORG_ECLIPSE_CORE_RESOURCES_PROJECTS );
+        for ( Map.Entry<String, File> project : config.getProjectLocations().entrySet() )
+        {
+            File metadataDirectory = new File( projectsDirectory, project.getKey() );
+            if ( !metadataDirectory.isDirectory() && !metadataDirectory.mkdirs() )
+            {
+                throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantcreatedir",
+                                                                      metadataDirectory ) );
+            }
+            File locationFile = new File( metadataDirectory, ReadWorkspaceLocations.BINARY_LOCATION_FILE );
+            String location = getLocation( project.getKey(), project.getValue() );
+            if ( location != null )
+            {
+                writeLocation( locationFile, location );
+            }
+            else if ( locationFile.exists() && !locationFile.delete() )
+            {
+                throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                      locationFile.getAbsolutePath() ) );
+            }
+            logger.debug( "Registered " + project.getKey() + " -> " + project.getValue() );
+        }
+    }
+
+    /**
+     * Projects in their default location, the directory of their name inside the workspace, have no location file.
+     */
+    private String getLocation( String eclipseProjectName, File projectDirectory )
+    {
+        File directory = projectDirectory.getAbsoluteFile();
+        if ( directory.equals( new File( config.getWorkspaceDirectory(), eclipseProjectName ).getAbsoluteFile() ) )
+        {
+            return null;
+        }
+        // File.toURI() ends an existing directory with a slash, eclipse doesn't
+        String uri = directory.toURI().toString();
+        if ( uri.endsWith( "/" ) ) //$NON-NLS-1$
+        {
+            uri = uri.substring( 0, uri.length() - 1 );
+        }
+        return URI_PREFIX + uri;
+    }
+
+    private static void writeLocation( File locationFile, String location )
+        throws MojoExecutionException
+    {
+        try ( DataOutputStream out = new DataOutputStream( new FileOutputStream( locationFile ) ) )
+        {
+            out.write( ILocalStoreConstants.BEGIN_CHUNK );
+            out.writeUTF( location );
+            // no dynamic project references
+            out.writeInt( 0 );
+            // no build configurations, the default one is active
+            out.writeInt( 0 );
+            out.writeUTF( "" ); //$NON-NLS-1$
+            // no build configuration references
+            out.writeInt( 0 );
+            out.write( ILocalStoreConstants.END_CHUNK );
+        }
+        catch ( IOException e )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  locationFile.getAbsolutePath() ), e );
+        }
+    }
+}
@@ -161,6 +161,7 @@ public class EclipseSettingsWriter
                 File oldCoreSettingsFile;
 
                 File coreSettingsFile = new File( settingsDir, EclipseWorkspaceWriter.ECLIPSE_JDT_CORE_PREFS_FILE );
+                config.addGeneratedFile( coreSettingsFile );
 
                 if ( coreSettingsFile.exists() )
                 {
@@ -24,12 +24,20 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.TreeSet;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.eclipse.UserLibraries;
+import org.apache.maven.plugin.eclipse.UserLibrary;
 import org.apache.maven.plugin.eclipse.WorkspaceConfiguration;
+import org.apache.maven.plugin.ide.FileLocks;
+import org.apache.maven.plugin.ide.UrlContentCache;
 import org.apache.maven.plugin.logging.Log;
 import org.codehaus.plexus.util.IOUtil;
 
@@ -65,11 +73,21 @@ public class EclipseWorkspaceWriter
      */
     public static final String CLASSPATH_VARIABLE_M2_REPO = "org.eclipse.jdt.core.classpathVariable.M2_REPO";
 
+    /**
+     * Prefix of the properties under which the user libraries are defined, followed by the library name.
+     */
+    public static final String USER_LIBRARY = "org.eclipse.jdt.core.userLibrary.";
+
     /**
      * File that stores the Eclipse JDT UI preferences.
      */
     public static final String ECLIPSE_JDT_UI_PREFS_FILE = "org.eclipse.jdt.ui.prefs";
 
+    /**
+     * Directory in the local repository caching the remote code style files between builds.
+     */
+    private static final String URL_CONTENT_CACHE_DIR = ".cache/eclipse-maven-plugin/url-content";
+
     private WorkspaceConfiguration config;
 
     private Log logger;
@@ -96,6 +114,82 @@ public class EclipseWorkspaceWriter
         {
             this.writeCodeStyleConfiguration();
         }
+
+        if ( config.getUserLibraries() != null )
+        {
+            this.writeUserLibraries();
+        }
+    }
+
+    /**
+     * Reads the user libraries with the given prefix defined in the workspace.
+     * 
+     * @param workspaceDirectory the workspace
+     * @param prefix prefix of the library names
+     * @param lockDirectory the directory of the lock files, see {@link FileLocks#getLockDirectory}
+     * @return the libraries
+     * @throws MojoExecutionException if the preferences can't be read
+     */
+    public static List<UserLibrary> readUserLibraries( File workspaceDirectory, String prefix, File lockDirectory )
+        throws MojoExecutionException
+    {
+        File f = new File( new File( workspaceDirectory, ECLIPSE_CORE_RUNTIME_SETTINGS_DIR ),
+                           ECLIPSE_JDT_CORE_PREFS_FILE );
+        Properties props;
+        try ( FileLocks.Lock lock = FileLocks.lock( f, lockDirectory ) )
+        {
+            props = loadProperties( f );
+        }
+
+        List<UserLibrary> libraries = new ArrayList<>();
+        for ( String key : new TreeSet<>( props.stringPropertyNames() ) )
+        {
+            if ( key.startsWith( USER_LIBRARY + prefix + "-" ) )
+            {
+                String name = key.substring( USER_LIBRARY.length() );
+                try
+                {
+                    libraries.add( UserLibrary.parse( name, UserLibraries.isTestLibrary( prefix, name ),
+                                                      props.getProperty( key ) ) );
+                }
+                catch ( IOException e )
+                {
+                    throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantreadfile",
+                                                                          f.getAbsolutePath() ), e );
+                }
+            }
+        }
+        return libraries;
+    }
+
+    /**
+     * Replaces the user libraries with the prefix of the reactor, libraries of other reactors are kept.
+     */
+    private void writeUserLibraries()
+        throws MojoExecutionException
+    {
+        File f = new File( workDir, ECLIPSE_JDT_CORE_PREFS_FILE );
+
+        try ( FileLocks.Lock lock = FileLocks.lock( f, FileLocks.getLockDirectory( config.getLocalRepository() ) ) )
+        {
+            Properties props = loadProperties( f );
+
+            String prefix = USER_LIBRARY + config.getUserLibraryPrefix() + "-";
+            for ( String key : props.stringPropertyNames() )
+            {
+                if ( key.startsWith( prefix ) )
+                {
+                    props.remove( key );
+                }
+            }
+            for ( UserLibrary library : config.getUserLibraries() )
+            {
+                props.setProperty( USER_LIBRARY + library.getName(), library.toXml() );
+            }
+            logger.info( "Defined " + config.getUserLibraries().size() + " user libraries" );
+
+            storeProperties( props, f );
+        }
     }
 
     private void writeCodeStyleConfiguration()
@@ -103,20 +197,29 @@ public class EclipseWorkspaceWriter
     {
         File f = new File( workDir, ECLIPSE_JDT_UI_PREFS_FILE );
 
-        Properties props = loadProperties( f );
-
+        // the profile may have to be downloaded, don't hold the lock meanwhile
+        UrlContentCache cache = config.getLocalRepository() != null
+                        ? UrlContentCache.getShared( new File( config.getLocalRepository().getBasedir(),
+                                                               URL_CONTENT_CACHE_DIR ) )
+                        : UrlContentCache.getShared();
         EclipseCodeFormatterProfile codeFormatter =
-            new EclipseCodeFormatterProfile().init( config.getCodeStylesURL(), config.getActiveStyleProfileName() );
+            new EclipseCodeFormatterProfile().init( config.getCodeStylesURL(), config.getActiveStyleProfileName(),
+                                                    cache );
 
-        if ( codeFormatter.getProfileName() != null )
+        try ( FileLocks.Lock lock = FileLocks.lock( f, FileLocks.getLockDirectory( config.getLocalRepository() ) ) )
         {
-            logger.info( "Set active code style profile name: " + codeFormatter.getProfileName() );
-            props.setProperty( "formatter_profile", "_" + codeFormatter.getProfileName() );
-        }
+            Properties props = loadProperties( f );
+
+            if ( codeFormatter.getProfileName() != null )
+            {
+                logger.info( "Set active code style profile name: " + codeFormatter.getProfileName() );
+                props.setProperty( "formatter_profile", "_" + codeFormatter.getProfileName() );
+            }
 
-        props.setProperty( "org.eclipse.jdt.ui.formatterprofiles", codeFormatter.getContent() );
+            props.setProperty( "org.eclipse.jdt.ui.formatterprofiles", codeFormatter.getContent() );
 
-        storeProperties( props, f );
+            storeProperties( props, f );
+        }
     }
 
     private void writeLocalRepositoryConfiguration()
@@ -124,13 +227,20 @@ public class EclipseWorkspaceWriter
     {
         File f = new File( workDir, ECLIPSE_JDT_CORE_PREFS_FILE );
 
-        Properties props = loadProperties( f );
+        try ( FileLocks.Lock lock = FileLocks.lock( f, FileLocks.getLockDirectory( config.getLocalRepository() ) ) )
+        {
+            Properties props = loadProperties( f );
 
-        props.put( CLASSPATH_VARIABLE_M2_REPO, config.getLocalRepository().getBasedir() );
+            props.put( CLASSPATH_VARIABLE_M2_REPO, config.getLocalRepository().getBasedir() );
 
-        storeProperties( props, f );
+            storeProperties( props, f );
+        }
     }
 
+    /**
+     * Reads the preferences, the caller holds the lock of the file for the whole read-modify-write since the modules
+     * of a parallel build and concurrent builds update the same workspace.
+     */
     private static Properties loadProperties( File f )
         throws MojoExecutionException
     {
@@ -139,9 +249,9 @@ public class EclipseWorkspaceWriter
         // preserve old settings
         if ( f.exists() )
         {
-            try
+            try ( InputStream is = new FileInputStream( f ) )
             {
-                props.load( new FileInputStream( f ) );
+                props.load( is );
             }
             catch ( FileNotFoundException e )
             {
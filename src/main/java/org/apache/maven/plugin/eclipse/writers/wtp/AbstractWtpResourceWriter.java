@@ -279,7 +279,8 @@ public abstract class AbstractWtpResourceWriter
         if ( dependentObject != null && config.getWtpVersion() >= 2.0f )
         {
             writer.startElement( ELT_DEPENDENCY_OBJECT );
-            writer.writeText( dependentObject + System.identityHashCode( dep ) );
+            writer.writeText( dependentObject
+                + IdeUtils.getStableId( dep.getGroupId(), dep.getArtifactId(), dep.getType(), dep.getClassifier() ) );
             writer.endElement();
         }
 
@@ -33,6 +33,7 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.Constants;
 import org.apache.maven.plugin.ide.IdeDependency;
 import org.apache.maven.plugin.ide.IdeUtils;
+import org.apache.maven.plugin.ide.JfrEvents;
 import org.apache.maven.plugin.ide.JeeUtils;
 import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.IOUtil;
@@ -294,8 +295,8 @@ public class EclipseWtpApplicationXMLWriter
         result.setAttribute( EclipseWtpApplicationXMLWriter.XMLNS_XMI, "http://www.omg.org/XMI" );
         result.setAttribute( EclipseWtpApplicationXMLWriter.XMLNS_APPLICATION, "application.xmi" );
         result.setAttribute( EclipseWtpApplicationXMLWriter.XMLNS_MODULEMAP, "modulemap.xmi" );
-        result.setAttribute( EclipseWtpApplicationXMLWriter.XMI_ID, "EARProjectMap_" 
-                        + System.identityHashCode( this ) );
+        result.setAttribute( EclipseWtpApplicationXMLWriter.XMI_ID, "EARProjectMap_"
+                        + IdeUtils.getStableId( this.config.getEclipseProjectName() ) );
         return result;
     }
 
@@ -366,7 +367,9 @@ public class EclipseWtpApplicationXMLWriter
         }
         // ok, its missing (or it changed type). create a new one based on its
         // type
-        long id = System.identityHashCode( dependency );
+        String id =
+            IdeUtils.getStableId( dependency.getEclipseProjectName(), dependency.getGroupId(),
+                                  dependency.getArtifactId(), dependency.getType() );
         if ( dependency.getType().equals( Constants.PROJECT_PACKAGING_EJB ) || dependency.getType().equals( "ejb3" ) )
         {
             Xpp3Dom mapping = new Xpp3Dom( EclipseWtpApplicationXMLWriter.MODULEMAPS_MAPPINGS );
@@ -436,8 +439,11 @@ public class EclipseWtpApplicationXMLWriter
         try
         {
             Reader reader = new InputStreamReader( new FileInputStream( xmlFile ), "UTF-8" );
-            Xpp3Dom applicationXmlDom = Xpp3DomBuilder.build( reader );
-            return applicationXmlDom;
+            try ( JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.XML_PARSING, xmlFile.getPath() ) )
+            {
+                event.setBytes( xmlFile.length() );
+                return Xpp3DomBuilder.build( reader );
+            }
         }
         catch ( FileNotFoundException e )
         {
@@ -616,6 +622,7 @@ public class EclipseWtpApplicationXMLWriter
     private void writePrettyXmlFile( File xmlFile, Xpp3Dom xmlDomTree )
         throws MojoExecutionException
     {
+        this.config.addGeneratedFile( xmlFile );
         Xpp3Dom original = readXMLFile( xmlFile );
         if ( original != null && original.equals( xmlDomTree ) )
         {
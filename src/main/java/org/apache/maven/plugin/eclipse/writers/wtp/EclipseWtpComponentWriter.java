@@ -20,7 +20,6 @@ package org.apache.maven.plugin.eclipse.writers.wtp;
  */
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
@@ -30,9 +29,9 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.Constants;
 import org.apache.maven.plugin.eclipse.EclipseSourceDir;
 import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.ide.ChangedFileOutputStream;
 import org.apache.maven.plugin.ide.IdeUtils;
 import org.apache.maven.plugin.ide.JeeUtils;
-import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
 import org.codehaus.plexus.util.xml.XMLWriter;
 import org.codehaus.plexus.util.xml.Xpp3Dom;
@@ -91,16 +90,16 @@ public class EclipseWtpComponentWriter
         settingsDir.mkdirs();
 
         Writer w;
+        File componentFile = new File( settingsDir, getComponentFileName() );
         try
         {
-            w =
-                new OutputStreamWriter( new FileOutputStream( new File( settingsDir, getComponentFileName() ) ),
-                                        "UTF-8" );
+            w = new OutputStreamWriter( new ChangedFileOutputStream( componentFile ), "UTF-8" );
         }
         catch ( IOException ex )
         {
             throw new MojoExecutionException( Messages.getString( "EclipsePlugin.erroropeningfile" ), ex );
         }
+        config.addGeneratedFile( componentFile );
 
         // create a .component file and write out to it
         XMLWriter writer = new PrettyPrintXMLWriter( w, "UTF-8", null );
@@ -108,7 +107,15 @@ public class EclipseWtpComponentWriter
         writeModuleTypeComponent( writer, config.getPackaging(), config.getBuildOutputDirectory(),
                                   config.getSourceDirs(), config.getLocalRepository() );
 
-        IOUtil.close( w );
+        try
+        {
+            w.close();
+        }
+        catch ( IOException ex )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  componentFile.getAbsolutePath() ), ex );
+        }
     }
 
     /**
@@ -20,7 +20,6 @@ package org.apache.maven.plugin.eclipse.writers.wtp;
  */
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
@@ -29,9 +28,9 @@ import java.util.Map.Entry;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.Constants;
 import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.ide.ChangedFileOutputStream;
 import org.apache.maven.plugin.ide.IdeUtils;
 import org.apache.maven.plugin.ide.JeeUtils;
-import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
 import org.codehaus.plexus.util.xml.XMLWriter;
 
@@ -97,17 +96,27 @@ public class EclipseWtpFacetsWriter
         String packaging = config.getPackaging();
 
         // Write out facet core xml
+        File facetCoreXml = new File( settingsDir, FILE_FACET_CORE_XML );
         try
         {
-            w = new OutputStreamWriter( new FileOutputStream( new File( settingsDir, FILE_FACET_CORE_XML ) ), "UTF-8" );
+            w = new OutputStreamWriter( new ChangedFileOutputStream( facetCoreXml ), "UTF-8" );
         }
         catch ( IOException ex )
         {
             throw new MojoExecutionException( Messages.getString( "EclipsePlugin.erroropeningfile" ), ex );
         }
+        config.addGeneratedFile( facetCoreXml );
         XMLWriter writer = new PrettyPrintXMLWriter( w, "UTF-8", null );
         writeModuleTypeFacetCore( writer, packaging );
-        IOUtil.close( w );
+        try
+        {
+            w.close();
+        }
+        catch ( IOException ex )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  facetCoreXml.getAbsolutePath() ), ex );
+        }
     }
 
     /**
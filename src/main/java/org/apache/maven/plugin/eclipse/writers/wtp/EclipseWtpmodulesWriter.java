@@ -20,7 +20,6 @@ package org.apache.maven.plugin.eclipse.writers.wtp;
  */
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
@@ -29,9 +28,9 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.Constants;
 import org.apache.maven.plugin.eclipse.EclipseSourceDir;
 import org.apache.maven.plugin.eclipse.Messages;
+import org.apache.maven.plugin.ide.ChangedFileOutputStream;
 import org.apache.maven.plugin.ide.IdeUtils;
 import org.apache.maven.plugin.ide.JeeUtils;
-import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
 import org.codehaus.plexus.util.xml.XMLWriter;
 
@@ -55,16 +54,16 @@ public class EclipseWtpmodulesWriter
     {
         Writer w;
 
+        File dotWtpmodules = new File( config.getEclipseProjectDirectory(), FILE_DOT_WTPMODULES );
         try
         {
-            w =
-                new OutputStreamWriter( new FileOutputStream( new File( config.getEclipseProjectDirectory(),
-                                                                        FILE_DOT_WTPMODULES ) ), "UTF-8" );
+            w = new OutputStreamWriter( new ChangedFileOutputStream( dotWtpmodules ), "UTF-8" );
         }
         catch ( IOException ex )
         {
             throw new MojoExecutionException( Messages.getString( "EclipsePlugin.erroropeningfile" ), ex );
         }
+        config.addGeneratedFile( dotWtpmodules );
 
         XMLWriter writer = new PrettyPrintXMLWriter( w, "UTF-8", null );
         writer.startElement( ELT_PROJECT_MODULES );
@@ -128,7 +127,15 @@ public class EclipseWtpmodulesWriter
         writer.endElement(); // wb-module
         writer.endElement(); // project-modules
 
-        IOUtil.close( w );
+        try
+        {
+            w.close();
+        }
+        catch ( IOException ex )
+        {
+            throw new MojoExecutionException( Messages.getString( "EclipsePlugin.cantwritetofile",
+                                                                  dotWtpmodules.getAbsolutePath() ), ex );
+        }
     }
 
 }
@@ -29,6 +29,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.factory.ArtifactFactory;
@@ -47,6 +48,7 @@ import org.apache.maven.artifact.resolver.filter.ExcludesArtifactFilter;
 import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.execution.RuntimeInformation;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
@@ -147,6 +149,14 @@ public abstract class AbstractIdeSupportMojo
     @Parameter( property = "reactorProjects", required = true, readonly = true )
     protected List<MavenProject> reactorProjects;
 
+    /**
+     * The current build session.
+     *
+     * @since 2.13
+     */
+    @Parameter( defaultValue = "${session}", readonly = true )
+    protected MavenSession session;
+
     /**
      * Skip the operation when true.
      */
@@ -182,6 +192,29 @@ public abstract class AbstractIdeSupportMojo
     @Parameter( property = "forceRecheck" )
     protected boolean forceRecheck;
 
+    /**
+     * Records how long the modules, dependency resolution, source and javadoc lookups, reading the workspace and each
+     * writer take and writes a trace file in the Chrome trace event format once all modules of the reactor are done.
+     * Open it in <code>chrome://tracing</code> or <code>https://ui.perfetto.dev</code>; work done in parallel is shown
+     * on separate tracks.
+     *
+     * @since 2.13
+     */
+    @Parameter( property = "eclipse.traceFile" )
+    private File traceFile;
+
+    /**
+     * Prefix of the {@link SessionScope} key of the number of modules of the reactor finished so far, followed by the
+     * goal class. Modules may be built in parallel, the module finishing last is not necessarily the last one of the
+     * reactor.
+     */
+    private static final String FINISHED_MODULES = "AbstractIdeSupportMojo.finishedModules:"; //$NON-NLS-1$
+
+    /**
+     * Is this the last module of the reactor to finish?
+     */
+    private boolean lastModule;
+
     /**
      * Plexus logger needed for debugging manual artifact resolution.
      */
@@ -227,6 +260,16 @@ public abstract class AbstractIdeSupportMojo
         this.project = project;
     }
 
+    /**
+     * Setter for <code>skip</code>.
+     * 
+     * @param skip <code>true</code> to skip the project
+     */
+    public void setSkip( boolean skip )
+    {
+        this.skip = skip;
+    }
+
     /**
      * Getter for <code>reactorProjects</code>.
      * 
@@ -424,18 +467,8 @@ public abstract class AbstractIdeSupportMojo
         throws MojoExecutionException;
 
     /**
-     * Not a plugin parameter. Collect the list of dependencies with a missing source artifact for the final report.
-     */
-    private List<IdeDependency> missingSourceDependencies = new ArrayList<>();
-
-    /**
-     * Not a plugin parameter. Collect the list of dependencies with a missing javadoc artifact for the final report.
-     */
-    // TODO merge this with the missingSourceDependencies in a classifier based map?
-    private List<IdeDependency> missingJavadocDependencies = new ArrayList<>();
-
-    /**
-     * Cached array of resolved dependencies.
+     * Cached array of resolved dependencies, guarded by this mojo since the generator daemon regenerates the project
+     * on its own thread.
      */
     private IdeDependency[] ideDeps;
 
@@ -463,24 +496,132 @@ public abstract class AbstractIdeSupportMojo
     {
         if ( skip )
         {
-            return;
+            // a skipped module may still be the last one to finish the work of the reactor
+            lastModule = finishModule();
+        }
+        else
+        {
+            if ( traceFile != null )
+            {
+                Trace.enable();
+            }
+            try ( Trace.Span span = Trace.begin( Trace.MODULE, getProject().getId() ) )
+            {
+                boolean processProject = setup();
+                if ( processProject )
+                {
+                    generate();
+                }
+            }
+            finally
+            {
+                // a failed module is finished as well, the others must still find the last one
+                lastModule = finishModule();
+            }
+        }
+        if ( traceFile != null && lastModule )
+        {
+            writeTrace();
+        }
+
+        afterExecute();
+    }
+
+    /**
+     * Counts the current module as finished.
+     * 
+     * @return <code>true</code> if all modules of the reactor are finished
+     */
+    private boolean finishModule()
+    {
+        int modules = reactorProjects != null && !reactorProjects.isEmpty() ? reactorProjects.size() : 1;
+        AtomicInteger finished =
+            SessionScope.get( session, FINISHED_MODULES + getClass().getName(), AtomicInteger::new );
+        if ( finished.incrementAndGet() < modules )
+        {
+            return false;
         }
+        finished.set( 0 );
+        return true;
+    }
 
-        boolean processProject = setup();
-        if ( !processProject )
+    /**
+     * Whether the current module is the last one of the reactor to finish, all other modules have been written and
+     * registered by then. With a parallel build this is not necessarily the last project of the reactor. Only known
+     * in {@link #afterExecute()}.
+     * 
+     * @return <code>true</code> if the current project is the last one of the reactor to finish
+     */
+    protected final boolean isLastReactorProject()
+    {
+        return lastModule;
+    }
+
+    /**
+     * Writes the trace file once the last module of the reactor is done.
+     */
+    private void writeTrace()
+    {
+        try
+        {
+            Trace.write( traceFile );
+            getLog().info( Messages.getString( "AbstractIdeSupportMojo.tracewritten", traceFile ) );
+        }
+        catch ( IOException e )
         {
-            return;
+            getLog().warn( Messages.getString( "AbstractIdeSupportMojo.cantwritetrace", new Object[] { traceFile,
+                e.getMessage() } ) );
         }
+    }
 
+    /**
+     * Resolves the dependencies of the current project and writes its configuration.
+     * 
+     * @throws MojoExecutionException if the configuration can't be written
+     */
+    protected final synchronized void generate()
+        throws MojoExecutionException
+    {
         // resolve artifacts
         IdeDependency[] deps = doDependencyResolution();
 
-        resolveSourceAndJavadocArtifacts( deps );
+        // collected per run for the final report, not in fields shared with other runs of this mojo
+        List<IdeDependency> missingSourceDependencies = new ArrayList<>();
+        List<IdeDependency> missingJavadocDependencies = new ArrayList<>();
+        resolveSourceAndJavadocArtifacts( deps, missingSourceDependencies, missingJavadocDependencies );
 
         writeConfiguration( deps );
 
-        reportMissingArtifacts();
+        reportMissingArtifacts( missingSourceDependencies, missingJavadocDependencies );
+
+        // the resolved dependencies are only needed while writing, don't keep them for every module of the reactor
+        ideDeps = null;
+    }
+
+    /**
+     * Replaces the current project, for example after its pom has been read again, and forgets the dependencies
+     * resolved for the previous one. The next {@link #generate()} resolves them again.
+     * 
+     * @param project the new project
+     */
+    protected synchronized void refresh( MavenProject project )
+    {
+        this.project = project;
+        this.executedProject = project;
+        this.ideDeps = null;
+    }
 
+    /**
+     * Extension point for subclasses.
+     * <p>
+     * Called at the end of <code>execute</code>, also if the project has not been processed or is skipped.
+     * 
+     * @throws MojoExecutionException mojo failures.
+     */
+    protected void afterExecute()
+        throws MojoExecutionException
+    {
+        // provided for extension.
     }
 
     /**
@@ -491,7 +632,7 @@ public abstract class AbstractIdeSupportMojo
      * @throws MojoExecutionException if dependencies can't be resolved
      * @return resolved IDE dependencies, with attached jars for non-reactor dependencies
      */
-    protected IdeDependency[] doDependencyResolution()
+    protected synchronized IdeDependency[] doDependencyResolution()
         throws MojoExecutionException
     {
         if ( ideDeps == null )
@@ -514,7 +655,7 @@ public abstract class AbstractIdeSupportMojo
 
                     ArtifactResolutionResult artifactResolutionResult;
 
-                    try
+                    try ( Trace.Span span = Trace.begin( Trace.RESOLUTION, "collect " + project.getId() ) )
                     {
 
                         List listeners = new ArrayList();
@@ -557,9 +698,12 @@ public abstract class AbstractIdeSupportMojo
                         // don't resolve jars for reactor projects
                         if ( hasToResolveJar( art ) )
                         {
-                            try
+                            try ( Trace.Span span = Trace.begin( Trace.RESOLUTION, art.getId() );
+                                  JfrEvents.Event event =
+                                      JfrEvents.begin( JfrEvents.Type.ARTIFACT_RESOLUTION, art.getId() ) )
                             {
                                 artifactResolver.resolve( art, node.getRemoteRepositories(), localRepository );
+                                event.setBytes( art.getFile().length() );
                             }
                             catch ( ArtifactNotFoundException e )
                             {
@@ -588,8 +732,9 @@ public abstract class AbstractIdeSupportMojo
                             }
                         }
 
+                        boolean classFolder = useClassFolder( art );
                         if ( includeArtifact
-                            && ( !( getUseProjectReferences() && isAvailableAsAReactorProject( art ) ) 
+                            && ( classFolder || !( getUseProjectReferences() && isAvailableAsAReactorProject( art ) )
                                     || emittedReactorProjectId.add( art.getGroupId() + '-' + art.getArtifactId() ) ) )
                         {
 
@@ -602,6 +747,10 @@ public abstract class AbstractIdeSupportMojo
                                                    Artifact.SCOPE_PROVIDED.equals( art.getScope() ),
                                                    art.getArtifactHandler().isAddedToClasspath(), art.getFile(),
                                                    art.getType(), dependencyDepth, getProjectNameForArifact( art ) );
+                            if ( classFolder )
+                            {
+                                setClassFolder( dep, getReactorProject( art ) );
+                            }
                             // no duplicate entries allowed. System paths can cause this problem.
                             if ( !dependencies.contains( dep ) )
                             {
@@ -815,14 +964,50 @@ public abstract class AbstractIdeSupportMojo
      * attributes. Source and
      * 
      * @param deps resolved dependencies
+     * @param missingSourceDependencies collects the dependencies with a missing source artifact
+     * @param missingJavadocDependencies collects the dependencies with a missing javadoc artifact
+     * @throws MojoExecutionException if a not-available marker can't be locked
+     */
+    private void resolveSourceAndJavadocArtifacts( IdeDependency[] deps,
+                                                   List<IdeDependency> missingSourceDependencies,
+                                                   List<IdeDependency> missingJavadocDependencies )
+        throws MojoExecutionException
+    {
+        missingSourceDependencies.addAll( resolveDependenciesWithClassifier( deps, "sources", getDownloadSources() ) );
+
+        missingJavadocDependencies.addAll( resolveDependenciesWithClassifier( deps, "javadoc",
+                                                                              getDownloadJavadocs() ) );
+
+        if ( getIndexClassifier() != null )
+        {
+            // missing indexes are not reported, they are optional
+            resolveDependenciesWithClassifier( deps, getIndexClassifier(), getDownloadIndexes() );
+        }
+    }
+
+    /**
+     * Extension point for subclasses.
+     * <p>
+     * Classifier of the pre-built index artifacts attached to the dependencies as index location, resolved like the
+     * sources. <code>null</code> to not look for indexes.
+     * 
+     * @return the classifier of index artifacts or <code>null</code>
      */
-    private void resolveSourceAndJavadocArtifacts( IdeDependency[] deps )
+    protected String getIndexClassifier()
     {
-        List<IdeDependency> missingSources = resolveDependenciesWithClassifier( deps, "sources", getDownloadSources() );
-        missingSourceDependencies.addAll( missingSources );
+        return null;
+    }
 
-        List<IdeDependency> missingJavadocs = resolveDependenciesWithClassifier( deps, "javadoc", getDownloadJavadocs() );
-        missingJavadocDependencies.addAll( missingJavadocs );
+    /**
+     * Extension point for subclasses.
+     * <p>
+     * Whether the index artifacts are downloaded from remote repositories or only looked up in the local one.
+     * 
+     * @return <code>true</code> to download index artifacts
+     */
+    protected boolean getDownloadIndexes()
+    {
+        return false;
     }
 
     /**
@@ -833,9 +1018,11 @@ public abstract class AbstractIdeSupportMojo
      * @param inClassifier the classifier we are looking for (either <code>sources</code> or <code>javadoc</code>)
      * @param includeRemoteRepositories flag whether we should search remote repositories for the artifacts or not
      * @return the list of dependencies for which the required artifact was not found
+     * @throws MojoExecutionException if a not-available marker can't be locked
      */
     private List<IdeDependency> resolveDependenciesWithClassifier( IdeDependency[] deps, String inClassifier,
                                                     boolean includeRemoteRepositories )
+        throws MojoExecutionException
     {
         List<IdeDependency> missingClassifierDependencies = new ArrayList<>();
 
@@ -845,82 +1032,98 @@ public abstract class AbstractIdeSupportMojo
 
         for ( IdeDependency dependency : deps )
         {
-            if ( dependency.isReferencedProject() || dependency.isSystemScoped() )
+            if ( dependency.isReferencedProject() || dependency.isClassFolder() || dependency.isSystemScoped() )
             {
                 // artifact not needed
                 continue;
             }
 
-            if ( getLog().isDebugEnabled() )
+            try ( Trace.Span span = Trace.begin( Trace.CLASSIFIER, dependency.getId() + ':' + inClassifier ) )
             {
-                getLog().debug( "Searching for sources for " + dependency.getId() + ":" + dependency.getClassifier()
-                                    + " at " + dependency.getId() + ":" + inClassifier );
-            }
-
-            Artifact baseArtifact =
-                artifactFactory.createArtifactWithClassifier( dependency.getGroupId(), dependency.getArtifactId(),
-                                                              dependency.getVersion(), dependency.getType(),
-                                                              dependency.getClassifier() );
-            baseArtifact =
-                IdeUtils.resolveArtifact( artifactResolver, baseArtifact, remoteRepos, localRepository, getLog() );
-            if ( !baseArtifact.isResolved() )
-            {
-                // base artifact does not exist - no point checking for javadoc/sources
-                continue;
-            }
-
-            Artifact artifact =
-                IdeUtils.createArtifactWithClassifier( dependency.getGroupId(), dependency.getArtifactId(),
-                                                       dependency.getVersion(), dependency.getClassifier(),
-                                                       inClassifier, artifactFactory );
-            File notAvailableMarkerFile = IdeUtils.getNotAvailableMarkerFile( localRepository, artifact );
+                if ( getLog().isDebugEnabled() )
+                {
+                    getLog().debug( "Searching for sources for " + dependency.getId() + ":" + dependency.getClassifier()
+                                        + " at " + dependency.getId() + ":" + inClassifier );
+                }
 
-            if ( forceRecheck && notAvailableMarkerFile.exists() )
-            {
-                if ( !notAvailableMarkerFile.delete() )
+                Artifact baseArtifact =
+                    artifactFactory.createArtifactWithClassifier( dependency.getGroupId(), dependency.getArtifactId(),
+                                                                  dependency.getVersion(), dependency.getType(),
+                                                                  dependency.getClassifier() );
+                baseArtifact =
+                    IdeUtils.resolveArtifact( artifactResolver, baseArtifact, remoteRepos, localRepository, getLog() );
+                if ( !baseArtifact.isResolved() )
                 {
-                    getLog().warn( Messages.getString( "AbstractIdeSupportMojo.unabletodeletenotavailablemarkerfile",
-                                                       notAvailableMarkerFile ) );
+                    // base artifact does not exist - no point checking for javadoc/sources
+                    continue;
                 }
-            }
 
-            if ( !notAvailableMarkerFile.exists() )
-            {
-                artifact =
-                    IdeUtils.resolveArtifact( artifactResolver, artifact, remoteRepos, localRepository, getLog() );
-                if ( artifact.isResolved() )
+                Artifact artifact =
+                    IdeUtils.createArtifactWithClassifier( dependency.getGroupId(), dependency.getArtifactId(),
+                                                           dependency.getVersion(), dependency.getClassifier(),
+                                                           inClassifier, artifactFactory );
+                File notAvailableMarkerFile = IdeUtils.getNotAvailableMarkerFile( localRepository, artifact );
+
+                // the marker is shared by the modules of a parallel build and by concurrent builds, the lock also
+                // keeps them from downloading the same archive at the same time
+                try ( FileLocks.Lock lock =
+                    FileLocks.lock( notAvailableMarkerFile, FileLocks.getLockDirectory( localRepository ) ) )
                 {
-                    if ( "sources".equals( inClassifier ) )
-                    {
-                        dependency.setSourceAttachment( artifact.getFile() );
-                    }
-                    else if ( "javadoc".equals( inClassifier ) && includeRemoteRepositories )
+                    boolean notAvailable;
+                    try ( JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.MARKER_CHECK, artifact.getId() ) )
                     {
-                        dependency.setJavadocAttachment( artifact.getFile() );
+                        if ( forceRecheck && notAvailableMarkerFile.exists() )
+                        {
+                            if ( !notAvailableMarkerFile.delete() )
+                            {
+                                getLog().warn( Messages.getString( "AbstractIdeSupportMojo."
+                                    + "unabletodeletenotavailablemarkerfile", notAvailableMarkerFile ) );
+                            }
+                        }
+                        notAvailable = notAvailableMarkerFile.exists();
                     }
-                }
-                else
-                {
-                    if ( includeRemoteRepositories )
+
+                    if ( !notAvailable )
                     {
-                        try
+                        artifact = IdeUtils.resolveArtifact( artifactResolver, artifact, remoteRepos, localRepository,
+                                                             getLog() );
+                        if ( artifact.isResolved() )
                         {
-                            notAvailableMarkerFile.createNewFile();
-                            getLog().debug( 
-                                     Messages.getString( "AbstractIdeSupportMojo.creatednotavailablemarkerfile", 
-                                                         notAvailableMarkerFile ) );
+                            if ( "sources".equals( inClassifier ) )
+                            {
+                                dependency.setSourceAttachment( artifact.getFile() );
+                            }
+                            else if ( "javadoc".equals( inClassifier ) && includeRemoteRepositories )
+                            {
+                                dependency.setJavadocAttachment( artifact.getFile() );
+                            }
+                            else if ( inClassifier.equals( getIndexClassifier() ) )
+                            {
+                                dependency.setIndexLocation( artifact.getFile() );
+                            }
                         }
-                        catch ( IOException e )
+                        else
                         {
-                            getLog().warn( 
-                                     Messages.getString( "AbstractIdeSupportMojo.failedtocreatenotavailablemarkerfile",
-                                                         notAvailableMarkerFile ) );
+                            if ( includeRemoteRepositories )
+                            {
+                                try
+                                {
+                                    notAvailableMarkerFile.createNewFile();
+                                    getLog().debug( Messages.getString( "AbstractIdeSupportMojo."
+                                        + "creatednotavailablemarkerfile", notAvailableMarkerFile ) );
+                                }
+                                catch ( IOException e )
+                                {
+                                    getLog().warn( Messages.getString( "AbstractIdeSupportMojo."
+                                        + "failedtocreatenotavailablemarkerfile", notAvailableMarkerFile ) );
+                                }
+                            }
+                            // add the dependencies to the list
+                            // of those lacking the required
+                            // artifact
+                            missingClassifierDependencies.add( dependency );
                         }
                     }
-                    // add the dependencies to the list
-                    // of those lacking the required
-                    // artifact
-                    missingClassifierDependencies.add( dependency );
                 }
             }
         }
@@ -933,8 +1136,12 @@ public abstract class AbstractIdeSupportMojo
 
     /**
      * Output a message with the list of missing dependencies and info on how turn download on if it was disabled.
+     * 
+     * @param missingSourceDependencies the dependencies with a missing source artifact
+     * @param missingJavadocDependencies the dependencies with a missing javadoc artifact
      */
-    private void reportMissingArtifacts()
+    private void reportMissingArtifacts( List<IdeDependency> missingSourceDependencies,
+                                         List<IdeDependency> missingJavadocDependencies )
     {
         StringBuilder msg = new StringBuilder();
 
@@ -976,7 +1183,45 @@ public abstract class AbstractIdeSupportMojo
      */
     protected boolean hasToResolveJar( Artifact art )
     {
-        return !( getUseProjectReferences() && isAvailableAsAReactorProject( art ) );
+        return !( getUseProjectReferences() && isAvailableAsAReactorProject( art ) ) && !useClassFolder( art );
+    }
+
+    /**
+     * Checks if the output directory of a reactor project has to be used instead of the jar for the given artifact.
+     * Extension point for subclasses.
+     * 
+     * @param art the artifact to check
+     * @return true if a class folder has to be used.
+     */
+    protected boolean useClassFolder( Artifact art )
+    {
+        return false;
+    }
+
+    /**
+     * Turns a dependency on a reactor project into a class folder: the output directory of the project, with its
+     * source directory attached. Eclipse attaches a single source root, the test artifacts of a project get the test
+     * output and test sources.
+     * 
+     * @param dep the dependency
+     * @param reactorProject the reactor project producing the artifact
+     */
+    static void setClassFolder( IdeDependency dep, MavenProject reactorProject )
+    {
+        boolean tests =
+            "test-jar".equals( dep.getType() ) || "tests".equals( dep.getClassifier() ); //$NON-NLS-1$ //$NON-NLS-2$
+        dep.setClassFolder( true );
+        dep.setFile( new File( tests ? reactorProject.getBuild().getTestOutputDirectory()
+                        : reactorProject.getBuild().getOutputDirectory() ) );
+
+        List roots = tests ? reactorProject.getTestCompileSourceRoots() : reactorProject.getCompileSourceRoots();
+        String sourceDirectory = tests ? reactorProject.getBuild().getTestSourceDirectory()
+                        : reactorProject.getBuild().getSourceDirectory();
+        if ( sourceDirectory == null && roots != null && !roots.isEmpty() )
+        {
+            sourceDirectory = (String) roots.get( 0 );
+        }
+        dep.setSourceAttachment( sourceDirectory != null ? new File( sourceDirectory ) : null );
     }
 
     /**
@@ -0,0 +1,263 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * The immutable <code>groupId:artifactId:version:classifier:type</code> of an {@link IdeDependency} together with the
+ * eclipse project name. Complete coordinates are interned: in a reactor the same artifact is a dependency of many
+ * modules, and all of them share one instance and one copy of each string. The interned instances are only weakly
+ * referenced, they are released once no dependency uses them anymore.
+ */
+public final class ArtifactCoordinates
+{
+    /**
+     * Interned coordinates, shared by all modules of the build. Also guards {@link #STRINGS}.
+     */
+    private static final Map<ArtifactCoordinates, WeakReference<ArtifactCoordinates>> COORDINATES =
+        new WeakHashMap<>();
+
+    /**
+     * Interned strings, shared by all interned coordinates.
+     */
+    private static final Map<String, WeakReference<String>> STRINGS = new WeakHashMap<>();
+
+    private final String groupId;
+
+    private final String artifactId;
+
+    private final String version;
+
+    private final String classifier;
+
+    private final String type;
+
+    private final String eclipseProjectName;
+
+    private final int hashCode;
+
+    private ArtifactCoordinates( String groupId, String artifactId, String version, String classifier, String type,
+                                 String eclipseProjectName )
+    {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.classifier = classifier;
+        this.type = type;
+        this.eclipseProjectName = eclipseProjectName;
+        this.hashCode = Objects.hash( groupId, artifactId, version, classifier, type, eclipseProjectName );
+    }
+
+    /**
+     * Returns the shared instance for the given coordinates.
+     *
+     * @param groupId Group id
+     * @param artifactId Artifact id
+     * @param version Artifact version
+     * @param classifier Artifact classifier
+     * @param type Artifact type
+     * @param eclipseProjectName The name of the project in eclipse
+     * @return the interned coordinates
+     */
+    public static ArtifactCoordinates of( String groupId, String artifactId, String version, String classifier,
+                                          String type, String eclipseProjectName )
+    {
+        return new ArtifactCoordinates( groupId, artifactId, version, classifier, type, eclipseProjectName ).intern();
+    }
+
+    /**
+     * Returns the shared instance equal to these coordinates, these coordinates become the shared instance if there
+     * is none yet.
+     *
+     * @return the interned coordinates
+     */
+    public ArtifactCoordinates intern()
+    {
+        synchronized ( COORDINATES )
+        {
+            ArtifactCoordinates interned = get( COORDINATES, this );
+            if ( interned == null )
+            {
+                interned =
+                    new ArtifactCoordinates( intern( groupId ), intern( artifactId ), intern( version ),
+                                             intern( classifier ), intern( type ), intern( eclipseProjectName ) );
+                COORDINATES.put( interned, new WeakReference<>( interned ) );
+            }
+            return interned;
+        }
+    }
+
+    private static String intern( String value )
+    {
+        if ( value == null )
+        {
+            return null;
+        }
+        String interned = get( STRINGS, value );
+        if ( interned == null )
+        {
+            interned = value;
+            STRINGS.put( interned, new WeakReference<>( interned ) );
+        }
+        return interned;
+    }
+
+    private static <T> T get( Map<T, WeakReference<T>> pool, T value )
+    {
+        WeakReference<T> reference = pool.get( value );
+        return reference != null ? reference.get() : null;
+    }
+
+    /**
+     * @return the group id
+     */
+    public String getGroupId()
+    {
+        return groupId;
+    }
+
+    /**
+     * @return the artifact id
+     */
+    public String getArtifactId()
+    {
+        return artifactId;
+    }
+
+    /**
+     * @return the version
+     */
+    public String getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * @return the classifier, may be <code>null</code>
+     */
+    public String getClassifier()
+    {
+        return classifier;
+    }
+
+    /**
+     * @return the type
+     */
+    public String getType()
+    {
+        return type;
+    }
+
+    /**
+     * @return the name of the project in eclipse
+     */
+    public String getEclipseProjectName()
+    {
+        return eclipseProjectName;
+    }
+
+    /**
+     * @param value the new group id
+     * @return the coordinates with a different group id
+     */
+    public ArtifactCoordinates withGroupId( String value )
+    {
+        return new ArtifactCoordinates( value, artifactId, version, classifier, type, eclipseProjectName );
+    }
+
+    /**
+     * @param value the new artifact id
+     * @return the coordinates with a different artifact id
+     */
+    public ArtifactCoordinates withArtifactId( String value )
+    {
+        return new ArtifactCoordinates( groupId, value, version, classifier, type, eclipseProjectName );
+    }
+
+    /**
+     * @param value the new version
+     * @return the coordinates with a different version
+     */
+    public ArtifactCoordinates withVersion( String value )
+    {
+        return new ArtifactCoordinates( groupId, artifactId, value, classifier, type, eclipseProjectName );
+    }
+
+    /**
+     * @param value the new classifier
+     * @return the coordinates with a different classifier
+     */
+    public ArtifactCoordinates withClassifier( String value )
+    {
+        return new ArtifactCoordinates( groupId, artifactId, version, value, type, eclipseProjectName );
+    }
+
+    /**
+     * @param value the new type
+     * @return the coordinates with a different type
+     */
+    public ArtifactCoordinates withType( String value )
+    {
+        return new ArtifactCoordinates( groupId, artifactId, version, classifier, value, eclipseProjectName );
+    }
+
+    /**
+     * @param value the new eclipse project name
+     * @return the coordinates with a different eclipse project name
+     */
+    public ArtifactCoordinates withEclipseProjectName( String value )
+    {
+        return new ArtifactCoordinates( groupId, artifactId, version, classifier, type, value );
+    }
+
+    @Override
+    public boolean equals( Object obj )
+    {
+        if ( obj == this )
+        {
+            return true;
+        }
+        if ( !( obj instanceof ArtifactCoordinates ) )
+        {
+            return false;
+        }
+        ArtifactCoordinates other = (ArtifactCoordinates) obj;
+        return hashCode == other.hashCode && Objects.equals( groupId, other.groupId )
+            && Objects.equals( artifactId, other.artifactId ) && Objects.equals( version, other.version )
+            && Objects.equals( classifier, other.classifier ) && Objects.equals( type, other.type )
+            && Objects.equals( eclipseProjectName, other.eclipseProjectName );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return hashCode;
+    }
+
+    @Override
+    public String toString()
+    {
+        return groupId + ':' + artifactId + ':' + version + ':' + classifier + ':' + type;
+    }
+}
@@ -0,0 +1,60 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Collects the content of a file in memory and writes it when the stream is closed, unless the file already has
+ * exactly this content, see {@link IdeUtils#writeIfChanged(File, byte[])}.
+ */
+public class ChangedFileOutputStream
+    extends ByteArrayOutputStream
+{
+    private final File file;
+
+    private boolean closed;
+
+    /**
+     * @param file the file to write on close
+     */
+    public ChangedFileOutputStream( File file )
+    {
+        this.file = file;
+    }
+
+    /**
+     * Writes the file if its content changed, only the first time.
+     *
+     * @throws IOException if the file can't be read or written
+     */
+    @Override
+    public void close()
+        throws IOException
+    {
+        if ( !closed )
+        {
+            closed = true;
+            IdeUtils.writeIfChanged( file, toByteArray() );
+        }
+    }
+}
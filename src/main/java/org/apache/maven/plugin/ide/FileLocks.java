@@ -0,0 +1,197 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.eclipse.Messages;
+
+/**
+ * Exclusive locks on files shared by the modules of a parallel build and by concurrent builds, like the workspace
+ * preferences or the markers in the local repository. A lock guards a read-modify-write of the file, not the file
+ * itself: all writers of a file have to take the lock.
+ * <p>
+ * The threads of this JVM are serialized with a lock per file, other processes with a file lock on a lock file named
+ * after the hash of the path, in <code>.locks/eclipse-maven-plugin</code> of the local repository. Every build
+ * writing the same files shares that directory, and no lock files are left in projects or next to the artifacts.
+ * The lock files are kept: deleting one would let a process lock a new file while another one still holds the lock
+ * of the old one. The locks are reentrant.
+ */
+public final class FileLocks
+{
+    /**
+     * Directory of the lock files in the local repository.
+     */
+    private static final String LOCK_DIRECTORY = ".locks/eclipse-maven-plugin"; //$NON-NLS-1$
+
+    /**
+     * Directory of the lock files without a local repository.
+     */
+    private static final File TEMPORARY_LOCK_DIRECTORY =
+        new File( System.getProperty( "java.io.tmpdir" ), "maven-eclipse-plugin-locks" ); //$NON-NLS-1$ //$NON-NLS-2$
+
+    /**
+     * The lock of every file locked so far, keyed by canonical path.
+     */
+    private static final ConcurrentMap<String, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * A held lock, closing it releases it.
+     */
+    public static final class Lock
+        implements AutoCloseable
+    {
+        private final ReentrantLock threadLock;
+
+        private final RandomAccessFile lockFile;
+
+        private final FileLock fileLock;
+
+        private Lock( ReentrantLock threadLock, RandomAccessFile lockFile, FileLock fileLock )
+        {
+            this.threadLock = threadLock;
+            this.lockFile = lockFile;
+            this.fileLock = fileLock;
+        }
+
+        @Override
+        public void close()
+        {
+            try
+            {
+                if ( fileLock != null )
+                {
+                    fileLock.release();
+                }
+                if ( lockFile != null )
+                {
+                    lockFile.close();
+                }
+            }
+            catch ( IOException e )
+            {
+                // closing the channel releases the lock anyway
+            }
+            finally
+            {
+                threadLock.unlock();
+            }
+        }
+    }
+
+    private FileLocks()
+    {
+        // no instances
+    }
+
+    /**
+     * Locks a file, waiting for other threads and processes holding the lock.
+     *
+     * @param file the file to lock, does not need to exist
+     * @param lockDirectory the directory of the lock files, see {@link #getLockDirectory(ArtifactRepository)}
+     * @return the lock, to be closed once the file has been written
+     * @throws MojoExecutionException if the lock file can not be created
+     */
+    public static Lock lock( File file, File lockDirectory )
+        throws MojoExecutionException
+    {
+        String path = IdeUtils.getCanonicalPath( file );
+        ReentrantLock threadLock = LOCKS.computeIfAbsent( path, key -> new ReentrantLock() );
+        threadLock.lock();
+        if ( threadLock.getHoldCount() > 1 )
+        {
+            // a process can lock a file only once, the outer lock already excludes other processes
+            return new Lock( threadLock, null, null );
+        }
+
+        File lockFile = new File( lockDirectory, getLockFileName( path ) );
+        RandomAccessFile channel = null;
+        try
+        {
+            lockDirectory.mkdirs();
+            channel = new RandomAccessFile( lockFile, "rw" ); //$NON-NLS-1$
+            return new Lock( threadLock, channel, channel.getChannel().lock() );
+        }
+        catch ( IOException e )
+        {
+            if ( channel != null )
+            {
+                try
+                {
+                    channel.close();
+                }
+                catch ( IOException ignored )
+                {
+                    // the lock failed already
+                }
+            }
+            threadLock.unlock();
+            throw new MojoExecutionException( Messages.getString( "FileLocks.cantlock", new Object[] { file,
+                lockFile, e.getMessage() } ), e );
+        }
+    }
+
+    /**
+     * @param localRepository the local repository shared by the builds, may be <code>null</code> in tests
+     * @return the directory of the lock files, in the temporary directory without a local repository
+     */
+    public static File getLockDirectory( ArtifactRepository localRepository )
+    {
+        if ( localRepository == null )
+        {
+            return TEMPORARY_LOCK_DIRECTORY;
+        }
+        return new File( localRepository.getBasedir(), LOCK_DIRECTORY );
+    }
+
+    /**
+     * @param path canonical path of the locked file
+     * @return the name of its lock file, the hash of the path
+     */
+    private static String getLockFileName( String path )
+    {
+        byte[] hash;
+        try
+        {
+            hash = MessageDigest.getInstance( "SHA-1" ).digest( path.getBytes( StandardCharsets.UTF_8 ) );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( e );
+        }
+        StringBuilder name = new StringBuilder();
+        for ( byte b : hash )
+        {
+            name.append( String.format( "%02x", b ) ); //$NON-NLS-1$
+        }
+        return name.append( ".lock" ).toString(); //$NON-NLS-1$
+    }
+}
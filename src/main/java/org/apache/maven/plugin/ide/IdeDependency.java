@@ -30,30 +30,28 @@ import org.apache.maven.project.MavenProject;
 public class IdeDependency
     implements Comparable<IdeDependency>
 {
-    /**
-     * Is this dependency available in the reactor?
-     */
-    private boolean referencedProject;
+    // CHECKSTYLE_OFF: MagicNumber
+    private static final byte REFERENCED_PROJECT = 1;
 
-    /**
-     * Is this a test dependency?
-     */
-    private boolean testDependency;
+    private static final byte TEST_DEPENDENCY = 1 << 1;
 
-    /**
-     * Is this a system scope dependency?
-     */
-    private boolean systemScoped;
+    private static final byte SYSTEM_SCOPED = 1 << 2;
 
-    /**
-     * Is this a provided dependency?
-     */
-    private boolean provided;
+    private static final byte PROVIDED = 1 << 3;
+
+    private static final byte ADDED_TO_CLASSPATH = 1 << 4;
+
+    private static final byte CLASS_FOLDER = 1 << 5;
+    // CHECKSTYLE_ON: MagicNumber
+
+    private static final ArtifactCoordinates NO_COORDINATES = ArtifactCoordinates.of( null, null, null, null, null,
+                                                                                      null );
 
     /**
-     * Is this dependency added to classpath?
+     * Is this dependency available in the reactor, a test, system scope or provided dependency, is it added to the
+     * classpath, is it a class folder? One bit per flag.
      */
-    private boolean addedToClasspath;
+    private byte flags;
 
     /**
      * Resolved artifact file.
@@ -71,34 +69,15 @@ public class IdeDependency
     private File sourceAttachment;
 
     /**
-     * Group id.
-     */
-    private String groupId;
-
-    /**
-     * Artifact id.
-     */
-    private String artifactId;
-
-    /**
-     * Artifact version.
-     */
-    private String version;
-
-    /**
-     * Artifact classifier
+     * Pre-built JDT index of the artifact.
      */
-    private String classifier;
+    private File indexLocation;
 
     /**
-     * Artifact type.
+     * Group id, artifact id, version, classifier, type and how is this dependency called when it is an eclipse
+     * project. Shared with the other dependencies on the same artifact.
      */
-    private String type;
-
-    /**
-     * How is this dependency called when it is an eclipse project.
-     */
-    private String eclipseProjectName;
+    private ArtifactCoordinates coordinates = NO_COORDINATES;
 
     /**
      * Creates an uninitialized instance
@@ -127,24 +106,45 @@ public class IdeDependency
                           boolean addedToClasspath, File file, String type, int dependencyDepth,
                           String eclipseProjectName )
     {
-        // group:artifact:version
-        this.groupId = groupId;
-        this.artifactId = artifactId;
-        this.version = version;
-        this.classifier = classifier;
+        // group:artifact:version, the type is needed for OSGI support
+        this.coordinates = ArtifactCoordinates.of( groupId, artifactId, version, classifier, type, eclipseProjectName );
 
         // flags
-        this.referencedProject = referencedProject;
-        this.testDependency = testDependency;
-        this.systemScoped = systemScoped;
-        this.provided = provided;
-        this.addedToClasspath = addedToClasspath;
+        setFlag( REFERENCED_PROJECT, referencedProject );
+        setFlag( TEST_DEPENDENCY, testDependency );
+        setFlag( SYSTEM_SCOPED, systemScoped );
+        setFlag( PROVIDED, provided );
+        setFlag( ADDED_TO_CLASSPATH, addedToClasspath );
 
         // needed for OSGI support
-        // file and type
         this.file = file;
-        this.type = type;
-        this.eclipseProjectName = eclipseProjectName;
+    }
+
+    private boolean isFlag( byte flag )
+    {
+        return ( flags & flag ) != 0;
+    }
+
+    private void setFlag( byte flag, boolean value )
+    {
+        if ( value )
+        {
+            flags |= flag;
+        }
+        else
+        {
+            flags &= ~flag;
+        }
+    }
+
+    /**
+     * @return the shared coordinates of this dependency
+     */
+    public ArtifactCoordinates getCoordinates()
+    {
+        // the setters only create private intermediate coordinates, share the final ones
+        coordinates = coordinates.intern();
+        return coordinates;
     }
 
     /**
@@ -174,7 +174,7 @@ public class IdeDependency
      */
     public String getArtifactId()
     {
-        return artifactId;
+        return coordinates.getArtifactId();
     }
 
     /**
@@ -184,7 +184,7 @@ public class IdeDependency
      */
     public void setArtifactId( String artifactId )
     {
-        this.artifactId = artifactId;
+        coordinates = coordinates.withArtifactId( artifactId );
     }
 
     /**
@@ -194,7 +194,7 @@ public class IdeDependency
      */
     public String getGroupId()
     {
-        return groupId;
+        return coordinates.getGroupId();
     }
 
     /**
@@ -204,7 +204,7 @@ public class IdeDependency
      */
     public void setGroupId( String groupId )
     {
-        this.groupId = groupId;
+        coordinates = coordinates.withGroupId( groupId );
     }
 
     /**
@@ -214,7 +214,7 @@ public class IdeDependency
      */
     public String getVersion()
     {
-        return version;
+        return coordinates.getVersion();
     }
 
     /**
@@ -224,7 +224,7 @@ public class IdeDependency
      */
     public void setVersion( String version )
     {
-        this.version = version;
+        coordinates = coordinates.withVersion( version );
     }
 
     /**
@@ -234,7 +234,7 @@ public class IdeDependency
      */
     public String getClassifier()
     {
-        return classifier;
+        return coordinates.getClassifier();
     }
 
     /**
@@ -244,7 +244,7 @@ public class IdeDependency
      */
     public void setClassifier( String classifier )
     {
-        this.classifier = classifier;
+        coordinates = coordinates.withClassifier( classifier );
     }
 
     /**
@@ -254,7 +254,7 @@ public class IdeDependency
      */
     public boolean isReferencedProject()
     {
-        return referencedProject;
+        return isFlag( REFERENCED_PROJECT );
     }
 
     /**
@@ -264,7 +264,27 @@ public class IdeDependency
      */
     public void setReferencedProject( boolean referencedProject )
     {
-        this.referencedProject = referencedProject;
+        setFlag( REFERENCED_PROJECT, referencedProject );
+    }
+
+    /**
+     * Getter for <code>classFolder</code>.
+     * 
+     * @return Returns <code>true</code> if the file is the output directory of a reactor project.
+     */
+    public boolean isClassFolder()
+    {
+        return isFlag( CLASS_FOLDER );
+    }
+
+    /**
+     * Setter for <code>classFolder</code>.
+     * 
+     * @param classFolder The classFolder to set.
+     */
+    public void setClassFolder( boolean classFolder )
+    {
+        setFlag( CLASS_FOLDER, classFolder );
     }
 
     /**
@@ -287,6 +307,26 @@ public class IdeDependency
         this.sourceAttachment = sourceAttachment;
     }
 
+    /**
+     * Getter for <code>indexLocation</code>.
+     * 
+     * @return Returns the indexLocation.
+     */
+    public File getIndexLocation()
+    {
+        return indexLocation;
+    }
+
+    /**
+     * Setter for <code>indexLocation</code>.
+     * 
+     * @param indexLocation The indexLocation to set.
+     */
+    public void setIndexLocation( File indexLocation )
+    {
+        this.indexLocation = indexLocation;
+    }
+
     /**
      * Getter for <code>systemScoped</code>.
      * 
@@ -294,7 +334,7 @@ public class IdeDependency
      */
     public boolean isSystemScoped()
     {
-        return systemScoped;
+        return isFlag( SYSTEM_SCOPED );
     }
 
     /**
@@ -304,7 +344,7 @@ public class IdeDependency
      */
     public void setSystemScoped( boolean systemScoped )
     {
-        this.systemScoped = systemScoped;
+        setFlag( SYSTEM_SCOPED, systemScoped );
     }
 
     /**
@@ -314,7 +354,7 @@ public class IdeDependency
      */
     public boolean isTestDependency()
     {
-        return testDependency;
+        return isFlag( TEST_DEPENDENCY );
     }
 
     /**
@@ -324,7 +364,7 @@ public class IdeDependency
      */
     public void setTestDependency( boolean testDependency )
     {
-        this.testDependency = testDependency;
+        setFlag( TEST_DEPENDENCY, testDependency );
     }
 
     /**
@@ -354,7 +394,7 @@ public class IdeDependency
      */
     public String getId()
     {
-        return groupId + ':' + artifactId + ':' + version;
+        return getGroupId() + ':' + getArtifactId() + ':' + getVersion();
     }
 
     /**
@@ -364,7 +404,7 @@ public class IdeDependency
      */
     public String getType()
     {
-        return type;
+        return coordinates.getType();
     }
 
     /**
@@ -374,7 +414,7 @@ public class IdeDependency
      */
     public void setType( String type )
     {
-        this.type = type;
+        coordinates = coordinates.withType( type );
     }
 
     /**
@@ -384,7 +424,7 @@ public class IdeDependency
      */
     public boolean isAddedToClasspath()
     {
-        return addedToClasspath;
+        return isFlag( ADDED_TO_CLASSPATH );
     }
 
     /**
@@ -394,7 +434,7 @@ public class IdeDependency
      */
     public void setAddedToClasspath( boolean addedToClasspath )
     {
-        this.addedToClasspath = addedToClasspath;
+        setFlag( ADDED_TO_CLASSPATH, addedToClasspath );
     }
 
     /**
@@ -404,7 +444,7 @@ public class IdeDependency
      */
     public boolean isProvided()
     {
-        return provided;
+        return isFlag( PROVIDED );
     }
 
     /**
@@ -414,7 +454,7 @@ public class IdeDependency
      */
     public void setProvided( boolean provided )
     {
-        this.provided = provided;
+        setFlag( PROVIDED, provided );
     }
 
     /**
@@ -424,7 +464,7 @@ public class IdeDependency
      */
     public String getEclipseProjectName()
     {
-        return eclipseProjectName;
+        return coordinates.getEclipseProjectName();
     }
 
     /**
@@ -434,7 +474,7 @@ public class IdeDependency
      */
     public void setEclipseProjectName( String eclipseProjectName )
     {
-        this.eclipseProjectName = eclipseProjectName;
+        coordinates = coordinates.withEclipseProjectName( eclipseProjectName );
     }
 
     /**
@@ -515,7 +555,7 @@ public class IdeDependency
      */
     public boolean isJavaApi()
     {
-        return groupId.startsWith( "java." ) || groupId.startsWith( "javax." );
+        return getGroupId().startsWith( "java." ) || getGroupId().startsWith( "javax." );
     }
 
     /**
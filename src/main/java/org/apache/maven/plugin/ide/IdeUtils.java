@@ -21,8 +21,12 @@ package org.apache.maven.plugin.ide;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.CRC32;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.factory.ArtifactFactory;
@@ -34,7 +38,6 @@ import org.apache.maven.artifact.versioning.ArtifactVersion;
 import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Plugin;
-import org.apache.maven.model.PluginExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.Messages;
 import org.apache.maven.plugin.logging.Log;
@@ -70,11 +73,6 @@ public class IdeUtils
 
     public static final String PROJECT_NAME_WITH_GROUP_AND_VERSION_TEMPLATE = "[groupId].[artifactId]-[version]";
 
-    /**
-     * compiler plugin id.
-     */
-    private static final String ARTIFACT_MAVEN_COMPILER_PLUGIN = "maven-compiler-plugin";
-
     /**
      * 'source' property for maven-compiler-plugin.
      */
@@ -141,6 +139,32 @@ public class IdeUtils
         }
     }
 
+    /**
+     * Writes the given content to a file unless the file already has exactly this content. Leaving unchanged files
+     * alone keeps their timestamps, so Eclipse does not refresh or rebuild anything.
+     *
+     * @param file the file to write, missing parent directories are created
+     * @param content the new content
+     * @return <code>true</code> if the file was written, <code>false</code> if it was already up to date
+     * @throws IOException if the file can't be read or written
+     */
+    public static boolean writeIfChanged( File file, byte[] content )
+        throws IOException
+    {
+        if ( file.isFile() && file.length() == content.length
+            && Arrays.equals( content, Files.readAllBytes( file.toPath() ) ) )
+        {
+            return false;
+        }
+        File parent = file.getParentFile();
+        if ( parent != null )
+        {
+            parent.mkdirs();
+        }
+        Files.write( file.toPath(), content );
+        return true;
+    }
+
     public static String getCanonicalPath( File file )
         throws MojoExecutionException
     {
@@ -164,14 +188,7 @@ public class IdeUtils
      */
     public static String getCompilerPluginSetting( MavenProject project, String optionName )
     {
-        String value = findCompilerPluginSettingInPlugins( project.getModel().getBuild().getPlugins(), optionName );
-        if ( value == null && project.getModel().getBuild().getPluginManagement() != null )
-        {
-            value =
-                findCompilerPluginSettingInPlugins( project.getModel().getBuild().getPluginManagement().getPlugins(),
-                                                    optionName );
-        }
-        return value;
+        return ProjectFacts.of( project ).getCompilerPluginSetting( optionName );
     }
 
     /**
@@ -326,8 +343,7 @@ public class IdeUtils
      */
     public static Xpp3Dom getPluginConfigurationDom( MavenProject project, String pluginId )
     {
-        //TODO: there should be a better way to do this
-        Plugin plugin = (org.apache.maven.model.Plugin) project.getBuild().getPluginsAsMap().get( pluginId );
+        Plugin plugin = ProjectFacts.of( project ).getPlugin( pluginId );
         if ( plugin != null )
         {
             // TODO: This may cause ClassCastExceptions eventually, if the dom impls differ.
@@ -462,9 +478,10 @@ public class IdeUtils
                                             ArtifactRepository localRepository, Log log )
 
     {
-        try
+        try ( JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.ARTIFACT_RESOLUTION, artifact.getId() ) )
         {
             artifactResolver.resolve( artifact, remoteRepos, localRepository );
+            event.setBytes( artifact.getFile().length() );
         }
         catch ( ArtifactNotFoundException e )
         {
@@ -643,42 +660,28 @@ public class IdeUtils
     }
 
     /**
-     * Returns a compiler plugin settings from a list of plugins .
+     * Calculates a short identifier from the given parts (usually artifact coordinates). Unlike
+     * {@link System#identityHashCode(Object)} the result only depends on the input, so regenerating a file without
+     * changes to the project produces the same identifiers.
      *
-     * @param project maven project
-     * @return option value (may be null)
+     * @param parts the values identifying the element, <code>null</code> values are allowed
+     * @return a non negative decimal number derived from the given parts
      */
-    private static String findCompilerPluginSettingInPlugins( List<Plugin> plugins, String optionName )
+    public static String getStableId( String... parts )
     {
-        String value = null;
-
-        for ( Plugin plugin : plugins )
+        CRC32 crc = new CRC32();
+        for ( int i = 0; i < parts.length; i++ )
         {
-            if ( plugin.getArtifactId().equals( ARTIFACT_MAVEN_COMPILER_PLUGIN ) )
+            if ( i > 0 )
             {
-                // TODO: This may cause ClassCastExceptions eventually, if the dom impls differ.
-                Xpp3Dom o = (Xpp3Dom) plugin.getConfiguration();
-
-                // this is the default setting
-                if ( o != null && o.getChild( optionName ) != null )
-                {
-                    value = o.getChild( optionName ).getValue();
-                }
-
-                // a different source/target version can be configured for test sources compilation
-                for ( PluginExecution execution : plugin.getExecutions() )
-                {
-                    // TODO: This may cause ClassCastExceptions eventually, if the dom impls differ.
-                    o = (Xpp3Dom) execution.getConfiguration();
-
-                    if ( o != null && o.getChild( optionName ) != null )
-                    {
-                        value = o.getChild( optionName ).getValue();
-                    }
-                }
+                crc.update( ':' );
+            }
+            if ( parts[i] != null )
+            {
+                crc.update( parts[i].getBytes( StandardCharsets.UTF_8 ) );
             }
         }
-        return value;
+        return Long.toString( crc.getValue() );
     }
 
     private static String getProjectName( String template, String groupId, String artifactId, String version )
@@ -136,6 +136,11 @@ public class JeeUtils
      *         JeeDescriptor.EJB_2_1.
      */
     public static String resolveEjbVersion( MavenProject project )
+    {
+        return ProjectFacts.of( project ).getEjbVersion();
+    }
+
+    static String computeEjbVersion( MavenProject project )
     {
         String version = findEjbVersionInDependencies( project );
 
@@ -160,6 +165,11 @@ public class JeeUtils
      *         JeeDescriptor.JEE_1_4.
      */
     public static String resolveJeeVersion( MavenProject project )
+    {
+        return ProjectFacts.of( project ).getJeeVersion();
+    }
+
+    static String computeJeeVersion( MavenProject project )
     {
         // try to find version in dependencies
         String version = findJeeVersionInDependencies( project );
@@ -206,6 +216,11 @@ public class JeeUtils
      */
 
     public static String resolveJspVersion( MavenProject project )
+    {
+        return ProjectFacts.of( project ).getJspVersion();
+    }
+
+    static String computeJspVersion( MavenProject project )
     {
         String version = findJspVersionInDependencies( project );
 
@@ -241,6 +256,11 @@ public class JeeUtils
      *         returns JeeDescriptor.SERVLET_2_4.
      */
     public static String resolveServletVersion( MavenProject project )
+    {
+        return ProjectFacts.of( project ).getServletVersion();
+    }
+
+    static String computeServletVersion( MavenProject project )
     {
         String version = findServletVersionInDependencies( project );
 
@@ -0,0 +1,156 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+/**
+ * Emits JDK Flight Recorder events for the hot paths of the plugin. When Maven runs with
+ * <code>-XX:StartFlightRecording</code> the events end up in the same recording as the GC and I/O events of the JVM,
+ * under the category <em>Maven / Eclipse Plugin</em>. Each event carries the duration, the subject (coordinates, file
+ * or writer) and the number of bytes involved.
+ * <p>
+ * On a JVM without the <code>jdk.jfr</code> module, and as long as no recording is running, {@link #begin(Type, String)}
+ * returns an event that does nothing.
+ */
+public final class JfrEvents
+{
+    /**
+     * The kinds of events.
+     */
+    public enum Type
+    {
+        /**
+         * Resolving an artifact, the bytes are the size of the resolved file.
+         */
+        ARTIFACT_RESOLUTION,
+
+        /**
+         * Checking and maintaining the marker of a source or javadoc archive that is not available.
+         */
+        MARKER_CHECK,
+
+        /**
+         * Reading a project of the eclipse workspace, the bytes are the size of the files read.
+         */
+        WORKSPACE_PROJECT_READ,
+
+        /**
+         * Probing a JRE defined in the eclipse workspace, the bytes are the size of the runtime jar opened.
+         */
+        JRE_PROBE,
+
+        /**
+         * Parsing an XML document, the bytes are the size of the document.
+         */
+        XML_PARSING,
+
+        /**
+         * Running a writer, the bytes are the size of the files written.
+         */
+        WRITER_WRITE
+    }
+
+    /**
+     * A running event, closing it commits it.
+     */
+    public interface Event
+        extends AutoCloseable
+    {
+        /**
+         * @param bytes the number of bytes read or written
+         */
+        void setBytes( long bytes );
+
+        /**
+         * Ends and commits the event.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Creates the events, implemented on top of <code>jdk.jfr</code>.
+     */
+    interface Recorder
+    {
+        Event begin( Type type, String subject );
+    }
+
+    private static final Event NO_EVENT = new Event()
+    {
+        @Override
+        public void setBytes( long bytes )
+        {
+            // not recording
+        }
+
+        @Override
+        public void close()
+        {
+            // not recording
+        }
+    };
+
+    private static final Recorder RECORDER = createRecorder();
+
+    private JfrEvents()
+    {
+        // don't instantiate
+    }
+
+    private static Recorder createRecorder()
+    {
+        try
+        {
+            // jdk.jfr is only there since Java 11 and 8u262, so don't link the recorder unless it is
+            Class.forName( "jdk.jfr.Event" ); //$NON-NLS-1$
+            return (Recorder) Class.forName( "org.apache.maven.plugin.ide.JfrRecorder" ) //$NON-NLS-1$
+                                   .getConstructor().newInstance();
+        }
+        catch ( ReflectiveOperationException | LinkageError e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the JVM supports flight recorder events
+     */
+    public static boolean isAvailable()
+    {
+        return RECORDER != null;
+    }
+
+    /**
+     * Starts an event on the current thread.
+     *
+     * @param type the kind of event
+     * @param subject the coordinates, file or writer the event is about
+     * @return the event to close when done
+     */
+    public static Event begin( Type type, String subject )
+    {
+        if ( RECORDER == null )
+        {
+            return NO_EVENT;
+        }
+        Event event = RECORDER.begin( type, subject );
+        return event != null ? event : NO_EVENT;
+    }
+}
@@ -0,0 +1,152 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The flight recorder events behind {@link JfrEvents}. Only loaded when the JVM has the <code>jdk.jfr</code> module,
+ * compiling it takes JDK 11 or later which the build enforces.
+ */
+final class JfrRecorder
+    implements JfrEvents.Recorder
+{
+    /**
+     * Loaded reflectively by {@link JfrEvents}.
+     */
+    public JfrRecorder()
+    {
+        // nothing to set up
+    }
+
+    @Override
+    public JfrEvents.Event begin( JfrEvents.Type type, String subject )
+    {
+        PluginEvent event;
+        switch ( type )
+        {
+            case ARTIFACT_RESOLUTION:
+                event = new ArtifactResolutionEvent();
+                break;
+            case MARKER_CHECK:
+                event = new MarkerCheckEvent();
+                break;
+            case WORKSPACE_PROJECT_READ:
+                event = new WorkspaceProjectReadEvent();
+                break;
+            case JRE_PROBE:
+                event = new JreProbeEvent();
+                break;
+            case XML_PARSING:
+                event = new XmlParsingEvent();
+                break;
+            default:
+                event = new WriterEvent();
+                break;
+        }
+        if ( !event.isEnabled() )
+        {
+            return null;
+        }
+        event.subject = subject;
+        event.begin();
+        return event;
+    }
+
+    @Category( { "Maven", "Eclipse Plugin" } )
+    @StackTrace( false )
+    abstract static class PluginEvent
+        extends jdk.jfr.Event
+        implements JfrEvents.Event
+    {
+        @Label( "Subject" )
+        @Description( "The coordinates, file or writer the event is about" )
+        String subject;
+
+        @Label( "Bytes" )
+        @DataAmount
+        long bytes;
+
+        @Override
+        public void setBytes( long bytes )
+        {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void close()
+        {
+            commit();
+        }
+    }
+
+    @Name( "org.apache.maven.plugin.eclipse.ArtifactResolution" )
+    @Label( "Artifact Resolution" )
+    @Description( "Resolving a dependency, source or javadoc artifact" )
+    static final class ArtifactResolutionEvent
+        extends PluginEvent
+    {
+    }
+
+    @Name( "org.apache.maven.plugin.eclipse.MarkerCheck" )
+    @Label( "Not Available Marker Check" )
+    @Description( "Checking the marker of a source or javadoc archive that is not available" )
+    static final class MarkerCheckEvent
+        extends PluginEvent
+    {
+    }
+
+    @Name( "org.apache.maven.plugin.eclipse.WorkspaceProjectRead" )
+    @Label( "Workspace Project Read" )
+    @Description( "Reading the .project and pom.xml of a project in the eclipse workspace" )
+    static final class WorkspaceProjectReadEvent
+        extends PluginEvent
+    {
+    }
+
+    @Name( "org.apache.maven.plugin.eclipse.JreProbe" )
+    @Label( "JRE Probe" )
+    @Description( "Reading the version of a JRE defined in the eclipse workspace" )
+    static final class JreProbeEvent
+        extends PluginEvent
+    {
+    }
+
+    @Name( "org.apache.maven.plugin.eclipse.XmlParsing" )
+    @Label( "XML Parsing" )
+    @Description( "Parsing an XML document" )
+    static final class XmlParsingEvent
+        extends PluginEvent
+    {
+    }
+
+    @Name( "org.apache.maven.plugin.eclipse.WriterWrite" )
+    @Label( "Writer" )
+    @Description( "Running an eclipse configuration writer" )
+    static final class WriterEvent
+        extends PluginEvent
+    {
+    }
+}
@@ -0,0 +1,306 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+
+/**
+ * Facts derived from the model of a {@link MavenProject} that several writers and readers need: the compiler plugin
+ * settings, the build plugins by key and the Java EE versions. Each fact is computed on first use and then shared,
+ * {@link IdeUtils} and {@link JeeUtils} look them up here.
+ * <p>
+ * The facts of a project are held as long as the project instance is reachable. Instances are told apart by identity,
+ * not by {@link MavenProject#equals(Object)} which compares coordinates: the project and the executed project of a
+ * forked lifecycle, or a project read again by the generator daemon, each get their own facts.
+ */
+public final class ProjectFacts
+{
+    private static final String ARTIFACT_MAVEN_COMPILER_PLUGIN = "maven-compiler-plugin";
+
+    /**
+     * The facts by project instance, guarded by itself.
+     */
+    private static final Map<IdentityKey, ProjectFacts> FACTS = new HashMap<>();
+
+    /**
+     * Receives the keys of the projects no longer reachable.
+     */
+    private static final ReferenceQueue<MavenProject> RELEASED = new ReferenceQueue<>();
+
+    private final WeakReference<MavenProject> project;
+
+    private Map<String, String> compilerSettings;
+
+    private Map<String, String> managedCompilerSettings;
+
+    private Map<String, Plugin> plugins;
+
+    private Map<String, Plugin> managedPlugins;
+
+    private Optional<String> ejbVersion;
+
+    private Optional<String> jeeVersion;
+
+    private Optional<String> jspVersion;
+
+    private Optional<String> servletVersion;
+
+    private ProjectFacts( MavenProject project )
+    {
+        this.project = new WeakReference<>( project );
+    }
+
+    /**
+     * Returns the facts of a project.
+     *
+     * @param project the project
+     * @return the shared facts of the project
+     */
+    public static ProjectFacts of( MavenProject project )
+    {
+        synchronized ( FACTS )
+        {
+            for ( Reference<? extends MavenProject> released = RELEASED.poll(); released != null;
+                released = RELEASED.poll() )
+            {
+                FACTS.remove( released );
+            }
+            ProjectFacts facts = FACTS.get( new IdentityKey( project, null ) );
+            if ( facts == null )
+            {
+                facts = new ProjectFacts( project );
+                FACTS.put( new IdentityKey( project, RELEASED ), facts );
+            }
+            return facts;
+        }
+    }
+
+    private MavenProject getProject()
+    {
+        return project.get();
+    }
+
+    /**
+     * Returns a compiler plugin setting, considering also settings altered in plugin executions, with the build
+     * plugins taking precedence over plugin management.
+     *
+     * @param optionName the name of the plugin configuration option
+     * @return option value (may be null)
+     * @see IdeUtils#getCompilerPluginSetting(MavenProject, String)
+     */
+    public synchronized String getCompilerPluginSetting( String optionName )
+    {
+        if ( compilerSettings == null )
+        {
+            MavenProject current = getProject();
+            compilerSettings = findCompilerPluginSettings( current.getModel().getBuild().getPlugins() );
+            managedCompilerSettings =
+                current.getModel().getBuild().getPluginManagement() != null
+                                ? findCompilerPluginSettings( current.getModel().getBuild().getPluginManagement()
+                                                                     .getPlugins() )
+                                : Collections.<String, String>emptyMap();
+        }
+        String value = compilerSettings.get( optionName );
+        if ( value == null )
+        {
+            value = managedCompilerSettings.get( optionName );
+        }
+        return value;
+    }
+
+    /**
+     * Collects all options of the compiler plugins in the list. As for a single option, a later plugin or execution
+     * overrides an earlier one and within one configuration the first element with a name counts.
+     */
+    private static Map<String, String> findCompilerPluginSettings( List<Plugin> plugins )
+    {
+        Map<String, String> settings = new HashMap<>();
+        for ( Plugin plugin : plugins )
+        {
+            if ( plugin.getArtifactId().equals( ARTIFACT_MAVEN_COMPILER_PLUGIN ) )
+            {
+                // TODO: This may cause ClassCastExceptions eventually, if the dom impls differ.
+                addSettings( (Xpp3Dom) plugin.getConfiguration(), settings );
+
+                // a different source/target version can be configured for test sources compilation
+                for ( PluginExecution execution : plugin.getExecutions() )
+                {
+                    // TODO: This may cause ClassCastExceptions eventually, if the dom impls differ.
+                    addSettings( (Xpp3Dom) execution.getConfiguration(), settings );
+                }
+            }
+        }
+        return settings;
+    }
+
+    private static void addSettings( Xpp3Dom configuration, Map<String, String> settings )
+    {
+        if ( configuration == null )
+        {
+            return;
+        }
+        Set<String> seen = new HashSet<>();
+        for ( Xpp3Dom child : configuration.getChildren() )
+        {
+            if ( seen.add( child.getName() ) )
+            {
+                settings.put( child.getName(), child.getValue() );
+            }
+        }
+    }
+
+    /**
+     * @param pluginKey the group id and artifact id of the plugin
+     * @return the build plugin or <code>null</code>
+     */
+    public synchronized Plugin getPlugin( String pluginKey )
+    {
+        if ( plugins == null )
+        {
+            @SuppressWarnings( "unchecked" )
+            Map<String, Plugin> pluginsAsMap = getProject().getBuild().getPluginsAsMap();
+            plugins = pluginsAsMap;
+        }
+        return plugins.get( pluginKey );
+    }
+
+    /**
+     * @param pluginKey the group id and artifact id of the plugin
+     * @return the plugin from plugin management or <code>null</code>
+     */
+    public synchronized Plugin getManagedPlugin( String pluginKey )
+    {
+        if ( managedPlugins == null )
+        {
+            PluginManagement pluginManagement = getProject().getBuild().getPluginManagement();
+            if ( pluginManagement == null )
+            {
+                managedPlugins = Collections.emptyMap();
+            }
+            else
+            {
+                @SuppressWarnings( "unchecked" )
+                Map<String, Plugin> pluginsAsMap = pluginManagement.getPluginsAsMap();
+                managedPlugins = pluginsAsMap;
+            }
+        }
+        return managedPlugins.get( pluginKey );
+    }
+
+    /**
+     * @return the EJB version, see {@link JeeUtils#resolveEjbVersion(MavenProject)}
+     */
+    public synchronized String getEjbVersion()
+    {
+        if ( ejbVersion == null )
+        {
+            // a project without the version keeps it at null, don't look for it again
+            ejbVersion = Optional.ofNullable( JeeUtils.computeEjbVersion( getProject() ) );
+        }
+        return ejbVersion.orElse( null );
+    }
+
+    /**
+     * @return the JEE version, see {@link JeeUtils#resolveJeeVersion(MavenProject)}
+     */
+    public synchronized String getJeeVersion()
+    {
+        if ( jeeVersion == null )
+        {
+            jeeVersion = Optional.ofNullable( JeeUtils.computeJeeVersion( getProject() ) );
+        }
+        return jeeVersion.orElse( null );
+    }
+
+    /**
+     * @return the JSP version, see {@link JeeUtils#resolveJspVersion(MavenProject)}
+     */
+    public synchronized String getJspVersion()
+    {
+        if ( jspVersion == null )
+        {
+            jspVersion = Optional.ofNullable( JeeUtils.computeJspVersion( getProject() ) );
+        }
+        return jspVersion.orElse( null );
+    }
+
+    /**
+     * @return the Servlet version, see {@link JeeUtils#resolveServletVersion(MavenProject)}
+     */
+    public synchronized String getServletVersion()
+    {
+        if ( servletVersion == null )
+        {
+            servletVersion = Optional.ofNullable( JeeUtils.computeServletVersion( getProject() ) );
+        }
+        return servletVersion.orElse( null );
+    }
+
+    /**
+     * Weakly references a project and compares it by identity.
+     */
+    private static final class IdentityKey
+        extends WeakReference<MavenProject>
+    {
+        private final int hashCode;
+
+        IdentityKey( MavenProject project, ReferenceQueue<MavenProject> queue )
+        {
+            super( project, queue );
+            this.hashCode = System.identityHashCode( project );
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( obj == this )
+            {
+                return true;
+            }
+            if ( !( obj instanceof IdentityKey ) )
+            {
+                return false;
+            }
+            MavenProject referent = get();
+            return referent != null && referent == ( (IdentityKey) obj ).get();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * Holds the state the executions of one build share. The plugin class loader outlives a build in embedders and in the
+ * watch goal, so state kept in static fields would leak into the next build; the state of a build is released
+ * together with its session instead.
+ * <p>
+ * The state is keyed by the start time of the session, which maven 3 shares between the copies of the session it
+ * makes for the modules of a parallel build.
+ */
+public final class SessionScope
+{
+    /**
+     * Stands in for the session when there is none, e.g. in unit tests.
+     */
+    private static final Object NO_SESSION = new Object();
+
+    private static final Map<Object, Map<Object, Object>> SCOPES = new WeakHashMap<>();
+
+    private SessionScope()
+    {
+        // don't instantiate
+    }
+
+    /**
+     * Looks up state of the build, creating it on first use.
+     *
+     * @param session the current session, may be <code>null</code>
+     * @param key identifies the state within the build
+     * @param initial creates the state, it must not reference the session
+     * @return the state of the build for the key
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <T> T get( MavenSession session, Object key, Supplier<T> initial )
+    {
+        Map<Object, Object> scope;
+        synchronized ( SCOPES )
+        {
+            Object id = session != null && session.getStartTime() != null ? session.getStartTime() : NO_SESSION;
+            scope = SCOPES.computeIfAbsent( id, k -> new ConcurrentHashMap<>() );
+        }
+        return (T) scope.computeIfAbsent( key, k -> initial.get() );
+    }
+}
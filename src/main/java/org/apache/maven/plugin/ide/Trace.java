@@ -0,0 +1,242 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records timed spans of a run and writes them in the Chrome trace event format, which can be opened in
+ * <code>chrome://tracing</code> or <a href="https://ui.perfetto.dev">Perfetto</a>. Each thread is a track of its own,
+ * so work done in parallel shows up side by side.
+ * <p>
+ * Recording is off until {@link #enable()} is called; until then {@link #begin(String, String)} returns a span that
+ * records nothing. A recording spans all modules of the reactor and is written with {@link #write(File)}.
+ */
+public final class Trace
+{
+    /**
+     * Category of the span covering a whole module.
+     */
+    public static final String MODULE = "module";
+
+    /**
+     * Category of the spans of dependency resolution.
+     */
+    public static final String RESOLUTION = "resolution";
+
+    /**
+     * Category of the spans of source and javadoc lookups.
+     */
+    public static final String CLASSIFIER = "classifier";
+
+    /**
+     * Category of the spans of reading the eclipse workspace.
+     */
+    public static final String WORKSPACE = "workspace";
+
+    /**
+     * Category of the spans of writers.
+     */
+    public static final String WRITER = "writer";
+
+    private static final Span NO_SPAN = new Span( null, null );
+
+    private static final Queue<Event> EVENTS = new ConcurrentLinkedQueue<>();
+
+    private static final Map<Long, String> THREADS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    private static long start;
+
+    private Trace()
+    {
+        // don't instantiate
+    }
+
+    /**
+     * Starts recording, unless already recording.
+     */
+    public static synchronized void enable()
+    {
+        if ( !enabled )
+        {
+            start = System.nanoTime();
+            enabled = true;
+        }
+    }
+
+    /**
+     * @return <code>true</code> if spans are recorded
+     */
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Starts a span on the current thread, to be closed with try-with-resources.
+     *
+     * @param category the category, one of the constants of this class
+     * @param name the name of the span, for example an artifact id
+     * @return the span to close when the work is done
+     */
+    public static Span begin( String category, String name )
+    {
+        if ( !enabled )
+        {
+            return NO_SPAN;
+        }
+        return new Span( category, name );
+    }
+
+    /**
+     * Writes the spans recorded so far and stops recording.
+     *
+     * @param file the trace file
+     * @throws IOException if the file can't be written
+     */
+    public static synchronized void write( File file )
+        throws IOException
+    {
+        enabled = false;
+        List<Event> events = new ArrayList<>( EVENTS );
+        EVENTS.clear();
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if ( parent != null && !parent.isDirectory() && !parent.mkdirs() )
+        {
+            throw new IOException( "Unable to create directory " + parent );
+        }
+        try ( Writer out = new OutputStreamWriter( new FileOutputStream( file ), StandardCharsets.UTF_8 ) )
+        {
+            out.write( "{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n" );
+            out.write( "{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":1,\"tid\":0,"
+                + "\"args\":{\"name\":\"maven-eclipse-plugin\"}}" );
+            for ( Map.Entry<Long, String> thread : THREADS.entrySet() )
+            {
+                out.write( ",\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + thread.getKey()
+                    + ",\"args\":{\"name\":" + quote( thread.getValue() ) + "}}" );
+            }
+            for ( Event event : events )
+            {
+                out.write( ",\n{\"name\":" + quote( event.name ) + ",\"cat\":" + quote( event.category )
+                    + ",\"ph\":\"X\",\"pid\":1,\"tid\":" + event.thread + ",\"ts\":" + event.start + ",\"dur\":"
+                    + event.duration + "}" );
+            }
+            out.write( "\n]}\n" );
+        }
+        THREADS.clear();
+    }
+
+    static String quote( String value )
+    {
+        StringBuilder quoted = new StringBuilder( value.length() + 2 );
+        quoted.append( '"' );
+        for ( int i = 0; i < value.length(); i++ )
+        {
+            char c = value.charAt( i );
+            if ( c == '"' || c == '\\' )
+            {
+                quoted.append( '\\' ).append( c );
+            }
+            else if ( c < ' ' )
+            {
+                quoted.append( String.format( "\\u%04x", (int) c ) );
+            }
+            else
+            {
+                quoted.append( c );
+            }
+        }
+        return quoted.append( '"' ).toString();
+    }
+
+    /**
+     * A span of work on one thread.
+     */
+    public static final class Span
+        implements AutoCloseable
+    {
+        private final String category;
+
+        private final String name;
+
+        private final long begin;
+
+        private Span( String category, String name )
+        {
+            this.category = category;
+            this.name = name;
+            this.begin = category != null ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Ends the span and records it.
+         */
+        @Override
+        public void close()
+        {
+            if ( category == null || !enabled )
+            {
+                return;
+            }
+            long end = System.nanoTime();
+            Thread thread = Thread.currentThread();
+            THREADS.putIfAbsent( thread.getId(), thread.getName() );
+            // the trace event format counts in microseconds
+            EVENTS.add( new Event( category, String.valueOf( name ), thread.getId(), ( begin - start ) / 1000,
+                                   ( end - begin ) / 1000 ) );
+        }
+    }
+
+    private static final class Event
+    {
+        private final String category;
+
+        private final String name;
+
+        private final long thread;
+
+        private final long start;
+
+        private final long duration;
+
+        private Event( String category, String name, long thread, long start, long duration )
+        {
+            this.category = category;
+            this.name = name;
+            this.thread = thread;
+            this.start = start;
+            this.duration = duration;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Caches the content of URLs for the lifetime of the plugin class loader, so a resource shared by all modules of a
+ * reactor build is only transferred once. Every lookup revalidates the cached copy: <code>file:</code> URLs are
+ * compared by size and modification time, HTTP URLs are requested with <code>If-None-Match</code> /
+ * <code>If-Modified-Since</code> and a <code>304</code> response reuses the cached bytes.
+ * <p>
+ * With a cache directory the content of remote URLs also survives the JVM: the content is stored under its SHA-1 and
+ * an index file per URL records the hash and the validators of the response, so the first lookup of a later build
+ * only costs a conditional request.
+ */
+public class UrlContentCache
+{
+    private static final UrlContentCache SHARED = new UrlContentCache();
+
+    /**
+     * Caches backed by a directory, by directory.
+     */
+    private static final Map<File, UrlContentCache> SHARED_PERSISTENT = new ConcurrentHashMap<>();
+
+    private static final String INDEX_SUFFIX = ".properties"; //$NON-NLS-1$
+
+    private static final String KEY_URL = "url"; //$NON-NLS-1$
+
+    private static final String KEY_SHA1 = "sha1"; //$NON-NLS-1$
+
+    private static final String KEY_ETAG = "etag"; //$NON-NLS-1$
+
+    private static final String KEY_LAST_MODIFIED = "lastModified"; //$NON-NLS-1$
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final File directory;
+
+    /**
+     * Creates a cache held in memory only.
+     */
+    public UrlContentCache()
+    {
+        this( null );
+    }
+
+    /**
+     * @param directory the directory persisting the content of remote URLs, <code>null</code> to keep it in memory
+     *            only
+     */
+    public UrlContentCache( File directory )
+    {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the in-memory cache shared by all mojo executions in this class loader
+     */
+    public static UrlContentCache getShared()
+    {
+        return SHARED;
+    }
+
+    /**
+     * @param directory the directory persisting the content of remote URLs
+     * @return the cache backed by this directory, shared by all mojo executions in this class loader
+     */
+    public static UrlContentCache getShared( File directory )
+    {
+        return SHARED_PERSISTENT.computeIfAbsent( directory, UrlContentCache::new );
+    }
+
+    /**
+     * Returns the current content of the given URL, reading it only if the cached copy is missing or stale.
+     *
+     * @param url the resource to read
+     * @return the content of the resource, callers must not modify the returned array
+     * @throws IOException if the resource can't be read
+     */
+    public byte[] getContent( URL url )
+        throws IOException
+    {
+        String key = url.toExternalForm();
+        Entry cached = entries.get( key );
+        Entry current;
+        if ( "file".equals( url.getProtocol() ) )
+        {
+            current = readFile( url, cached );
+        }
+        else
+        {
+            if ( cached == null && directory != null )
+            {
+                cached = load( url );
+            }
+            current = readConnection( url, cached );
+            if ( current != cached && directory != null )
+            {
+                try
+                {
+                    store( url, current );
+                }
+                catch ( IOException e )
+                {
+                    // the content has been read, only the next build has to transfer it again
+                }
+            }
+        }
+        if ( current != entries.get( key ) )
+        {
+            entries.put( key, current );
+        }
+        return current.content;
+    }
+
+    /**
+     * Returns a checksum of the content last read for the given URL.
+     *
+     * @param url the resource
+     * @return the CRC32 of the cached content or <code>-1</code> if the URL has not been read yet
+     */
+    public long getChecksum( URL url )
+    {
+        Entry cached = entries.get( url.toExternalForm() );
+        return cached == null ? -1L : cached.checksum;
+    }
+
+    /**
+     * Forgets all cached content.
+     */
+    public void clear()
+    {
+        entries.clear();
+    }
+
+    private Entry readFile( URL url, Entry cached )
+        throws IOException
+    {
+        File file;
+        try
+        {
+            file = new File( url.toURI() );
+        }
+        catch ( URISyntaxException | IllegalArgumentException e )
+        {
+            return readConnection( url, cached );
+        }
+        long lastModified = file.lastModified();
+        long length = file.length();
+        if ( cached != null && cached.lastModified == lastModified && cached.content.length == length
+            && lastModified != 0L )
+        {
+            return cached;
+        }
+        InputStream is = null;
+        try
+        {
+            is = url.openStream();
+            return new Entry( IOUtil.toByteArray( is ), lastModified, null );
+        }
+        finally
+        {
+            IOUtil.close( is );
+        }
+    }
+
+    private Entry readConnection( URL url, Entry cached )
+        throws IOException
+    {
+        URLConnection connection = url.openConnection();
+        if ( cached != null )
+        {
+            if ( cached.etag != null )
+            {
+                connection.setRequestProperty( "If-None-Match", cached.etag );
+            }
+            if ( cached.lastModified != 0L )
+            {
+                connection.setIfModifiedSince( cached.lastModified );
+            }
+        }
+        if ( connection instanceof HttpURLConnection
+            && ( (HttpURLConnection) connection ).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED )
+        {
+            ( (HttpURLConnection) connection ).disconnect();
+            return cached;
+        }
+        InputStream is = null;
+        try
+        {
+            is = connection.getInputStream();
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            IOUtil.copy( is, os );
+            return new Entry( os.toByteArray(), connection.getLastModified(), connection.getHeaderField( "ETag" ) );
+        }
+        finally
+        {
+            IOUtil.close( is );
+        }
+    }
+
+    /**
+     * @return the entry recorded by an earlier build, <code>null</code> if there is none or its content is gone
+     */
+    private Entry load( URL url )
+    {
+        File index = getIndexFile( url );
+        if ( !index.isFile() )
+        {
+            return null;
+        }
+        try
+        {
+            Properties properties = new Properties();
+            try ( InputStream is = Files.newInputStream( index.toPath() ) )
+            {
+                properties.load( is );
+            }
+            String sha1 = properties.getProperty( KEY_SHA1 );
+            if ( !url.toExternalForm().equals( properties.getProperty( KEY_URL ) ) || sha1 == null )
+            {
+                return null;
+            }
+            File contentFile = new File( directory, sha1 );
+            if ( !contentFile.isFile() )
+            {
+                return null;
+            }
+            byte[] content = Files.readAllBytes( contentFile.toPath() );
+            if ( !sha1.equals( sha1( content ) ) )
+            {
+                // truncated or modified, download again
+                return null;
+            }
+            return new Entry( content, Long.parseLong( properties.getProperty( KEY_LAST_MODIFIED, "0" ) ),
+                              properties.getProperty( KEY_ETAG ) );
+        }
+        catch ( IOException | NumberFormatException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the content under its hash, then the index pointing to it. Both are replaced atomically, so concurrent
+     * builds never read a partial file.
+     */
+    private void store( URL url, Entry entry )
+        throws IOException
+    {
+        directory.mkdirs();
+        String sha1 = sha1( entry.content );
+        File contentFile = new File( directory, sha1 );
+        if ( !contentFile.isFile() )
+        {
+            replace( contentFile, entry.content );
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty( KEY_URL, url.toExternalForm() );
+        properties.setProperty( KEY_SHA1, sha1 );
+        properties.setProperty( KEY_LAST_MODIFIED, Long.toString( entry.lastModified ) );
+        if ( entry.etag != null )
+        {
+            properties.setProperty( KEY_ETAG, entry.etag );
+        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        properties.store( os, null );
+        replace( getIndexFile( url ), os.toByteArray() );
+    }
+
+    private void replace( File file, byte[] content )
+        throws IOException
+    {
+        File temp = File.createTempFile( file.getName(), ".tmp", directory ); //$NON-NLS-1$
+        try
+        {
+            try ( OutputStream os = Files.newOutputStream( temp.toPath() ) )
+            {
+                os.write( content );
+            }
+            Files.move( temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+        }
+        finally
+        {
+            temp.delete();
+        }
+    }
+
+    private File getIndexFile( URL url )
+    {
+        return new File( directory, IdeUtils.getStableId( url.toExternalForm() ) + INDEX_SUFFIX );
+    }
+
+    private static String sha1( byte[] content )
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance( "SHA-1" ); //$NON-NLS-1$
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "SHA-1 not supported", e );
+        }
+        StringBuilder hex = new StringBuilder();
+        for ( byte b : digest.digest( content ) )
+        {
+            hex.append( Character.forDigit( ( b >> 4 ) & 0xf, 16 ) ).append( Character.forDigit( b & 0xf, 16 ) );
+        }
+        return hex.toString();
+    }
+
+    private static final class Entry
+    {
+        private final byte[] content;
+
+        private final long checksum;
+
+        private final long lastModified;
+
+        private final String etag;
+
+        private Entry( byte[] content, long lastModified, String etag )
+        {
+            this.content = content;
+            this.lastModified = lastModified;
+            this.etag = etag;
+
+            CRC32 crc = new CRC32();
+            crc.update( content );
+            this.checksum = crc.getValue();
+        }
+    }
+}
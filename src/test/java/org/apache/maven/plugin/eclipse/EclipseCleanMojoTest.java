@@ -0,0 +1,111 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Properties;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.Test;
+
+/**
+ * Test for the reactor batch of {@link EclipseCleanMojo}
+ */
+public class EclipseCleanMojoTest
+{
+    private static MavenProject createProject( Plugin plugin )
+    {
+        Model model = new Model();
+        model.setGroupId( "org.example" );
+        model.setArtifactId( "core" );
+        model.setVersion( "1.0" );
+        model.setBuild( new Build() );
+        if ( plugin != null )
+        {
+            model.getBuild().addPlugin( plugin );
+        }
+        return new MavenProject( model );
+    }
+
+    private static Plugin createPlugin( String skip )
+    {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId( "com.github.marschall" );
+        plugin.setArtifactId( "eclipse-maven-plugin" );
+        plugin.setConfiguration( createConfiguration( skip ) );
+        return plugin;
+    }
+
+    private static Xpp3Dom createConfiguration( String skip )
+    {
+        Xpp3Dom configuration = new Xpp3Dom( "configuration" );
+        Xpp3Dom skipNode = new Xpp3Dom( "skip" );
+        skipNode.setValue( skip );
+        configuration.addChild( skipNode );
+        return configuration;
+    }
+
+    private static Properties skipProperty( String value )
+    {
+        Properties properties = new Properties();
+        properties.setProperty( "eclipse.skip", value );
+        return properties;
+    }
+
+    @Test
+    public void testNotSkipped()
+    {
+        assertFalse( EclipseCleanMojo.isSkipped( createProject( null ), new Properties() ) );
+        assertFalse( EclipseCleanMojo.isSkipped( createProject( createPlugin( "false" ) ), skipProperty( "true" ) ) );
+    }
+
+    @Test
+    public void testSkippedByConfiguration()
+    {
+        assertTrue( EclipseCleanMojo.isSkipped( createProject( createPlugin( "true" ) ), new Properties() ) );
+        // not evaluated, the execution of the project decides
+        assertTrue( EclipseCleanMojo.isSkipped( createProject( createPlugin( "${skipEclipse}" ) ), new Properties() ) );
+
+        Plugin plugin = createPlugin( "false" );
+        PluginExecution execution = new PluginExecution();
+        execution.setId( "default-cli" );
+        execution.setConfiguration( createConfiguration( "true" ) );
+        plugin.addExecution( execution );
+        assertTrue( EclipseCleanMojo.isSkipped( createProject( plugin ), new Properties() ) );
+    }
+
+    @Test
+    public void testSkippedByProperty()
+    {
+        assertTrue( EclipseCleanMojo.isSkipped( createProject( null ), skipProperty( "true" ) ) );
+
+        MavenProject project = createProject( null );
+        project.getProperties().setProperty( "eclipse.skip", "true" );
+        assertTrue( EclipseCleanMojo.isSkipped( project, new Properties() ) );
+        assertFalse( EclipseCleanMojo.isSkipped( project, skipProperty( "false" ) ) );
+    }
+}
@@ -0,0 +1,157 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link EclipseFastMojo}
+ */
+public class EclipseFastMojoTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRootsAreUnknownWithoutManifestOrGeneratedDirectories()
+        throws Exception
+    {
+        File projectDirectory = folder.getRoot();
+        File buildDirectory = new File( projectDirectory, "target" );
+        new File( buildDirectory, "classes" ).mkdirs();
+        // written by the compiler, not by the generate-resources phase
+        new File( buildDirectory, "generated-sources/annotations" ).mkdirs();
+
+        assertNull( EclipseFastMojo.findGeneratedRoots( projectDirectory, buildDirectory, true ) );
+    }
+
+    @Test
+    public void testGeneratedDirectories()
+        throws Exception
+    {
+        File projectDirectory = folder.getRoot();
+        File buildDirectory = new File( projectDirectory, "target" );
+        File antlr = new File( buildDirectory, "generated-sources/antlr4" );
+        File jaxb = new File( buildDirectory, "generated-sources/jaxb" );
+        File testResources = new File( buildDirectory, "generated-test-resources/fixtures" );
+        antlr.mkdirs();
+        jaxb.mkdirs();
+        testResources.mkdirs();
+
+        Map<String, Set<File>> roots = EclipseFastMojo.findGeneratedRoots( projectDirectory, buildDirectory, true );
+
+        assertEquals( Arrays.asList( antlr, jaxb ),
+                      Arrays.asList( roots.get( GeneratedFilesManifest.COMPILE_ROOT ).toArray() ) );
+        assertEquals( Collections.singleton( testResources ), roots.get( GeneratedFilesManifest.TEST_RESOURCE_ROOT ) );
+        assertEquals( Collections.emptySet(), roots.get( GeneratedFilesManifest.TEST_ROOT ) );
+    }
+
+    @Test
+    public void testRecordedRoots()
+        throws Exception
+    {
+        File projectDirectory = folder.getRoot();
+        File buildDirectory = new File( projectDirectory, "target" );
+        File helper = new File( buildDirectory, "helper/src" );
+        helper.mkdirs();
+
+        GeneratedFilesManifest manifest = new GeneratedFilesManifest( projectDirectory );
+        manifest.addRoot( GeneratedFilesManifest.COMPILE_ROOT, helper );
+        manifest.store();
+
+        Map<String, Set<File>> roots = EclipseFastMojo.findGeneratedRoots( projectDirectory, buildDirectory, true );
+        assertEquals( Collections.singleton( helper ), roots.get( GeneratedFilesManifest.COMPILE_ROOT ) );
+
+        // after a clean the generators have to run again
+        helper.delete();
+        assertNull( EclipseFastMojo.findGeneratedRoots( projectDirectory, buildDirectory, true ) );
+    }
+
+    @Test
+    public void testRecordedWithoutRoots()
+        throws Exception
+    {
+        File projectDirectory = folder.getRoot();
+        GeneratedFilesManifest manifest = new GeneratedFilesManifest( projectDirectory );
+        manifest.setRootsRecorded();
+        manifest.store();
+
+        Map<String, Set<File>> roots =
+            EclipseFastMojo.findGeneratedRoots( projectDirectory, new File( projectDirectory, "target" ), true );
+        assertEquals( Collections.emptySet(), roots.get( GeneratedFilesManifest.COMPILE_ROOT ) );
+    }
+
+    @Test
+    public void testRootsWithoutGenerators()
+        throws Exception
+    {
+        File projectDirectory = folder.getRoot();
+        File buildDirectory = new File( projectDirectory, "target" );
+        File gone = new File( buildDirectory, "helper/src" );
+        GeneratedFilesManifest manifest = new GeneratedFilesManifest( projectDirectory );
+        manifest.addRoot( GeneratedFilesManifest.COMPILE_ROOT, gone );
+        manifest.store();
+
+        Map<String, Set<File>> roots = EclipseFastMojo.findGeneratedRoots( projectDirectory, buildDirectory, false );
+        assertEquals( Collections.emptySet(), roots.get( GeneratedFilesManifest.COMPILE_ROOT ) );
+        assertEquals( Collections.emptySet(), roots.get( GeneratedFilesManifest.RESOURCE_ROOT ) );
+    }
+
+    private static Plugin createPlugin( String... phases )
+    {
+        Plugin plugin = new Plugin();
+        plugin.setArtifactId( "maven-example-plugin" );
+        for ( String phase : phases )
+        {
+            PluginExecution execution = new PluginExecution();
+            execution.setId( "execution-" + plugin.getExecutions().size() );
+            execution.setPhase( phase );
+            plugin.addExecution( execution );
+        }
+        return plugin;
+    }
+
+    @Test
+    public void testHasGenerators()
+    {
+        assertFalse( EclipseFastMojo.hasGenerators( Collections.emptyList() ) );
+        assertFalse( EclipseFastMojo.hasGenerators( Arrays.asList( createPlugin(),
+                                                                   createPlugin( "compile", "test" ) ) ) );
+        assertTrue( EclipseFastMojo.hasGenerators( Arrays.asList( createPlugin( "compile" ),
+                                                                  createPlugin( "generate-test-sources" ) ) ) );
+        // bound to the default phase of its goal
+        assertTrue( EclipseFastMojo.hasGenerators( Collections.singletonList( createPlugin( (String) null ) ) ) );
+    }
+}
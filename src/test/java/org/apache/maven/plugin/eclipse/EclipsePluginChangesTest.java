@@ -0,0 +1,163 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for the <code>changedPoms</code> and <code>changedSince</code> selection of {@link EclipsePlugin}
+ */
+public class EclipsePluginChangesTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MavenProject createProject( String path, String artifactId, String... dependencies )
+    {
+        Model model = new Model();
+        model.setGroupId( "org.example" );
+        model.setArtifactId( artifactId );
+        model.setVersion( "1.0" );
+        for ( String dependencyId : dependencies )
+        {
+            Dependency dependency = new Dependency();
+            dependency.setGroupId( "org.example" );
+            dependency.setArtifactId( dependencyId );
+            dependency.setVersion( "1.0" );
+            model.addDependency( dependency );
+        }
+        MavenProject project = new MavenProject( model );
+        project.setFile( new File( folder.getRoot(), path ) );
+        return project;
+    }
+
+    private List<MavenProject> createReactor()
+    {
+        List<MavenProject> reactor = new ArrayList<>();
+        reactor.add( createProject( "pom.xml", "parent" ) );
+        reactor.add( createProject( "core/pom.xml", "core" ) );
+        reactor.add( createProject( "api/pom.xml", "api" ) );
+        reactor.add( createProject( "web/pom.xml", "web", "core" ) );
+        return reactor;
+    }
+
+    private List<File> poms( String... paths )
+    {
+        List<File> poms = new ArrayList<>();
+        for ( String path : paths )
+        {
+            poms.add( ReactorGraph.normalize( new File( folder.getRoot(), path ) ) );
+        }
+        return poms;
+    }
+
+    @Test
+    public void testChangedPoms()
+        throws Exception
+    {
+        assertEquals( poms( "core/pom.xml", "web/pom.xml" ),
+                      new ArrayList<>( EclipsePlugin.computeAffectedPoms( createReactor(), folder.getRoot(),
+                                                                          Collections.singletonList( " core/pom.xml" ),
+                                                                          null ) ) );
+    }
+
+    /**
+     * A parent in a sibling directory comes first in the reactor, the changes are still resolved against the
+     * directory maven was started in.
+     */
+    @Test
+    public void testChangedPomsAreResolvedAgainstExecutionRoot()
+        throws Exception
+    {
+        List<MavenProject> reactor = new ArrayList<>();
+        reactor.add( createProject( "parent/pom.xml", "parent" ) );
+        reactor.add( createProject( "aggregator/core/pom.xml", "core" ) );
+        reactor.add( createProject( "aggregator/web/pom.xml", "web", "core" ) );
+        reactor.add( createProject( "aggregator/pom.xml", "aggregator" ) );
+
+        assertEquals( poms( "aggregator/core/pom.xml", "aggregator/web/pom.xml" ),
+                      new ArrayList<>( EclipsePlugin.computeAffectedPoms( reactor,
+                                                                          new File( folder.getRoot(), "aggregator" ),
+                                                                          Collections.singletonList( "core/pom.xml" ),
+                                                                          null ) ) );
+    }
+
+    @Test
+    public void testChangedPomsOutsideOfReactorAreIgnored()
+        throws Exception
+    {
+        File outside = new File( folder.getRoot().getParentFile(), "other/pom.xml" );
+
+        assertEquals( Collections.emptyList(),
+                      new ArrayList<>( EclipsePlugin.computeAffectedPoms( createReactor(), folder.getRoot(),
+                                                                          Arrays.asList( "../other/pom.xml",
+                                                                                         outside.getAbsolutePath(),
+                                                                                         "docs/pom.xml" ),
+                                                                          null ) ) );
+    }
+
+    @Test
+    public void testChangedSince()
+        throws Exception
+    {
+        File root = folder.getRoot();
+        GitDiffTest.createRepository( root, "pom.xml", "core/pom.xml", "api/pom.xml", "web/pom.xml", "docs/pom.xml",
+                                      "api/src/main/java/Api.java" );
+        GitDiffTest.write( new File( root, "core/pom.xml" ), "2" );
+        GitDiffTest.write( new File( root, "docs/pom.xml" ), "2" );
+        GitDiffTest.write( new File( root, "api/src/main/java/Api.java" ), "2" );
+
+        assertEquals( poms( "core/pom.xml", "web/pom.xml" ),
+                      new ArrayList<>( EclipsePlugin.computeAffectedPoms( createReactor(), root, null, "HEAD" ) ) );
+    }
+
+    @Test
+    public void testChangedSinceWithFailingGit()
+        throws Exception
+    {
+        GitDiffTest.createRepository( folder.getRoot(), "pom.xml" );
+
+        try
+        {
+            EclipsePlugin.computeAffectedPoms( createReactor(), folder.getRoot(), null,
+                                               "no-such-revision" );
+            fail( "git should fail for an unknown revision" );
+        }
+        catch ( MojoExecutionException e )
+        {
+            // expected, the projects are not silently treated as unaffected
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test for the parameters {@link EclipsePlugin} sets up again when the generator daemon regenerates a project
+ */
+public class EclipsePluginSetupTest
+{
+    @Test
+    public void testConfiguredParametersAreRestored()
+    {
+        EclipsePlugin plugin = new EclipsePlugin();
+        List<String> containers = Collections.singletonList( "org.example.CONTAINER" );
+        plugin.setClasspathContainers( new ArrayList<>( containers ) );
+        EclipsePlugin.ConfiguredParameters configured = new EclipsePlugin.ConfiguredParameters( plugin );
+
+        // completed by the first setup for a jar packaging
+        plugin.setProjectnatures( new ArrayList<>( Arrays.asList( "org.eclipse.jdt.core.javanature" ) ) );
+        plugin.getClasspathContainers().add( 0, "org.eclipse.jdt.launching.JRE_CONTAINER" );
+        plugin.setEclipseProjectDir( new File( "project" ) );
+
+        configured.restore( plugin );
+        assertNull( plugin.getProjectnatures() );
+        assertEquals( containers, plugin.getClasspathContainers() );
+        assertNull( plugin.getEclipseProjectDir() );
+
+        // every regeneration starts from the configured values
+        plugin.getClasspathContainers().add( 0, "org.eclipse.jdt.launching.JRE_CONTAINER" );
+        configured.restore( plugin );
+        assertEquals( containers, plugin.getClasspathContainers() );
+    }
+}
@@ -23,9 +23,7 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 
 import junit.framework.TestCase;
 
@@ -135,7 +133,7 @@ public class EclipsePluginUnitTest
 
         MavenProject project = new MavenProject( model );
 
-        Set<EclipseSourceDir> result = new LinkedHashSet<>();
+        EclipseSourceDirs result = new EclipseSourceDirs();
 
         EclipsePlugin plugin = newMojo();
 
@@ -176,7 +174,7 @@ public class EclipsePluginUnitTest
 
         MavenProject project = new MavenProject( model );
 
-        Set<EclipseSourceDir> result = new LinkedHashSet<>();
+        EclipseSourceDirs result = new EclipseSourceDirs();
 
         EclipsePlugin plugin = newMojo();
 
@@ -234,7 +232,7 @@ public class EclipsePluginUnitTest
 
         MavenProject project = new MavenProject( model );
 
-        Set<EclipseSourceDir> result = new LinkedHashSet<>();
+        EclipseSourceDirs result = new EclipseSourceDirs();
 
         EclipsePlugin plugin = newMojo();
 
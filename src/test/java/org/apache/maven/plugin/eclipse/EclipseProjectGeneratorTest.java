@@ -0,0 +1,132 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.eclipse.writers.EclipseWriter;
+import org.apache.maven.plugin.eclipse.writers.EclipseWriterConfig;
+import org.apache.maven.plugin.eclipse.writers.testutils.TestEclipseWriterConfig;
+import org.apache.maven.plugin.ide.IdeDependency;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link EclipseProjectGenerator}
+ */
+public class EclipseProjectGeneratorTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * An additional writer, records the files generated before it runs.
+     */
+    public static class RecordingWriter
+        implements EclipseWriter
+    {
+        static final List<File> GENERATED_BEFORE = new ArrayList<>();
+
+        private EclipseWriterConfig config;
+
+        @Override
+        public EclipseWriter init( Log log, EclipseWriterConfig config )
+        {
+            this.config = config;
+            return this;
+        }
+
+        @Override
+        public void write()
+        {
+            GENERATED_BEFORE.clear();
+            GENERATED_BEFORE.addAll( config.getGeneratedFiles() );
+        }
+    }
+
+    /**
+     * @return a class loader listing the given lines as writer services
+     */
+    private ClassLoader createWriterClassLoader( String... lines )
+        throws Exception
+    {
+        File directory = folder.newFolder( "services" );
+        File services = new File( directory, "META-INF/services/" + EclipseWriter.class.getName() );
+        services.getParentFile().mkdirs();
+        Files.write( services.toPath(), Arrays.asList( lines ), StandardCharsets.UTF_8 );
+        return new URLClassLoader( new URL[] { directory.toURI().toURL() }, getClass().getClassLoader() );
+    }
+
+    @Test
+    public void testAdditionalWriterRunsAfterClasspathAndBeforeProject()
+        throws Exception
+    {
+        File basedir = folder.newFolder( "project" );
+        TestEclipseWriterConfig config = new TestEclipseWriterConfig();
+        config.setProjectBaseDir( basedir );
+        config.setEclipseProjectDirectory( basedir );
+        config.setBuildOutputDirectory( new File( basedir, "target/classes" ) );
+        config.setEclipseProjectName( "test-project" );
+        config.setSourceDirs( new EclipseSourceDir[0] );
+        config.setDeps( new IdeDependency[0] );
+        config.setProjectnatures( Collections.singletonList( "org.eclipse.jdt.core.javanature" ) );
+        MavenProject project = new MavenProject();
+        project.getModel().setBuild( new Build() );
+        config.setProject( project );
+
+        new EclipseProjectGenerator( new SystemStreamLog(),
+                                     createWriterClassLoader( RecordingWriter.class.getName() ) ).write( config, true );
+
+        File dotClasspath = new File( basedir, ".classpath" );
+        File dotProject = new File( basedir, ".project" );
+        assertTrue( RecordingWriter.GENERATED_BEFORE.contains( dotClasspath ) );
+        assertFalse( RecordingWriter.GENERATED_BEFORE.contains( dotProject ) );
+        assertTrue( config.getGeneratedFiles().contains( dotProject ) );
+    }
+
+    @Test
+    public void testWriterClassNames()
+        throws Exception
+    {
+        ClassLoader classLoader =
+            createWriterClassLoader( "# additional writers", " org.example.FirstWriter # comment", "",
+                                     "org.example.SecondWriter", "org.example.FirstWriter" );
+
+        assertEquals( Arrays.asList( "org.example.FirstWriter", "org.example.SecondWriter" ),
+                      EclipseProjectGenerator.getWriterClassNames( classLoader ) );
+    }
+}
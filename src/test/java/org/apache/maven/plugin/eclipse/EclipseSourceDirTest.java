@@ -204,4 +204,74 @@ public class EclipseSourceDirTest
             resource1.toString());
     }
 
+    public void testSourceDirs_first_directory_with_a_path_wins()
+    {
+        EclipseSourceDirs dirs = new EclipseSourceDirs();
+        EclipseSourceDir src_main_java = testFixture_src_main_java();
+        EclipseSourceDir src_test_java = testFixture_src_test_java();
+
+        assertNull( dirs.putIfAbsent( src_main_java ) );
+        assertNull( dirs.putIfAbsent( src_test_java ) );
+        assertNull( dirs.putIfAbsent( testFixture_src_main_resources() ) );
+        assertSame( src_main_java, dirs.putIfAbsent( testFixture_src_main_java() ) );
+
+        assertEquals( 3, dirs.size() );
+        assertSame( src_test_java, dirs.get( "/src/test/java" ) );
+        assertTrue( dirs.contains( "/src/main/resources" ) );
+        assertFalse( dirs.contains( "/src/main" ) );
+        assertFalse( dirs.contains( "/src/main/java/org" ) );
+        assertFalse( dirs.contains( "src/main/java" ) );
+
+        EclipseSourceDir[] array = dirs.toArray();
+        assertEquals( "/src/main/java", array[0].getPath() );
+        assertEquals( "/src/test/java", array[1].getPath() );
+        assertEquals( "/src/main/resources", array[2].getPath() );
+    }
+
+    public void testSourceDirs_nested_directories()
+    {
+        EclipseSourceDirs dirs = new EclipseSourceDirs();
+        dirs.putIfAbsent( new EclipseSourceDir( "src/main", null, false, false, false, null, null, false, false ) );
+        dirs.putIfAbsent( new EclipseSourceDir( "src/main/java", null, false, false, false, null, null, false,
+                                                false ) );
+        dirs.putIfAbsent( new EclipseSourceDir( "src", null, false, false, false, null, null, false, false ) );
+
+        assertEquals( 3, dirs.size() );
+        assertEquals( "src/main", dirs.get( "src/main" ).getPath() );
+        assertEquals( "src/main/java", dirs.get( "src/main/java" ).getPath() );
+        assertEquals( "src", dirs.get( "src" ).getPath() );
+    }
+
+    public void testFindNestedOutputs()
+    {
+        EclipseSourceDir nested =
+            new EclipseSourceDir( "/src/main/config", "target/classes/config", true, false, false, null, null, false,
+                                  false );
+        EclipseSourceDir sibling =
+            new EclipseSourceDir( "/src/main/extra", "target/classes-extra", true, false, false, null, null, false,
+                                  false );
+        EclipseSourceDir nestedSource =
+            new EclipseSourceDir( "/src/main/groovy", "target/classes/groovy", false, false, false, null, null,
+                                  false, false );
+
+        EclipseSourceDir[] dirs =
+            { testFixture_src_main_java(), testFixture_src_main_resources(), nested, sibling, nestedSource,
+                testFixture_src_test_resources() };
+
+        List<EclipseSourceDir> result = EclipseSourceDirs.findNestedOutputs( dirs, "target/classes" );
+        assertEquals( 1, result.size() );
+        assertSame( nested, result.get( 0 ) );
+    }
+
+    public void testFindNestedOutputs_without_default_output()
+    {
+        EclipseSourceDir nested =
+            new EclipseSourceDir( "/src/main/config", "target/classes/config", true, false, false, null, null, false,
+                                  false );
+
+        EclipseSourceDir[] dirs = { testFixture_src_test_java(), nested };
+
+        assertTrue( EclipseSourceDirs.findNestedOutputs( dirs, "target/classes" ).isEmpty() );
+    }
+
 }
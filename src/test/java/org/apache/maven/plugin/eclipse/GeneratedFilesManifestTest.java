@@ -0,0 +1,130 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Collections;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link GeneratedFilesManifest}
+ */
+public class GeneratedFilesManifestTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStoreAndRead()
+        throws Exception
+    {
+        File projectDirectory = folder.getRoot();
+        File dotProject = new File( projectDirectory, ".project" );
+        File launch = new File( projectDirectory, ".externalToolBuilders/Maven_Ant_Builder.launch" );
+        FileUtils.fileWrite( dotProject.getPath(), "UTF-8", "<projectDescription/>" );
+        launch.getParentFile().mkdirs();
+        FileUtils.fileWrite( launch.getPath(), "UTF-8", "<launchConfiguration/>" );
+
+        GeneratedFilesManifest manifest = new GeneratedFilesManifest( projectDirectory );
+        manifest.add( dotProject );
+        manifest.add( launch );
+        manifest.add( new File( projectDirectory, "missing.xml" ) );
+        manifest.setInputs( Collections.singletonMap( "dependencies", "0123456789abcdef" ) );
+        manifest.store();
+
+        GeneratedFilesManifest read = GeneratedFilesManifest.read( projectDirectory );
+
+        assertEquals( 2, read.getFiles().size() );
+        assertEquals( launch, read.getFiles().get( 0 ) );
+        assertEquals( dotProject, read.getFiles().get( 1 ) );
+        assertTrue( read.isUnmodified( dotProject ) );
+        assertTrue( read.isUnmodified( launch ) );
+        assertEquals( Collections.singletonMap( "dependencies", "0123456789abcdef" ), read.getInputs() );
+    }
+
+    @Test
+    public void testModifiedFile()
+        throws Exception
+    {
+        File projectDirectory = folder.getRoot();
+        File dotClasspath = new File( projectDirectory, ".classpath" );
+        FileUtils.fileWrite( dotClasspath.getPath(), "UTF-8", "<classpath/>" );
+
+        GeneratedFilesManifest manifest = new GeneratedFilesManifest( projectDirectory );
+        manifest.add( dotClasspath );
+        manifest.store();
+
+        FileUtils.fileWrite( dotClasspath.getPath(), "UTF-8", "<classpath><classpathentry/></classpath>" );
+
+        assertFalse( GeneratedFilesManifest.read( projectDirectory ).isUnmodified( dotClasspath ) );
+    }
+
+    @Test
+    public void testRoots()
+        throws Exception
+    {
+        File projectDirectory = folder.getRoot();
+        File generated = new File( projectDirectory, "target/generated-sources/antlr4" );
+        File resources = new File( projectDirectory, "target/generated-resources/xjc" );
+
+        GeneratedFilesManifest manifest = new GeneratedFilesManifest( projectDirectory );
+        manifest.addRoot( GeneratedFilesManifest.COMPILE_ROOT, generated );
+        manifest.addRoot( GeneratedFilesManifest.RESOURCE_ROOT, resources );
+        manifest.store();
+
+        GeneratedFilesManifest read = GeneratedFilesManifest.read( projectDirectory );
+        assertTrue( read.isRootsRecorded() );
+        assertEquals( Collections.singletonList( generated ), read.getRoots( GeneratedFilesManifest.COMPILE_ROOT ) );
+        assertEquals( Collections.singletonList( resources ),
+                      read.getRoots( GeneratedFilesManifest.RESOURCE_ROOT ) );
+        assertTrue( read.getRoots( GeneratedFilesManifest.TEST_ROOT ).isEmpty() );
+    }
+
+    @Test
+    public void testNoRoots()
+        throws Exception
+    {
+        File projectDirectory = folder.getRoot();
+
+        new GeneratedFilesManifest( projectDirectory ).store();
+        assertFalse( GeneratedFilesManifest.read( projectDirectory ).isRootsRecorded() );
+
+        GeneratedFilesManifest manifest = new GeneratedFilesManifest( projectDirectory );
+        manifest.setRootsRecorded();
+        manifest.store();
+        assertTrue( GeneratedFilesManifest.read( projectDirectory ).isRootsRecorded() );
+    }
+
+    @Test
+    public void testNoManifest()
+        throws Exception
+    {
+        assertNull( GeneratedFilesManifest.read( folder.getRoot() ) );
+    }
+}
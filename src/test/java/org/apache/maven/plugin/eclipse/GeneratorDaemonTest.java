@@ -0,0 +1,121 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Test;
+
+/**
+ * Test for {@link GeneratorDaemon}
+ */
+public class GeneratorDaemonTest
+{
+    @Test
+    public void testRegenerate()
+        throws Exception
+    {
+        final File dotProject = new File( "module", ".project" );
+        try ( GeneratorDaemon daemon = new GeneratorDaemon( 0, new SystemStreamLog() ) )
+        {
+            daemon.register( "module", () -> Collections.singletonMap( dotProject, new byte[0] ) );
+
+            List<String> response = daemon.execute( "regenerate module" );
+
+            assertEquals( 2, response.size() );
+            assertEquals( dotProject.getAbsolutePath(), response.get( 0 ) );
+            assertTrue( response.get( 1 ), response.get( 1 ).startsWith( "OK 1 files in " ) );
+        }
+    }
+
+    @Test
+    public void testErrors()
+        throws Exception
+    {
+        try ( GeneratorDaemon daemon = new GeneratorDaemon( 0, new SystemStreamLog() ) )
+        {
+            daemon.register( "broken", () -> {
+                throw new MojoExecutionException( "broken pom" );
+            } );
+
+            assertEquals( Collections.singletonList( "ERROR broken pom" ), daemon.execute( "regenerate broken" ) );
+            assertEquals( Collections.singletonList( "ERROR unknown project other" ),
+                          daemon.execute( "regenerate other" ) );
+            assertEquals( Collections.singletonList( "ERROR unknown command build" ), daemon.execute( "build" ) );
+        }
+    }
+
+    @Test
+    public void testServe()
+        throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try ( GeneratorDaemon daemon = new GeneratorDaemon( 0, new SystemStreamLog() ) )
+        {
+            daemon.register( "b", Collections::emptyMap );
+            daemon.register( "a", Collections::emptyMap );
+            Future<?> served = executor.submit( () -> {
+                daemon.serve();
+                return null;
+            } );
+
+            try ( Socket socket = new Socket( InetAddress.getLoopbackAddress(), daemon.getPort() ) )
+            {
+                PrintWriter out =
+                    new PrintWriter( new OutputStreamWriter( socket.getOutputStream(), StandardCharsets.UTF_8 ),
+                                     true );
+                BufferedReader in =
+                    new BufferedReader( new InputStreamReader( socket.getInputStream(), StandardCharsets.UTF_8 ) );
+
+                out.println( "list" );
+                assertEquals( Arrays.asList( "a", "b", "OK 2" ),
+                              Arrays.asList( in.readLine(), in.readLine(), in.readLine() ) );
+
+                out.println( "stop" );
+                assertEquals( "OK", in.readLine() );
+            }
+
+            served.get( 10, TimeUnit.SECONDS );
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeNoException;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link GitDiff}
+ */
+public class GitDiffTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Runs git in the directory and fails if it does.
+     */
+    static void git( File directory, String... args )
+        throws IOException, InterruptedException
+    {
+        List<String> command = new ArrayList<>( Arrays.asList( "git", "-c", "user.name=test", "-c",
+                                                               "user.email=test@example.org" ) );
+        command.addAll( Arrays.asList( args ) );
+        Process process = new ProcessBuilder( command ).directory( directory ).inheritIO().start();
+        assertEquals( command.toString(), 0, process.waitFor() );
+    }
+
+    /**
+     * Creates a repository with one commit containing the given files.
+     */
+    static void createRepository( File directory, String... paths )
+        throws IOException, InterruptedException
+    {
+        git( directory, "init", "-q" );
+        for ( String path : paths )
+        {
+            write( new File( directory, path ), "1" );
+        }
+        git( directory, "add", "." );
+        git( directory, "commit", "-q", "-m", "initial" );
+    }
+
+    static void write( File file, String content )
+        throws IOException
+    {
+        file.getParentFile().mkdirs();
+        Files.write( file.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    @Test
+    public void testParse()
+        throws IOException
+    {
+        File directory = new File( "root" );
+        byte[] output = "a/pom.xml\0with space/pom.xml\0new\nline.txt\0ä/pom.xml\0".getBytes( StandardCharsets.UTF_8 );
+
+        assertEquals( Arrays.asList( new File( directory, "a/pom.xml" ), new File( directory, "with space/pom.xml" ),
+                                     new File( directory, "new\nline.txt" ), new File( directory, "ä/pom.xml" ) ),
+                      GitDiff.parse( directory, new ByteArrayInputStream( output ) ) );
+    }
+
+    @Test
+    public void testParseWithoutTrailingSeparator()
+        throws IOException
+    {
+        File directory = new File( "root" );
+        byte[] output = "a/pom.xml\0b/pom.xml".getBytes( StandardCharsets.UTF_8 );
+
+        assertEquals( Arrays.asList( new File( directory, "a/pom.xml" ), new File( directory, "b/pom.xml" ) ),
+                      GitDiff.parse( directory, new ByteArrayInputStream( output ) ) );
+    }
+
+    @Test
+    public void testParseNoChanges()
+        throws IOException
+    {
+        assertEquals( Collections.emptyList(),
+                      GitDiff.parse( new File( "root" ), new ByteArrayInputStream( new byte[0] ) ) );
+    }
+
+    @Test
+    public void testChangedFiles()
+        throws Exception
+    {
+        File directory = folder.getRoot();
+        try
+        {
+            new File( directory, "ä" ).toPath();
+        }
+        catch ( InvalidPathException e )
+        {
+            assumeNoException( "file names can't hold non-ASCII characters on this platform", e );
+        }
+        createRepository( directory, "core/pom.xml", "ä/pom.xml", "web/pom.xml" );
+        write( new File( directory, "core/pom.xml" ), "2" );
+        write( new File( directory, "ä/pom.xml" ), "2" );
+
+        List<File> changed = GitDiff.getChangedFiles( directory, "HEAD" );
+
+        assertEquals( Arrays.asList( new File( directory, "core/pom.xml" ), new File( directory, "ä/pom.xml" ) ),
+                      changed );
+    }
+
+    @Test
+    public void testChangedFilesAreRelativeToDirectory()
+        throws Exception
+    {
+        File directory = folder.getRoot();
+        createRepository( directory, "pom.xml", "reactor/core/pom.xml" );
+        write( new File( directory, "pom.xml" ), "2" );
+        write( new File( directory, "reactor/core/pom.xml" ), "2" );
+
+        File reactor = new File( directory, "reactor" );
+        assertEquals( Collections.singletonList( new File( reactor, "core/pom.xml" ) ),
+                      GitDiff.getChangedFiles( reactor, "HEAD" ) );
+    }
+
+    @Test
+    public void testFailingGit()
+        throws Exception
+    {
+        File directory = folder.getRoot();
+        createRepository( directory, "pom.xml" );
+
+        try
+        {
+            GitDiff.getChangedFiles( directory, "no-such-revision" );
+            fail( "git should fail for an unknown revision" );
+        }
+        catch ( MojoExecutionException e )
+        {
+            assertTrue( e.getMessage(), e.getMessage().contains( "no-such-revision" ) );
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.plugin.eclipse.writers.testutils.TestEclipseWriterConfig;
+import org.apache.maven.plugin.ide.IdeDependency;
+import org.junit.Test;
+
+/**
+ * Test for {@link InputFingerprint}
+ */
+public class InputFingerprintTest
+{
+
+    private static TestEclipseWriterConfig createConfig()
+    {
+        TestEclipseWriterConfig config = new TestEclipseWriterConfig();
+        config.setEclipseProjectName( "test-project" );
+        config.setProjectnatures( Arrays.asList( "org.eclipse.jdt.core.javanature" ) );
+
+        IdeDependency dependency = new IdeDependency();
+        dependency.setGroupId( "g" );
+        dependency.setArtifactId( "a" );
+        dependency.setVersion( "1.0" );
+        dependency.setType( "jar" );
+        config.setDeps( new IdeDependency[] { dependency } );
+        return config;
+    }
+
+    @Test
+    public void testSameInputs()
+    {
+        InputFingerprint first = InputFingerprint.create( createConfig() );
+        InputFingerprint second = InputFingerprint.create( createConfig() );
+
+        assertEquals( Collections.emptyList(), second.getChangedInputs( first.getInputs() ) );
+    }
+
+    @Test
+    public void testChangedDependency()
+    {
+        InputFingerprint first = InputFingerprint.create( createConfig() );
+
+        TestEclipseWriterConfig config = createConfig();
+        config.getDeps()[0].setVersion( "1.1" );
+        InputFingerprint second = InputFingerprint.create( config );
+
+        assertEquals( Collections.singletonList( "dependencies" ), second.getChangedInputs( first.getInputs() ) );
+    }
+
+    @Test
+    public void testAddedAndRemovedInputs()
+    {
+        InputFingerprint first = InputFingerprint.create( createConfig() );
+        first.add( "removed", "value" );
+        InputFingerprint second = InputFingerprint.create( createConfig() );
+        second.add( "added", "value" );
+
+        assertTrue( second.getChangedInputs( first.getInputs() ).containsAll( Arrays.asList( "added", "removed" ) ) );
+        assertEquals( 2, second.getChangedInputs( first.getInputs() ).size() );
+    }
+}
@@ -0,0 +1,121 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.maven.plugin.ide.IdeDependency;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link JdtIndexes}
+ */
+public class JdtIndexesTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLookupOrder()
+        throws Exception
+    {
+        File jar = new File( folder.newFolder( "repo", "g", "a", "1.0" ), "a-1.0.jar" );
+        jar.createNewFile();
+        File shared = folder.newFolder( "shared" );
+        IdeDependency dependency = createDependency( jar );
+
+        File resolved = new File( jar.getParentFile(), "a-1.0-index.index" );
+        resolved.createNewFile();
+        dependency.setIndexLocation( resolved );
+        assertEquals( resolved, JdtIndexes.find( shared, dependency ) );
+
+        File sibling = new File( jar.getParentFile(), "a-1.0.jar.index" );
+        sibling.createNewFile();
+        assertEquals( sibling, JdtIndexes.find( shared, dependency ) );
+
+        File sharedIndex = new File( shared, "g/a-1.0.jar.index" );
+        sharedIndex.getParentFile().mkdirs();
+        sharedIndex.createNewFile();
+        assertEquals( sharedIndex, JdtIndexes.find( shared, dependency ) );
+        assertEquals( sibling, JdtIndexes.find( null, dependency ) );
+    }
+
+    @Test
+    public void testAttachWithoutIndex()
+        throws Exception
+    {
+        File jar = folder.newFile( "a-1.0.jar" );
+        IdeDependency dependency = createDependency( jar );
+        IdeDependency project = createDependency( folder.newFolder( "classes" ) );
+        project.setReferencedProject( true );
+
+        JdtIndexes.attach( folder.newFolder( "shared" ), new IdeDependency[] { dependency, project } );
+
+        assertNull( dependency.getIndexLocation() );
+        assertNull( project.getIndexLocation() );
+        assertFalse( JdtIndexes.isIndexable( project ) );
+    }
+
+    @Test
+    public void testIndexFile()
+        throws Exception
+    {
+        File jar = folder.newFile( "a-1.0.jar" );
+        File shared = new File( folder.getRoot(), "shared" );
+        IdeDependency dependency = createDependency( jar );
+
+        assertEquals( new File( shared, "g/a-1.0.jar.index" ), JdtIndexes.getIndexFile( shared, dependency ) );
+        assertEquals( new File( folder.getRoot(), "a-1.0.jar.index" ), JdtIndexes.getIndexFile( null, dependency ) );
+    }
+
+    @Test
+    public void testUpToDate()
+        throws Exception
+    {
+        File jar = folder.newFile( "a-1.0.jar" );
+        File index = new File( folder.getRoot(), "a-1.0.jar.index" );
+        assertFalse( JdtIndexes.isUpToDate( index, jar ) );
+
+        index.createNewFile();
+        jar.setLastModified( 1000000L );
+        index.setLastModified( 2000000L );
+        assertTrue( JdtIndexes.isUpToDate( index, jar ) );
+
+        jar.setLastModified( 3000000L );
+        assertFalse( JdtIndexes.isUpToDate( index, jar ) );
+    }
+
+    private static IdeDependency createDependency( File file )
+    {
+        IdeDependency dependency = new IdeDependency();
+        dependency.setGroupId( "g" );
+        dependency.setArtifactId( "a" );
+        dependency.setVersion( "1.0" );
+        dependency.setFile( file );
+        return dependency;
+    }
+}
@@ -0,0 +1,144 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link PathPatterns}
+ */
+public class PathPatternsTest
+{
+    private static final List<String> PATHS =
+        Arrays.asList( "A.java", "Readme.txt", "CVS", "CVS/Entries", "org/A.java", "org/B.java", "org/b.xml",
+                       "org/CVS/Root", "org/foo/C.java", "org/foo/C.java~", "org/foo/log4j.properties",
+                       "generated/X.java", "generated/deep/Y.java", "generated/deep/y.xml", "plugin.xml",
+                       "plugin.properties", "icons/a.bmp", "icons/sub/b.bmp", "a.bmp", "org/.svn/entries" );
+
+    @Test
+    public void testMatches()
+    {
+        assertTrue( PathPatterns.matches( "**/*.java", "A.java" ) );
+        assertTrue( PathPatterns.matches( "**/*.java", "org/foo/C.java" ) );
+        assertFalse( PathPatterns.matches( "**/*.java", "org/foo/C.java~" ) );
+        assertTrue( PathPatterns.matches( "*.java", "A.java" ) );
+        assertFalse( PathPatterns.matches( "*.java", "org/A.java" ) );
+        assertTrue( PathPatterns.matches( "org/", "org/foo/C.java" ) );
+        assertTrue( PathPatterns.matches( "**/CVS/**", "CVS/Entries" ) );
+        assertTrue( PathPatterns.matches( "org/?.java", "org/B.java" ) );
+        assertFalse( PathPatterns.matches( "org/?.java", "org/b.xml" ) );
+    }
+
+    @Test
+    public void testDuplicatesAndSpellings()
+    {
+        assertEquals( Arrays.asList( "**/*.java", "CVS/" ),
+                      PathPatterns.compact( Arrays.asList( "CVS/", "**/*.java", "CVS/**", "**/**/*.java",
+                                                           "**/*.java" ) ) );
+    }
+
+    @Test
+    public void testSubsumed()
+    {
+        List<String> patterns =
+            Arrays.asList( "org/A.java", "**/*.java", "org/foo/*.java", "*.java", "org/**/C*.java", "org/b.xml",
+                           "org/foo/log4j.properties", "org/**", "plugin.*" );
+        assertEquals( Arrays.asList( "**/*.java", "org/**", "plugin.*" ), PathPatterns.compact( patterns ) );
+        assertSameMatches( patterns );
+    }
+
+    @Test
+    public void testSiblingsCollapseOnlyIntoExistingGlobs()
+    {
+        List<String> siblings = Arrays.asList( "org/B.java", "org/A.java", "org/b.xml" );
+        assertEquals( Arrays.asList( "org/A.java", "org/B.java", "org/b.xml" ), PathPatterns.compact( siblings ) );
+
+        List<String> covered = new ArrayList<>( siblings );
+        covered.add( "org/*" );
+        assertEquals( Arrays.asList( "org/*" ), PathPatterns.compact( covered ) );
+        assertSameMatches( covered );
+    }
+
+    @Test
+    public void testNotSubsumed()
+    {
+        List<String> patterns =
+            Arrays.asList( "*.txt", "**/*.java", "**/*.java~", "icons/*.bmp", "*.bmp", "plugin.*", "**/CVS/**",
+                           "**/.svn/**", "org/?.java", "org/*.xml" );
+        List<String> compacted = PathPatterns.compact( patterns );
+        assertEquals( Arrays.asList( "**/*.java", "**/*.java~", "**/.svn/**", "**/CVS/**", "*.bmp", "*.txt",
+                                     "icons/*.bmp", "org/*.xml", "plugin.*" ), compacted );
+        assertSameMatches( patterns );
+    }
+
+    @Test
+    public void testGeneratedCode()
+    {
+        List<String> patterns = new ArrayList<>();
+        for ( int i = 0; i < 5000; i++ )
+        {
+            patterns.add( "generated/deep/Type" + i + ".java" );
+            patterns.add( "generated/Type" + i + ".java" );
+        }
+        patterns.add( "generated/**" );
+        patterns.add( "**/*.java" );
+
+        assertEquals( Arrays.asList( "**/*.java", "generated/**" ), PathPatterns.compact( patterns ) );
+        assertSameMatches( patterns );
+    }
+
+    @Test
+    public void testSortedWhateverTheOrder()
+    {
+        assertEquals( PathPatterns.compact( Arrays.asList( "*.txt", "**/*.java" ) ),
+                      PathPatterns.compact( Arrays.asList( "**/*.java", "*.txt" ) ) );
+    }
+
+    private static void assertSameMatches( List<String> patterns )
+    {
+        assertEquals( matched( patterns ), matched( PathPatterns.compact( patterns ) ) );
+    }
+
+    private static Set<String> matched( List<String> patterns )
+    {
+        Set<String> matched = new LinkedHashSet<>();
+        for ( String path : PATHS )
+        {
+            for ( String pattern : patterns )
+            {
+                if ( PathPatterns.matches( pattern, path ) )
+                {
+                    matched.add( path );
+                }
+            }
+        }
+        return matched;
+    }
+}
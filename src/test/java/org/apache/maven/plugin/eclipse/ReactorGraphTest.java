@@ -0,0 +1,144 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.project.MavenProject;
+import org.junit.Test;
+
+/**
+ * Test for {@link ReactorGraph}
+ */
+public class ReactorGraphTest
+{
+    private static MavenProject createProject( String artifactId, String parentId, String... dependencies )
+    {
+        Model model = new Model();
+        model.setGroupId( "org.example" );
+        model.setArtifactId( artifactId );
+        model.setVersion( "1.0" );
+        if ( parentId != null )
+        {
+            Parent parent = new Parent();
+            parent.setGroupId( "org.example" );
+            parent.setArtifactId( parentId );
+            parent.setVersion( "1.0" );
+            model.setParent( parent );
+        }
+        for ( String dependencyId : dependencies )
+        {
+            Dependency dependency = new Dependency();
+            dependency.setGroupId( "org.example" );
+            dependency.setArtifactId( dependencyId );
+            dependency.setVersion( "1.0" );
+            model.addDependency( dependency );
+        }
+        MavenProject project = new MavenProject( model );
+        project.setFile( pom( artifactId ) );
+        return project;
+    }
+
+    private static File pom( String artifactId )
+    {
+        return ReactorGraph.normalize( new File( "reactor/" + artifactId + "/pom.xml" ) );
+    }
+
+    private static List<MavenProject> createReactor()
+    {
+        List<MavenProject> reactor = new ArrayList<>();
+        reactor.add( createProject( "parent", null ) );
+        reactor.add( createProject( "core", "parent" ) );
+        reactor.add( createProject( "api", "parent" ) );
+        reactor.add( createProject( "service", "parent", "core", "junit" ) );
+        reactor.add( createProject( "web", "parent", "service" ) );
+        return reactor;
+    }
+
+    @Test
+    public void testTransitiveDependents()
+    {
+        ReactorGraph graph = new ReactorGraph( createReactor() );
+
+        assertEquals( Arrays.asList( pom( "core" ), pom( "service" ), pom( "web" ) ),
+                      new ArrayList<>( graph.getAffected( Collections.singleton( pom( "core" ) ) ) ) );
+    }
+
+    @Test
+    public void testLeaf()
+    {
+        ReactorGraph graph = new ReactorGraph( createReactor() );
+
+        assertEquals( Collections.singletonList( pom( "api" ) ),
+                      new ArrayList<>( graph.getAffected( Collections.singleton( pom( "api" ) ) ) ) );
+    }
+
+    @Test
+    public void testParentAffectsChildren()
+    {
+        ReactorGraph graph = new ReactorGraph( createReactor() );
+
+        assertEquals( 5, graph.getAffected( Collections.singleton( pom( "parent" ) ) ).size() );
+    }
+
+    @Test
+    public void testUnknownPomIsIgnored()
+    {
+        ReactorGraph graph = new ReactorGraph( createReactor() );
+
+        assertEquals( 0, graph.getAffected( Collections.singleton( pom( "other" ) ) ).size() );
+    }
+    @Test
+    public void testFocusIncludesProjectsBetween()
+    {
+        ReactorGraph graph = new ReactorGraph( createReactor() );
+
+        assertEquals( Arrays.asList( pom( "core" ), pom( "service" ), pom( "web" ) ),
+                      new ArrayList<>( graph.getFocus( Arrays.asList( "core", "web" ) ) ) );
+    }
+
+    @Test
+    public void testFocusWithoutPath()
+    {
+        ReactorGraph graph = new ReactorGraph( createReactor() );
+
+        assertEquals( Arrays.asList( pom( "api" ), pom( "web" ) ),
+                      new ArrayList<>( graph.getFocus( Arrays.asList( "api", "org.example:web" ) ) ) );
+    }
+
+    @Test
+    public void testFocusPatterns()
+    {
+        ReactorGraph graph = new ReactorGraph( createReactor() );
+
+        assertEquals( Arrays.asList( pom( "service" ), pom( "web" ) ),
+                      new ArrayList<>( graph.getFocus( Arrays.asList( "*e*b", "org.*:serv*" ) ) ) );
+        assertEquals( 0, graph.getFocus( Collections.singleton( "other" ) ).size() );
+    }
+}
@@ -0,0 +1,92 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link ResourceFilter}
+ */
+public class ResourceFilterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testDefaultsKeepOutputFoldersVisible()
+        throws Exception
+    {
+        File project = folder.getRoot();
+        File target = new File( project, "target" );
+
+        List<ResourceFilter> filters =
+            ResourceFilter.createDefaults( project, target,
+                                           Arrays.asList( new File( target, "test-classes" ),
+                                                          new File( target, "classes" ),
+                                                          new File( target, "generated-sources/annotations" ),
+                                                          new File( project, "src/main/java" ) ),
+                                           Arrays.asList( "node_modules", ".git" ) );
+
+        assertEquals( Arrays.asList( new ResourceFilter( "target", 13, "classes" ),
+                                     new ResourceFilter( "target", 13, "generated-sources" ),
+                                     new ResourceFilter( "target", 13, "test-classes" ),
+                                     new ResourceFilter( "", 26, "node_modules" ),
+                                     new ResourceFilter( "", 26, ".git" ) ), filters );
+        assertEquals( "1.0-name-matches-false-false-classes", filters.get( 0 ).getArguments() );
+        assertEquals( ResourceFilter.MULTI_FILTER, filters.get( 0 ).getMatcher() );
+    }
+
+    @Test
+    public void testDefaultsHideBuildDirectoryWithoutVisibleFolders()
+        throws Exception
+    {
+        File project = folder.getRoot();
+        File target = new File( project, "build" );
+
+        List<ResourceFilter> filters =
+            ResourceFilter.createDefaults( project, target, Collections.singletonList( new File( project, "bin" ) ),
+                                           Collections.<String>emptyList() );
+
+        assertEquals( Collections.singletonList( new ResourceFilter( "build", 14, "*" ) ), filters );
+    }
+
+    @Test
+    public void testNoBuildDirectoryFilterOutsideOfProject()
+        throws Exception
+    {
+        File project = folder.newFolder( "project" );
+        File target = folder.newFolder( "target" );
+
+        List<ResourceFilter> filters =
+            ResourceFilter.createDefaults( project, target, Collections.<File>emptyList(),
+                                           Collections.singletonList( "node_modules" ) );
+
+        assertEquals( Collections.singletonList( new ResourceFilter( "", 26, "node_modules" ) ), filters );
+    }
+}
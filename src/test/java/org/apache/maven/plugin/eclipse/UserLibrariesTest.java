@@ -0,0 +1,159 @@
+package org.apache.maven.plugin.eclipse;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.ide.IdeDependency;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link UserLibraries}
+ */
+public class UserLibrariesTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSharedJarsBecomeLibraries()
+        throws Exception
+    {
+        IdeDependency a = createDependency( "a", false );
+        IdeDependency b = createDependency( "b", false );
+        IdeDependency c = createDependency( "c", false );
+        IdeDependency junit = createDependency( "junit", true );
+        IdeDependency extra = createDependency( "extra", false );
+
+        Map<String, IdeDependency[]> projects = new LinkedHashMap<>();
+        projects.put( "core", new IdeDependency[] { a, b, junit } );
+        projects.put( "web", new IdeDependency[] { a, b, c, junit, extra } );
+        projects.put( "cli", new IdeDependency[] { a, b, c, junit } );
+
+        List<UserLibrary> libraries = UserLibraries.compute( projects, "reactor", 2, 1 );
+
+        // a and b are used by all projects, c by two, junit by all for testing, extra only by one
+        assertEquals( 3, libraries.size() );
+        assertEquals( Arrays.asList( UserLibrary.getPath( a ), UserLibrary.getPath( b ) ),
+                      libraries.get( 0 ).getPaths() );
+        assertEquals( Collections.singletonList( UserLibrary.getPath( junit ) ), libraries.get( 1 ).getPaths() );
+        assertTrue( libraries.get( 1 ).isTest() );
+        assertTrue( libraries.get( 1 ).getName().startsWith( "reactor-test-" ) );
+        assertEquals( Collections.singletonList( UserLibrary.getPath( c ) ), libraries.get( 2 ).getPaths() );
+
+        assertEquals( Arrays.asList( libraries.get( 0 ), libraries.get( 1 ) ),
+                      UserLibraries.getApplicable( projects.get( "core" ), libraries ) );
+        assertEquals( libraries, UserLibraries.getApplicable( projects.get( "web" ), libraries ) );
+    }
+
+    @Test
+    public void testSmallSetsStayInTheClasspath()
+        throws Exception
+    {
+        IdeDependency a = createDependency( "a", false );
+        IdeDependency b = createDependency( "b", false );
+
+        Map<String, IdeDependency[]> projects = new LinkedHashMap<>();
+        projects.put( "core", new IdeDependency[] { a, b } );
+        projects.put( "web", new IdeDependency[] { a, b } );
+
+        assertTrue( UserLibraries.compute( projects, "reactor", 2, 3 ).isEmpty() );
+        assertTrue( UserLibraries.compute( projects, "reactor", 3, 1 ).isEmpty() );
+    }
+
+    @Test
+    public void testTestScopeIsNotMixed()
+        throws Exception
+    {
+        IdeDependency a = createDependency( "a", false );
+        IdeDependency testA = createDependency( "a", true );
+
+        Map<String, IdeDependency[]> projects = new LinkedHashMap<>();
+        projects.put( "core", new IdeDependency[] { a } );
+        projects.put( "web", new IdeDependency[] { a } );
+        projects.put( "it", new IdeDependency[] { testA } );
+
+        List<UserLibrary> libraries = UserLibraries.compute( projects, "reactor", 2, 1 );
+
+        assertEquals( 1, libraries.size() );
+        assertFalse( libraries.get( 0 ).isTest() );
+        assertTrue( UserLibraries.getApplicable( projects.get( "it" ), libraries ).isEmpty() );
+    }
+
+    @Test
+    public void testNamesDependOnContent()
+        throws Exception
+    {
+        IdeDependency a = createDependency( "a", false );
+        IdeDependency b = createDependency( "b", false );
+
+        Map<String, IdeDependency[]> projects = new LinkedHashMap<>();
+        projects.put( "core", new IdeDependency[] { a, b } );
+        projects.put( "web", new IdeDependency[] { a, b } );
+        UserLibrary library = UserLibraries.compute( projects, "reactor", 2, 1 ).get( 0 );
+
+        assertEquals( library.getName(), UserLibraries.compute( projects, "reactor", 2, 1 ).get( 0 ).getName() );
+
+        b.setSourceAttachment( folder.newFile( "b-sources.jar" ) );
+        UserLibrary changed = UserLibraries.compute( projects, "reactor", 2, 1 ).get( 0 );
+        assertFalse( library.getName().equals( changed.getName() ) );
+    }
+
+    @Test
+    public void testParse()
+        throws Exception
+    {
+        IdeDependency a = createDependency( "a", false );
+        a.setSourceAttachment( folder.newFile( "a-sources.jar" ) );
+        a.setJavadocAttachment( folder.newFile( "a-javadoc.jar" ) );
+        UserLibrary library = UserLibrary.create( "reactor-0000", false, Collections.singletonList( a ) );
+
+        UserLibrary parsed = UserLibrary.parse( library.getName(), false, library.toXml() );
+
+        assertEquals( library.getPaths(), parsed.getPaths() );
+        assertEquals( "org.eclipse.jdt.USER_LIBRARY/reactor-0000", parsed.getContainerPath() );
+    }
+
+    private IdeDependency createDependency( String artifactId, boolean test )
+        throws Exception
+    {
+        File file = new File( folder.getRoot(), artifactId + ".jar" );
+        file.createNewFile();
+        IdeDependency dependency = new IdeDependency();
+        dependency.setGroupId( "g" );
+        dependency.setArtifactId( artifactId );
+        dependency.setVersion( "1.0" );
+        dependency.setFile( file );
+        dependency.setAddedToClasspath( true );
+        dependency.setTestDependency( test );
+        return dependency;
+    }
+}
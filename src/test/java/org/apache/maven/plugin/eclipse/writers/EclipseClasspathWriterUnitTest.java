@@ -21,10 +21,15 @@ package org.apache.maven.plugin.eclipse.writers;
 import java.io.File;
 import java.io.IOException;
 import java.net.JarURLConnection;
+import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.eclipse.EclipseSourceDir;
+import org.apache.maven.plugin.eclipse.LinkedResource;
 import org.apache.maven.plugin.eclipse.writers.testutils.TestEclipseWriterConfig;
 import org.apache.maven.plugin.ide.IdeDependency;
 import org.apache.maven.plugin.logging.SystemStreamLog;
@@ -32,6 +37,7 @@ import org.apache.maven.plugin.testing.stubs.StubArtifactRepository;
 import org.apache.maven.shared.tools.easymock.TestFileManager;
 import org.jdom2.Attribute;
 import org.jdom2.Document;
+import org.jdom2.Element;
 import org.jdom2.JDOMException;
 import org.jdom2.input.SAXBuilder;
 import org.jdom2.input.sax.XMLReaders;
@@ -164,6 +170,214 @@ public class EclipseClasspathWriterUnitTest
         }
     }
 
+    public void testWrite_ShouldReferencePrebuiltIndex()
+        throws MojoExecutionException, JDOMException, IOException
+    {
+        TestEclipseWriterConfig config = new TestEclipseWriterConfig();
+
+        File basedir = fileManager.createTempDir();
+
+        File repoDir = new File( basedir, "repo" );
+        config.setLocalRepository( new StubArtifactRepository( repoDir.getPath() ) );
+
+        config.setProjectBaseDir( basedir );
+        config.setEclipseProjectDirectory( basedir );
+
+        File buildOutputDir = new File( basedir, "target/classes" );
+        buildOutputDir.mkdirs();
+
+        config.setBuildOutputDirectory( buildOutputDir );
+
+        config.setEclipseProjectName( "test-project" );
+
+        File index = new File( repoDir, "g/a/v/a-v.jar.index" );
+
+        IdeDependency dependency = new IdeDependency();
+        dependency.setFile( new File( repoDir, "g/a/v/a-v.jar" ) );
+        dependency.setGroupId( "g" );
+        dependency.setArtifactId( "a" );
+        dependency.setVersion( "v" );
+        dependency.setAddedToClasspath( true );
+        dependency.setIndexLocation( index );
+
+        config.setDeps( new IdeDependency[] { dependency } );
+
+        EclipseClasspathWriter classpathWriter = new EclipseClasspathWriter();
+        classpathWriter.init( new TestLog(), config );
+        classpathWriter.write();
+
+        SAXBuilder builder = new SAXBuilder( XMLReaders.NONVALIDATING );
+
+        Document doc = builder.build( new File( basedir, ".classpath" ) );
+
+        XPath indexLocation = XPath.newInstance( "//attribute[@name='index_location']/@value" );
+        Attribute attribute = (Attribute) indexLocation.selectSingleNode( doc );
+        assertNotNull( "index_location attribute not found.", attribute );
+        assertEquals( index.getCanonicalFile(), new File( URI.create( attribute.getValue() ) ) );
+    }
+
+    public void testWrite_ShouldAddClassFolderWithSources()
+        throws MojoExecutionException, JDOMException, IOException
+    {
+        TestEclipseWriterConfig config = new TestEclipseWriterConfig();
+
+        File basedir = fileManager.createTempDir();
+
+        config.setLocalRepository( new StubArtifactRepository( new File( basedir, "repo" ).getPath() ) );
+
+        File projectDir = new File( basedir, "project" );
+        config.setProjectBaseDir( projectDir );
+        config.setEclipseProjectDirectory( projectDir );
+
+        File buildOutputDir = new File( projectDir, "target/classes" );
+        buildOutputDir.mkdirs();
+
+        config.setBuildOutputDirectory( buildOutputDir );
+
+        config.setEclipseProjectName( "test-project" );
+
+        File classes = new File( basedir, "sibling/target/classes" );
+        File sources = new File( basedir, "sibling/src/main/java" );
+
+        IdeDependency dependency = new IdeDependency();
+        dependency.setFile( classes );
+        dependency.setGroupId( "g" );
+        dependency.setArtifactId( "sibling" );
+        dependency.setVersion( "v" );
+        dependency.setAddedToClasspath( true );
+        dependency.setClassFolder( true );
+        dependency.setSourceAttachment( sources );
+
+        config.setDeps( new IdeDependency[] { dependency } );
+
+        EclipseClasspathWriter classpathWriter = new EclipseClasspathWriter();
+        classpathWriter.init( new TestLog(), config );
+        classpathWriter.write();
+
+        SAXBuilder builder = new SAXBuilder( XMLReaders.NONVALIDATING );
+
+        Document doc = builder.build( new File( projectDir, ".classpath" ) );
+
+        XPath path = XPath.newInstance( "//classpathentry[@kind='lib']/@path" );
+        Attribute attribute = (Attribute) path.selectSingleNode( doc );
+        assertNotNull( "class folder entry not found.", attribute );
+        assertEquals( classes.getCanonicalFile(), new File( attribute.getValue() ) );
+
+        XPath sourcepath = XPath.newInstance( "//classpathentry[@kind='lib']/@sourcepath" );
+        attribute = (Attribute) sourcepath.selectSingleNode( doc );
+        assertNotNull( "sourcepath attribute not found.", attribute );
+        assertEquals( sources.getCanonicalFile(), new File( attribute.getValue() ) );
+    }
+
+    public void testWrite_ShouldMergeCopiesOfNestedOutputs()
+        throws MojoExecutionException, JDOMException, IOException
+    {
+        TestEclipseWriterConfig config = new TestEclipseWriterConfig();
+
+        File basedir = fileManager.createTempDir();
+
+        config.setLocalRepository( new StubArtifactRepository( new File( basedir, "repo" ).getPath() ) );
+        config.setProjectBaseDir( basedir );
+        config.setEclipseProjectDirectory( basedir );
+
+        File buildOutputDir = new File( basedir, "target/classes" );
+        buildOutputDir.mkdirs();
+
+        config.setBuildOutputDirectory( buildOutputDir );
+
+        config.setEclipseProjectName( "test-project" );
+
+        EclipseSourceDir[] dirs =
+            { new EclipseSourceDir( "src/main/java", null, false, false, false, null, null, false, false ),
+                new EclipseSourceDir( "src/main/conf", "target/classes/conf", true, false, false, null, null, false,
+                                      false ),
+                new EclipseSourceDir( "src/main/xml", "target/classes/conf", true, false, false,
+                                      Arrays.asList( "**/*.xml", "a/b.xml" ), Arrays.asList( "**/*.java" ), false,
+                                      false ),
+                new EclipseSourceDir( "src/main/filtered", "target/classes/conf", true, false, false, null, null,
+                                      true, false ) };
+
+        config.setSourceDirs( dirs );
+        config.setDeps( new IdeDependency[0] );
+
+        EclipseClasspathWriter classpathWriter = new EclipseClasspathWriter();
+        classpathWriter.init( new TestLog(), config );
+        classpathWriter.write();
+
+        SAXBuilder builder = new SAXBuilder( XMLReaders.NONVALIDATING );
+
+        Document doc = builder.build( new File( basedir, "maven-eclipse.xml" ) );
+
+        assertEquals( "one copy per output and filtering expected.", 2,
+                      XPath.newInstance( "//copy" ).selectNodes( doc ).size() );
+        assertEquals( 2, XPath.newInstance( "//copy[@filtering='false']/fileset" ).selectNodes( doc ).size() );
+
+        XPath includes = XPath.newInstance( "//fileset[@dir='src/main/xml']/include/@name" );
+        List<?> names = includes.selectNodes( doc );
+        assertEquals( 1, names.size() );
+        assertEquals( "**/*.xml", ( (Attribute) names.get( 0 ) ).getValue() );
+
+        XPath exclude = XPath.newInstance( "//fileset[@dir='src/main/xml']/exclude/@name" );
+        assertEquals( "**/*.java", ( (Attribute) exclude.selectSingleNode( doc ) ).getValue() );
+    }
+
+    public void testWrite_ShouldLinkNestedOutputsInsteadOfAntBuilder()
+        throws MojoExecutionException, JDOMException, IOException
+    {
+        TestEclipseWriterConfig config = new TestEclipseWriterConfig();
+
+        File basedir = fileManager.createTempDir();
+
+        config.setLocalRepository( new StubArtifactRepository( new File( basedir, "repo" ).getPath() ) );
+        config.setProjectBaseDir( basedir );
+        config.setEclipseProjectDirectory( basedir );
+
+        File buildOutputDir = new File( basedir, "target/classes" );
+        buildOutputDir.mkdirs();
+
+        config.setBuildOutputDirectory( buildOutputDir );
+
+        config.setEclipseProjectName( "test-project" );
+
+        EclipseSourceDir[] dirs =
+            { new EclipseSourceDir( "src/main/java", null, false, false, false, null, null, false, false ),
+                new EclipseSourceDir( "src/main/services", "target/classes/META-INF/services", true, false, false,
+                                      null, Arrays.asList( "**/*.txt" ), false, false ) };
+
+        config.setSourceDirs( dirs );
+        config.setDeps( new IdeDependency[0] );
+        config.setLinkNestedResources( true );
+
+        EclipseClasspathWriter classpathWriter = new EclipseClasspathWriter();
+        classpathWriter.init( new TestLog(), config );
+        classpathWriter.write();
+
+        assertFalse( "no ant file expected.", new File( basedir, "maven-eclipse.xml" ).exists() );
+        assertTrue( "no builder expected.", config.getBuildCommands().isEmpty() );
+
+        SAXBuilder builder = new SAXBuilder( XMLReaders.NONVALIDATING );
+
+        Document doc = builder.build( new File( basedir, ".classpath" ) );
+
+        XPath linked = XPath.newInstance( "//classpathentry[@path='.maven-resources/src_main_services']" );
+        Element entry = (Element) linked.selectSingleNode( doc );
+        assertNotNull( "linked source folder not found.", entry );
+        assertNull( "default output expected.", entry.getAttribute( "output" ) );
+        assertEquals( "META-INF/services/**/*.txt", entry.getAttributeValue( "excluding" ) );
+
+        List<String> names = new ArrayList<>();
+        for ( LinkedResource link : config.getLinkedResources() )
+        {
+            names.add( link.getName() );
+        }
+        assertEquals( Arrays.asList( ".maven-resources", ".maven-resources/src_main_services",
+                                     ".maven-resources/src_main_services/META-INF",
+                                     ".maven-resources/src_main_services/META-INF/services" ), names );
+
+        LinkedResource link = config.getLinkedResources().get( 3 );
+        assertEquals( new File( basedir, "src/main/services" ).getCanonicalFile(), new File( link.getLocation() ) );
+    }
+
     private static final class TestLog
         extends SystemStreamLog
     {
@@ -27,8 +27,10 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.Collections;
 
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.eclipse.ResourceFilter;
 import org.apache.maven.plugin.eclipse.writers.testutils.TestEclipseWriterConfig;
 import org.apache.maven.plugin.logging.SystemStreamLog;
 import org.apache.maven.project.MavenProject;
@@ -143,6 +145,49 @@ public class EclipseProjectWriterTest
 
     }
 
+    public void testWrite_preservingResourceFilters()
+        throws MojoExecutionException, IOException, XmlPullParserException
+    {
+        TestEclipseWriterConfig config = new TestEclipseWriterConfig();
+        File basedir = fileManager.createTempDir();
+        config.setProjectBaseDir( basedir );
+        config.setEclipseProjectDirectory( basedir );
+        config.setEclipseProjectName( "test-project" );
+        config.setProject( new MavenProject() );
+        config.setResourceFilters( Collections.singletonList( new ResourceFilter( "", 26, "node_modules" ) ) );
+
+        File dotProject = new File( basedir, ".project" );
+        Writer w = new OutputStreamWriter( new FileOutputStream( dotProject ), "UTF-8" );
+        w.write( "<projectDescription><name>test-project</name><filteredResources><filter>"
+            + "<id>1404000000000</id><name>src</name><type>10</type><matcher>"
+            + "<id>org.eclipse.ui.ide.orFilterMatcher</id><arguments>"
+            + "<matcher><id>org.eclipse.ui.ide.multiFilter</id><arguments>1.0-name-matches-false-false-a</arguments>"
+            + "</matcher>"
+            + "<matcher><id>org.eclipse.ui.ide.multiFilter</id><arguments>1.0-name-matches-false-false-b</arguments>"
+            + "</matcher>"
+            + "</arguments></matcher></filter></filteredResources></projectDescription>" );
+        IOUtil.close( w );
+
+        // a second run must not duplicate the filters
+        new EclipseProjectWriter().init( new TestLog(), config ).write();
+        new EclipseProjectWriter().init( new TestLog(), config ).write();
+
+        Reader reader = new InputStreamReader( new FileInputStream( dotProject ), "UTF-8" );
+        Xpp3Dom[] filters = Xpp3DomBuilder.build( reader ).getChild( "filteredResources" ).getChildren( "filter" );
+        reader.close();
+
+        assertEquals( 2, filters.length );
+        assertEquals( "1404000000000", filters[0].getChild( "id" ).getValue() );
+        Xpp3Dom matcher = filters[0].getChild( "matcher" );
+        assertEquals( "org.eclipse.ui.ide.orFilterMatcher", matcher.getChild( "id" ).getValue() );
+        assertEquals( 2, matcher.getChild( "arguments" ).getChildren( "matcher" ).length );
+
+        assertEquals( "1404000000001", filters[1].getChild( "id" ).getValue() );
+        assertEquals( "26", filters[1].getChild( "type" ).getValue() );
+        assertEquals( "1.0-name-matches-false-false-node_modules",
+                      filters[1].getChild( "matcher" ).getChild( "arguments" ).getValue() );
+    }
+
     private static final class TestLog
         extends SystemStreamLog
     {
@@ -0,0 +1,104 @@
+package org.apache.maven.plugin.eclipse.writers;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.maven.plugin.eclipse.EclipseSourceDir;
+import org.apache.maven.plugin.eclipse.writers.testutils.TestEclipseWriterConfig;
+import org.apache.maven.plugin.ide.IdeDependency;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link ProjectModelWriter}
+ */
+public class ProjectModelWriterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWrite()
+        throws Exception
+    {
+        File basedir = folder.getRoot();
+
+        TestEclipseWriterConfig config = new TestEclipseWriterConfig();
+        config.setProjectBaseDir( basedir );
+        config.setEclipseProjectDirectory( basedir );
+        config.setBuildOutputDirectory( new File( basedir, "target/classes" ) );
+        config.setEclipseProjectName( "test-project" );
+        config.setSourceDirs( new EclipseSourceDir[] {
+            new EclipseSourceDir( "src/main/java", null, false, false, false, null, null, false, false ),
+            new EclipseSourceDir( "src/test/resources", "target/test-classes", true, true, false,
+                                  Arrays.asList( "**/*.xml", "a.xml" ), null, false, false ) } );
+
+        File jar = new File( basedir, "repo/a-1.0.jar" );
+        IdeDependency dependency = new IdeDependency();
+        dependency.setGroupId( "g" );
+        dependency.setArtifactId( "a" );
+        dependency.setVersion( "1.0" );
+        dependency.setType( "jar" );
+        dependency.setFile( jar );
+        dependency.setAddedToClasspath( true );
+        IdeDependency notOnClasspath = new IdeDependency();
+        notOnClasspath.setArtifactId( "b" );
+        config.setDeps( new IdeDependency[] { dependency, notOnClasspath } );
+
+        new ProjectModelWriter().init( new SystemStreamLog(), config ).write();
+
+        File file = new File( basedir, ProjectModelWriter.FILE_PROJECT_MODEL );
+        assertTrue( config.getGeneratedFiles().contains( file ) );
+
+        String path = jar.getCanonicalPath().replace( '\\', '/' );
+        String expected = "{\n"
+            + "  \"name\": \"test-project\",\n"
+            + "  \"output\": \"target/classes\",\n"
+            + "  \"sourceFolders\": [\n"
+            + "    { \"path\": \"src/main/java\", \"output\": \"target/classes\", \"resource\": false, "
+            + "\"test\": false, \"includes\": [], \"excludes\": [] },\n"
+            + "    { \"path\": \"src/test/resources\", \"output\": \"target/test-classes\", \"resource\": true, "
+            + "\"test\": true, \"includes\": [\"**/*.xml\"], \"excludes\": [] }\n"
+            + "  ],\n"
+            + "  \"classpath\": [\n"
+            + "    { \"groupId\": \"g\", \"artifactId\": \"a\", \"version\": \"1.0\", \"classifier\": null, "
+            + "\"type\": \"jar\", \"test\": false, \"provided\": false, \"project\": null, \"file\": "
+            + ProjectModelWriter.string( path ) + ", \"sources\": null, \"javadoc\": null }\n"
+            + "  ]\n"
+            + "}\n";
+        assertEquals( expected, new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 ) );
+    }
+
+    @Test
+    public void testString()
+    {
+        assertEquals( "null", ProjectModelWriter.string( null ) );
+        assertEquals( "\"C:\\\\a \\\"b\\\"\\u0009\"", ProjectModelWriter.string( "C:\\a \"b\"\t" ) );
+    }
+}
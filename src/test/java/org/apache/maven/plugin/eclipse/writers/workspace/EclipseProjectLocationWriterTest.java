@@ -0,0 +1,152 @@
+package org.apache.maven.plugin.eclipse.writers.workspace;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.maven.plugin.eclipse.WorkspaceConfiguration;
+import org.apache.maven.plugin.eclipse.reader.ReadWorkspaceLocations;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.eclipse.core.internal.localstore.ILocalStoreConstants;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link EclipseProjectLocationWriter}
+ */
+public class EclipseProjectLocationWriterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static File getLocationFile( File workspace, String eclipseProjectName )
+    {
+        File metadata = new File( new File( workspace,
+                                            ReadWorkspaceLocations.METADATA_PLUGINS_ORG_ECLIPSE_CORE_RESOURCES_PROJECTS ),
+                                  eclipseProjectName );
+        return new File( metadata, ReadWorkspaceLocations.BINARY_LOCATION_FILE );
+    }
+
+    @Test
+    public void testLocationsAreReadBack()
+        throws Exception
+    {
+        File workspace = folder.newFolder( "workspace" );
+        File inWorkspace = new File( workspace, "core" );
+        inWorkspace.mkdirs();
+        File outside = folder.newFolder( "checkout", "web" ).getCanonicalFile();
+
+        Map<String, File> projects = new LinkedHashMap<>();
+        projects.put( "core", inWorkspace );
+        projects.put( "web", outside );
+        WorkspaceConfiguration config = new WorkspaceConfiguration();
+        config.setWorkspaceDirectory( workspace );
+        config.setProjectLocations( projects );
+
+        new EclipseProjectLocationWriter().init( new SystemStreamLog(), config ).write();
+
+        assertEquals( new HashSet<>( projects.values() ),
+                      new HashSet<>( new ReadWorkspaceLocations().readProjectLocations( workspace,
+                                                                                        new SystemStreamLog() ) ) );
+    }
+
+    /**
+     * The fixture was written by eclipse before 3.7, which ended the file after the dynamic project references.
+     */
+    @Test
+    public void testFormatOfEclipse()
+        throws Exception
+    {
+        File fixture = getLocationFile( new File( "src/test/resources/eclipse/eclipseWithDefault15/workspace" ),
+                                        "direct-compile" );
+        File project = new File( "/tmp/maven-eclipse-plugin-MECLIPSE-333" );
+        assumeTrue( "the fixture holds a unix path", project.toURI().toString().startsWith( "file:/tmp/" ) );
+
+        File workspace = folder.newFolder( "workspace" );
+        WorkspaceConfiguration config = new WorkspaceConfiguration();
+        config.setWorkspaceDirectory( workspace );
+        config.setProjectLocations( Collections.singletonMap( "direct-compile", project ) );
+
+        new EclipseProjectLocationWriter().init( new SystemStreamLog(), config ).write();
+
+        byte[] written = Files.readAllBytes( getLocationFile( workspace, "direct-compile" ).toPath() );
+        byte[] eclipse = Files.readAllBytes( fixture.toPath() );
+        int end = eclipse.length - ILocalStoreConstants.END_CHUNK.length;
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        expected.write( eclipse, 0, end );
+        // no build configurations, the default active configuration, no build configuration references
+        expected.write( new byte[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 } );
+        expected.write( eclipse, end, ILocalStoreConstants.END_CHUNK.length );
+        assertArrayEquals( expected.toByteArray(), written );
+    }
+
+    @Test
+    public void testLocationOfExistingDirectoryHasNoTrailingSlash()
+        throws Exception
+    {
+        File workspace = folder.newFolder( "workspace" );
+        File outside = folder.newFolder( "checkout", "web" ).getCanonicalFile();
+        WorkspaceConfiguration config = new WorkspaceConfiguration();
+        config.setWorkspaceDirectory( workspace );
+        config.setProjectLocations( Collections.singletonMap( "web", outside ) );
+
+        new EclipseProjectLocationWriter().init( new SystemStreamLog(), config ).write();
+
+        byte[] written = Files.readAllBytes( getLocationFile( workspace, "web" ).toPath() );
+        String uri = outside.toURI().toString();
+        byte[] location = ( "URI//" + uri.substring( 0, uri.length() - 1 ) ).getBytes( "UTF-8" );
+        int start = ILocalStoreConstants.BEGIN_CHUNK.length + 2;
+        assertArrayEquals( location, Arrays.copyOfRange( written, start, start + location.length ) );
+        assertEquals( location.length, ( ( written[start - 2] & 0xff ) << 8 ) | ( written[start - 1] & 0xff ) );
+    }
+
+    @Test
+    public void testDefaultLocationHasNoLocationFile()
+        throws Exception
+    {
+        File workspace = folder.newFolder( "workspace" );
+        File core = folder.newFolder( "workspace", "core" );
+        File stale = getLocationFile( workspace, "core" );
+        stale.getParentFile().mkdirs();
+        Files.write( stale.toPath(), new byte[] { 1 } );
+        WorkspaceConfiguration config = new WorkspaceConfiguration();
+        config.setWorkspaceDirectory( workspace );
+        config.setProjectLocations( Collections.singletonMap( "core", core ) );
+
+        new EclipseProjectLocationWriter().init( new SystemStreamLog(), config ).write();
+
+        assertFalse( stale.exists() );
+        assertEquals( Collections.singletonList( core ),
+                      new ReadWorkspaceLocations().readProjectLocations( workspace, new SystemStreamLog() ) );
+    }
+}
@@ -0,0 +1,93 @@
+package org.apache.maven.plugin.eclipse.writers.workspace;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.repository.DefaultArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.apache.maven.plugin.eclipse.UserLibrary;
+import org.apache.maven.plugin.eclipse.WorkspaceConfiguration;
+import org.apache.maven.plugin.ide.IdeDependency;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link EclipseWorkspaceWriter}
+ */
+public class EclipseWorkspaceWriterTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testUserLibrariesOfOtherReactorsAreKept()
+        throws Exception
+    {
+        File workspace = folder.newFolder( "workspace" );
+        UserLibrary other = createLibrary( "other-1234abcd", false, "a" );
+        write( workspace, "other", Collections.singletonList( other ) );
+
+        UserLibrary old = createLibrary( "reactor-00000000", false, "a" );
+        write( workspace, "reactor", Collections.singletonList( old ) );
+        UserLibrary compile = createLibrary( "reactor-11111111", false, "b" );
+        UserLibrary test = createLibrary( "reactor-test-22222222", true, "c" );
+        write( workspace, "reactor", Arrays.asList( compile, test ) );
+
+        File locks = new File( folder.getRoot(), "locks" );
+        List<UserLibrary> libraries = EclipseWorkspaceWriter.readUserLibraries( workspace, "reactor", locks );
+        assertEquals( Arrays.asList( compile, test ), libraries );
+        assertEquals( compile.getPaths(), libraries.get( 0 ).getPaths() );
+        assertEquals( Arrays.asList( false, true ), Arrays.asList( libraries.get( 0 ).isTest(),
+                                                                   libraries.get( 1 ).isTest() ) );
+        assertEquals( Collections.singletonList( other ),
+                      EclipseWorkspaceWriter.readUserLibraries( workspace, "other", locks ) );
+    }
+
+    private void write( File workspace, String prefix, List<UserLibrary> libraries )
+        throws Exception
+    {
+        WorkspaceConfiguration config = new WorkspaceConfiguration();
+        config.setWorkspaceDirectory( workspace );
+        config.setLocalRepository( new DefaultArtifactRepository( "local", folder.getRoot().toURI().toString(),
+                                                                  new DefaultRepositoryLayout() ) );
+        config.setUserLibraryPrefix( prefix );
+        config.setUserLibraries( libraries );
+        new EclipseWorkspaceWriter().init( new SystemStreamLog(), config ).write();
+    }
+
+    private UserLibrary createLibrary( String name, boolean test, String artifactId )
+        throws Exception
+    {
+        IdeDependency dependency = new IdeDependency();
+        dependency.setGroupId( "g" );
+        dependency.setArtifactId( artifactId );
+        dependency.setVersion( "1.0" );
+        dependency.setFile( new File( folder.getRoot(), artifactId + ".jar" ) );
+        return UserLibrary.create( name, test, Collections.singletonList( dependency ) );
+    }
+}
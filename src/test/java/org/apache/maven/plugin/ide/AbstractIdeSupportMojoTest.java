@@ -0,0 +1,178 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.junit.Test;
+
+/**
+ * Test for the end of the reactor detection of {@link AbstractIdeSupportMojo}
+ */
+public class AbstractIdeSupportMojoTest
+{
+    /**
+     * Records whether it was the last module of the reactor, doesn't write anything.
+     */
+    private static class RecordingMojo
+        extends AbstractIdeSupportMojo
+    {
+        private final List<Boolean> lastModules;
+
+        private final boolean failing;
+
+        RecordingMojo( MavenSession session, List<MavenProject> reactor, int module, boolean skip, boolean failing,
+                       List<Boolean> lastModules )
+        {
+            this.session = session;
+            this.failing = failing;
+            this.lastModules = lastModules;
+            setReactorProjects( reactor );
+            setProject( reactor.get( module ) );
+            setSkip( skip );
+        }
+
+        @Override
+        protected boolean setup()
+            throws MojoExecutionException
+        {
+            if ( failing )
+            {
+                throw new MojoExecutionException( "failing module" );
+            }
+            return false;
+        }
+
+        @Override
+        protected void afterExecute()
+        {
+            lastModules.add( isLastReactorProject() );
+        }
+
+        @Override
+        protected boolean getUseProjectReferences()
+        {
+            return false;
+        }
+
+        @Override
+        protected void writeConfiguration( IdeDependency[] deps )
+        {
+            // nothing to write
+        }
+
+        @Override
+        public String getProjectNameForArifact( Artifact artifact )
+        {
+            return null;
+        }
+
+        @Override
+        public List<String> getExcludes()
+        {
+            return null;
+        }
+    }
+
+    private static List<MavenProject> createReactor( String... artifactIds )
+    {
+        List<MavenProject> reactor = new ArrayList<>();
+        for ( String artifactId : artifactIds )
+        {
+            Model model = new Model();
+            model.setGroupId( "org.example" );
+            model.setArtifactId( artifactId );
+            model.setVersion( "1.0" );
+            reactor.add( new MavenProject( model ) );
+        }
+        return reactor;
+    }
+
+    private static MavenSession createSession( Date startTime )
+    {
+        return new MavenSession( null, null, null, null, null, Collections.emptyList(), null, new Properties(),
+                                 startTime );
+    }
+
+    @Test
+    public void testSkippedLastModuleFinishesTheReactor()
+        throws Exception
+    {
+        MavenSession session = createSession( new Date( 2000L ) );
+        List<MavenProject> reactor = createReactor( "core", "web" );
+        List<Boolean> lastModules = new ArrayList<>();
+
+        new RecordingMojo( session, reactor, 0, false, false, lastModules ).execute();
+        new RecordingMojo( session, reactor, 1, true, false, lastModules ).execute();
+
+        assertEquals( Arrays.asList( false, true ), lastModules );
+    }
+
+    @Test
+    public void testFailedModuleIsFinished()
+        throws Exception
+    {
+        MavenSession session = createSession( new Date( 3000L ) );
+        List<MavenProject> reactor = createReactor( "core", "web" );
+        List<Boolean> lastModules = new ArrayList<>();
+
+        try
+        {
+            new RecordingMojo( session, reactor, 0, false, true, lastModules ).execute();
+            fail( "the module should fail" );
+        }
+        catch ( MojoExecutionException e )
+        {
+            // expected
+        }
+        new RecordingMojo( session, reactor, 1, false, false, lastModules ).execute();
+
+        assertEquals( Collections.singletonList( true ), lastModules );
+    }
+
+    @Test
+    public void testModulesAreCountedPerBuild()
+        throws Exception
+    {
+        List<MavenProject> reactor = createReactor( "core", "web" );
+        List<Boolean> lastModules = new ArrayList<>();
+
+        // a build stopped after its first module
+        new RecordingMojo( createSession( new Date( 1000L ) ), reactor, 0, false, false, lastModules ).execute();
+        MavenSession session = createSession( new Date( 4000L ) );
+        new RecordingMojo( session, reactor, 0, false, false, lastModules ).execute();
+        new RecordingMojo( session, reactor, 1, false, false, lastModules ).execute();
+
+        assertEquals( Arrays.asList( false, false, true ), lastModules );
+    }
+}
@@ -0,0 +1,135 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.ref.WeakReference;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link ArtifactCoordinates} and the compact {@link IdeDependency}
+ */
+public class ArtifactCoordinatesTest
+{
+    private static IdeDependency createDependency( String artifactId )
+    {
+        // new String instances, as every module gets its own copies from the resolver
+        return new IdeDependency( new String( "org.example" ), new String( artifactId ), new String( "1.0" ), null,
+                                  false, true, false, true, true, new File( artifactId + ".jar" ),
+                                  new String( "jar" ), 1, new String( artifactId ) );
+    }
+
+    @Test
+    public void testCoordinatesAreShared()
+    {
+        IdeDependency first = createDependency( "core" );
+        IdeDependency second = createDependency( "core" );
+
+        assertSame( first.getCoordinates(), second.getCoordinates() );
+        assertSame( first.getGroupId(), second.getGroupId() );
+        assertNotSame( first.getCoordinates(), createDependency( "api" ).getCoordinates() );
+        assertSame( first.getGroupId(), createDependency( "api" ).getGroupId() );
+    }
+
+    @Test
+    public void testSettersReplaceCoordinates()
+    {
+        IdeDependency dependency = createDependency( "core" );
+        ArtifactCoordinates before = dependency.getCoordinates();
+
+        dependency.setVersion( "2.0" );
+
+        assertEquals( "org.example:core:2.0", dependency.getId() );
+        assertEquals( "1.0", before.getVersion() );
+        assertSame( createDependency( "core" ).getCoordinates(), before );
+    }
+
+    @Test
+    public void testFlags()
+    {
+        IdeDependency dependency = createDependency( "core" );
+
+        assertFalse( dependency.isReferencedProject() );
+        assertTrue( dependency.isTestDependency() );
+        assertFalse( dependency.isSystemScoped() );
+        assertTrue( dependency.isProvided() );
+        assertTrue( dependency.isAddedToClasspath() );
+
+        dependency.setReferencedProject( true );
+        dependency.setProvided( false );
+
+        assertTrue( dependency.isReferencedProject() );
+        assertTrue( dependency.isTestDependency() );
+        assertFalse( dependency.isProvided() );
+        assertTrue( dependency.isAddedToClasspath() );
+    }
+
+    @Test
+    public void testUninitializedDependency()
+    {
+        IdeDependency dependency = new IdeDependency();
+        dependency.setGroupId( "org.example" );
+        dependency.setArtifactId( "core" );
+        dependency.setType( "jar" );
+
+        assertEquals( createDependency( "core" ), dependency );
+        assertEquals( createDependency( "core" ).hashCode(), dependency.hashCode() );
+        assertSame( ArtifactCoordinates.of( "org.example", "core", null, null, "jar", null ),
+                    dependency.getCoordinates() );
+    }
+
+    @Test
+    public void testIntermediatesAreNotInterned()
+    {
+        ArtifactCoordinates coordinates = createDependency( "core" ).getCoordinates();
+
+        ArtifactCoordinates changed = coordinates.withVersion( new String( "2.0" ) );
+
+        ArtifactCoordinates interned =
+            ArtifactCoordinates.of( "org.example", "core", new String( "2.0" ), null, "jar", "core" );
+        assertEquals( interned, changed );
+        assertNotSame( interned, changed );
+        assertSame( interned, changed.intern() );
+    }
+
+    @Test
+    public void testUnusedCoordinatesAreReleased()
+        throws InterruptedException
+    {
+        WeakReference<ArtifactCoordinates> reference =
+            new WeakReference<>( ArtifactCoordinates.of( "org.example", "unused", "1.0", null, "jar", "unused" ) );
+
+        for ( int i = 0; i < 20 && reference.get() != null; i++ )
+        {
+            System.gc();
+            Thread.sleep( 10L );
+        }
+
+        assertNull( reference.get() );
+    }
+}
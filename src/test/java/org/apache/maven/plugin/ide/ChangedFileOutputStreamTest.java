@@ -0,0 +1,81 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link ChangedFileOutputStream}
+ */
+public class ChangedFileOutputStreamTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void write( File file, String content )
+        throws Exception
+    {
+        try ( OutputStream out = new ChangedFileOutputStream( file ) )
+        {
+            out.write( content.getBytes( StandardCharsets.UTF_8 ) );
+        }
+    }
+
+    @Test
+    public void testFileIsWrittenOnClose()
+        throws Exception
+    {
+        File file = new File( folder.getRoot(), ".settings/test.xml" );
+        ChangedFileOutputStream out = new ChangedFileOutputStream( file );
+        out.write( 'a' );
+        assertFalse( file.exists() );
+
+        out.close();
+        assertArrayEquals( new byte[] { 'a' }, Files.readAllBytes( file.toPath() ) );
+    }
+
+    @Test
+    public void testUnchangedFileIsNotWritten()
+        throws Exception
+    {
+        File file = folder.newFile( ".classpath" );
+        write( file, "<classpath/>" );
+        long written = System.currentTimeMillis() - 60000;
+        file.setLastModified( written );
+
+        write( file, "<classpath/>" );
+        assertEquals( written / 1000, file.lastModified() / 1000 );
+
+        write( file, "<classpath></classpath>" );
+        assertEquals( "<classpath></classpath>", new String( Files.readAllBytes( file.toPath() ),
+                                                              StandardCharsets.UTF_8 ) );
+    }
+}
@@ -0,0 +1,187 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.repository.DefaultArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link FileLocks}
+ */
+public class FileLocksTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testReadModifyWriteIsNotLost()
+        throws Exception
+    {
+        final File counter = new File( folder.getRoot(), "counter" );
+        ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for ( int i = 0; i < 100; i++ )
+            {
+                futures.add( executor.submit( () -> {
+                    try ( FileLocks.Lock lock = FileLocks.lock( counter, getLockDirectory() ) )
+                    {
+                        int value = counter.isFile()
+                                        ? Integer.parseInt( new String( Files.readAllBytes( counter.toPath() ),
+                                                                        "UTF-8" ) )
+                                        : 0;
+                        IdeUtils.writeIfChanged( counter, Integer.toString( value + 1 ).getBytes( "UTF-8" ) );
+                    }
+                    return null;
+                } ) );
+            }
+            for ( Future<?> future : futures )
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals( "100", new String( Files.readAllBytes( counter.toPath() ), "UTF-8" ) );
+        // one lock file in the lock directory, none next to the locked file
+        assertEquals( 1, getLockDirectory().list().length );
+        assertEquals( new HashSet<>( Arrays.asList( "counter", "locks" ) ),
+                      new HashSet<>( Arrays.asList( folder.getRoot().list() ) ) );
+    }
+
+    private File getLockDirectory()
+    {
+        return new File( folder.getRoot(), "locks" );
+    }
+
+    @Test
+    public void testLockDirectoryIsInLocalRepository()
+    {
+        File repository = new File( folder.getRoot(), "repository" );
+        ArtifactRepository localRepository =
+            new DefaultArtifactRepository( "local", repository.toURI().toString(), new DefaultRepositoryLayout() );
+
+        assertEquals( new File( repository, ".locks/eclipse-maven-plugin" ),
+                      FileLocks.getLockDirectory( localRepository ) );
+    }
+
+    @Test
+    public void testLocksAreReentrant()
+        throws Exception
+    {
+        File file = new File( folder.getRoot(), "file" );
+        try ( FileLocks.Lock outer = FileLocks.lock( file, getLockDirectory() ) )
+        {
+            try ( FileLocks.Lock inner = FileLocks.lock( file, getLockDirectory() ) )
+            {
+                assertFalse( file.exists() );
+            }
+            // still held by the outer lock
+            assertTrue( isLockedElsewhere( file ) );
+        }
+        assertFalse( isLockedElsewhere( file ) );
+    }
+
+    @Test
+    public void testOtherThreadsWait()
+        throws Exception
+    {
+        File file = new File( folder.getRoot(), "file" );
+        CountDownLatch acquired = new CountDownLatch( 1 );
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            Future<?> other;
+            try ( FileLocks.Lock lock = FileLocks.lock( file, getLockDirectory() ) )
+            {
+                other = executor.submit( () -> {
+                    try ( FileLocks.Lock otherLock = FileLocks.lock( file, getLockDirectory() ) )
+                    {
+                        acquired.countDown();
+                    }
+                    return null;
+                } );
+                assertFalse( acquired.await( 200, TimeUnit.MILLISECONDS ) );
+            }
+            assertTrue( acquired.await( 10, TimeUnit.SECONDS ) );
+            other.get();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if another thread can't take the lock right away
+     */
+    private boolean isLockedElsewhere( File file )
+        throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            Future<Boolean> locked = executor.submit( () -> {
+                try ( FileLocks.Lock lock = FileLocks.lock( file, getLockDirectory() ) )
+                {
+                    return false;
+                }
+            } );
+            try
+            {
+                return locked.get( 200, TimeUnit.MILLISECONDS );
+            }
+            catch ( TimeoutException e )
+            {
+                locked.cancel( true );
+                return true;
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Footprint benchmark for the interned coordinates of {@link IdeDependency}: measures the heap retained per module
+ * by the resolved dependencies of a simulated reactor, with private coordinates as before the interning and with
+ * interned coordinates.
+ */
+public class IdeDependencyFootprintTest
+{
+    private static final int MODULES = 200;
+
+    private static final int DEPENDENCIES_PER_MODULE = 150;
+
+    private static final int DISTINCT_ARTIFACTS = 400;
+
+    /**
+     * @param interned whether the coordinates are interned or private to each dependency
+     * @return the resolved dependencies of each module, with fresh strings as every module gets them from its own
+     *         resolution
+     */
+    private static List<IdeDependency[]> createReactor( boolean interned )
+    {
+        List<IdeDependency[]> reactor = new ArrayList<>( MODULES );
+        for ( int module = 0; module < MODULES; module++ )
+        {
+            IdeDependency[] deps = new IdeDependency[DEPENDENCIES_PER_MODULE];
+            for ( int i = 0; i < DEPENDENCIES_PER_MODULE; i++ )
+            {
+                int artifact = ( module * 7 + i ) % DISTINCT_ARTIFACTS;
+                String groupId = "org.example.group" + ( artifact % 20 );
+                String artifactId = "artifact-" + artifact;
+                String version = "1.0." + ( artifact % 3 );
+                File file = new File( "/repository/" + artifactId + ".jar" );
+                if ( interned )
+                {
+                    deps[i] =
+                        new IdeDependency( groupId, artifactId, version, null, false, false, false, false, true,
+                                           file, "jar", 1, artifactId );
+                }
+                else
+                {
+                    // the setters only create private coordinates as long as nobody asks for the shared ones
+                    IdeDependency dep = new IdeDependency();
+                    dep.setGroupId( groupId );
+                    dep.setArtifactId( artifactId );
+                    dep.setVersion( version );
+                    dep.setType( new String( "jar" ) );
+                    dep.setEclipseProjectName( new String( artifactId ) );
+                    dep.setAddedToClasspath( true );
+                    dep.setFile( file );
+                    deps[i] = dep;
+                }
+            }
+            reactor.add( deps );
+        }
+        return reactor;
+    }
+
+    /**
+     * @return the bytes retained per module by the dependencies of the reactor
+     */
+    private static long measureRetainedPerModule( boolean interned )
+    {
+        long before = usedHeap();
+        List<IdeDependency[]> reactor = createReactor( interned );
+        long after = usedHeap();
+        assertEquals( MODULES, reactor.size() );
+        return ( after - before ) / MODULES;
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for ( int i = 0; i < 3; i++ )
+        {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    @Test
+    public void testInterningReducesRetainedHeapPerModule()
+    {
+        long privateCoordinates = measureRetainedPerModule( false );
+        long internedCoordinates = measureRetainedPerModule( true );
+
+        System.out.println( MODULES + " modules, " + DEPENDENCIES_PER_MODULE + " dependencies each over "
+            + DISTINCT_ARTIFACTS + " artifacts, retained per module: " + privateCoordinates
+            + " bytes with private coordinates, " + internedCoordinates + " bytes with interned coordinates" );
+        // about 60 KB against 23 KB, with some room for the noise of the measurement
+        assertTrue( "interned coordinates should retain a third less heap, " + internedCoordinates
+            + " bytes instead of " + privateCoordinates, internedCoordinates * 3 < privateCoordinates * 2 );
+    }
+}
@@ -19,7 +19,9 @@
 package org.apache.maven.plugin.ide;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeTrue;
 
 import java.io.File;
@@ -27,8 +29,11 @@ import java.io.IOException;
 import java.util.Collections;
 
 import org.apache.maven.model.Dependency;
+import org.codehaus.plexus.util.FileUtils;
 import org.codehaus.plexus.util.Os;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * Test for {@link IdeUtils}
@@ -38,6 +43,8 @@ import org.junit.Test;
  */
 public class IdeUtilsTest
 {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     /**
      * When the file to add is on a different drive and an absolute path expect that the returned value is the same as
@@ -151,4 +158,32 @@ public class IdeUtilsTest
         assertNull( IdeUtils.getArtifactVersion( new String[0], Collections.singletonList( dep ), 5 ) );
     }
 
+    @Test
+    public void testGetStableId()
+    {
+        String id = IdeUtils.getStableId( "groupId", "artifactId", "jar", null );
+
+        assertEquals( id, IdeUtils.getStableId( "groupId", "artifactId", "jar", null ) );
+        assertTrue( id.matches( "\\d+" ) );
+        assertFalse( id.equals( IdeUtils.getStableId( "groupId", "artifactId", "war", null ) ) );
+        assertFalse( id.equals( IdeUtils.getStableId( "groupId", "artifactId", "jar", "tests" ) ) );
+        assertFalse( IdeUtils.getStableId( "a", "bc" ).equals( IdeUtils.getStableId( "ab", "c" ) ) );
+    }
+
+    @Test
+    public void testWriteIfChanged()
+        throws Exception
+    {
+        File file = new File( folder.getRoot(), "sub/.checkstyle" );
+
+        assertTrue( IdeUtils.writeIfChanged( file, "a".getBytes( "UTF-8" ) ) );
+        file.setLastModified( 1000000000000L );
+
+        assertFalse( IdeUtils.writeIfChanged( file, "a".getBytes( "UTF-8" ) ) );
+        assertEquals( 1000000000000L, file.lastModified() );
+
+        assertTrue( IdeUtils.writeIfChanged( file, "b".getBytes( "UTF-8" ) ) );
+        assertEquals( "b", FileUtils.fileRead( file, "UTF-8" ) );
+    }
+
 }
@@ -0,0 +1,78 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link JfrEvents}
+ */
+public class JfrEventsTest
+{
+    private static final String XML_PARSING = "org.apache.maven.plugin.eclipse.XmlParsing";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEventIsRecorded()
+        throws Exception
+    {
+        assertTrue( JfrEvents.isAvailable() );
+
+        File dump = new File( folder.getRoot(), "plugin.jfr" );
+        try ( Recording recording = new Recording() )
+        {
+            recording.enable( XML_PARSING );
+            recording.start();
+            try ( JfrEvents.Event event = JfrEvents.begin( JfrEvents.Type.XML_PARSING, "pom.xml" ) )
+            {
+                event.setBytes( 1234 );
+            }
+            recording.stop();
+            recording.dump( dump.toPath() );
+        }
+
+        List<RecordedEvent> events = new ArrayList<>();
+        for ( RecordedEvent event : RecordingFile.readAllEvents( dump.toPath() ) )
+        {
+            if ( XML_PARSING.equals( event.getEventType().getName() ) )
+            {
+                events.add( event );
+            }
+        }
+        assertEquals( 1, events.size() );
+        assertEquals( "pom.xml", events.get( 0 ).getString( "subject" ) );
+        assertEquals( 1234, events.get( 0 ).getLong( "bytes" ) );
+    }
+}
@@ -0,0 +1,144 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginExecution;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.junit.Test;
+
+/**
+ * Test for {@link ProjectFacts}
+ */
+public class ProjectFactsTest
+{
+    private static Xpp3Dom configuration( String... namesAndValues )
+    {
+        Xpp3Dom configuration = new Xpp3Dom( "configuration" );
+        for ( int i = 0; i < namesAndValues.length; i += 2 )
+        {
+            Xpp3Dom child = new Xpp3Dom( namesAndValues[i] );
+            child.setValue( namesAndValues[i + 1] );
+            configuration.addChild( child );
+        }
+        return configuration;
+    }
+
+    private static Plugin compilerPlugin( Xpp3Dom configuration )
+    {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId( "org.apache.maven.plugins" );
+        plugin.setArtifactId( "maven-compiler-plugin" );
+        plugin.setConfiguration( configuration );
+        return plugin;
+    }
+
+    private static MavenProject createProject()
+    {
+        Model model = new Model();
+        model.setGroupId( "org.example" );
+        model.setArtifactId( "facts" );
+        model.setVersion( "1.0" );
+        model.setBuild( new Build() );
+        return new MavenProject( model );
+    }
+
+    @Test
+    public void testCompilerSettings()
+    {
+        MavenProject project = createProject();
+        Plugin plugin = compilerPlugin( configuration( "source", "1.7", "target", "1.7", "source", "ignored" ) );
+        PluginExecution testCompile = new PluginExecution();
+        testCompile.setId( "test-compile" );
+        testCompile.setConfiguration( configuration( "target", "1.8" ) );
+        plugin.addExecution( testCompile );
+        project.getBuild().addPlugin( plugin );
+        PluginManagement pluginManagement = new PluginManagement();
+        pluginManagement.addPlugin( compilerPlugin( configuration( "source", "1.5", "encoding", "UTF-8" ) ) );
+        project.getBuild().setPluginManagement( pluginManagement );
+
+        assertEquals( "1.7", IdeUtils.getCompilerSourceVersion( project ) );
+        assertEquals( "1.8", IdeUtils.getCompilerTargetVersion( project ) );
+        assertEquals( "UTF-8", IdeUtils.getCompilerPluginSetting( project, "encoding" ) );
+        assertNull( IdeUtils.getCompilerReleaseVersion( project ) );
+    }
+
+    @Test
+    public void testPluginConfiguration()
+    {
+        MavenProject project = createProject();
+        Xpp3Dom configuration = configuration( "source", "1.7" );
+        project.getBuild().addPlugin( compilerPlugin( configuration ) );
+
+        assertSame( configuration,
+                    IdeUtils.getPluginConfigurationDom( project, "org.apache.maven.plugins:maven-compiler-plugin" ) );
+        assertNull( IdeUtils.getPluginConfigurationDom( project, "org.apache.maven.plugins:maven-war-plugin" ) );
+        assertNull( ProjectFacts.of( project ).getManagedPlugin( "org.apache.maven.plugins:maven-compiler-plugin" ) );
+    }
+
+    @Test
+    public void testFactsArePerInstance()
+    {
+        MavenProject project = createProject();
+        MavenProject sameCoordinates = createProject();
+
+        assertSame( ProjectFacts.of( project ), ProjectFacts.of( project ) );
+        assertNotSame( ProjectFacts.of( project ), ProjectFacts.of( sameCoordinates ) );
+    }
+
+    @Test
+    public void testEqualProjectsKeepTheirFacts()
+    {
+        MavenProject project = createProject();
+        MavenProject executedProject = createProject();
+
+        ProjectFacts facts = ProjectFacts.of( project );
+        ProjectFacts executedFacts = ProjectFacts.of( executedProject );
+
+        assertSame( facts, ProjectFacts.of( project ) );
+        assertSame( executedFacts, ProjectFacts.of( executedProject ) );
+    }
+
+    @Test
+    public void testJeeVersions()
+    {
+        MavenProject project = createProject();
+        Dependency servlet = new Dependency();
+        servlet.setGroupId( "javax.servlet" );
+        servlet.setArtifactId( "servlet-api" );
+        servlet.setVersion( "2.5" );
+        project.getModel().addDependency( servlet );
+
+        assertEquals( JeeDescriptor.SERVLET_2_5, JeeUtils.resolveServletVersion( project ) );
+        assertEquals( JeeDescriptor.JEE_5_0, JeeUtils.resolveJeeVersion( project ) );
+        assertEquals( JeeDescriptor.JSP_2_1, JeeUtils.resolveJspVersion( project ) );
+        assertSame( JeeUtils.resolveServletVersion( project ), JeeUtils.resolveServletVersion( project ) );
+    }
+}
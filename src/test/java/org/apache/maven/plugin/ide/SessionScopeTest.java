@@ -0,0 +1,66 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.execution.MavenSession;
+import org.junit.Test;
+
+/**
+ * Test for {@link SessionScope}
+ */
+public class SessionScopeTest
+{
+    private static MavenSession createSession( Date startTime )
+    {
+        return new MavenSession( null, null, null, null, null, Collections.emptyList(), null, new Properties(),
+                                 startTime );
+    }
+
+    @Test
+    public void testSameBuild()
+    {
+        Date startTime = new Date();
+        MavenSession session = createSession( startTime );
+
+        AtomicInteger state = SessionScope.get( session, "key", AtomicInteger::new );
+
+        assertSame( state, SessionScope.get( session, "key", AtomicInteger::new ) );
+        // a copy of the session for another module of a parallel build
+        assertSame( state, SessionScope.get( createSession( startTime ), "key", AtomicInteger::new ) );
+        assertNotSame( state, SessionScope.get( session, "other", AtomicInteger::new ) );
+    }
+
+    @Test
+    public void testNextBuild()
+    {
+        Date startTime = new Date( 1000L );
+        AtomicInteger state = SessionScope.get( createSession( startTime ), "key", AtomicInteger::new );
+
+        assertNotSame( state, SessionScope.get( createSession( new Date( 2000L ) ), "key", AtomicInteger::new ) );
+    }
+}
@@ -0,0 +1,103 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test for {@link Trace}
+ */
+public class TraceTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static int count( String text, String part )
+    {
+        int count = 0;
+        for ( int index = text.indexOf( part ); index >= 0; index = text.indexOf( part, index + 1 ) )
+        {
+            count++;
+        }
+        return count;
+    }
+
+    @Test
+    public void testDisabled()
+        throws Exception
+    {
+        Trace.begin( Trace.MODULE, "not recorded" ).close();
+
+        File file = new File( folder.getRoot(), "trace.json" );
+        Trace.write( file );
+
+        String trace = new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 );
+        assertFalse( trace.contains( "not recorded" ) );
+    }
+
+    @Test
+    public void testThreadsAreTracks()
+        throws Exception
+    {
+        Trace.enable();
+        try ( Trace.Span module = Trace.begin( Trace.MODULE, "org.example:app:jar:1.0" ) )
+        {
+            Thread worker = new Thread( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    Trace.begin( Trace.RESOLUTION, "org.example:lib:jar:1.0" ).close();
+                }
+            }, "worker" );
+            worker.start();
+            worker.join();
+            Trace.begin( Trace.WRITER, "Eclipse\"Writer\"" ).close();
+        }
+
+        File file = new File( folder.getRoot(), "target/trace.json" );
+        Trace.write( file );
+        assertFalse( Trace.isEnabled() );
+
+        String trace = new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 );
+        assertTrue( trace.startsWith( "{\"displayTimeUnit\":\"ms\",\"traceEvents\":[" ) );
+        assertEquals( 3, count( trace, "\"ph\":\"X\"" ) );
+        assertEquals( 2, count( trace, "\"name\":\"thread_name\"" ) );
+        assertTrue( trace.contains( "\"args\":{\"name\":\"worker\"}" ) );
+        assertTrue( trace.contains( "\"name\":\"org.example:app:jar:1.0\",\"cat\":\"module\"" ) );
+        assertTrue( trace.contains( "\"name\":\"Eclipse\\\"Writer\\\"\",\"cat\":\"writer\"" ) );
+    }
+
+    @Test
+    public void testQuote()
+    {
+        assertEquals( "\"a\\\\b\\u000a\"", Trace.quote( "a\\b\n" ) );
+    }
+}
@@ -0,0 +1,177 @@
+package org.apache.maven.plugin.ide;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.codehaus.plexus.util.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test for {@link UrlContentCache}
+ */
+public class UrlContentCacheTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testUnchangedFileIsServedFromCache()
+        throws Exception
+    {
+        File file = folder.newFile( "code-styles.xml" );
+        FileUtils.fileWrite( file.getPath(), "UTF-8", "<profiles/>" );
+        URL url = file.toURI().toURL();
+
+        UrlContentCache cache = new UrlContentCache();
+        byte[] first = cache.getContent( url );
+        byte[] second = cache.getContent( url );
+
+        assertEquals( "<profiles/>", new String( first, "UTF-8" ) );
+        assertSame( first, second );
+    }
+
+    @Test
+    public void testModifiedFileIsReadAgain()
+        throws Exception
+    {
+        File file = folder.newFile( "code-styles.xml" );
+        FileUtils.fileWrite( file.getPath(), "UTF-8", "<profiles/>" );
+        file.setLastModified( 1000000000000L );
+        URL url = file.toURI().toURL();
+
+        UrlContentCache cache = new UrlContentCache();
+        cache.getContent( url );
+        long checksum = cache.getChecksum( url );
+
+        FileUtils.fileWrite( file.getPath(), "UTF-8", "<profiles version=\"2\"/>" );
+        file.setLastModified( 1000000060000L );
+
+        assertEquals( "<profiles version=\"2\"/>", new String( cache.getContent( url ), "UTF-8" ) );
+        assertNotEquals( checksum, cache.getChecksum( url ) );
+    }
+
+    @Test
+    public void testUnknownUrlHasNoChecksum()
+        throws Exception
+    {
+        UrlContentCache cache = new UrlContentCache();
+
+        assertEquals( -1L, cache.getChecksum( new File( folder.getRoot(), "missing.xml" ).toURI().toURL() ) );
+    }
+
+    @Test
+    public void testContentSurvivesTheCacheInstance()
+        throws Exception
+    {
+        final byte[] content = "<profiles/>".getBytes( StandardCharsets.UTF_8 );
+        final List<String> requests = new ArrayList<>();
+        HttpServer server = HttpServer.create( new InetSocketAddress( "localhost", 0 ), 0 );
+        server.createContext( "/code-styles.xml", exchange -> {
+            String etag = exchange.getRequestHeaders().getFirst( "If-None-Match" );
+            requests.add( etag );
+            exchange.getResponseHeaders().set( "ETag", "\"v1\"" );
+            if ( "\"v1\"".equals( etag ) )
+            {
+                exchange.sendResponseHeaders( 304, -1 );
+            }
+            else
+            {
+                exchange.sendResponseHeaders( 200, content.length );
+                try ( OutputStream os = exchange.getResponseBody() )
+                {
+                    os.write( content );
+                }
+            }
+            exchange.close();
+        } );
+        server.start();
+        try
+        {
+            URL url = new URL( "http://localhost:" + server.getAddress().getPort() + "/code-styles.xml" );
+            File directory = folder.newFolder( "cache" );
+
+            assertArrayEquals( content, new UrlContentCache( directory ).getContent( url ) );
+            // a new cache, like in the next build, only revalidates
+            assertArrayEquals( content, new UrlContentCache( directory ).getContent( url ) );
+
+            assertEquals( 2, requests.size() );
+            assertEquals( null, requests.get( 0 ) );
+            assertEquals( "\"v1\"", requests.get( 1 ) );
+        }
+        finally
+        {
+            server.stop( 0 );
+        }
+    }
+
+    @Test
+    public void testDamagedContentIsTransferredAgain()
+        throws Exception
+    {
+        final byte[] content = "<profiles/>".getBytes( StandardCharsets.UTF_8 );
+        HttpServer server = HttpServer.create( new InetSocketAddress( "localhost", 0 ), 0 );
+        server.createContext( "/code-styles.xml", exchange -> {
+            exchange.getResponseHeaders().set( "ETag", "\"v1\"" );
+            exchange.sendResponseHeaders( 200, content.length );
+            try ( OutputStream os = exchange.getResponseBody() )
+            {
+                os.write( content );
+            }
+            exchange.close();
+        } );
+        server.start();
+        try
+        {
+            URL url = new URL( "http://localhost:" + server.getAddress().getPort() + "/code-styles.xml" );
+            File directory = folder.newFolder( "cache" );
+            new UrlContentCache( directory ).getContent( url );
+
+            for ( File file : directory.listFiles() )
+            {
+                if ( !file.getName().endsWith( ".properties" ) )
+                {
+                    FileUtils.fileWrite( file.getPath(), "UTF-8", "<damaged" );
+                }
+            }
+
+            assertArrayEquals( content, new UrlContentCache( directory ).getContent( url ) );
+        }
+        finally
+        {
+            server.stop( 0 );
+        }
+    }
+}